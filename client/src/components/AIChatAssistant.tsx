@@ -68,7 +68,7 @@ const AIChatAssistant: React.FC<AIChatAssistantProps> = ({
     scrollToBottom();
   }, [messages]);
 
-  const handleSendMessage = async (customPrompt?: string) => {
+  const handleSendMessage = async (customPrompt?: string, regenerate: boolean = false) => {
     if (!(customPrompt ?? inputMessage).trim()) return;
 
     const userMessage: Message = {
@@ -99,7 +99,7 @@ const AIChatAssistant: React.FC<AIChatAssistantProps> = ({
     }
 
     try {
-      const aiText = await getAIChatResponse(userId, customPrompt ?? userMessage.text, userSkills, disableCourseGeneration);
+      const aiText = await getAIChatResponse(userId, customPrompt ?? userMessage.text, userSkills, disableCourseGeneration, regenerate);
       
       if (typeof aiText === 'object' && aiText && aiText.title && aiText.description) {
         setCoursePreview(aiText);
@@ -176,7 +176,8 @@ const AIChatAssistant: React.FC<AIChatAssistantProps> = ({
       }
     } else if (action === 'regenerate') {
       if (lastCoursePrompt) {
-        await handleSendMessage(lastCoursePrompt);
+        // Asks for a new course instead of the one cached for the same prompt
+        await handleSendMessage(lastCoursePrompt, true);
       }
       setActionLoading(false);
     } else if (action === 'abort') {
@@ -52,29 +52,30 @@ const LessonPage = () => {
         setLoading(true);
         setError(null);
         
-        const fetchedCourse = await courseService.getCourse(courseId);
+        // The course only holds the lesson structure, the lesson content is fetched separately
+        const [fetchedCourse, fetchedLesson] = await Promise.all([
+          courseService.getCourse(courseId),
+          courseService.getLesson(courseId, lessonId),
+        ]);
         setCourse(fetchedCourse);
         
-        // Find the current lesson
-        let foundLesson: { title: string; content: LessonContent; order: number } | null = null;
+        // Find the module of the current lesson
         let foundModule: { title: string; order: number } | null = null;
         
         for (const module of fetchedCourse.modules) {
-          const lesson = module.lessons.find(l => l.order.toString() === lessonId);
-          if (lesson) {
-            foundLesson = lesson;
+          if (module.lessons.some(l => l.order.toString() === lessonId)) {
             foundModule = { title: module.title, order: module.order };
             break;
           }
         }
         
-        if (!foundLesson) {
+        if (!foundModule || !fetchedLesson.content) {
           setError('Lesson not found');
           setLoading(false);
           return;
         }
         
-        setCurrentLesson(foundLesson);
+        setCurrentLesson({ title: fetchedLesson.title, content: fetchedLesson.content, order: fetchedLesson.order });
         setCurrentModule(foundModule);
       } catch (err: any) {
         console.error('Error fetching course:', err);
@@ -105,7 +105,8 @@ describe('AI Chat Service', () => {
       expect(courseService.generateCourseForUser).toHaveBeenCalledWith(
         'user-123',
         'JavaScript basics',
-        ['JavaScript']
+        ['JavaScript'],
+        false
       );
       expect(result).toEqual(mockCoursePayload);
     });
@@ -4,6 +4,7 @@ import { describe, it, expect, beforeEach, vi } from 'vitest';
 import {
   getAllCourses,
   getCourse,
+  getLesson,
   getPublicCourses,
   searchCourses,
   enrollInCourse,
@@ -12,6 +13,7 @@ import {
   unbookmarkCourse,
   getUserEnrolledCourses,
   generateResponseFromPrompt,
+  streamResponseFromPrompt,
   setAuthToken,
 } from '../course.service';
 import {
@@ -99,6 +101,48 @@ describe('Course Service', () => {
     });
   });
 
+  describe('getLesson', () => {
+    it('should get lesson with content successfully', async () => {
+      setAuthToken('test-token');
+      const mockFetch = vi.mocked(fetch);
+      const mockLesson = {
+        title: 'Variables',
+        description: 'Declaring variables',
+        content: { type: 'TEXT', content: 'int x = 1;' },
+        order: 2,
+      };
+      mockFetch.mockResolvedValueOnce({
+        ok: true,
+        json: async () => mockLesson,
+      } as Response);
+
+      const result = await getLesson('course-123', 2);
+
+      expect(mockFetch).toHaveBeenCalledWith(
+        expect.stringContaining('/courses/course-123/lessons/2'),
+        expect.objectContaining({
+          method: 'GET',
+          headers: {
+            'Content-Type': 'application/json',
+            Authorization: 'Bearer test-token',
+          },
+        })
+      );
+      expect(result).toEqual(mockLesson);
+    });
+
+    it('should throw error on API failure', async () => {
+      const mockFetch = vi.mocked(fetch);
+      mockFetch.mockResolvedValueOnce({
+        ok: false,
+        status: 404,
+        json: async () => mockApiError,
+      } as Response);
+
+      await expect(getLesson('course-123', 7)).rejects.toThrow();
+    });
+  });
+
   describe('getPublicCourses', () => {
     it('should get public courses successfully', async () => {
       const mockFetch = vi.mocked(fetch);
@@ -286,6 +330,53 @@ describe('Course Service', () => {
     });
   });
 
+  describe('streamResponseFromPrompt', () => {
+    const streamOf = (...chunks: string[]) =>
+      new ReadableStream<Uint8Array>({
+        start(controller) {
+          chunks.forEach((chunk) => controller.enqueue(new TextEncoder().encode(chunk)));
+          controller.close();
+        },
+      });
+
+    it('should pass tokens on as they arrive and return the full response', async () => {
+      setAuthToken('test-token');
+      const mockFetch = vi.mocked(fetch);
+      mockFetch.mockResolvedValueOnce({
+        ok: true,
+        body: streamOf(
+          'event: token\ndata: {"token":"Hello"}\n\nevent: tok',
+          'en\ndata: {"token":" world"}\n\n',
+          'event: done\ndata: {}\n\n',
+        ),
+      } as Response);
+      const tokens: string[] = [];
+
+      const result = await streamResponseFromPrompt('Test prompt', (token) => tokens.push(token));
+
+      expect(mockFetch).toHaveBeenCalledWith(
+        expect.stringContaining('/api/v1/courses/generate/prompt/stream'),
+        expect.objectContaining({ method: 'POST', body: 'Test prompt' }),
+      );
+      expect(tokens).toEqual(['Hello', ' world']);
+      expect(result).toBe('Hello world');
+    });
+
+    it('should throw when the stream reports an error', async () => {
+      setAuthToken('test-token');
+      const mockFetch = vi.mocked(fetch);
+      mockFetch.mockResolvedValueOnce({
+        ok: true,
+        body: streamOf('event: error\ndata: {"message":"Failed to generate response from GenAI"}\n\n'),
+      } as Response);
+
+      await expect(streamResponseFromPrompt('Test prompt', () => {})).rejects.toEqual({
+        status: 502,
+        message: 'Failed to generate response from GenAI',
+      });
+    });
+  });
+
   describe('generateResponseFromPrompt', () => {
     it('should generate response from prompt successfully', async () => {
       setAuthToken('test-token');
@@ -11,7 +11,7 @@ export function setAuthToken(token: string | null) {
 
 // ------------------------------------------------------------
 
-export async function getAIChatResponse(userId: string, userMessage: string, _userSkills: string[], disableCourseGeneration: boolean = false): Promise<string | CoursePayload | CourseResponse> {
+export async function getAIChatResponse(userId: string, userMessage: string, _userSkills: string[], disableCourseGeneration: boolean = false, regenerate: boolean = false): Promise<string | CoursePayload | CourseResponse> {
   // Simulate a delay for AI response
   await new Promise((resolve) => setTimeout(resolve, 1000));
   
@@ -27,7 +27,7 @@ export async function getAIChatResponse(userId: string, userMessage: string, _us
     if (disableCourseGeneration) {
       return "🚀 **Course Generation Disabled**\n\nPlease visit the **AI Center** page to use the /generate command.\n\nYou can still use:\n• `/explain <subject>` and `/help` commands\n\nOr just ask me anything about your learning journey!";
     }
-    const result = await _generateCourse(userId, userMessage, _userSkills);
+    const result = await _generateCourse(userId, userMessage, _userSkills, regenerate);
     // If result is a string that looks like an object, try to parse it
     if (typeof result === 'string') {
       try {
@@ -78,13 +78,13 @@ async function _explain(userMessage: string): Promise<string> {
   }
 }
 
-async function _generateCourse(userId: string, userMessage: string, userSkills: string[] ): Promise<CoursePayload | string> {
+async function _generateCourse(userId: string, userMessage: string, userSkills: string[], regenerate: boolean): Promise<CoursePayload | string> {
     const prompt = userMessage.substring(9).trim();
     if (!prompt) {
       return '❌ Please provide a topic or subject for the course.\n_Example: `/generate JavaScript basics`_';
     }
     console.log("Generating course with prompt:", prompt);
-    return await courseService.generateCourseForUser(userId, prompt, userSkills);
+    return await courseService.generateCourseForUser(userId, prompt, userSkills, regenerate);
 }
 
 export async function confirmCourse(userId: string): Promise<CourseResponse | string> {
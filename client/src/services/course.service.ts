@@ -1,5 +1,5 @@
 import { API_BASE_URL } from '@/constants/app.ts';
-import type { CourseResponse, CourseSummaryResponse, Level, Language, CoursePayload } from '@/types';
+import type { CourseResponse, CourseSummaryResponse, LessonResponse, Level, Language, CoursePayload } from '@/types';
 import { parseErrorResponse } from '@/utils/response.utils.ts';
 
 const BASE_URL = `${API_BASE_URL}/courses`;
@@ -104,6 +104,31 @@ export async function getCourse(courseId: string): Promise<CourseResponse> {
   return await resp.json();
 }
 
+/**
+ * Fetch a single lesson including its content. Courses only contain the lesson structure.
+ * @param order Position of the lesson within the course, counted across all modules
+ * @throws ApiError object { status: number, message: string } on 4xx/5xx or if no token
+ */
+export async function getLesson(courseId: string, order: number | string): Promise<LessonResponse> {
+  if (!authToken) {
+    throw { status: 401, message: 'No authentication token provided' };
+  }
+
+  const resp = await fetch(`${BASE_URL}/${courseId}/lessons/${order}`, {
+    method: 'GET',
+    headers: {
+      'Content-Type': 'application/json',
+      Authorization: `Bearer ${authToken}`,
+    },
+  });
+
+  if (!resp.ok) {
+    throw await parseErrorResponse(resp);
+  }
+
+  return await resp.json();
+}
+
 /**
  * Search courses with advanced filters (public endpoint).
  * Works for both authenticated and non-authenticated users.
@@ -430,16 +455,83 @@ export async function generateResponseFromPrompt(prompt: string): Promise<string
   }
 }
 
+/**
+ * Stream a response to a prompt token by token as the AI model generates it (requires authentication).
+ * Requires that setAuthToken(token) has been called earlier.
+ * @param prompt The prompt to send to the AI model
+ * @param onToken Called with every token as soon as it arrives
+ * @returns The complete AI-generated response
+ * @throws ApiError object { status: number, message: string } on 4xx/5xx, if no token or if generation fails midway
+ */
+export async function streamResponseFromPrompt(
+  prompt: string,
+  onToken: (token: string) => void,
+): Promise<string> {
+  if (!authToken) {
+    throw { status: 401, message: 'No authentication token provided' };
+  }
+  // POST "/generate/prompt/stream", answered with Server-Sent Events
+  const resp = await fetch(`${BASE_URL}/generate/prompt/stream`, {
+    method: 'POST',
+    headers: {
+      'Content-Type': 'text/plain',
+      Accept: 'text/event-stream',
+      Authorization: `Bearer ${authToken}`,
+    },
+    body: prompt,
+  });
+
+  if (!resp.ok || !resp.body) {
+    throw await parseErrorResponse(resp);
+  }
+
+  const reader = resp.body.getReader();
+  const decoder = new TextDecoder();
+  let buffered = '';
+  let generated = '';
+  for (;;) {
+    const { done, value } = await reader.read();
+    if (done) {
+      throw { status: 502, message: 'Response stream ended unexpectedly' };
+    }
+    buffered += decoder.decode(value, { stream: true });
+    let boundary = buffered.indexOf('\n\n');
+    while (boundary >= 0) {
+      const frame = buffered.slice(0, boundary);
+      buffered = buffered.slice(boundary + 2);
+      boundary = buffered.indexOf('\n\n');
+
+      const lines = frame.split('\n');
+      const event = lines.find((line) => line.startsWith('event:'))?.slice(6).trim() ?? 'message';
+      const data = lines
+        .filter((line) => line.startsWith('data:'))
+        .map((line) => line.slice(5).trim())
+        .join('');
+      if (event === 'token') {
+        const token: string = JSON.parse(data).token ?? '';
+        generated += token;
+        onToken(token);
+      } else if (event === 'done') {
+        await reader.cancel();
+        return generated;
+      } else if (event === 'error') {
+        throw { status: 502, message: JSON.parse(data).message ?? 'Failed to generate response' };
+      }
+    }
+  }
+}
+
 /**
  * Generate a course for a user based on a prompt and skills (requires authentication).
  * Requires that setAuthToken(token) has been called earlier.
  * @param userId The ID of the user for whom to generate the course
  * @param prompt The prompt to guide course generation
  * @param skills An array of skills to include in the course
+ * @param regenerate Whether to generate a new course instead of reusing the one cached for the same prompt and skills
  * @returns The generated course content
  * @throws ApiError object { status: number, message: string } on 4xx/5xx or if no token
  */
-export async function generateCourseForUser(userId: string, prompt: string, skills: string[]): Promise<CoursePayload | string> {
+export async function generateCourseForUser(userId: string, prompt: string, skills: string[], regenerate: boolean = false): Promise<CoursePayload | string> {
   if (!authToken) {
     throw { status: 401, message: 'No authentication token provided' };
   }
@@ -450,7 +542,7 @@ export async function generateCourseForUser(userId: string, prompt: string, skil
       'Content-Type': 'application/json',
       Authorization: `Bearer ${authToken}`,
     },
-    body: JSON.stringify({ prompt, skills }),
+    body: JSON.stringify({ prompt, skills, regenerate }),
   });
 
   if (!resp.ok) {
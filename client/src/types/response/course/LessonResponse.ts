@@ -3,6 +3,7 @@ import { LessonContent } from '@/types/utils/LessonContent.ts';
 export interface LessonResponse {
   title: string;
   description: string;
-  content: LessonContent;
+  // Only set when a single lesson is fetched, courses come without lesson content
+  content?: LessonContent;
   order: number;
 }
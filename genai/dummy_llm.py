@@ -1,20 +1,52 @@
-from fastapi import FastAPI
+import json
+import time
+
+from fastapi import FastAPI, Request
+from fastapi.responses import StreamingResponse
 import uvicorn
 
 # This dummy server mimics the API of local LLM hosts like LM Studio or Ollama
 app = FastAPI()
 
+DUMMY_CONTENT = "This is a dummy summary from the local model."
+
 @app.post("/v1/chat/completions")
-def dummy_completion():
+async def dummy_completion(request: Request):
+    body = await request.json()
+    if body.get("stream"):
+        return StreamingResponse(stream_chunks(body.get("model", "dummy")), media_type="text/event-stream")
     return {
         "choices": [{
             "message": {
                 "role": "assistant",
-                "content": "This is a dummy summary from the local model."
+                "content": DUMMY_CONTENT
             }
         }]
     }
 
+def stream_chunks(model: str):
+    """OpenAI-style streamed completion, one word per chunk"""
+    created = int(time.time())
+    words = DUMMY_CONTENT.split(" ")
+    for i, word in enumerate(words):
+        chunk = {
+            "id": "chatcmpl-dummy",
+            "object": "chat.completion.chunk",
+            "created": created,
+            "model": model,
+            "choices": [{"index": 0, "delta": {"content": word if i == 0 else " " + word}, "finish_reason": None}],
+        }
+        yield f"data: {json.dumps(chunk)}\n\n"
+    done = {
+        "id": "chatcmpl-dummy",
+        "object": "chat.completion.chunk",
+        "created": created,
+        "model": model,
+        "choices": [{"index": 0, "delta": {}, "finish_reason": "stop"}],
+    }
+    yield f"data: {json.dumps(done)}\n\n"
+    yield "data: [DONE]\n\n"
+
 if __name__ == "__main__":
     print("Starting Dummy LLM Server on port 8001...")
-    uvicorn.run(app, host="0.0.0.0", port=8001)
\ No newline at end of file
+    uvicorn.run(app, host="0.0.0.0", port=8001)
@@ -3,6 +3,7 @@ import logging
 logging.basicConfig(level=logging.INFO, format='%(asctime)s %(levelname)s %(name)s %(message)s')
 
 import os
+import json
 from dotenv import load_dotenv
 from fastapi import FastAPI, HTTPException, Request
 from fastapi.responses import JSONResponse
@@ -11,7 +12,7 @@ from contextlib import asynccontextmanager
 from langchain_openai import OpenAIEmbeddings
 from fastapi.middleware.cors import CORSMiddleware
 from fastapi.staticfiles import StaticFiles
-from fastapi.responses import FileResponse, HTMLResponse
+from fastapi.responses import FileResponse, HTMLResponse, StreamingResponse
 import pathlib
 
 
@@ -263,12 +264,23 @@ async def embed_url(request: EmbedRequest):
             detail=f"An unexpected error occurred while crawling '{url_str}': {str(e)}"
         )
 
+    text_hash = embedder_service.content_hash(crawled_data["text"])
+    if request.known_hash and request.known_hash == text_hash:
+        return EmbedResponse(
+            url=url_str, chunks_embedded=0, message="Content unchanged since the last crawl, nothing embedded.",
+            content_hash=text_hash, unchanged=True
+        )
+
     try:
+        if request.known_hash:
+            # Content changed since the last crawl, replace the old chunks instead of adding to them
+            embedder_service.delete_chunks_for_url(url_str)
         num_chunks = embedder_service.embed_and_store_text(
             text=crawled_data["text"], source_url=url_str
         )
         return EmbedResponse(
-            url=url_str, chunks_embedded=num_chunks, message="Content successfully crawled and embedded."
+            url=url_str, chunks_embedded=num_chunks, message="Content successfully crawled and embedded.",
+            content_hash=text_hash
         )
     except Exception as e:
         logging.error(f"ERROR during embedding: {e}")
@@ -322,6 +334,23 @@ async def generate_completion(request: GenerateRequest):
         raise HTTPException(status_code=500, detail=f"Failed to generate text: {str(e)}")
   
 
+@app.post(f"{API_PREFIX}/generate/stream", tags=["LLM"])
+def generate_completion_stream(request: GenerateRequest):
+    """Streams the completion as Server-Sent Events: a `token` event per chunk, then `done` or `error`."""
+    def events():
+        try:
+            for token in llm_service.stream_text(request.prompt):
+                yield f"event: token\ndata: {json.dumps({'token': token})}\n\n"
+            yield "event: done\ndata: {}\n\n"
+        except Exception as e:
+            logging.error(f"ERROR during streamed text generation: {e}")
+            yield f"event: error\ndata: {json.dumps({'message': f'Failed to generate text: {str(e)}'})}\n\n"
+
+    # No proxy buffering, every token should reach the client as soon as it is generated
+    return StreamingResponse(events(), media_type="text/event-stream",
+                             headers={"Cache-Control": "no-cache", "X-Accel-Buffering": "no"})
+
+
 # ──────────────────────────────────────────────────────────────────────────
 # RAG endpoint
 # ──────────────────────────────────────────────────────────────────────────
@@ -1,5 +1,6 @@
 import os
 import time
+import hashlib
 import logging
 from typing import List
 import numpy as np
@@ -105,6 +106,18 @@ def embed_and_store_text(text: str, source_url: str) -> int:
     # This should never be reached, but just in case
     raise RuntimeError("Unexpected error in embed_and_store_text")
 
+def content_hash(text: str) -> str:
+    """Stable fingerprint of cleaned page text, used to skip re-embedding unchanged pages."""
+    return hashlib.sha256(text.strip().encode("utf-8")).hexdigest()
+
+def delete_chunks_for_url(source_url: str) -> None:
+    """Removes the chunks stored by an earlier crawl of the URL, so re-embedding changed content leaves no stale chunks."""
+    get_weaviate_client().batch.delete_objects(
+        class_name=DOCUMENT_CLASS_NAME,
+        where={"path": ["source_url"], "operator": "Equal", "valueText": source_url},
+    )
+    logger.info(f"Deleted previously stored chunks for URL {source_url}")
+
 from .schemas import QueryResponse, QueryRequest, DocumentResult  # reuse existing pydantic model
 
 def query_similar_chunks(query_text: str, limit: int = 3) -> QueryResponse:
@@ -5,12 +5,16 @@ from typing import List, Optional
 class EmbedRequest(BaseModel):
     """Request model for embedding a document from a URL"""
     url: HttpUrl
+    # Hash of the content embedded by an earlier crawl, the page is only re-embedded if its content changed
+    known_hash: Optional[str] = None
 
 class EmbedResponse(BaseModel):
     """Response model for a successful embedding request"""
     url: str
     chunks_embedded: int
     message: str
+    content_hash: Optional[str] = None
+    unchanged: bool = False
 
 # Schemas for the /query testing endpoint
 class QueryRequest(BaseModel):
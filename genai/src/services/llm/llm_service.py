@@ -2,7 +2,7 @@
 import os
 import json
 import logging
-from typing import List, Type, TypeVar
+from typing import Iterator, List, Type, TypeVar
 
 from pydantic import BaseModel, ValidationError
 from langchain_openai import ChatOpenAI
@@ -61,6 +61,19 @@ def generate_text(prompt: str) -> str:
     return response.content if hasattr(response, "content") else response
 
 
+def stream_text(prompt: str) -> Iterator[str]:
+    """Like generate_text, but yields the completion chunk by chunk as the model produces it."""
+    llm = LLM_SINGLETON
+
+    if os.getenv("LLM_PROVIDER", "dummy").lower() == "llmstudio" and hasattr(llm, "model_name"):
+        prompt += "/no_think"
+
+    for chunk in llm.stream(prompt):
+        text = chunk.content if hasattr(chunk, "content") else chunk
+        if text:
+            yield text
+
+
 def generate_structured(messages: List[dict], schema: Type[T], *, max_retries: int = 3) -> T:
     """Return a Pydantic object *schema* regardless of the underlying provider.
 
@@ -0,0 +1,56 @@
+package com.gitittogether.skillforge.server.bench;
+
+import com.gitittogether.skillForge.server.course.dto.request.course.ModuleRequest;
+import com.gitittogether.skillForge.server.course.dto.response.course.CourseResponse;
+import com.gitittogether.skillForge.server.course.dto.response.course.CourseSummaryResponse;
+import com.gitittogether.skillForge.server.course.dto.response.course.ModuleResponse;
+import com.gitittogether.skillForge.server.course.mapper.course.CourseMapper;
+import com.gitittogether.skillForge.server.course.mapper.course.ModuleMapper;
+import com.gitittogether.skillForge.server.course.model.course.Course;
+import com.gitittogether.skillForge.server.course.model.course.Module;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Course model to DTO mapping done on every course read and search.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class CourseMapperBenchmark {
+
+    @Param({"100", "2000"})
+    public int enrolledUsers;
+
+    private Course course;
+    private Module module;
+    private ModuleRequest moduleRequest;
+
+    @Setup
+    public void setUp() {
+        course = SyntheticData.course(10, 8, 4000, enrolledUsers);
+        module = course.getModules().getFirst();
+        moduleRequest = ModuleMapper.toModuleRequest(module);
+    }
+
+    @Benchmark
+    public CourseResponse toCourseResponse() {
+        return CourseMapper.toCourseResponse(course);
+    }
+
+    @Benchmark
+    public CourseSummaryResponse toCourseSummaryResponse() {
+        return CourseMapper.toCourseSummaryResponse(course);
+    }
+
+    @Benchmark
+    public ModuleResponse toModuleResponse() {
+        return ModuleMapper.toModuleResponse(module);
+    }
+
+    @Benchmark
+    public Module requestToModule() {
+        return ModuleMapper.requestToModule(moduleRequest);
+    }
+}
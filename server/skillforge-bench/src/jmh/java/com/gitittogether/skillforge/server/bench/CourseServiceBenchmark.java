@@ -0,0 +1,55 @@
+package com.gitittogether.skillforge.server.bench;
+
+import com.gitittogether.skillForge.server.course.model.course.Course;
+import com.gitittogether.skillForge.server.course.model.course.EnrolledUserInfo;
+import com.gitittogether.skillForge.server.course.model.course.Module;
+import com.gitittogether.skillForge.server.course.service.courses.CourseServiceImpl;
+import com.gitittogether.skillForge.server.course.utils.CourseBookkeeping;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * In-memory course bookkeeping {@link CourseServiceImpl} runs on course creation, updates, enrollments and
+ * progress changes. Both methods write to the course, so it is reset to its generated state before every
+ * invocation and each call starts from unordered modules and zero progress.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class CourseServiceBenchmark {
+
+    @Param({"100", "2000"})
+    public int enrolledUsers;
+
+    private Course course;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        course = SyntheticData.course(10, 8, 500, enrolledUsers);
+    }
+
+    @Setup(Level.Invocation)
+    public void resetCourse() {
+        for (Module module : course.getModules()) {
+            module.setOrder(0);
+            module.getLessons().forEach(lesson -> lesson.setOrder(0));
+        }
+        for (EnrolledUserInfo enrolledUser : course.getEnrolledUsers()) {
+            enrolledUser.setProgress(0.0f);
+        }
+    }
+
+    @Benchmark
+    public List<Module> orderModulesAndLessons() {
+        CourseBookkeeping.orderModulesAndLessons(course.getModules());
+        return course.getModules();
+    }
+
+    @Benchmark
+    public Course updateProgressForAllEnrolledUsers() {
+        CourseBookkeeping.updateProgressForAllEnrolledUsers(course);
+        return course;
+    }
+}
@@ -0,0 +1,66 @@
+package com.gitittogether.skillforge.server.bench;
+
+import com.gitittogether.skillforge.server.gateway.config.JwtUtil;
+import com.gitittogether.skillForge.server.user.config.JwtUtils;
+import org.openjdk.jmh.annotations.*;
+
+import java.lang.reflect.Field;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Token checks done on every authenticated request: once in the gateway and once more in the user or course
+ * service behind it.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class JwtBenchmark {
+
+    private static final String SECRET = "benchmark-jwt-secret-key-that-is-long-enough-for-hs256";
+    private static final String USER_ID = "user-bench";
+
+    private JwtUtil gatewayJwt;
+    private JwtUtils userJwt;
+    private com.gitittogether.skillForge.server.course.config.JwtUtils courseJwt;
+    private String token;
+
+    @Setup
+    public void setUp() throws ReflectiveOperationException {
+        gatewayJwt = new JwtUtil();
+        inject(gatewayJwt, "jwtSecret", SECRET);
+        inject(gatewayJwt, "jwtExpirationMs", 3_600_000L);
+        userJwt = new JwtUtils();
+        inject(userJwt, "jwtSecret", SECRET);
+        inject(userJwt, "jwtExpirationMs", 3_600_000L);
+        courseJwt = new com.gitittogether.skillForge.server.course.config.JwtUtils();
+        inject(courseJwt, "jwtSecret", SECRET);
+        token = userJwt.generateToken(USER_ID, "ada");
+    }
+
+    @Benchmark
+    public boolean gatewayIsTokenValid() {
+        return gatewayJwt.isTokenValid(token);
+    }
+
+    @Benchmark
+    public boolean userIsTokenValid() {
+        return userJwt.isTokenValid(token, USER_ID);
+    }
+
+    @Benchmark
+    public boolean courseIsTokenValid() {
+        return courseJwt.isTokenValid(token, USER_ID);
+    }
+
+    @Benchmark
+    public String userGenerateToken() {
+        return userJwt.generateToken(USER_ID, "ada");
+    }
+
+    // The secrets are @Value fields without setters
+    private static void inject(Object target, String fieldName, Object value) throws ReflectiveOperationException {
+        Field field = target.getClass().getDeclaredField(fieldName);
+        field.setAccessible(true);
+        field.set(target, value);
+    }
+}
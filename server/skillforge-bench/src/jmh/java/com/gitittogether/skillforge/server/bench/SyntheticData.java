@@ -0,0 +1,115 @@
+package com.gitittogether.skillforge.server.bench;
+
+import com.gitittogether.skillForge.server.course.model.course.Course;
+import com.gitittogether.skillForge.server.course.model.course.EnrolledUserInfo;
+import com.gitittogether.skillForge.server.course.model.course.Lesson;
+import com.gitittogether.skillForge.server.course.model.course.LessonContent;
+import com.gitittogether.skillForge.server.course.model.course.Module;
+import com.gitittogether.skillForge.server.course.model.utils.Language;
+import com.gitittogether.skillForge.server.course.model.utils.LessonContentType;
+import com.gitittogether.skillForge.server.course.model.utils.Level;
+import com.gitittogether.skillForge.server.user.model.user.User;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+/**
+ * Builds courses and users shaped like the ones the GenAI service generates, with a fixed seed so every run
+ * measures the same data.
+ */
+final class SyntheticData {
+
+    private static final List<String> SKILLS = List.of("Python", "Java", "Docker", "Kubernetes", "SQL", "React",
+            "TypeScript", "Git", "Linux", "Machine Learning", "Statistics", "REST APIs");
+
+    private SyntheticData() {
+    }
+
+    /**
+     * @param lessonLength characters of markdown per lesson, generated lessons are typically 2-6k
+     */
+    static Course course(int modules, int lessonsPerModule, int lessonLength, int enrolledUsers) {
+        Random random = new Random(42);
+        List<Module> courseModules = new ArrayList<>(modules);
+        for (int m = 0; m < modules; m++) {
+            List<Lesson> lessons = new ArrayList<>(lessonsPerModule);
+            for (int l = 0; l < lessonsPerModule; l++) {
+                lessons.add(Lesson.builder()
+                        .title("Lesson " + (l + 1) + " of module " + (m + 1))
+                        .description("Hands-on walkthrough of topic " + (l + 1))
+                        .content(new LessonContent(LessonContentType.TEXT, markdown(random, lessonLength)))
+                        .build());
+            }
+            courseModules.add(Module.builder()
+                    .title("Module " + (m + 1))
+                    .description("Covers the building blocks needed for module " + (m + 2))
+                    .lessons(lessons)
+                    .build());
+        }
+        int totalLessons = modules * lessonsPerModule;
+        List<EnrolledUserInfo> enrolled = new ArrayList<>(enrolledUsers);
+        for (int u = 0; u < enrolledUsers; u++) {
+            enrolled.add(EnrolledUserInfo.builder()
+                    .userId("user-" + u)
+                    .skills(skills(random, 4))
+                    .currentLesson(random.nextInt(totalLessons + 1))
+                    .totalNumberOfLessons(totalLessons)
+                    .build());
+        }
+        return Course.builder()
+                .id("course-bench")
+                .title("Full-Stack Development with Python and React")
+                .description("A generated course of realistic size for benchmarking")
+                .skills(skills(random, 6))
+                .modules(courseModules)
+                .enrolledUsers(enrolled)
+                .numberOfEnrolledUsers(enrolledUsers)
+                .categories(new ArrayList<>(List.of("Programming", "Web Development")))
+                .level(Level.INTERMEDIATE)
+                .language(Language.EN)
+                .thumbnailUrl("https://example.com/thumbnail.png")
+                .rating(4.5)
+                .build();
+    }
+
+    static User user(int enrolledCourses) {
+        Random random = new Random(7);
+        List<String> courseIds = new ArrayList<>(enrolledCourses);
+        for (int i = 0; i < enrolledCourses; i++) {
+            courseIds.add("course-" + i);
+        }
+        return User.builder()
+                .id("user-bench")
+                .firstName("Ada")
+                .lastName("Lovelace")
+                .username("ada")
+                .email("ada@example.com")
+                .passwordHash("$2a$10$abcdefghijklmnopqrstuuDRHnKQTAXyWv1eSCXvyVnMbAL8DFyO6")
+                .bio("Learning everything about programming")
+                .skills(skills(random, 8))
+                .skillsInProgress(skills(random, 4))
+                .bookmarkedCourseIds(new ArrayList<>(courseIds.subList(0, enrolledCourses / 2)))
+                .enrolledCourseIds(courseIds)
+                .completedCourseIds(new ArrayList<>(courseIds.subList(0, enrolledCourses / 4)))
+                .build();
+    }
+
+    private static List<String> skills(Random random, int count) {
+        List<String> skills = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            skills.add(SKILLS.get(random.nextInt(SKILLS.size())));
+        }
+        return skills;
+    }
+
+    private static String markdown(Random random, int length) {
+        StringBuilder text = new StringBuilder(length + 64);
+        while (text.length() < length) {
+            text.append(random.nextInt(8) == 0 ? "\n## Section " : "The quick brown fox explains ")
+                    .append(SKILLS.get(random.nextInt(SKILLS.size())))
+                    .append(". ");
+        }
+        return text.substring(0, length);
+    }
+}
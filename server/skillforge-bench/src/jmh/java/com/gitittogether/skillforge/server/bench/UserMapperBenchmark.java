@@ -0,0 +1,35 @@
+package com.gitittogether.skillforge.server.bench;
+
+import com.gitittogether.skillForge.server.user.dto.response.user.UserLoginResponse;
+import com.gitittogether.skillForge.server.user.dto.response.user.UserProfileResponse;
+import com.gitittogether.skillForge.server.user.mapper.user.UserMapper;
+import com.gitittogether.skillForge.server.user.model.user.User;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * User model to DTO mapping done on every login and profile read.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class UserMapperBenchmark {
+
+    private User user;
+
+    @Setup
+    public void setUp() {
+        user = SyntheticData.user(40);
+    }
+
+    @Benchmark
+    public UserProfileResponse toUserProfileResponse() {
+        return UserMapper.toUserProfileResponse(user);
+    }
+
+    @Benchmark
+    public UserLoginResponse toUserLoginResponse() {
+        return UserMapper.toUserLoginResponse(user, "token");
+    }
+}
@@ -0,0 +1,44 @@
+package com.gitittogether.skillForge.server.course.config;
+
+import com.gitittogether.skillForge.server.course.service.previews.CoursePreviewStore;
+import com.gitittogether.skillForge.server.course.service.previews.InMemoryCoursePreviewStore;
+import com.gitittogether.skillForge.server.course.service.previews.MongoCoursePreviewStore;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.data.mongodb.core.MongoTemplate;
+
+import java.time.Clock;
+import java.time.Duration;
+
+/**
+ * Store for generated course previews awaiting confirmation, see {@link CoursePreviewStore}.
+ */
+@Configuration
+public class CoursePreviewConfig {
+
+    @Value("${genai.previews.ttl:24h}")
+    private Duration ttl;
+
+    @Value("${genai.previews.max-entries:10000}")
+    private int maxEntries;
+
+    @Bean
+    @ConditionalOnProperty(name = "genai.previews.store", havingValue = "mongo", matchIfMissing = true)
+    public CoursePreviewStore mongoCoursePreviewStore(MongoTemplate mongoTemplate) {
+        return new MongoCoursePreviewStore(mongoTemplate, ttl, Clock.systemUTC());
+    }
+
+    @Bean
+    @ConditionalOnProperty(name = "genai.previews.store", havingValue = "memory")
+    public CoursePreviewStore inMemoryCoursePreviewStore(MeterRegistry meterRegistry) {
+        InMemoryCoursePreviewStore store = new InMemoryCoursePreviewStore(ttl, maxEntries, Clock.systemUTC());
+        Gauge.builder("course.previews.entries", store, InMemoryCoursePreviewStore::size)
+                .description("Generated course previews held in memory")
+                .register(meterRegistry);
+        return store;
+    }
+}
@@ -0,0 +1,46 @@
+package com.gitittogether.skillForge.server.course.config;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+
+/**
+ * Pools of the batch crawl pipeline. A few coordinators walk through the URLs of their jobs and hand them to the
+ * bounded URL workers, blocking while all workers are busy, so a batch of hundreds of URLs never queues more
+ * than {@code genai.crawl.concurrency} calls to the GenAI service. Both pools are exported as executor.* metrics.
+ */
+@Configuration
+public class CrawlJobConfig {
+
+    @Value("${genai.crawl.coordinators:2}")
+    private int coordinators;
+
+    @Value("${genai.crawl.queue-capacity:20}")
+    private int queueCapacity;
+
+    @Value("${genai.crawl.concurrency:8}")
+    private int concurrency;
+
+    @Bean
+    public ThreadPoolTaskExecutor crawlJobExecutor() {
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        executor.setCorePoolSize(coordinators);
+        executor.setMaxPoolSize(coordinators);
+        executor.setQueueCapacity(queueCapacity);
+        executor.setThreadNamePrefix("crawl-job-");
+        return executor;
+    }
+
+    @Bean
+    public ThreadPoolTaskExecutor crawlUrlExecutor() {
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        executor.setCorePoolSize(concurrency);
+        executor.setMaxPoolSize(concurrency);
+        // Coordinators only submit while they hold one of the concurrency permits, the queue absorbs the short
+        // window between a worker releasing its permit and returning to the pool
+        executor.setQueueCapacity(concurrency);
+        executor.setThreadNamePrefix("crawl-url-");
+        return executor;
+    }
+}
@@ -0,0 +1,33 @@
+package com.gitittogether.skillForge.server.course.config;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.annotation.EnableScheduling;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+
+/**
+ * Worker pool for asynchronous course generation jobs. Workers and queue are bounded so a burst of generation
+ * requests is rejected early (503) instead of piling up LLM calls; the pool is exported as executor.* metrics
+ * with name=generationJobExecutor, including the queue depth.
+ */
+@Configuration
+@EnableScheduling
+public class GenerationJobConfig {
+
+    @Value("${genai.jobs.workers:4}")
+    private int workers;
+
+    @Value("${genai.jobs.queue-capacity:50}")
+    private int queueCapacity;
+
+    @Bean
+    public ThreadPoolTaskExecutor generationJobExecutor() {
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        executor.setCorePoolSize(workers);
+        executor.setMaxPoolSize(workers);
+        executor.setQueueCapacity(queueCapacity);
+        executor.setThreadNamePrefix("course-generation-");
+        return executor;
+    }
+}
@@ -0,0 +1,30 @@
+package com.gitittogether.skillForge.server.course.config;
+
+import org.springframework.boot.web.servlet.FilterRegistrationBean;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.web.filter.ShallowEtagHeaderFilter;
+
+/**
+ * ETags for the cacheable public catalog responses, so the gateway response cache can revalidate stale entries
+ * with If-None-Match and get a 304 instead of the full body.
+ * <p>
+ * The ETags are weak, since Tomcat does not compress responses that carry a strong ETag.
+ */
+@Configuration
+public class HttpCachingConfig {
+
+    @Bean
+    public FilterRegistrationBean<ShallowEtagHeaderFilter> publicCatalogEtagFilter() {
+        FilterRegistrationBean<ShallowEtagHeaderFilter> registration = new FilterRegistrationBean<>(etagFilter());
+        registration.addUrlPatterns("/api/v1/courses/public", "/api/v1/courses/public/*");
+        registration.setName("publicCatalogEtagFilter");
+        return registration;
+    }
+
+    private static ShallowEtagHeaderFilter etagFilter() {
+        ShallowEtagHeaderFilter filter = new ShallowEtagHeaderFilter();
+        filter.setWriteWeakETag(true);
+        return filter;
+    }
+}
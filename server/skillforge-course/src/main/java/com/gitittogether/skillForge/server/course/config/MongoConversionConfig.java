@@ -0,0 +1,37 @@
+package com.gitittogether.skillForge.server.course.config;
+
+import com.gitittogether.skillForge.server.course.mongo.LessonContentCodec;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.data.mongodb.core.convert.MongoCustomConversions;
+import org.springframework.util.unit.DataSize;
+
+import java.util.List;
+
+/**
+ * Custom conversions of the MongoDB mapping, shared by the blocking and the reactive template. Lesson content is
+ * stored compressed above a size threshold, see {@link LessonContentCodec}.
+ */
+@Configuration
+public class MongoConversionConfig {
+
+    @Value("${mongo.lesson-compression.enabled:true}")
+    private boolean compressionEnabled;
+
+    @Value("${mongo.lesson-compression.threshold:2KB}")
+    private DataSize compressionThreshold;
+
+    @Value("${mongo.lesson-compression.level:6}")
+    private int compressionLevel;
+
+    @Bean
+    public LessonContentCodec lessonContentCodec() {
+        return new LessonContentCodec(compressionEnabled, (int) compressionThreshold.toBytes(), compressionLevel);
+    }
+
+    @Bean
+    public MongoCustomConversions mongoCustomConversions(LessonContentCodec lessonContentCodec) {
+        return new MongoCustomConversions(List.of(lessonContentCodec.writer(), lessonContentCodec.reader()));
+    }
+}
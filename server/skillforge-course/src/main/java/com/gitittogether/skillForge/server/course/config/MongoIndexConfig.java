@@ -0,0 +1,97 @@
+package com.gitittogether.skillForge.server.course.config;
+
+import com.gitittogether.skillForge.server.course.model.course.Course;
+import com.gitittogether.skillForge.server.course.model.course.CoursePreview;
+import com.gitittogether.skillForge.server.course.model.course.LessonBody;
+import com.gitittogether.skillForge.server.course.model.crawl.CrawlJob;
+import com.gitittogether.skillForge.server.course.model.job.GenerationJob;
+import com.gitittogether.skillForge.server.course.mongo.LessonBodyMigration;
+import com.gitittogether.skillforge.server.shared.mongo.CollectionScanLogger;
+import com.gitittogether.skillforge.server.shared.mongo.IndexMigration;
+import com.gitittogether.skillforge.server.shared.mongo.IndexMigrationRunner;
+import com.gitittogether.skillforge.server.shared.mongo.TtlIndex;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.mongo.MongoClientSettingsBuilderCustomizer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.index.Index;
+import org.springframework.data.mongodb.core.index.IndexInfo;
+import org.springframework.data.mongodb.core.index.IndexOperations;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Indexes of the course service collections, created by versioned migrations at startup. Data migrations that
+ * must run once per database, such as moving lesson content out of the course documents or compressing it, use the
+ * same runner.
+ */
+@Configuration
+public class MongoIndexConfig {
+
+    static final List<IndexMigration> MIGRATIONS = List.of(
+            IndexMigration.declaredIndexes(1, "Course title, instructor, visibility, skills and enrolled users", Course.class),
+            IndexMigration.declaredIndexes(2, "Lesson bodies by course", LessonBody.class),
+            new IndexMigration(3, "Move inline lesson content into lesson bodies", LessonBodyMigration::moveInlineContent),
+            new IndexMigration(4, "Compress large lesson bodies", LessonBodyMigration::compressContent),
+            // Previews hold their own expiry
+            new TtlIndex(CoursePreview.class, "expiresAt", Duration.ZERO).migration(6, "Expire course previews"),
+            new IndexMigration(8, "Unique course titles", MongoIndexConfig::makeTitlesUnique));
+
+    @Value("${genai.jobs.retention:7d}")
+    private Duration jobRetention;
+
+    @Value("${genai.crawl.retention:7d}")
+    private Duration crawlRetention;
+
+    @Bean
+    @ConditionalOnProperty(name = "mongo.index-migrations.enabled", havingValue = "true", matchIfMissing = true)
+    public IndexMigrationRunner indexMigrationRunner(MongoTemplate mongoTemplate) {
+        // Finished jobs are only kept for the retention period
+        TtlIndex generationJobs = new TtlIndex(GenerationJob.class, "createdAt", jobRetention);
+        TtlIndex crawlJobs = new TtlIndex(CrawlJob.class, "createdAt", crawlRetention);
+        List<IndexMigration> migrations = new ArrayList<>(MIGRATIONS);
+        migrations.add(generationJobs.migration(5, "Expire generation jobs after the retention period"));
+        migrations.add(crawlJobs.migration(7, "Expire crawl jobs after the retention period"));
+        return new IndexMigrationRunner(mongoTemplate, "course_index_migrations", migrations, List.of(generationJobs, crawlJobs));
+    }
+
+    /**
+     * Replaces the plain title index created by version 1 before titles became unique. If existing duplicates keep
+     * the unique index from being built, the plain index is restored and the migration retried on the next start.
+     */
+    public static void makeTitlesUnique(MongoTemplate mongoTemplate) {
+        IndexOperations indexOps = mongoTemplate.indexOps(Course.class);
+        List<IndexInfo> titleIndexes = indexOps.getIndexInfo().stream()
+                .filter(index -> index.isIndexForFields(List.of("title")))
+                .toList();
+        if (titleIndexes.stream().anyMatch(IndexInfo::isUnique)) {
+            return;
+        }
+        titleIndexes.forEach(index -> indexOps.dropIndex(index.getName()));
+        try {
+            indexOps.createIndex(new Index().on("title", Sort.Direction.ASC).unique().named("title"));
+        } catch (RuntimeException e) {
+            indexOps.createIndex(new Index().on("title", Sort.Direction.ASC).named("title"));
+            throw e;
+        }
+    }
+
+    @Bean
+    @ConditionalOnProperty(name = "mongo.query-plans.log-collscans", havingValue = "true")
+    public CollectionScanLogger collectionScanLogger(ObjectProvider<MongoTemplate> mongoTemplate) {
+        // Resolved lazily, the template is built on top of the client this logger is registered with
+        return new CollectionScanLogger(database -> mongoTemplate.getObject().getMongoDatabaseFactory().getMongoDatabase(database));
+    }
+
+    @Bean
+    @ConditionalOnProperty(name = "mongo.query-plans.log-collscans", havingValue = "true")
+    public MongoClientSettingsBuilderCustomizer collectionScanLoggerCustomizer(CollectionScanLogger collectionScanLogger) {
+        return settings -> settings.addCommandListener(collectionScanLogger);
+    }
+}
@@ -1,5 +1,6 @@
 package com.gitittogether.skillForge.server.course.config;
 
+import jakarta.servlet.DispatcherType;
 import lombok.RequiredArgsConstructor;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
@@ -32,9 +33,11 @@ public class SecurityConfig {
                         .sessionCreationPolicy(SessionCreationPolicy.STATELESS)
                 )
                 .authorizeHttpRequests(auth -> auth
+                        // Async dispatches (e.g. completing an SSE stream) belong to an already authorized request
+                        .dispatcherTypeMatchers(DispatcherType.ASYNC).permitAll()
                         // Public endpoints: health checks, public courses, search
                         .requestMatchers(HttpMethod.GET, "/api/v1/courses/public/**").permitAll()
-                        .requestMatchers(HttpMethod.GET, "/api/v1/courses/search").permitAll()
+                        .requestMatchers(HttpMethod.GET, "/api/v1/courses/search", "/api/v1/courses/search/stream").permitAll()
                         .requestMatchers(HttpMethod.GET, "/api/v1/courses/categories/**").permitAll()
                         // Documentation endpoints
                         .requestMatchers("/docs/**", "/docs").permitAll()
@@ -0,0 +1,71 @@
+package com.gitittogether.skillForge.server.course.controller.courses;
+
+import com.gitittogether.skillForge.server.course.dto.response.course.CourseResponse;
+import com.gitittogether.skillForge.server.course.dto.response.course.CourseSummaryResponse;
+import com.gitittogether.skillForge.server.course.model.utils.Language;
+import com.gitittogether.skillForge.server.course.model.utils.Level;
+import com.gitittogether.skillForge.server.course.service.courses.CourseCatalogStreamService;
+import com.gitittogether.skillForge.server.course.service.courses.CourseSearchCriteria;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.MediaType;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+import reactor.core.publisher.Flux;
+
+/**
+ * Streaming variants of the catalog reads in {@link CourseController}, written as newline-delimited JSON.
+ * <p>
+ * Spring MVC subscribes to the returned {@link Flux} and writes each course once the previous one was flushed,
+ * requesting the next only then. The Tomcat thread is released right after the handler returns, so a slow client
+ * or a large catalog holds neither a request thread nor the whole result. Writes stay on {@link CourseController}.
+ * <p>
+ * Each variant has its own path so that caches keyed by path never mix the streamed and the JSON array response.
+ * Unlike {@code /public}, the streamed catalog is not marked as cacheable: a shared cache would have to buffer the
+ * whole stream before storing it, which is what streaming avoids.
+ */
+@RestController
+@RequestMapping(path = "/api/v1/courses", produces = MediaType.APPLICATION_NDJSON_VALUE)
+@RequiredArgsConstructor
+@Slf4j
+public class CourseCatalogStreamController {
+
+    private final CourseCatalogStreamService catalogStreamService;
+
+    @GetMapping("/stream")
+    public Flux<CourseSummaryResponse> streamAllCourses() {
+        log.info("Streaming all courses");
+        return catalogStreamService.streamAllCourses();
+    }
+
+    @GetMapping("/public/stream")
+    public Flux<CourseSummaryResponse> streamPublicCourses() {
+        log.info("Streaming public courses for landing page");
+        return catalogStreamService.streamPublicCourses();
+    }
+
+    @GetMapping("/published/stream")
+    public Flux<CourseSummaryResponse> streamPublishedCourses() {
+        log.info("Streaming published courses");
+        return catalogStreamService.streamPublishedCourses();
+    }
+
+    @GetMapping("/search/stream")
+    public Flux<CourseResponse> streamSearch(
+            @RequestParam(required = false) String instructor,
+            @RequestParam(required = false) Level level,
+            @RequestParam(required = false) Language language,
+            @RequestParam(required = false) String skill,
+            @RequestParam(required = false) String category,
+            @RequestParam(required = false) String title,
+            @RequestParam(required = false) Boolean isPublished,
+            @RequestParam(required = false) Boolean isPublic
+    ) {
+        log.info("Streaming advanced search: instructor={}, level={}, language={}, skill={}, category={}, title={}, isPublished={}, isPublic={}",
+                instructor, level, language, skill, category, title, isPublished, isPublic);
+        return catalogStreamService.streamSearch(
+                CourseSearchCriteria.of(instructor, level, language, skill, category, title, isPublished, isPublic));
+    }
+}
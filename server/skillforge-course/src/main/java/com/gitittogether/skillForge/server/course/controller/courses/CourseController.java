@@ -6,18 +6,28 @@ import com.gitittogether.skillForge.server.course.dto.request.course.LearningPat
 import com.gitittogether.skillForge.server.course.dto.response.course.CourseResponse;
 import com.gitittogether.skillForge.server.course.dto.response.course.CourseSummaryResponse;
 import com.gitittogether.skillForge.server.course.dto.response.course.EnrolledUserInfoResponse;
+import com.gitittogether.skillForge.server.course.dto.response.course.LessonResponse;
 import com.gitittogether.skillForge.server.course.dto.response.utils.EmbedResult;
 import com.gitittogether.skillForge.server.course.model.utils.Language;
 import com.gitittogether.skillForge.server.course.model.utils.Level;
 import com.gitittogether.skillForge.server.course.service.courses.CourseService;
+import com.fasterxml.jackson.databind.ObjectMapper;
 import jakarta.servlet.http.HttpServletRequest;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.CacheControl;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
 import java.util.List;
 import java.util.Map;
 
@@ -27,6 +37,14 @@ import java.util.Map;
 @Slf4j
 public class CourseController {
 
+    /**
+     * The public catalog is the same for every visitor, so the gateway and browsers may share it briefly.
+     * Without an explicit header Spring Security would mark it as no-store.
+     */
+    static final CacheControl PUBLIC_CATALOG_CACHE_CONTROL = CacheControl.maxAge(Duration.ofSeconds(30)).cachePublic();
+
+    private static final ObjectMapper STREAM_MAPPER = new ObjectMapper();
+
     private final CourseService courseService;
 
     @PostMapping
@@ -43,6 +61,17 @@ public class CourseController {
         return ResponseEntity.ok(response);
     }
 
+    /**
+     * Returns one lesson with its content. {@link #getCourse} only returns the course structure, so a course page
+     * loads the content of the lesson being viewed only.
+     */
+    @GetMapping("/{courseId}/lessons/{order}")
+    public ResponseEntity<LessonResponse> getLesson(@PathVariable String courseId, @PathVariable int order) {
+        log.info("Fetching lesson {} of course {}", order, courseId);
+        LessonResponse response = courseService.getLesson(courseId, order);
+        return ResponseEntity.ok(response);
+    }
+
     @GetMapping
     public ResponseEntity<List<CourseSummaryResponse>> getAllCourses() {
         log.info("Fetching all courses");
@@ -54,7 +83,7 @@ public class CourseController {
     public ResponseEntity<List<CourseSummaryResponse>> getPublicCourses() {
         log.info("Fetching public courses for landing page");
         List<CourseSummaryResponse> responses = courseService.getPublicCourses();
-        return ResponseEntity.ok(responses);
+        return ResponseEntity.ok().cacheControl(PUBLIC_CATALOG_CACHE_CONTROL).body(responses);
     }
 
     @GetMapping("/published")
@@ -226,6 +255,45 @@ public class CourseController {
         return ResponseEntity.ok(generatedResponse);
     }
 
+    /**
+     * Streams the response to a given Prompt as Server-Sent Events: a {@code token} event per chunk as the GenAi
+     * Service produces it, then {@code done}, or {@code error} if the generation fails midway.
+     *
+     * @param prompt The prompt to generate a response for.
+     * @return The event stream, written on an async request thread.
+     */
+    @PostMapping(path = "/generate/prompt/stream", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public ResponseEntity<StreamingResponseBody> streamResponseFromPrompt(@RequestBody String prompt) {
+        log.info("Streaming response to prompt: {}", prompt);
+        StreamingResponseBody body = out -> {
+            try {
+                courseService.streamResponseFromGenAi(prompt, token -> writeEvent(out, "token", Map.of("token", token)));
+                writeEvent(out, "done", Map.of());
+            } catch (UncheckedIOException e) {
+                log.info("Client closed the prompt stream: {}", e.getMessage());
+            } catch (Exception e) {
+                log.error("Streaming response to prompt failed: {}", e.getMessage());
+                writeEvent(out, "error", Map.of("message", "Failed to generate response from GenAI"));
+            }
+        };
+        return ResponseEntity.ok()
+                .contentType(MediaType.TEXT_EVENT_STREAM)
+                .cacheControl(CacheControl.noCache())
+                // Keeps nginx from buffering the tokens
+                .header("X-Accel-Buffering", "no")
+                .body(body);
+    }
+
+    private static void writeEvent(OutputStream out, String event, Map<String, String> data) {
+        try {
+            String frame = "event: " + event + "\ndata: " + STREAM_MAPPER.writeValueAsString(data) + "\n\n";
+            out.write(frame.getBytes(StandardCharsets.UTF_8));
+            out.flush();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
     /**
      * Embeds a url into the GenAI service for future retrieval.
      *
@@ -0,0 +1,44 @@
+package com.gitittogether.skillForge.server.course.controller.courses;
+
+import com.gitittogether.skillForge.server.course.dto.request.crawl.CrawlBatchRequest;
+import com.gitittogether.skillForge.server.course.dto.response.crawl.CrawlJobResponse;
+import com.gitittogether.skillForge.server.course.service.crawl.CrawlJobService;
+import jakarta.validation.Valid;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.net.URI;
+import java.security.Principal;
+
+/**
+ * Batch crawling: submitting returns a job right away, clients then poll it for the result of every URL.
+ */
+@RestController
+@RequestMapping("/api/v1/courses/crawl")
+@RequiredArgsConstructor
+@Slf4j
+public class CrawlJobController {
+
+    private final CrawlJobService crawlJobService;
+
+    @PostMapping("/jobs")
+    public ResponseEntity<CrawlJobResponse> submitCrawlJob(@Valid @RequestBody CrawlBatchRequest request, Principal principal) {
+        log.info("Queueing crawl of {} URLs", request.urls().size());
+        CrawlJobResponse job = crawlJobService.submitJob(request, principalName(principal));
+        return ResponseEntity.accepted()
+                .location(URI.create("/api/v1/courses/crawl/jobs/" + job.getJobId()))
+                .body(job);
+    }
+
+    @GetMapping("/jobs/{jobId}")
+    public ResponseEntity<CrawlJobResponse> getCrawlJob(@PathVariable String jobId, Principal principal) {
+        log.info("Fetching crawl job: {}", jobId);
+        return ResponseEntity.ok(crawlJobService.getJob(jobId, principalName(principal)));
+    }
+
+    private static String principalName(Principal principal) {
+        return principal != null ? principal.getName() : null;
+    }
+}
@@ -0,0 +1,54 @@
+package com.gitittogether.skillForge.server.course.controller.courses;
+
+import com.gitittogether.skillForge.server.course.dto.request.course.LearningPathRequest;
+import com.gitittogether.skillForge.server.course.dto.response.job.GenerationJobResponse;
+import com.gitittogether.skillForge.server.course.service.jobs.GenerationJobService;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.validation.Valid;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.net.URI;
+import java.security.Principal;
+
+/**
+ * Asynchronous course generation: submitting returns a job right away, clients then poll the job or follow it
+ * over Server-Sent Events until the generated course is ready to be confirmed.
+ */
+@RestController
+@RequestMapping("/api/v1/courses/generate")
+@RequiredArgsConstructor
+@Slf4j
+public class GenerationJobController {
+
+    private final GenerationJobService generationJobService;
+
+    @PostMapping("/learning_path/{userId}/jobs")
+    public ResponseEntity<GenerationJobResponse> submitGenerationJob(@PathVariable String userId, @Valid @RequestBody LearningPathRequest req, HttpServletRequest servletRequest) {
+        log.info("Queueing course generation for user: {}", userId);
+        GenerationJobResponse job = generationJobService.submitJob(req, userId, servletRequest.getHeader("Authorization"));
+        return ResponseEntity.accepted()
+                .location(URI.create("/api/v1/courses/generate/jobs/" + job.getJobId()))
+                .body(job);
+    }
+
+    @GetMapping("/jobs/{jobId}")
+    public ResponseEntity<GenerationJobResponse> getGenerationJob(@PathVariable String jobId, Principal principal) {
+        log.info("Fetching course generation job: {}", jobId);
+        return ResponseEntity.ok(generationJobService.getJob(jobId, principalName(principal)));
+    }
+
+    @GetMapping(path = "/jobs/{jobId}/events", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public SseEmitter streamGenerationJob(@PathVariable String jobId, Principal principal) {
+        log.info("Subscribing to course generation job: {}", jobId);
+        return generationJobService.subscribe(jobId, principalName(principal));
+    }
+
+    private static String principalName(Principal principal) {
+        return principal != null ? principal.getName() : null;
+    }
+}
@@ -6,10 +6,17 @@ import java.util.List;
 
 /**
  * Payload forwarded to the GenAI service
+ *
+ * @param regenerate whether to generate a new course instead of reusing the one cached for the same prompt and skills
  */
 public record LearningPathRequest(
         @NotBlank
         String prompt,
-        List<String> existingSkills
+        List<String> existingSkills,
+        boolean regenerate
 ) {
+
+    public LearningPathRequest(String prompt, List<String> existingSkills) {
+        this(prompt, existingSkills, false);
+    }
 }
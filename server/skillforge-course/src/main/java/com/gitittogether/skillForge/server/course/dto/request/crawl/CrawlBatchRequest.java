@@ -0,0 +1,15 @@
+package com.gitittogether.skillForge.server.course.dto.request.crawl;
+
+import jakarta.validation.constraints.NotEmpty;
+
+import java.util.List;
+
+/**
+ * URLs to crawl and embed in one job. With force, URLs crawled recently are crawled again.
+ */
+public record CrawlBatchRequest(
+        @NotEmpty
+        List<String> urls,
+        boolean force
+) {
+}
@@ -1,5 +1,6 @@
 package com.gitittogether.skillForge.server.course.dto.response.course;
 
+import com.fasterxml.jackson.annotation.JsonInclude;
 import com.gitittogether.skillForge.server.course.model.course.LessonContent;
 import jakarta.validation.constraints.NotBlank;
 import lombok.AllArgsConstructor;
@@ -15,7 +16,8 @@ public class LessonResponse {
     @NotBlank
     private String title;
     private String description;
-    @NotBlank
+    // Only set when a single lesson is requested, courses are returned without lesson content
+    @JsonInclude(JsonInclude.Include.NON_NULL)
     private LessonContent content;
     @NotBlank
     private int order;
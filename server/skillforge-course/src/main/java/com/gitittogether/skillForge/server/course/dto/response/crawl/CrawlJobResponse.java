@@ -0,0 +1,27 @@
+package com.gitittogether.skillForge.server.course.dto.response.crawl;
+
+import com.gitittogether.skillForge.server.course.model.utils.CrawlJobStatus;
+import com.gitittogether.skillForge.server.course.model.utils.CrawlUrlStatus;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.Instant;
+import java.util.List;
+import java.util.Map;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class CrawlJobResponse {
+    private String jobId;
+    private String requestedBy;
+    private CrawlJobStatus status;
+    private int total;
+    private Map<CrawlUrlStatus, Long> counts;
+    private List<CrawlUrlResponse> results;
+    private Instant createdAt;
+    private Instant updatedAt;
+}
@@ -0,0 +1,18 @@
+package com.gitittogether.skillForge.server.course.dto.response.crawl;
+
+import com.gitittogether.skillForge.server.course.dto.response.utils.EmbedResult;
+import com.gitittogether.skillForge.server.course.model.utils.CrawlUrlStatus;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class CrawlUrlResponse {
+    private String url;
+    private CrawlUrlStatus status;
+    private EmbedResult result; // Null while the URL is pending
+}
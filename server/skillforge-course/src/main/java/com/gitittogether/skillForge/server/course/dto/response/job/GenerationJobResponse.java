@@ -0,0 +1,25 @@
+package com.gitittogether.skillForge.server.course.dto.response.job;
+
+import com.gitittogether.skillForge.server.course.dto.request.course.CourseRequest;
+import com.gitittogether.skillForge.server.course.model.utils.GenerationJobStatus;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.Instant;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class GenerationJobResponse {
+    private String jobId;
+    private String userId;
+    private GenerationJobStatus status;
+    private String progress;
+    private CourseRequest result;
+    private String error;
+    private Instant createdAt;
+    private Instant updatedAt;
+}
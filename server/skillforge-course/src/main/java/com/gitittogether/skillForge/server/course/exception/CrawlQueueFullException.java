@@ -0,0 +1,14 @@
+package com.gitittogether.skillForge.server.course.exception;
+
+/**
+ * Thrown when all crawl coordinators are busy and the crawl job queue is full.
+ */
+public class CrawlQueueFullException extends RuntimeException {
+    public CrawlQueueFullException(String message) {
+        super(message);
+    }
+
+    public CrawlQueueFullException(String message, Throwable cause) {
+        super(message, cause);
+    }
+}
@@ -0,0 +1,14 @@
+package com.gitittogether.skillForge.server.course.exception;
+
+/**
+ * Thrown when all course generation workers are busy and the job queue is full.
+ */
+public class GenerationQueueFullException extends RuntimeException {
+    public GenerationQueueFullException(String message) {
+        super(message);
+    }
+
+    public GenerationQueueFullException(String message, Throwable cause) {
+        super(message, cause);
+    }
+}
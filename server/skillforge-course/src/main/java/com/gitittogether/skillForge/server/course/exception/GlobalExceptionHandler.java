@@ -3,6 +3,7 @@ package com.gitittogether.skillForge.server.course.exception;
 import com.gitittogether.skillForge.server.course.dto.response.utils.ApiError;
 import jakarta.servlet.http.HttpServletRequest;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.core.userdetails.UsernameNotFoundException;
@@ -44,6 +45,34 @@ public class GlobalExceptionHandler {
                         .build());
     }
 
+    @ExceptionHandler(GenerationQueueFullException.class)
+    public ResponseEntity<ApiError> handleGenerationQueueFull(GenerationQueueFullException ex, HttpServletRequest request) {
+        log.warn("⏳ [GenerationQueueFull] {} - Path: {}", ex.getMessage(), request.getRequestURI());
+        return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE)
+                .header(HttpHeaders.RETRY_AFTER, "30")
+                .body(ApiError.builder()
+                        .status(HttpStatus.SERVICE_UNAVAILABLE.value())
+                        .error("⏳ Service Unavailable")
+                        .message(ex.getMessage())
+                        .path(request.getRequestURI())
+                        .timestamp(Instant.now())
+                        .build());
+    }
+
+    @ExceptionHandler(CrawlQueueFullException.class)
+    public ResponseEntity<ApiError> handleCrawlQueueFull(CrawlQueueFullException ex, HttpServletRequest request) {
+        log.warn("⏳ [CrawlQueueFull] {} - Path: {}", ex.getMessage(), request.getRequestURI());
+        return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE)
+                .header(HttpHeaders.RETRY_AFTER, "60")
+                .body(ApiError.builder()
+                        .status(HttpStatus.SERVICE_UNAVAILABLE.value())
+                        .error("⏳ Service Unavailable")
+                        .message(ex.getMessage())
+                        .path(request.getRequestURI())
+                        .timestamp(Instant.now())
+                        .build());
+    }
+
     @ExceptionHandler(UsernameNotFoundException.class)
     public ResponseEntity<ApiError> handleUsernameNotFound(UsernameNotFoundException ex, HttpServletRequest req) {
         ApiError err = ApiError.builder()
@@ -0,0 +1,45 @@
+package com.gitittogether.skillForge.server.course.mapper.crawl;
+
+import com.gitittogether.skillForge.server.course.dto.response.crawl.CrawlJobResponse;
+import com.gitittogether.skillForge.server.course.dto.response.crawl.CrawlUrlResponse;
+import com.gitittogether.skillForge.server.course.dto.response.utils.EmbedResult;
+import com.gitittogether.skillForge.server.course.model.crawl.CrawlJob;
+import com.gitittogether.skillForge.server.course.model.crawl.CrawlUrlResult;
+import com.gitittogether.skillForge.server.course.model.utils.CrawlUrlStatus;
+
+import java.util.EnumMap;
+import java.util.Map;
+
+public class CrawlJobMapper {
+    public static CrawlJobResponse toCrawlJobResponse(CrawlJob model) {
+        if (model == null) return null;
+        Map<CrawlUrlStatus, Long> counts = new EnumMap<>(CrawlUrlStatus.class);
+        model.getResults().forEach(result -> counts.merge(result.getStatus(), 1L, Long::sum));
+        return CrawlJobResponse.builder()
+                .jobId(model.getId())
+                .requestedBy(model.getRequestedBy())
+                .status(model.getStatus())
+                .total(model.getResults().size())
+                .counts(counts)
+                .results(model.getResults().stream().map(CrawlJobMapper::toCrawlUrlResponse).toList())
+                .createdAt(model.getCreatedAt())
+                .updatedAt(model.getUpdatedAt())
+                .build();
+    }
+
+    public static CrawlUrlResponse toCrawlUrlResponse(CrawlUrlResult model) {
+        if (model == null) return null;
+        EmbedResult result = model.getStatus() == CrawlUrlStatus.PENDING ? null : EmbedResult.builder()
+                .success(model.getStatus() != CrawlUrlStatus.FAILED)
+                .url(model.getUrl())
+                .chunksEmbedded(model.getChunksEmbedded())
+                .message(model.getMessage())
+                .error(model.getError())
+                .build();
+        return CrawlUrlResponse.builder()
+                .url(model.getUrl())
+                .status(model.getStatus())
+                .result(result)
+                .build();
+    }
+}
@@ -0,0 +1,20 @@
+package com.gitittogether.skillForge.server.course.mapper.job;
+
+import com.gitittogether.skillForge.server.course.dto.response.job.GenerationJobResponse;
+import com.gitittogether.skillForge.server.course.model.job.GenerationJob;
+
+public class GenerationJobMapper {
+    public static GenerationJobResponse toGenerationJobResponse(GenerationJob model) {
+        if (model == null) return null;
+        return GenerationJobResponse.builder()
+                .jobId(model.getId())
+                .userId(model.getUserId())
+                .status(model.getStatus())
+                .progress(model.getProgress())
+                .result(model.getResult())
+                .error(model.getError())
+                .createdAt(model.getCreatedAt())
+                .updatedAt(model.getUpdatedAt())
+                .build();
+    }
+}
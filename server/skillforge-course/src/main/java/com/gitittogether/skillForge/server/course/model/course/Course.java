@@ -4,6 +4,8 @@ import com.gitittogether.skillForge.server.course.model.utils.Language;
 import com.gitittogether.skillForge.server.course.model.utils.Level;
 import lombok.*;
 import org.springframework.data.annotation.Id;
+import org.springframework.data.mongodb.core.index.CompoundIndex;
+import org.springframework.data.mongodb.core.index.Indexed;
 import org.springframework.data.mongodb.core.mapping.Document;
 
 import java.util.ArrayList;
@@ -14,12 +16,15 @@ import java.util.List;
 @AllArgsConstructor
 @Builder
 @Document(collection = "courses")
+@CompoundIndex(name = "published_isPublic", def = "{'published': 1, 'isPublic': 1}")
+@CompoundIndex(name = "enrolledUsers_userId", def = "{'enrolledUsers.userId': 1}")
 public class Course {
 
     @Id
     private String id;
 
     @NonNull
+    @Indexed(unique = true)
     private String title;
 
     @NonNull
@@ -27,9 +32,11 @@ public class Course {
 
     @NonNull
     @Builder.Default
+    @Indexed
     private String instructor = "AI"; // Reference to User who created the course - can be "AI" or a real user in this case use ID of the user
 
     @Builder.Default
+    @Indexed
     private List<String> skills = new ArrayList<>(); // Skills that can be learned in this course
 
     @Builder.Default
@@ -0,0 +1,30 @@
+package com.gitittogether.skillForge.server.course.model.course;
+
+import com.gitittogether.skillForge.server.course.dto.request.course.CourseRequest;
+import lombok.*;
+import org.springframework.data.annotation.Id;
+import org.springframework.data.mongodb.core.mapping.Document;
+
+import java.time.Instant;
+
+/**
+ * Last generated, not yet confirmed course of a user. One document per user, removed by a TTL index once
+ * {@code expiresAt} has passed.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+@Document(collection = "course_previews")
+public class CoursePreview {
+
+    @Id
+    private String userId;
+
+    @NonNull
+    private CourseRequest course;
+
+    private Instant createdAt;
+
+    private Instant expiresAt;
+}
@@ -1,6 +1,7 @@
 package com.gitittogether.skillForge.server.course.model.course;
 
 import lombok.*;
+import org.springframework.data.annotation.ReadOnlyProperty;
 
 @Data
 @NoArgsConstructor
@@ -13,11 +14,15 @@ public class Lesson {
     @NonNull
     private String description;
 
-    @NonNull
+    // Stored as a LessonBody, not in the course document, so loaded courses carry no content. Only courses written
+    // before lesson bodies existed still hold it inline; it is read from them but never written back
+    @ReadOnlyProperty
     private LessonContent content;
 
+    private String contentId; // ID of the LessonBody holding the content
+
     private String thumbnail;
 
     @Builder.Default
     private int order = 0; // The position of this lesson within its module
-}
\ No newline at end of file
+}
@@ -0,0 +1,27 @@
+package com.gitittogether.skillForge.server.course.model.course;
+
+import lombok.*;
+import org.springframework.data.annotation.Id;
+import org.springframework.data.mongodb.core.index.Indexed;
+import org.springframework.data.mongodb.core.mapping.Document;
+
+/**
+ * Content of one lesson, kept apart from the {@link Course} document so that loading a course for its syllabus
+ * does not read every lesson body. Referenced by {@link Lesson#getContentId()}.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+@Document(collection = "lesson_bodies")
+public class LessonBody {
+    @Id
+    private String id;
+
+    @NonNull
+    @Indexed
+    private String courseId;
+
+    @NonNull
+    private LessonContent content;
+}
@@ -0,0 +1,40 @@
+package com.gitittogether.skillForge.server.course.model.crawl;
+
+import com.gitittogether.skillForge.server.course.model.utils.CrawlJobStatus;
+import lombok.*;
+import org.springframework.data.annotation.Id;
+import org.springframework.data.mongodb.core.mapping.Document;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * A batch of URLs crawled and embedded by the GenAI service in the background, with one result per URL.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+@Document(collection = "crawl_jobs")
+public class CrawlJob {
+
+    @Id
+    private String id;
+
+    @NonNull
+    private String requestedBy;
+
+    private boolean force; // Re-crawl URLs even if they were crawled recently
+
+    @NonNull
+    @Builder.Default
+    private CrawlJobStatus status = CrawlJobStatus.QUEUED;
+
+    @Builder.Default
+    private List<CrawlUrlResult> results = new ArrayList<>();
+
+    private Instant createdAt; // Jobs expire via a TTL index on this field
+
+    private Instant updatedAt;
+}
@@ -0,0 +1,34 @@
+package com.gitittogether.skillForge.server.course.model.crawl;
+
+import com.gitittogether.skillForge.server.course.model.utils.CrawlUrlStatus;
+import lombok.*;
+
+import java.time.Instant;
+
+/**
+ * Outcome of one URL of a crawl job.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class CrawlUrlResult {
+
+    @NonNull
+    private String url;
+
+    @NonNull
+    private String host;
+
+    @NonNull
+    @Builder.Default
+    private CrawlUrlStatus status = CrawlUrlStatus.PENDING;
+
+    private Integer chunksEmbedded;
+
+    private String message;
+
+    private String error;
+
+    private Instant finishedAt;
+}
@@ -0,0 +1,30 @@
+package com.gitittogether.skillForge.server.course.model.crawl;
+
+import lombok.*;
+import org.springframework.data.annotation.Id;
+import org.springframework.data.mongodb.core.mapping.Document;
+
+import java.time.Instant;
+
+/**
+ * Last successful crawl of a URL, used to skip URLs that were crawled recently or whose content did not change.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+@Document(collection = "crawled_urls")
+public class CrawledUrl {
+
+    @Id
+    private String url;
+
+    @NonNull
+    private String host;
+
+    private String contentHash; // SHA-256 of the cleaned page text, computed by the GenAI service
+
+    private Integer chunksEmbedded;
+
+    private Instant lastCrawledAt;
+}
@@ -0,0 +1,49 @@
+package com.gitittogether.skillForge.server.course.model.job;
+
+import com.gitittogether.skillForge.server.course.dto.request.course.CourseRequest;
+import com.gitittogether.skillForge.server.course.model.utils.GenerationJobStatus;
+import lombok.*;
+import org.springframework.data.annotation.Id;
+import org.springframework.data.mongodb.core.mapping.Document;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * State of an asynchronous GenAI course generation, shared by all course service instances so any of them can
+ * answer polling and SSE requests for it.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+@Document(collection = "generation_jobs")
+public class GenerationJob {
+
+    @Id
+    private String id;
+
+    @NonNull
+    private String userId;
+
+    @NonNull
+    private String prompt;
+
+    @Builder.Default
+    private List<String> existingSkills = new ArrayList<>();
+
+    @NonNull
+    @Builder.Default
+    private GenerationJobStatus status = GenerationJobStatus.QUEUED;
+
+    private String progress; // Human-readable description of the current step
+
+    private CourseRequest result; // Generated course preview, set once the job succeeded
+
+    private String error;
+
+    private Instant createdAt; // Jobs expire via a TTL index on this field
+
+    private Instant updatedAt;
+}
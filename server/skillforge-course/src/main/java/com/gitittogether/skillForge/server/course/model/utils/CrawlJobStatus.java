@@ -0,0 +1,11 @@
+package com.gitittogether.skillForge.server.course.model.utils;
+
+public enum CrawlJobStatus {
+    QUEUED,  // Accepted and waiting for a free crawl coordinator
+    RUNNING,  // URLs are being crawled and embedded
+    COMPLETED;  // Every URL has a result, see the per-URL statuses for failures
+
+    public boolean isTerminal() {
+        return this == COMPLETED;
+    }
+}
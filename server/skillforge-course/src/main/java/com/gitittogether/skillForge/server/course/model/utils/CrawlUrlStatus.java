@@ -0,0 +1,9 @@
+package com.gitittogether.skillForge.server.course.model.utils;
+
+public enum CrawlUrlStatus {
+    PENDING,  // Not crawled yet
+    EMBEDDED,  // Crawled and embedded into the vector store
+    UNCHANGED,  // Crawled again, but the content hash matched the last crawl so nothing was embedded
+    SKIPPED,  // Crawled recently enough, not requested again
+    FAILED  // Crawling or embedding failed, see the error
+}
@@ -0,0 +1,12 @@
+package com.gitittogether.skillForge.server.course.model.utils;
+
+public enum GenerationJobStatus {
+    QUEUED,  // Accepted and waiting for a free generation worker
+    RUNNING,  // Fetching the user's skills and waiting for the GenAI service
+    SUCCEEDED,  // Course preview generated, ready to be confirmed
+    FAILED;  // Generation failed or was abandoned
+
+    public boolean isTerminal() {
+        return this == SUCCEEDED || this == FAILED;
+    }
+}
@@ -0,0 +1,136 @@
+package com.gitittogether.skillForge.server.course.mongo;
+
+import com.gitittogether.skillForge.server.course.model.course.Course;
+import com.gitittogether.skillForge.server.course.model.course.LessonBody;
+import com.mongodb.client.MongoCollection;
+import com.mongodb.client.model.Filters;
+import com.mongodb.client.model.ReplaceOneModel;
+import com.mongodb.client.model.ReplaceOptions;
+import com.mongodb.client.model.Updates;
+import com.mongodb.client.model.WriteModel;
+import com.mongodb.client.result.UpdateResult;
+import lombok.extern.slf4j.Slf4j;
+import org.bson.BsonValue;
+import org.bson.Document;
+import org.bson.conversions.Bson;
+import org.bson.types.ObjectId;
+import org.springframework.data.mongodb.core.BulkOperations;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+import org.springframework.data.mongodb.core.schema.JsonSchemaObject;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.Stream;
+
+/**
+ * Moves lesson content stored inline in course documents, as written before {@link LessonBody} existed, into
+ * the lesson bodies collection and references it by content ID, and compresses the bodies stored as plain text.
+ * <p>
+ * Safe to run again after an interruption: moved courses have no inline content left, and bodies are upserted by
+ * the content ID recorded in the lesson. A course whose modules changed since they were read is left as it is; its
+ * content stays readable inline and is moved by the next save of the course. Instances running it at the same time may leave unreferenced bodies behind, which are
+ * never read.
+ */
+@Slf4j
+public final class LessonBodyMigration {
+
+    private static final String CONTENT = "content";
+    private static final String CONTENT_ID = "contentId";
+    private static final String MODULES = "modules";
+    private static final Bson INLINE_CONTENT = Filters.exists(MODULES + ".lessons." + CONTENT);
+    private static final int BATCH_SIZE = 500;
+
+    private LessonBodyMigration() {
+    }
+
+    /**
+     * @return number of lessons moved
+     */
+    public static int moveInlineContent(MongoTemplate mongoTemplate) {
+        MongoCollection<Document> courses = mongoTemplate.getCollection(mongoTemplate.getCollectionName(Course.class));
+        MongoCollection<Document> bodies = mongoTemplate.getCollection(mongoTemplate.getCollectionName(LessonBody.class));
+        int movedCourses = 0;
+        int movedLessons = 0;
+        int changedCourses = 0;
+        for (Document course : courses.find(INLINE_CONTENT)) {
+            Object courseId = course.get("_id");
+            // Snapshot before the lessons are edited in place, the update only applies if the modules are unchanged
+            BsonValue originalModules = course.toBsonDocument().get(MODULES);
+            List<Document> modules = course.getList(MODULES, Document.class, List.of());
+            List<WriteModel<Document>> writes = new ArrayList<>();
+            for (Document module : modules) {
+                for (Document lesson : module.getList("lessons", Document.class, List.of())) {
+                    Document content = lesson.get(CONTENT, Document.class);
+                    if (content == null) {
+                        continue;
+                    }
+                    String contentId = lesson.getString(CONTENT_ID);
+                    if (contentId == null) {
+                        contentId = new ObjectId().toHexString();
+                        lesson.put(CONTENT_ID, contentId);
+                    }
+                    // Stored like Spring Data stores String ids: as ObjectId where the value is one
+                    Document body = new Document("_id", ObjectId.isValid(contentId) ? new ObjectId(contentId) : contentId)
+                            .append("courseId", courseId instanceof ObjectId id ? id.toHexString() : String.valueOf(courseId))
+                            .append(CONTENT, content);
+                    writes.add(new ReplaceOneModel<>(Filters.eq("_id", body.get("_id")), body, new ReplaceOptions().upsert(true)));
+                    lesson.remove(CONTENT);
+                }
+            }
+            if (!writes.isEmpty()) {
+                // Bodies first, so a course never references content that was not written
+                bodies.bulkWrite(writes);
+            }
+            UpdateResult result = courses.updateOne(Filters.and(Filters.eq("_id", courseId), Filters.eq(MODULES, originalModules)),
+                    Updates.set(MODULES, modules));
+            if (result.getMatchedCount() == 0) {
+                changedCourses++;
+                continue;
+            }
+            movedCourses++;
+            movedLessons += writes.size();
+        }
+        log.info("Moved the content of {} lessons in {} courses into lesson bodies, {} courses changed meanwhile",
+                movedLessons, movedCourses, changedCourses);
+        return movedLessons;
+    }
+
+    /**
+     * Rewrites the lesson bodies whose text is stored as a plain string through the template's converter, so those
+     * that {@link LessonContentCodec} compresses are stored compressed. Bodies below the threshold stay untouched,
+     * and with compression disabled nothing is written.
+     */
+    public static void compressContent(MongoTemplate mongoTemplate) {
+        Query plainText = Query.query(Criteria.where(CONTENT + "." + CONTENT).type(JsonSchemaObject.Type.stringType()));
+        int checked = 0;
+        int compressed = 0;
+        BulkOperations bulk = null;
+        int pending = 0;
+        try (Stream<LessonBody> bodies = mongoTemplate.stream(plainText, LessonBody.class)) {
+            for (LessonBody body : (Iterable<LessonBody>) bodies::iterator) {
+                checked++;
+                Object stored = mongoTemplate.getConverter().convertToMongoType(body.getContent());
+                if (!(stored instanceof Document content) || content.get(CONTENT) instanceof String) {
+                    continue;
+                }
+                if (bulk == null) {
+                    bulk = mongoTemplate.bulkOps(BulkOperations.BulkMode.UNORDERED, LessonBody.class);
+                }
+                bulk.updateOne(Query.query(Criteria.where("_id").is(body.getId())), Update.update(CONTENT, content));
+                compressed++;
+                if (++pending == BATCH_SIZE) {
+                    bulk.execute();
+                    bulk = null;
+                    pending = 0;
+                }
+            }
+        }
+        if (bulk != null) {
+            bulk.execute();
+        }
+        log.info("Compressed {} of {} lesson bodies stored as plain text", compressed, checked);
+    }
+}
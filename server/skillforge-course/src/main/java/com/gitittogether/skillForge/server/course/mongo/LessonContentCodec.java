@@ -0,0 +1,142 @@
+package com.gitittogether.skillForge.server.course.mongo;
+
+import com.gitittogether.skillForge.server.course.model.course.LessonContent;
+import com.gitittogether.skillForge.server.course.model.utils.LessonContentType;
+import org.bson.BsonBinarySubType;
+import org.bson.Document;
+import org.bson.types.Binary;
+import org.springframework.core.convert.converter.Converter;
+import org.springframework.data.convert.ReadingConverter;
+import org.springframework.data.convert.WritingConverter;
+
+import java.io.ByteArrayOutputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.zip.DataFormatException;
+import java.util.zip.Deflater;
+import java.util.zip.Inflater;
+
+/**
+ * Stores the text of {@link LessonContent} above a size threshold deflate-compressed, so multi-kilobyte markdown
+ * and HTML lessons take less space on disk and in the WiredTiger cache.
+ * <p>
+ * Compressed text is written as BSON binary of the user defined subtype, whose first byte marks the codec
+ * ({@link #DEFLATE}). Plain strings are read as before, so documents written without compression, by an older
+ * version or with compression disabled, stay readable. Text is only decompressed when a document holding it is
+ * read, which for lesson bodies means when a single lesson is returned.
+ */
+public class LessonContentCodec {
+
+    static final byte DEFLATE = 1;
+
+    private static final String TYPE = "type";
+    private static final String CONTENT = "content";
+
+    private final boolean enabled;
+    private final int threshold;
+    private final int level;
+
+    /**
+     * @param threshold UTF-8 size in bytes from which text is compressed
+     * @param level     deflate level from 1 (fastest) to 9 (smallest)
+     */
+    public LessonContentCodec(boolean enabled, int threshold, int level) {
+        this.enabled = enabled;
+        this.threshold = threshold;
+        this.level = level;
+    }
+
+    /**
+     * @return the text as is, or binary if compression is enabled, the text reaches the threshold and compressing
+     * makes it smaller
+     */
+    public Object encode(String text) {
+        if (!enabled || text == null) {
+            return text;
+        }
+        byte[] utf8 = text.getBytes(StandardCharsets.UTF_8);
+        if (utf8.length < threshold) {
+            return text;
+        }
+        byte[] compressed = deflate(utf8);
+        return compressed.length < utf8.length ? new Binary(BsonBinarySubType.USER_DEFINED.getValue(), compressed) : text;
+    }
+
+    public String decode(Object stored) {
+        if (stored == null || stored instanceof String) {
+            return (String) stored;
+        }
+        // The marker byte identifies the codec, the subtype is not relied on since not every server keeps it
+        byte[] data = switch (stored) {
+            case Binary binary -> binary.getData();
+            case byte[] bytes -> bytes;
+            default -> throw new IllegalArgumentException("Lesson content is neither text nor compressed text: "
+                    + stored.getClass().getName());
+        };
+        if (data.length == 0 || data[0] != DEFLATE) {
+            throw new IllegalArgumentException("Unknown lesson content codec " + (data.length == 0 ? "none" : data[0]));
+        }
+        return new String(inflate(data), StandardCharsets.UTF_8);
+    }
+
+    public Converter<LessonContent, Document> writer() {
+        return new LessonContentWriter();
+    }
+
+    public Converter<Document, LessonContent> reader() {
+        return new LessonContentReader();
+    }
+
+    private byte[] deflate(byte[] utf8) {
+        Deflater deflater = new Deflater(level);
+        try {
+            deflater.setInput(utf8);
+            deflater.finish();
+            ByteArrayOutputStream out = new ByteArrayOutputStream(utf8.length / 3 + 16);
+            out.write(DEFLATE);
+            byte[] buffer = new byte[8192];
+            while (!deflater.finished()) {
+                out.write(buffer, 0, deflater.deflate(buffer));
+            }
+            return out.toByteArray();
+        } finally {
+            deflater.end();
+        }
+    }
+
+    private static byte[] inflate(byte[] data) {
+        Inflater inflater = new Inflater();
+        try {
+            inflater.setInput(data, 1, data.length - 1);
+            ByteArrayOutputStream out = new ByteArrayOutputStream(data.length * 4);
+            byte[] buffer = new byte[8192];
+            while (!inflater.finished()) {
+                int inflated = inflater.inflate(buffer);
+                if (inflated == 0 && (inflater.needsInput() || inflater.needsDictionary())) {
+                    throw new IllegalArgumentException("Compressed lesson content is truncated");
+                }
+                out.write(buffer, 0, inflated);
+            }
+            return out.toByteArray();
+        } catch (DataFormatException e) {
+            throw new IllegalArgumentException("Compressed lesson content is corrupt", e);
+        } finally {
+            inflater.end();
+        }
+    }
+
+    @WritingConverter
+    private final class LessonContentWriter implements Converter<LessonContent, Document> {
+        @Override
+        public Document convert(LessonContent source) {
+            return new Document(TYPE, source.getType().name()).append(CONTENT, encode(source.getContent()));
+        }
+    }
+
+    @ReadingConverter
+    private final class LessonContentReader implements Converter<Document, LessonContent> {
+        @Override
+        public LessonContent convert(Document source) {
+            return new LessonContent(LessonContentType.valueOf(source.getString(TYPE)), decode(source.get(CONTENT)));
+        }
+    }
+}
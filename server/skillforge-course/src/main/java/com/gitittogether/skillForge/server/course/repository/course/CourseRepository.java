@@ -3,6 +3,7 @@ package com.gitittogether.skillForge.server.course.repository.course;
 import com.gitittogether.skillForge.server.course.model.course.Course;
 import com.gitittogether.skillForge.server.course.model.utils.Level;
 import org.springframework.data.mongodb.repository.MongoRepository;
+import org.springframework.data.mongodb.repository.ReadPreference;
 import org.springframework.stereotype.Repository;
 
 import java.util.List;
@@ -15,6 +16,7 @@ public interface CourseRepository extends MongoRepository<Course, String> {
      *
      * @return List of public courses.
      */
+    @ReadPreference("secondaryPreferred")
     List<Course> findByIsPublicTrue();
 
     /**
@@ -22,6 +24,7 @@ public interface CourseRepository extends MongoRepository<Course, String> {
      *
      * @return List of published courses.
      */
+    @ReadPreference("secondaryPreferred")
     List<Course> findByPublishedTrue();
 
     /**
@@ -29,6 +32,7 @@ public interface CourseRepository extends MongoRepository<Course, String> {
      *
      * @return List of public and published courses.
      */
+    @ReadPreference("secondaryPreferred")
     List<Course> findByIsPublicTrueAndPublishedTrue();
 
     /**
@@ -55,6 +59,7 @@ public interface CourseRepository extends MongoRepository<Course, String> {
      * @param level The course level.
      * @return List of courses with the specified level.
      */
+    @ReadPreference("secondaryPreferred")
     List<Course> findByLevel(Level level);
 
     /**
@@ -63,6 +68,7 @@ public interface CourseRepository extends MongoRepository<Course, String> {
      * @param language The course language.
      * @return List of courses with the specified language.
      */
+    @ReadPreference("secondaryPreferred")
     List<Course> findByLanguage(com.gitittogether.skillForge.server.course.model.utils.Language language);
 
     /**
@@ -71,6 +77,7 @@ public interface CourseRepository extends MongoRepository<Course, String> {
      * @param skillName The skill name.
      * @return List of courses containing the skill.
      */
+    @ReadPreference("secondaryPreferred")
     List<Course> findBySkillsContainingIgnoreCase(String skillName);
 
     /**
@@ -79,6 +86,7 @@ public interface CourseRepository extends MongoRepository<Course, String> {
      * @param categoryName The category name.
      * @return List of courses containing the category name.
      */
+    @ReadPreference("secondaryPreferred")
     List<Course> findByCategoriesContainingIgnoreCase(String categoryName);
 
     /**
@@ -95,7 +103,15 @@ public interface CourseRepository extends MongoRepository<Course, String> {
      * @param title The course title.
      * @return List of courses with the specified title.
      */
+    @ReadPreference("secondaryPreferred")
     List<Course> findByTitleContainingIgnoreCase(String title);
 
+    /**
+     * Find courses a user is enrolled in.
+     *
+     * @param userId The user ID.
+     * @return List of courses with an enrollment of the user.
+     */
+    List<Course> findByEnrolledUsersUserId(String userId);
 
 } 
\ No newline at end of file
@@ -0,0 +1,27 @@
+package com.gitittogether.skillForge.server.course.repository.course;
+
+import com.gitittogether.skillForge.server.course.model.course.LessonBody;
+import org.springframework.data.mongodb.repository.MongoRepository;
+import org.springframework.stereotype.Repository;
+
+import java.util.Optional;
+
+@Repository
+public interface LessonBodyRepository extends MongoRepository<LessonBody, String> {
+
+    /**
+     * Find the content of a lesson of the given course.
+     *
+     * @param id       The lesson body ID.
+     * @param courseId The course ID.
+     * @return The lesson body, if it belongs to the course.
+     */
+    Optional<LessonBody> findByIdAndCourseId(String id, String courseId);
+
+    /**
+     * Delete the contents of all lessons of a course.
+     *
+     * @param courseId The course ID.
+     */
+    void deleteByCourseId(String courseId);
+}
@@ -0,0 +1,31 @@
+package com.gitittogether.skillForge.server.course.repository.course;
+
+import com.gitittogether.skillForge.server.course.model.course.Course;
+import org.springframework.data.mongodb.repository.ReactiveMongoRepository;
+import org.springframework.data.mongodb.repository.ReadPreference;
+import org.springframework.stereotype.Repository;
+import reactor.core.publisher.Flux;
+
+/**
+ * Non-blocking counterpart of {@link CourseRepository} for the streamed catalog reads. Writes stay on
+ * {@link CourseRepository}.
+ */
+@Repository
+public interface ReactiveCourseRepository extends ReactiveMongoRepository<Course, String> {
+
+    /**
+     * Stream all public courses for landing page display.
+     *
+     * @return Public courses, fetched as they are requested.
+     */
+    @ReadPreference("secondaryPreferred")
+    Flux<Course> findByIsPublicTrue();
+
+    /**
+     * Stream all published courses.
+     *
+     * @return Published courses, fetched as they are requested.
+     */
+    @ReadPreference("secondaryPreferred")
+    Flux<Course> findByPublishedTrue();
+}
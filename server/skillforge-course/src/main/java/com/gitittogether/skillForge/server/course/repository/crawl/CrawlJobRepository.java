@@ -0,0 +1,9 @@
+package com.gitittogether.skillForge.server.course.repository.crawl;
+
+import com.gitittogether.skillForge.server.course.model.crawl.CrawlJob;
+import org.springframework.data.mongodb.repository.MongoRepository;
+import org.springframework.stereotype.Repository;
+
+@Repository
+public interface CrawlJobRepository extends MongoRepository<CrawlJob, String> {
+}
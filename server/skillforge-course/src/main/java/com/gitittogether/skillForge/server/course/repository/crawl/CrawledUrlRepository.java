@@ -0,0 +1,9 @@
+package com.gitittogether.skillForge.server.course.repository.crawl;
+
+import com.gitittogether.skillForge.server.course.model.crawl.CrawledUrl;
+import org.springframework.data.mongodb.repository.MongoRepository;
+import org.springframework.stereotype.Repository;
+
+@Repository
+public interface CrawledUrlRepository extends MongoRepository<CrawledUrl, String> {
+}
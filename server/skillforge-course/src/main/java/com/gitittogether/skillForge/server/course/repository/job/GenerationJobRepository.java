@@ -0,0 +1,9 @@
+package com.gitittogether.skillForge.server.course.repository.job;
+
+import com.gitittogether.skillForge.server.course.model.job.GenerationJob;
+import org.springframework.data.mongodb.repository.MongoRepository;
+import org.springframework.stereotype.Repository;
+
+@Repository
+public interface GenerationJobRepository extends MongoRepository<GenerationJob, String> {
+}
@@ -0,0 +1,41 @@
+package com.gitittogether.skillForge.server.course.service.courses;
+
+import com.gitittogether.skillForge.server.course.dto.response.course.CourseResponse;
+import com.gitittogether.skillForge.server.course.dto.response.course.CourseSummaryResponse;
+import reactor.core.publisher.Flux;
+
+/**
+ * Catalog reads as streams over the reactive MongoDB driver. Documents are fetched in cursor batches as the client
+ * consumes them, so neither a large result nor a slow client holds a request thread or the whole result in memory.
+ */
+public interface CourseCatalogStreamService {
+
+    /**
+     * Stream all courses.
+     *
+     * @return Summaries of all courses.
+     */
+    Flux<CourseSummaryResponse> streamAllCourses();
+
+    /**
+     * Stream all public courses for landing page display.
+     *
+     * @return Summaries of the public courses.
+     */
+    Flux<CourseSummaryResponse> streamPublicCourses();
+
+    /**
+     * Stream all published courses.
+     *
+     * @return Summaries of the published courses.
+     */
+    Flux<CourseSummaryResponse> streamPublishedCourses();
+
+    /**
+     * Stream the result of an advanced search, see {@link CourseService#advancedSearch}.
+     *
+     * @param criteria The search filters.
+     * @return The matching courses.
+     */
+    Flux<CourseResponse> streamSearch(CourseSearchCriteria criteria);
+}
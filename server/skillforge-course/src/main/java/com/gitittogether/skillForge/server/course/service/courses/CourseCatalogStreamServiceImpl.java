@@ -0,0 +1,65 @@
+package com.gitittogether.skillForge.server.course.service.courses;
+
+import com.gitittogether.skillForge.server.course.dto.response.course.CourseResponse;
+import com.gitittogether.skillForge.server.course.dto.response.course.CourseSummaryResponse;
+import com.gitittogether.skillForge.server.course.mapper.course.CourseMapper;
+import com.gitittogether.skillForge.server.course.model.course.Course;
+import com.gitittogether.skillForge.server.course.repository.course.ReactiveCourseRepository;
+import com.mongodb.ReadPreference;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.mongodb.core.ReactiveMongoTemplate;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.stereotype.Service;
+import reactor.core.publisher.Flux;
+
+/**
+ * Requests at most {@code batchSize} documents ahead of what the client consumed. The Mongo cursor fetches the
+ * next batch only once most of the previous one was written, so a slow client pauses the cursor instead of
+ * buffering the rest of the result.
+ */
+@Service
+public class CourseCatalogStreamServiceImpl implements CourseCatalogStreamService {
+
+    private final ReactiveCourseRepository courseRepository;
+    private final ReactiveMongoTemplate mongoTemplate;
+    private final int batchSize;
+
+    public CourseCatalogStreamServiceImpl(ReactiveCourseRepository courseRepository,
+                                          ReactiveMongoTemplate mongoTemplate,
+                                          @Value("${catalog.stream.batch-size:100}") int batchSize) {
+        this.courseRepository = courseRepository;
+        this.mongoTemplate = mongoTemplate;
+        this.batchSize = batchSize;
+    }
+
+    @Override
+    public Flux<CourseSummaryResponse> streamAllCourses() {
+        return courseRepository.findAll()
+                .limitRate(batchSize)
+                .map(CourseMapper::toCourseSummaryResponse);
+    }
+
+    @Override
+    public Flux<CourseSummaryResponse> streamPublicCourses() {
+        return courseRepository.findByIsPublicTrue()
+                .limitRate(batchSize)
+                .map(CourseMapper::toCourseSummaryResponse);
+    }
+
+    @Override
+    public Flux<CourseSummaryResponse> streamPublishedCourses() {
+        return courseRepository.findByPublishedTrue()
+                .limitRate(batchSize)
+                .map(CourseMapper::toCourseSummaryResponse);
+    }
+
+    @Override
+    public Flux<CourseResponse> streamSearch(CourseSearchCriteria criteria) {
+        Query query = criteria.toQuery()
+                .cursorBatchSize(batchSize)
+                .withReadPreference(ReadPreference.secondaryPreferred());
+        return mongoTemplate.find(query, Course.class)
+                .limitRate(batchSize)
+                .map(CourseMapper::toCourseResponse);
+    }
+}
@@ -0,0 +1,53 @@
+package com.gitittogether.skillForge.server.course.service.courses;
+
+import com.gitittogether.skillForge.server.course.model.utils.Language;
+import com.gitittogether.skillForge.server.course.model.utils.Level;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+
+/**
+ * Normalized advanced search parameters: blank filters are dropped, as the query ignores them. Shared by the
+ * blocking and the streaming search, so both return the same courses.
+ */
+public record CourseSearchCriteria(String instructor, Level level, Language language, String skill, String category,
+                                   String title, Boolean isPublished, Boolean isPublic) {
+
+    public static CourseSearchCriteria of(String instructor, Level level, Language language, String skill,
+                                          String category, String title, Boolean isPublished, Boolean isPublic) {
+        return new CourseSearchCriteria(blankToNull(instructor), level, language, blankToNull(skill),
+                blankToNull(category), blankToNull(title), isPublished, isPublic);
+    }
+
+    public Query toQuery() {
+        Query query = new Query();
+        if (instructor != null) {
+            query.addCriteria(Criteria.where("instructor").is(instructor));
+        }
+        if (level != null) {
+            query.addCriteria(Criteria.where("level").is(level));
+        }
+        if (language != null) {
+            query.addCriteria(Criteria.where("language").is(language));
+        }
+        if (skill != null) {
+            query.addCriteria(Criteria.where("skills").regex(skill, "i"));
+        }
+        if (category != null) {
+            query.addCriteria(Criteria.where("categories").regex(category, "i"));
+        }
+        if (title != null) {
+            query.addCriteria(Criteria.where("title").regex(title, "i"));
+        }
+        if (isPublished != null) {
+            query.addCriteria(Criteria.where("published").is(isPublished));
+        }
+        if (isPublic != null) {
+            query.addCriteria(Criteria.where("isPublic").is(isPublic));
+        }
+        return query;
+    }
+
+    private static String blankToNull(String value) {
+        return value == null || value.isBlank() ? null : value;
+    }
+}
@@ -6,11 +6,13 @@ import com.gitittogether.skillForge.server.course.dto.request.course.LearningPat
 import com.gitittogether.skillForge.server.course.dto.response.course.CourseResponse;
 import com.gitittogether.skillForge.server.course.dto.response.course.CourseSummaryResponse;
 import com.gitittogether.skillForge.server.course.dto.response.course.EnrolledUserInfoResponse;
+import com.gitittogether.skillForge.server.course.dto.response.course.LessonResponse;
 import com.gitittogether.skillForge.server.course.dto.response.utils.EmbedResult;
 import com.gitittogether.skillForge.server.course.model.utils.Language;
 import com.gitittogether.skillForge.server.course.model.utils.Level;
 
 import java.util.List;
+import java.util.function.Consumer;
 
 public interface CourseService {
 
@@ -30,6 +32,16 @@ public interface CourseService {
      */
     CourseResponse getCourse(String courseId);
 
+    /**
+     * Retrieves a lesson of a course including its content. Courses are returned without lesson content, which
+     * is loaded one lesson at a time with this method.
+     *
+     * @param courseId The ID of the course.
+     * @param order    The position of the lesson within the course.
+     * @return The lesson response with content.
+     */
+    LessonResponse getLesson(String courseId, int order);
+
     /**
      * Retrieves all courses.
      *
@@ -225,6 +237,16 @@ public interface CourseService {
     //This methode can be moved to a separate service //TODO: refactor
     String generateResponseFromGenAi(String prompt);
 
+    /**
+     * Streams the response to a given Prompt from the GenAi Service, passing every token on as soon as it arrives.
+     * A cached response is passed on as a single token.
+     *
+     * @param prompt  The prompt to generate a response for.
+     * @param onToken Receives the tokens in order. Exceptions it throws abort the stream.
+     * @return The complete generated response.
+     */
+    String streamResponseFromGenAi(String prompt, Consumer<String> onToken);
+
     /**
      * Crawls the web for course content based on a given URL.
      *
@@ -11,43 +11,64 @@ import com.gitittogether.skillForge.server.course.dto.request.course.LearningPat
 import com.gitittogether.skillForge.server.course.dto.response.course.CourseResponse;
 import com.gitittogether.skillForge.server.course.dto.response.course.CourseSummaryResponse;
 import com.gitittogether.skillForge.server.course.dto.response.course.EnrolledUserInfoResponse;
+import com.gitittogether.skillForge.server.course.dto.response.course.LessonResponse;
 import com.gitittogether.skillForge.server.course.dto.response.utils.EmbedResult;
 import com.gitittogether.skillForge.server.course.dto.response.utils.PromptResponse;
 import com.gitittogether.skillForge.server.course.exception.ResourceNotFoundException;
 import com.gitittogether.skillForge.server.course.mapper.course.CourseMapper;
 import com.gitittogether.skillForge.server.course.mapper.course.EnrolledUserInfoMapper;
+import com.gitittogether.skillForge.server.course.mapper.course.LessonMapper;
 import com.gitittogether.skillForge.server.course.mapper.course.ModuleMapper;
 import com.gitittogether.skillForge.server.course.model.course.Course;
 import com.gitittogether.skillForge.server.course.model.course.EnrolledUserInfo;
+import com.gitittogether.skillForge.server.course.model.course.Lesson;
+import com.gitittogether.skillForge.server.course.model.course.LessonBody;
 import com.gitittogether.skillForge.server.course.model.course.Module;
 import com.gitittogether.skillForge.server.course.model.utils.Language;
 import com.gitittogether.skillForge.server.course.model.utils.Level;
 import com.gitittogether.skillForge.server.course.repository.course.CourseRepository;
-import lombok.RequiredArgsConstructor;
+import com.gitittogether.skillForge.server.course.repository.course.LessonBodyRepository;
+import com.gitittogether.skillForge.server.course.service.previews.CoursePreviewStore;
+import com.gitittogether.skillForge.server.course.utils.CourseBookkeeping;
+import com.gitittogether.skillForge.server.course.utils.SingleFlight;
+import io.micrometer.core.instrument.MeterRegistry;
 import lombok.extern.slf4j.Slf4j;
+import org.bson.types.ObjectId;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DuplicateKeyException;
 import org.springframework.data.mongodb.core.MongoTemplate;
-import org.springframework.data.mongodb.core.query.Criteria;
-import org.springframework.data.mongodb.core.query.Query;
 import org.springframework.http.*;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 import org.springframework.web.client.RestTemplate;
 
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
 import java.util.*;
-import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Consumer;
 import java.util.stream.Collectors;
 
 @Service
-@RequiredArgsConstructor
 @Slf4j
 public class CourseServiceImpl implements CourseService {
-    // Shared cache value containing (userId, CourseRequest) to have last generated course for a given user
-    static final ConcurrentHashMap<String, CourseRequest> LAST_GENERATED_COURSES = new ConcurrentHashMap<>();
-
     private final CourseRepository courseRepository;
+    private final LessonBodyRepository lessonBodyRepository;
+    // Last generated course of each user until it is confirmed
+    private final CoursePreviewStore previewStore;
+    private final GenAiResultCache genAiCache;
+    private final UserSkillsCache userSkillsCache;
     private final RestTemplate restTemplate = new RestTemplate();
+    private static final ObjectMapper PROFILE_MAPPER = new ObjectMapper();
+    // Highest number appended to a taken title of a generated course before giving up
+    private static final int MAX_TITLE_SUFFIX = 100;
+    // Identical concurrent reads (e.g. a featured course) share one Mongo fetch and mapping
+    private final SingleFlight<String, CourseResponse> courseReads;
+    private final SingleFlight<CourseSearchCriteria, List<CourseResponse>> searchReads;
     @Value("${user.service.uri:http://localhost:8082}")
     private String userServiceUri;
     @Value("${genai.service.uri:http://localhost:8888}")
@@ -55,6 +76,18 @@ public class CourseServiceImpl implements CourseService {
     @Autowired
     private MongoTemplate mongoTemplate;
 
+    public CourseServiceImpl(CourseRepository courseRepository, LessonBodyRepository lessonBodyRepository,
+                             CoursePreviewStore previewStore, GenAiResultCache genAiCache,
+                             UserSkillsCache userSkillsCache, MeterRegistry meterRegistry) {
+        this.courseRepository = courseRepository;
+        this.lessonBodyRepository = lessonBodyRepository;
+        this.previewStore = previewStore;
+        this.genAiCache = genAiCache;
+        this.userSkillsCache = userSkillsCache;
+        this.courseReads = new SingleFlight<>("getCourse", meterRegistry);
+        this.searchReads = new SingleFlight<>("advancedSearch", meterRegistry);
+    }
+
     @Override
     @Transactional
     public CourseResponse createCourse(CourseRequest request) {
@@ -66,23 +99,65 @@ public class CourseServiceImpl implements CourseService {
             log.warn("Course with title '{}' already exists", request.getTitle());
             throw new IllegalArgumentException("Course with this title already exists");
         }
-        Course course = CourseMapper.requestToCourse(request);
-        // Ensure correct module order (starting from 0)
-        orderModulesAndLessons(course.getModules());
-        Course savedCourse = courseRepository.save(course);
+        Course savedCourse;
+        try {
+            savedCourse = courseRepository.save(newCourse(request));
+        } catch (DuplicateKeyException e) {
+            // Another request created a course with this title since the check above
+            log.warn("Course with title '{}' already exists", request.getTitle());
+            throw new IllegalArgumentException("Course with this title already exists", e);
+        }
 
         log.info("Created course with ID: {}", savedCourse.getId());
         return CourseMapper.toCourseResponse(savedCourse);
     }
 
+    /**
+     * Maps the request to a course whose lesson bodies are already stored.
+     */
+    private Course newCourse(CourseRequest request) {
+        Course course = CourseMapper.requestToCourse(request);
+        // Ensure correct module order (starting from 0)
+        CourseBookkeeping.orderModulesAndLessons(course.getModules());
+        // The ID is assigned up front so the lesson bodies can be stored before the course referencing them
+        course.setId(new ObjectId().toHexString());
+        storeLessonBodies(course);
+        return course;
+    }
+
     @Override
     public CourseResponse getCourse(String courseId) {
         log.info("Fetching course: {}", courseId);
 
+        return courseReads.execute(courseId, () -> {
+            Course course = courseRepository.findById(courseId)
+                    .orElseThrow(() -> new ResourceNotFoundException("Course not found with ID: " + courseId));
+
+            return CourseMapper.toCourseResponse(course);
+        });
+    }
+
+    @Override
+    public LessonResponse getLesson(String courseId, int order) {
+        log.info("Fetching lesson {} of course {}", order, courseId);
+
         Course course = courseRepository.findById(courseId)
                 .orElseThrow(() -> new ResourceNotFoundException("Course not found with ID: " + courseId));
-
-        return CourseMapper.toCourseResponse(course);
+        Lesson lesson = course.getModules().stream()
+                .flatMap(module -> module.getLessons().stream())
+                .filter(candidate -> candidate.getOrder() == order)
+                .findFirst()
+                .orElseThrow(() -> new ResourceNotFoundException("Lesson " + order + " not found in course " + courseId));
+        // Without a content ID the content is still inline, in courses written by an instance predating lesson bodies
+        if (lesson.getContentId() != null) {
+            lessonBodyRepository.findByIdAndCourseId(lesson.getContentId(), courseId)
+                    .map(LessonBody::getContent)
+                    .ifPresent(lesson::setContent);
+        }
+        if (lesson.getContent() == null) {
+            throw new ResourceNotFoundException("Content of lesson " + order + " not found in course " + courseId);
+        }
+        return LessonMapper.toLessonResponse(lesson);
     }
 
     @Override
@@ -138,7 +213,7 @@ public class CourseServiceImpl implements CourseService {
 
         // Ensure correct module and lesson order
         if (existingCourse.getModules() != null) {
-            orderModulesAndLessons(existingCourse.getModules());
+            CourseBookkeeping.orderModulesAndLessons(existingCourse.getModules());
         }
 
         // Calculate total number of lessons for the course
@@ -178,7 +253,7 @@ public class CourseServiceImpl implements CourseService {
                 .forEach(u -> u.setTotalNumberOfLessons(totalLessons));
 
         // Calculate and update progress for all enrolled users based on currentLesson
-        updateProgressForAllEnrolledUsers(existingCourse);
+        CourseBookkeeping.updateProgressForAllEnrolledUsers(existingCourse);
 
         if (request.getNumberOfEnrolledUsers() != null)
             existingCourse.setNumberOfEnrolledUsers(request.getNumberOfEnrolledUsers());
@@ -194,6 +269,7 @@ public class CourseServiceImpl implements CourseService {
 
         // Rating is optional, so only update if provided
         if (request.getRating() != 0.0) existingCourse.setRating(request.getRating());
+        storeLessonBodies(existingCourse);
         Course savedCourse = courseRepository.save(existingCourse);
         log.info("Updated course with ID: {}", savedCourse.getId());
         return CourseMapper.toCourseResponse(savedCourse);
@@ -243,7 +319,7 @@ public class CourseServiceImpl implements CourseService {
 
         // Ensure correct module and lesson order
         if (existingCourse.getModules() != null) {
-            orderModulesAndLessons(existingCourse.getModules());
+            CourseBookkeeping.orderModulesAndLessons(existingCourse.getModules());
         }
 
         // Calculate total number of lessons for the course
@@ -283,7 +359,7 @@ public class CourseServiceImpl implements CourseService {
                 .forEach(u -> u.setTotalNumberOfLessons(totalLessons));
 
         // Calculate and update progress for all enrolled users based on currentLesson
-        updateProgressForAllEnrolledUsers(existingCourse);
+        CourseBookkeeping.updateProgressForAllEnrolledUsers(existingCourse);
 
         if (request.getNumberOfEnrolledUsers() != null)
             existingCourse.setNumberOfEnrolledUsers(request.getNumberOfEnrolledUsers());
@@ -298,6 +374,7 @@ public class CourseServiceImpl implements CourseService {
         // Rating is optional, so only update if provided
         if (request.getRating() != 0.0) existingCourse.setRating(request.getRating());
 
+        storeLessonBodies(existingCourse);
         Course savedCourse = courseRepository.save(existingCourse);
         log.info("Updated course partially with ID: {}", savedCourse.getId());
         return CourseMapper.toCourseResponse(savedCourse);
@@ -313,6 +390,7 @@ public class CourseServiceImpl implements CourseService {
         }
 
         courseRepository.deleteById(courseId);
+        lessonBodyRepository.deleteByCourseId(courseId);
         log.info("Deleted course with ID: {}", courseId);
     }
 
@@ -346,6 +424,7 @@ public class CourseServiceImpl implements CourseService {
                 .build();
         course.getEnrolledUsers().add(enrolledUser);
         course.setNumberOfEnrolledUsers(course.getNumberOfEnrolledUsers() + 1);
+        storeLessonBodies(course);
         Course savedCourse = courseRepository.save(course);
 
         // Call user service to update enrolledCourseIds
@@ -374,6 +453,7 @@ public class CourseServiceImpl implements CourseService {
         boolean removed = course.getEnrolledUsers().removeIf(u -> u.getUserId().equals(userId));
         if (removed) {
             course.setNumberOfEnrolledUsers(Math.max(0, course.getNumberOfEnrolledUsers() - 1));
+            storeLessonBodies(course);
             courseRepository.save(course);
             // Call user service to update enrolledCourseIds
             try {
@@ -418,8 +498,11 @@ public class CourseServiceImpl implements CourseService {
         } catch (Exception e) {
             log.error("Failed to update user's completed courses in user service: {}", e.getMessage(), e);
         }
+        // The completed course's skills were added to the user's profile
+        userSkillsCache.invalidate(userId);
 
         log.info("Completed course {} for user {}", courseId, userId);
+        storeLessonBodies(course);
         courseRepository.save(course);
     }
 
@@ -427,9 +510,9 @@ public class CourseServiceImpl implements CourseService {
     @Override
     public List<EnrolledUserInfoResponse> getUserEnrolledCourses(String userId) {
         log.info("Fetching enrolled courses for user: {}", userId);
-        List<Course> allCourses = courseRepository.findAll();
+        List<Course> enrolledCourses = courseRepository.findByEnrolledUsersUserId(userId);
         List<EnrolledUserInfoResponse> responses = new ArrayList<>();
-        for (Course course : allCourses) {
+        for (Course course : enrolledCourses) {
             course.getEnrolledUsers().stream()
                     .filter(u -> u.getUserId().equals(userId))
                     .findFirst()
@@ -570,104 +653,65 @@ public class CourseServiceImpl implements CourseService {
 
     @Override
     public List<CourseResponse> advancedSearch(String instructor, Level level, Language language, String skill, String category, String title, Boolean isPublished, Boolean isPublic) {
-        Query query = new Query();
-        if (instructor != null && !instructor.isBlank()) {
-            query.addCriteria(Criteria.where("instructor").is(instructor));
-        }
-        if (level != null) {
-            query.addCriteria(Criteria.where("level").is(level));
-        }
-        if (language != null) {
-            query.addCriteria(Criteria.where("language").is(language));
-        }
-        if (skill != null && !skill.isBlank()) {
-            query.addCriteria(Criteria.where("skills").regex(skill, "i"));
-        }
-        if (category != null && !category.isBlank()) {
-            query.addCriteria(Criteria.where("categories").regex(category, "i"));
-        }
-        if (title != null && !title.isBlank()) {
-            query.addCriteria(Criteria.where("title").regex(title, "i"));
-        }
-        if (isPublished != null) {
-            query.addCriteria(Criteria.where("published").is(isPublished));
-        }
-        if (isPublic != null) {
-            query.addCriteria(Criteria.where("isPublic").is(isPublic));
-        }
-        List<Course> courses = mongoTemplate.find(query, Course.class);
+        CourseSearchCriteria criteria = CourseSearchCriteria.of(instructor, level, language, skill, category, title, isPublished, isPublic);
+        return searchReads.execute(criteria, () -> findCourses(criteria));
+    }
+
+    private List<CourseResponse> findCourses(CourseSearchCriteria criteria) {
+        List<Course> courses = mongoTemplate.find(criteria.toQuery(), Course.class);
         return courses.stream().map(CourseMapper::toCourseResponse).collect(Collectors.toList());
     }
 
     @Override
     public CourseRequest generateCourseFromGenAi(LearningPathRequest req, String userId, String authHeader) {
-        // 1. Get skills from user-service, fallback to skills from the request
+        // 1. Get skills from the cached profile or user-service, fallback to skills from the request
         List<String> effectiveSkills = req.existingSkills();
         String prompt = req.prompt();
 
-        try {
-            String profileUrl = userServiceUri + "/api/v1/users/" + userId + "/profile";
-            HttpHeaders headers = new HttpHeaders();
-            if (authHeader == null || authHeader.isBlank()) {
-                log.warn("No auth header provided, using service key only for user profile request");
-                headers.set("X-Service-Key", "course-service-key");
-            } else {
-                log.info("Using provided auth header for user profile request");
-                headers.set("Authorization", authHeader);
-                headers.set("X-Service-Key", "course-service-key");
-            }
-            HttpEntity<Void> entity = new HttpEntity<>(headers);
-
-            ResponseEntity<String> profileResp = restTemplate.exchange(profileUrl, HttpMethod.GET, entity, String.class);
-
-            if (profileResp.getStatusCode().is2xxSuccessful() && profileResp.getBody() != null) {
-                String profileJson = profileResp.getBody();
-                log.info("User profile fetched via user-service: {}", profileJson);
-                ObjectMapper mapper = new ObjectMapper();
-                JsonNode root = mapper.readTree(profileJson);
-                JsonNode skillsNode = root.get("skills");
-                if (skillsNode != null && skillsNode.isArray() && !skillsNode.isEmpty()) {
-                    effectiveSkills = mapper.convertValue(skillsNode, new TypeReference<List<String>>() {
-                    });
-                }
-            } else {
-                log.warn("User service returned non-OK status: {}", profileResp.getStatusCode());
-            }
-        } catch (Exception ex) {
-            log.warn("Could not fetch or parse skills from user profile for {}: {}", userId, ex.getMessage());
-            // fallback: effectiveSkills already set to req.existingSkills()
+        List<String> profileSkills = userSkillsCache.find(userId).orElseGet(() -> fetchProfileSkills(userId, authHeader));
+        if (profileSkills != null && !profileSkills.isEmpty()) {
+            effectiveSkills = profileSkills;
         }
         log.info("▶️ Calling GenAI to generate learning-path course (prompt='{}') with effective skills={}", prompt, effectiveSkills);
 
         try {
-            // 2. Build request payload for GenAI service
-            Map<String, Object> payload = new HashMap<>();
-            payload.put("prompt", prompt);
-            payload.put("existing_skills", effectiveSkills == null ? List.of() : effectiveSkills);
+            List<String> skills = effectiveSkills == null ? List.of() : effectiveSkills;
+            // 2. Reuse the course generated for the same prompt and skills, unless the user asked for a new one
+            String rawJson = req.regenerate() ? null : genAiCache.findCourseJson(prompt, skills).orElse(null);
+            if (rawJson != null) {
+                log.info("Reusing cached GenAI course for prompt='{}'", prompt);
+            } else {
+                // 3. Build request payload for GenAI service
+                Map<String, Object> payload = new HashMap<>();
+                payload.put("prompt", prompt);
+                payload.put("existing_skills", skills);
 
-            HttpHeaders headers = new HttpHeaders();
-            headers.setContentType(MediaType.APPLICATION_JSON);
-            HttpEntity<Map<String, Object>> httpReq = new HttpEntity<>(payload, headers);
+                HttpHeaders headers = new HttpHeaders();
+                headers.setContentType(MediaType.APPLICATION_JSON);
+                HttpEntity<Map<String, Object>> httpReq = new HttpEntity<>(payload, headers);
 
-            String endpoint = genaiServiceUri + "/api/v1/rag/generate-course";
-            ResponseEntity<String> genAiResp = restTemplate.postForEntity(endpoint, httpReq, String.class);
+                String endpoint = genaiServiceUri + "/api/v1/rag/generate-course";
+                ResponseEntity<String> genAiResp = restTemplate.postForEntity(endpoint, httpReq, String.class);
 
-            if (!genAiResp.getStatusCode().is2xxSuccessful() || genAiResp.getBody() == null) {
-                log.error("GenAI responded with status={} body={}", genAiResp.getStatusCode(), genAiResp.getBody());
-                throw new IllegalStateException("GenAI service failed with statusCode: " + genAiResp.getStatusCode() + "or returned no courseRequest");
+                if (!genAiResp.getStatusCode().is2xxSuccessful() || genAiResp.getBody() == null) {
+                    log.error("GenAI responded with status={} body={}", genAiResp.getStatusCode(), genAiResp.getBody());
+                    throw new IllegalStateException("GenAI service failed with statusCode: " + genAiResp.getStatusCode() + "or returned no courseRequest");
+                }
+                rawJson = genAiResp.getBody();
             }
 
-            String rawJson = genAiResp.getBody();
             ObjectMapper mapper = new ObjectMapper();
             mapper.configure(DeserializationFeature.FAIL_ON_UNKNOWN_PROPERTIES, false);
 
             CourseRequest courseReq = mapper.readValue(rawJson, CourseRequest.class);
+            // Only cache what parsed into a course
+            genAiCache.putCourseJson(prompt, skills, rawJson);
             // Ensure manual review before publishing
             courseReq.setPublished(false);
             courseReq.setIsPublic(false);
 
             // Store the preview for user confirmation, not persist to DB
-            LAST_GENERATED_COURSES.put(userId, courseReq);
+            previewStore.save(userId, courseReq);
 
             log.info("✅ Generated course from GenAI: {}", courseReq.getTitle());
             return courseReq;
@@ -684,7 +728,7 @@ public class CourseServiceImpl implements CourseService {
     @Transactional
     public CourseResponse confirmCourseGeneration(String userId) {
         try {
-            CourseRequest request = LAST_GENERATED_COURSES.get(userId);
+            CourseRequest request = previewStore.find(userId).orElse(null);
             if (request == null) {
                 // No course was generated for this user - we nullify the request
                 log.warn("No course request found for user {}", userId);
@@ -695,13 +739,14 @@ public class CourseServiceImpl implements CourseService {
             // Ensure the request has published set to false and public set to false
             request.setPublished(false);
             request.setIsPublic(false);
-            CourseResponse persisted = this.createCourse(request);
+            // Generated titles repeat, e.g. for the same prompt, so a taken title gets a number instead of failing
+            CourseResponse persisted = insertWithAvailableTitle(request);
             log.info("✅ Generated and persisted course id={}", persisted.getId());
             log.info("Now enrolling user {} in the newly created course {}", userId, persisted.getId());
             this.enrollUserInCourse(persisted.getId(), userId);
             log.info("✅ Enrolled user {} in course {}", userId, persisted.getId());
             // clear the last generated course for this user
-            LAST_GENERATED_COURSES.remove(userId);
+            previewStore.remove(userId);
             return persisted;
         } catch (Exception e) {
             log.error("❌ confirmCourseGeneration failed: {}", e.getMessage(), e);
@@ -710,9 +755,77 @@ public class CourseServiceImpl implements CourseService {
         }
     }
 
+    /**
+     * Inserts the course under its title or, if that is taken, under the title with the lowest free suffix
+     * " (2)", " (3)", ... The unique title index decides which title is free, so concurrent confirmations of the
+     * same generated course never end up with the same title.
+     */
+    private CourseResponse insertWithAvailableTitle(CourseRequest request) {
+        Course course = newCourse(request);
+        String title = course.getTitle();
+        for (int suffix = 2; ; suffix++) {
+            try {
+                Course savedCourse = courseRepository.save(course);
+                log.info("Created course with ID: {}", savedCourse.getId());
+                return CourseMapper.toCourseResponse(savedCourse);
+            } catch (DuplicateKeyException e) {
+                if (suffix > MAX_TITLE_SUFFIX) {
+                    throw new IllegalArgumentException("Course with this title already exists", e);
+                }
+                log.info("Course title '{}' is taken, trying the next number", course.getTitle());
+                course.setTitle(title + " (" + suffix + ")");
+            }
+        }
+    }
+
+    /**
+     * Fetches the user's skills from the user service profile and caches them.
+     *
+     * @return the skills, or null if the profile could not be fetched
+     */
+    private List<String> fetchProfileSkills(String userId, String authHeader) {
+        long version = userSkillsCache.currentVersion();
+        try {
+            String profileUrl = userServiceUri + "/api/v1/users/" + userId + "/profile";
+            HttpHeaders headers = new HttpHeaders();
+            if (authHeader == null || authHeader.isBlank()) {
+                log.warn("No auth header provided, using service key only for user profile request");
+                headers.set("X-Service-Key", "course-service-key");
+            } else {
+                log.info("Using provided auth header for user profile request");
+                headers.set("Authorization", authHeader);
+                headers.set("X-Service-Key", "course-service-key");
+            }
+            HttpEntity<Void> entity = new HttpEntity<>(headers);
+
+            ResponseEntity<String> profileResp = restTemplate.exchange(profileUrl, HttpMethod.GET, entity, String.class);
+
+            if (!profileResp.getStatusCode().is2xxSuccessful() || profileResp.getBody() == null) {
+                log.warn("User service returned non-OK status: {}", profileResp.getStatusCode());
+                return null;
+            }
+            log.debug("User profile fetched via user-service: {}", profileResp.getBody());
+            JsonNode skillsNode = PROFILE_MAPPER.readTree(profileResp.getBody()).get("skills");
+            List<String> skills = skillsNode != null && skillsNode.isArray()
+                    ? PROFILE_MAPPER.convertValue(skillsNode, new TypeReference<List<String>>() {
+                    })
+                    : List.of();
+            userSkillsCache.put(userId, skills, version);
+            return skills;
+        } catch (Exception ex) {
+            log.warn("Could not fetch or parse skills from user profile for {}: {}", userId, ex.getMessage());
+            // fallback: the caller keeps the skills from the request
+            return null;
+        }
+    }
+
     @Override
     @Transactional
     public String generateResponseFromGenAi(String prompt) {
+        Optional<String> cached = genAiCache.findResponse(prompt);
+        if (cached.isPresent()) {
+            return cached.get();
+        }
         try {
             Map<String, Object> payload = new HashMap<>();
             payload.put("prompt", prompt);
@@ -730,13 +843,84 @@ public class CourseServiceImpl implements CourseService {
                 throw new IllegalStateException("GenAI service failed");
             }
             PromptResponse body = genAiResp.getBody();
-            return body != null ? body.getGenerated_text() : null;
+            String generated = body != null ? body.getGenerated_text() : null;
+            genAiCache.putResponse(prompt, generated);
+            return generated;
         } catch (Exception ex) {
             log.error("Failed to generate response from GenAI", ex);
             throw new RuntimeException("Failed to generate response from GenAI", ex);
         }
     }
 
+    @Override
+    public String streamResponseFromGenAi(String prompt, Consumer<String> onToken) {
+        Optional<String> cached = genAiCache.findResponse(prompt);
+        if (cached.isPresent()) {
+            onToken.accept(cached.get());
+            return cached.get();
+        }
+        try {
+            ObjectMapper mapper = new ObjectMapper();
+            byte[] payload = mapper.writeValueAsBytes(Map.of("prompt", prompt));
+            String endpoint = genaiServiceUri + "/api/v1/generate/stream";
+            String generated = restTemplate.execute(endpoint, HttpMethod.POST, request -> {
+                request.getHeaders().setContentType(MediaType.APPLICATION_JSON);
+                request.getHeaders().setAccept(List.of(MediaType.TEXT_EVENT_STREAM));
+                request.getBody().write(payload);
+            }, response -> {
+                if (!response.getStatusCode().is2xxSuccessful()) {
+                    log.error("GenAI stream responded with status={}", response.getStatusCode());
+                    throw new IllegalStateException("GenAI service failed");
+                }
+                return readTokenStream(response.getBody(), mapper, onToken);
+            });
+            genAiCache.putResponse(prompt, generated);
+            return generated;
+        } catch (UncheckedIOException ex) {
+            // The consumer could not write, i.e. our client went away. Closing the GenAI response stops the generation
+            throw ex;
+        } catch (Exception ex) {
+            log.error("Failed to stream response from GenAI", ex);
+            throw new RuntimeException("Failed to generate response from GenAI", ex);
+        }
+    }
+
+    /**
+     * Reads the Server-Sent Events of the GenAI stream, passes every {@code token} event on and returns the joined
+     * tokens once the {@code done} event arrives.
+     */
+    private static String readTokenStream(InputStream body, ObjectMapper mapper, Consumer<String> onToken) throws IOException {
+        StringBuilder generated = new StringBuilder();
+        BufferedReader reader = new BufferedReader(new InputStreamReader(body, StandardCharsets.UTF_8));
+        String event = "message";
+        StringBuilder data = new StringBuilder();
+        String line;
+        while ((line = reader.readLine()) != null) {
+            if (line.startsWith("event:")) {
+                event = line.substring("event:".length()).trim();
+            } else if (line.startsWith("data:")) {
+                data.append(line.substring("data:".length()).trim());
+            } else if (line.isEmpty() && !data.isEmpty()) {
+                JsonNode json = mapper.readTree(data.toString());
+                switch (event) {
+                    case "token" -> {
+                        String token = json.path("token").asText("");
+                        generated.append(token);
+                        onToken.accept(token);
+                    }
+                    case "done" -> {
+                        return generated.toString();
+                    }
+                    case "error" -> throw new IllegalStateException("GenAI stream failed: " + json.path("message").asText());
+                    default -> log.debug("Ignoring GenAI stream event '{}'", event);
+                }
+                event = "message";
+                data.setLength(0);
+            }
+        }
+        throw new IllegalStateException("GenAI stream ended before it was done");
+    }
+
     @Override
     public EmbedResult crawlWebForCourseContent(String url) {
         log.info("Crawling web for course content at URL: {}", url);
@@ -797,36 +981,32 @@ public class CourseServiceImpl implements CourseService {
     }
 
     /**
-     * Utility method to update progress for all enrolled users in a course
-     *
-     * @param course The course to update progress for
-     */
-    private void updateProgressForAllEnrolledUsers(Course course) {
-        course.getEnrolledUsers().forEach(enrolledUser -> {
-            if (enrolledUser.getTotalNumberOfLessons() > 0) {
-                float progressPercentage = (float) enrolledUser.getCurrentLesson() / enrolledUser.getTotalNumberOfLessons() * 100.0f;
-                enrolledUser.setProgress(Math.min(progressPercentage, 100.0f)); // Cap at 100%
-            }
-        });
-    }
-
-    /**
-     * Utility method to order modules and lessons within a course
+     * Stores the content of lessons that are new to the course as lesson bodies and references them by ID. Lessons
+     * loaded from the database carry no content but their content ID, and are left as they are. Content still inline
+     * in the loaded course, because an instance predating lesson bodies wrote it, is never written back to the course
+     * (see {@link Lesson#getContent()}), so it is moved here before every save.
      *
-     * @param modules List of modules to order
+     * @param course Course with an ID, about to be saved
      */
-    private void orderModulesAndLessons(List<Module> modules) {
-        if (modules != null) {
-            for (int i = 0; i < modules.size(); i++) {
-                modules.get(i).setOrder(i);
-            }
-            // Ensure correct lesson order within each module (starting from 0)
-            int startingOrder = 0;
-            for (Module module : modules) {
-                module.setLessonOrder(startingOrder);
-                startingOrder += module.getNumberOfLessons();
+    private void storeLessonBodies(Course course) {
+        if (course.getModules() == null) {
+            return;
+        }
+        List<LessonBody> bodies = new ArrayList<>();
+        for (Module module : course.getModules()) {
+            for (Lesson lesson : module.getLessons()) {
+                if (lesson.getContent() != null && lesson.getContentId() == null) {
+                    lesson.setContentId(new ObjectId().toHexString());
+                    bodies.add(LessonBody.builder()
+                            .id(lesson.getContentId())
+                            .courseId(course.getId())
+                            .content(lesson.getContent())
+                            .build());
+                }
             }
         }
+        if (!bodies.isEmpty()) {
+            lessonBodyRepository.insert(bodies);
+        }
     }
-
-}
\ No newline at end of file
+}
@@ -0,0 +1,61 @@
+package com.gitittogether.skillForge.server.course.service.courses;
+
+import com.gitittogether.skillForge.server.course.utils.HashingPromptEmbedder;
+import com.gitittogether.skillForge.server.course.utils.SemanticCache;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * Results of the GenAI calls that many users trigger with practically the same input, e.g. a learning path for
+ * "learn python basics". Every hit saves an LLM round trip of several seconds and its inference cost.
+ * <p>
+ * Course generations are cached as the raw JSON returned by the GenAI service, so every hit is parsed into a new
+ * {@code CourseRequest} that the caller may modify. A user who asks to regenerate bypasses the cached course.
+ */
+@Component
+public class GenAiResultCache {
+
+    private final boolean enabled;
+    private final SemanticCache<String> prompts;
+    private final SemanticCache<String> courses;
+
+    public GenAiResultCache(@Value("${genai.cache.enabled:true}") boolean enabled,
+                            @Value("${genai.cache.ttl:6h}") Duration ttl,
+                            @Value("${genai.cache.max-entries:1000}") int maxEntries,
+                            @Value("${genai.cache.similarity.enabled:false}") boolean similarityEnabled,
+                            @Value("${genai.cache.similarity.threshold:0.9}") double similarityThreshold,
+                            @Value("${genai.cache.similarity.window:200}") int similarityWindow,
+                            MeterRegistry meterRegistry) {
+        this.enabled = enabled;
+        SemanticCache.Settings settings = new SemanticCache.Settings(ttl, maxEntries, similarityThreshold, similarityWindow);
+        HashingPromptEmbedder embedder = similarityEnabled ? new HashingPromptEmbedder(512) : null;
+        this.prompts = new SemanticCache<>("prompt", settings, embedder, meterRegistry, Clock.systemUTC());
+        this.courses = new SemanticCache<>("learning-path", settings, embedder, meterRegistry, Clock.systemUTC());
+    }
+
+    public Optional<String> findResponse(String prompt) {
+        return enabled ? prompts.get(prompt, List.of()) : Optional.empty();
+    }
+
+    public void putResponse(String prompt, String response) {
+        if (enabled && response != null) {
+            prompts.put(prompt, List.of(), response);
+        }
+    }
+
+    public Optional<String> findCourseJson(String prompt, List<String> skills) {
+        return enabled ? courses.get(prompt, skills) : Optional.empty();
+    }
+
+    public void putCourseJson(String prompt, List<String> skills, String courseJson) {
+        if (enabled && courseJson != null) {
+            courses.put(prompt, skills, courseJson);
+        }
+    }
+}
@@ -0,0 +1,134 @@
+package com.gitittogether.skillForge.server.course.service.courses;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * Snapshot of each user's skills from the user service profile, so course generation does not wait for a
+ * user-service round trip every time.
+ * <p>
+ * The only skill changes the course service triggers itself are course completions, which invalidate the
+ * snapshot. Changes made directly in the user service (profile edits, completions handled by another replica)
+ * are picked up once the snapshot expires after the TTL.
+ * <p>
+ * A fetch that started before an invalidation must not store its then outdated result, so callers take a
+ * {@link #currentVersion()} before fetching and pass it to {@link #put(String, List, long)}.
+ */
+@Component
+public class UserSkillsCache {
+
+    static final String REQUESTS_METRIC = "course.user-skills.cache.requests";
+
+    private final boolean enabled;
+    private final Duration ttl;
+    private final int maxEntries;
+    private final Clock clock;
+    private final LinkedHashMap<String, Entry> entries = new LinkedHashMap<>(16, 0.75f, true);
+    private final Counter hits;
+    private final Counter misses;
+    private long version;
+
+    @Autowired
+    public UserSkillsCache(@Value("${user.skills-cache.enabled:true}") boolean enabled,
+                           @Value("${user.skills-cache.ttl:5m}") Duration ttl,
+                           @Value("${user.skills-cache.max-entries:10000}") int maxEntries,
+                           MeterRegistry meterRegistry) {
+        this(enabled, ttl, maxEntries, meterRegistry, Clock.systemUTC());
+    }
+
+    public UserSkillsCache(boolean enabled, Duration ttl, int maxEntries, MeterRegistry meterRegistry, Clock clock) {
+        this.enabled = enabled;
+        this.ttl = ttl;
+        this.maxEntries = maxEntries;
+        this.clock = clock;
+        this.hits = requests(meterRegistry, "hit");
+        this.misses = requests(meterRegistry, "miss");
+        Gauge.builder("course.user-skills.cache.entries", this, UserSkillsCache::size)
+                .description("User skill snapshots held by the course service")
+                .register(meterRegistry);
+    }
+
+    public synchronized Optional<List<String>> find(String userId) {
+        if (!enabled) {
+            return Optional.empty();
+        }
+        Entry entry = entries.get(userId);
+        if (entry != null && entry.skills() != null && entry.expiresAt().isAfter(clock.instant())) {
+            hits.increment();
+            return Optional.of(entry.skills());
+        }
+        misses.increment();
+        return Optional.empty();
+    }
+
+    /**
+     * @param fetchedAtVersion {@link #currentVersion()} taken before the skills were fetched
+     */
+    public synchronized void put(String userId, List<String> skills, long fetchedAtVersion) {
+        if (!enabled || skills == null) {
+            return;
+        }
+        Entry existing = entries.get(userId);
+        if (existing != null && existing.invalidatedAt() > fetchedAtVersion) {
+            return;
+        }
+        store(userId, new Entry(List.copyOf(skills), 0, clock.instant().plus(ttl)));
+    }
+
+    /**
+     * Drops the user's snapshot, e.g. because a completed course added skills. Kept as a marker until the TTL
+     * passed so that fetches still in flight are not stored.
+     */
+    public synchronized void invalidate(String userId) {
+        if (enabled) {
+            store(userId, new Entry(null, ++version, clock.instant().plus(ttl)));
+        }
+    }
+
+    public synchronized long currentVersion() {
+        return version;
+    }
+
+    public synchronized int size() {
+        return entries.size();
+    }
+
+    private void store(String userId, Entry entry) {
+        entries.put(userId, entry);
+        if (entries.size() > maxEntries) {
+            Instant now = clock.instant();
+            entries.values().removeIf(candidate -> !candidate.expiresAt().isAfter(now));
+        }
+        if (entries.size() > maxEntries) {
+            Iterator<String> eldest = entries.keySet().iterator();
+            eldest.next();
+            eldest.remove();
+        }
+    }
+
+    private static Counter requests(MeterRegistry meterRegistry, String result) {
+        return Counter.builder(REQUESTS_METRIC)
+                .description("User skill snapshot lookups by result")
+                .tag("result", result)
+                .register(meterRegistry);
+    }
+
+    /**
+     * @param skills        null for an invalidation marker
+     * @param invalidatedAt version of the invalidation, 0 for a snapshot
+     */
+    private record Entry(List<String> skills, long invalidatedAt, Instant expiresAt) {
+    }
+}
@@ -0,0 +1,31 @@
+package com.gitittogether.skillForge.server.course.service.crawl;
+
+import com.gitittogether.skillForge.server.course.dto.request.crawl.CrawlBatchRequest;
+import com.gitittogether.skillForge.server.course.dto.response.crawl.CrawlJobResponse;
+
+public interface CrawlJobService {
+
+    /**
+     * Queues a batch of URLs to be crawled and embedded by the GenAI service and returns immediately.
+     * <p>
+     * URLs are normalized and deduplicated within the batch. URLs crawled within the re-crawl interval are skipped
+     * unless the request forces a re-crawl, and pages whose content did not change since their last crawl are not
+     * embedded again.
+     *
+     * @param request     The URLs to crawl.
+     * @param requesterId The ID of the authenticated user submitting the batch.
+     * @return The queued job with one pending result per URL.
+     * @throws IllegalArgumentException if a URL is invalid or the batch is too large.
+     * @throws com.gitittogether.skillForge.server.course.exception.CrawlQueueFullException if the job queue is full.
+     */
+    CrawlJobResponse submitJob(CrawlBatchRequest request, String requesterId);
+
+    /**
+     * Retrieves the current state of a crawl job.
+     *
+     * @param jobId       The ID of the job.
+     * @param requesterId The ID of the authenticated user, only the submitter of a job can read it.
+     * @return The job with the result of every URL crawled so far.
+     */
+    CrawlJobResponse getJob(String jobId, String requesterId);
+}
@@ -0,0 +1,326 @@
+package com.gitittogether.skillForge.server.course.service.crawl;
+
+import com.gitittogether.skillForge.server.course.dto.request.crawl.CrawlBatchRequest;
+import com.gitittogether.skillForge.server.course.dto.response.crawl.CrawlJobResponse;
+import com.gitittogether.skillForge.server.course.exception.CrawlQueueFullException;
+import com.gitittogether.skillForge.server.course.exception.ResourceNotFoundException;
+import com.gitittogether.skillForge.server.course.mapper.crawl.CrawlJobMapper;
+import com.gitittogether.skillForge.server.course.model.crawl.CrawlJob;
+import com.gitittogether.skillForge.server.course.model.crawl.CrawlUrlResult;
+import com.gitittogether.skillForge.server.course.model.crawl.CrawledUrl;
+import com.gitittogether.skillForge.server.course.model.utils.CrawlJobStatus;
+import com.gitittogether.skillForge.server.course.model.utils.CrawlUrlStatus;
+import com.gitittogether.skillForge.server.course.repository.crawl.CrawlJobRepository;
+import com.gitittogether.skillForge.server.course.repository.crawl.CrawledUrlRepository;
+import com.gitittogether.skillForge.server.course.utils.HostPoliteness;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.task.TaskExecutor;
+import org.springframework.core.task.TaskRejectedException;
+import org.springframework.stereotype.Service;
+
+import java.net.URI;
+import java.net.URISyntaxException;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.*;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Semaphore;
+
+/**
+ * Crawls batches of URLs in the background. Each job is walked through by one coordinator, which skips URLs
+ * crawled recently and hands the others to the URL workers. It only hands out a URL once {@link HostPoliteness}
+ * gave it the slot of the URL's host, so requests to one site stay sequential and spaced out while URLs of other
+ * sites, and other jobs, keep the workers busy. A shared semaphore, taken after the host slot, caps the URLs in
+ * flight across all jobs, so the coordinator blocks (backpressure) instead of queueing a whole batch.
+ * <p>
+ * Progress is written to Mongo at most every {@code genai.crawl.progress-interval}, so any instance can answer
+ * polling requests for the job.
+ */
+@Slf4j
+@Service
+public class CrawlJobServiceImpl implements CrawlJobService {
+
+    private final CrawlJobRepository jobRepository;
+    private final CrawledUrlRepository crawledUrlRepository;
+    private final GenAiEmbedClient embedClient;
+    private final TaskExecutor crawlJobExecutor;
+    private final TaskExecutor crawlUrlExecutor;
+    private final Semaphore inFlight;
+    private final HostPoliteness politeness;
+
+    @Value("${genai.crawl.max-urls:500}")
+    private int maxUrls;
+    @Value("${genai.crawl.recrawl-after:7d}")
+    private Duration recrawlAfter;
+    @Value("${genai.crawl.progress-interval:2s}")
+    private Duration progressInterval;
+    @Value("${genai.crawl.stale-after:15m}")
+    private Duration staleAfter;
+
+    public CrawlJobServiceImpl(CrawlJobRepository jobRepository,
+                               CrawledUrlRepository crawledUrlRepository,
+                               GenAiEmbedClient embedClient,
+                               @Qualifier("crawlJobExecutor") TaskExecutor crawlJobExecutor,
+                               @Qualifier("crawlUrlExecutor") TaskExecutor crawlUrlExecutor,
+                               @Value("${genai.crawl.concurrency:8}") int concurrency,
+                               @Value("${genai.crawl.per-host-delay:1s}") Duration perHostDelay) {
+        this.jobRepository = jobRepository;
+        this.crawledUrlRepository = crawledUrlRepository;
+        this.embedClient = embedClient;
+        this.crawlJobExecutor = crawlJobExecutor;
+        this.crawlUrlExecutor = crawlUrlExecutor;
+        this.inFlight = new Semaphore(concurrency);
+        this.politeness = new HostPoliteness(perHostDelay);
+    }
+
+    @Override
+    public CrawlJobResponse submitJob(CrawlBatchRequest request, String requesterId) {
+        Map<String, String> hostsByUrl = normalize(request.urls());
+        if (hostsByUrl.size() > maxUrls) {
+            throw new IllegalArgumentException("A crawl job can contain at most " + maxUrls + " URLs");
+        }
+        Instant now = Instant.now();
+        List<CrawlUrlResult> results = new ArrayList<>();
+        hostsByUrl.forEach((url, host) -> results.add(CrawlUrlResult.builder().url(url).host(host).build()));
+        CrawlJob job = jobRepository.save(CrawlJob.builder()
+                .id(UUID.randomUUID().toString())
+                .requestedBy(requesterId != null ? requesterId : "anonymous")
+                .force(request.force())
+                .status(CrawlJobStatus.QUEUED)
+                .results(results)
+                .createdAt(now)
+                .updatedAt(now)
+                .build());
+        try {
+            crawlJobExecutor.execute(() -> runJob(job.getId()));
+        } catch (TaskRejectedException e) {
+            jobRepository.deleteById(job.getId());
+            throw new CrawlQueueFullException("Too many crawl jobs in progress, please retry later", e);
+        }
+        log.info("Queued crawl job {} with {} URLs", job.getId(), results.size());
+        return CrawlJobMapper.toCrawlJobResponse(job);
+    }
+
+    @Override
+    public CrawlJobResponse getJob(String jobId, String requesterId) {
+        return jobRepository.findById(jobId)
+                .filter(job -> requesterId == null || requesterId.equals(job.getRequestedBy()))
+                .map(this::expireIfStale)
+                .map(CrawlJobMapper::toCrawlJobResponse)
+                .orElseThrow(() -> new ResourceNotFoundException("Crawl job not found with ID: " + jobId));
+    }
+
+    void runJob(String jobId) {
+        CrawlJob job = jobRepository.findById(jobId).orElse(null);
+        if (job == null) {
+            return;
+        }
+        Progress progress = new Progress(job);
+        progress.start();
+        CountDownLatch done = new CountDownLatch(job.getResults().size());
+        try {
+            Map<String, Deque<PendingUrl>> byHost = new LinkedHashMap<>();
+            for (CrawlUrlResult result : job.getResults()) {
+                CrawledUrl previous = crawledUrlRepository.findById(result.getUrl()).orElse(null);
+                if (!job.isForce() && crawledRecently(previous)) {
+                    progress.finish(result, CrawlUrlStatus.SKIPPED, previous.getChunksEmbedded(),
+                            "Crawled at " + previous.getLastCrawledAt() + ", not crawled again", null);
+                    done.countDown();
+                } else {
+                    byHost.computeIfAbsent(result.getHost(), host -> new ArrayDeque<>()).add(new PendingUrl(result, previous));
+                }
+            }
+            while (!byHost.isEmpty()) {
+                long seenReleases = politeness.releases();
+                long waitNanos = HostPoliteness.BUSY;
+                // Round-robin over the hosts whose slot is free, the others are retried once a slot is released
+                Iterator<Map.Entry<String, Deque<PendingUrl>>> hosts = byHost.entrySet().iterator();
+                while (hosts.hasNext()) {
+                    Map.Entry<String, Deque<PendingUrl>> host = hosts.next();
+                    long hostWaitNanos = politeness.tryAcquire(host.getKey());
+                    if (hostWaitNanos > 0) {
+                        waitNanos = Math.min(waitNanos, hostWaitNanos);
+                        continue;
+                    }
+                    dispatch(progress, host.getValue().poll(), done);
+                    if (host.getValue().isEmpty()) {
+                        hosts.remove();
+                    }
+                    waitNanos = 0;
+                }
+                if (waitNanos > 0) {
+                    politeness.awaitRelease(seenReleases, waitNanos);
+                }
+            }
+            done.await();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            log.warn("Crawl job {} was interrupted", jobId);
+        } catch (Exception e) {
+            log.error("❌ Crawl job {} failed: {}", jobId, e.getMessage(), e);
+        }
+        progress.complete();
+    }
+
+    /**
+     * Hands a URL whose host slot the coordinator holds to a URL worker, which releases the slot when done.
+     */
+    private void dispatch(Progress progress, PendingUrl pending, CountDownLatch done) throws InterruptedException {
+        String host = pending.result().getHost();
+        try {
+            // Blocks while the URL workers are saturated
+            inFlight.acquire();
+        } catch (InterruptedException e) {
+            politeness.release(host);
+            throw e;
+        }
+        try {
+            crawlUrlExecutor.execute(() -> {
+                try {
+                    crawlUrl(progress, pending.result(), pending.previous());
+                } finally {
+                    politeness.release(host);
+                    inFlight.release();
+                    done.countDown();
+                }
+            });
+        } catch (TaskRejectedException e) {
+            politeness.release(host);
+            inFlight.release();
+            progress.finish(pending.result(), CrawlUrlStatus.FAILED, null, null, "No crawl worker available");
+            done.countDown();
+        }
+    }
+
+    private void crawlUrl(Progress progress, CrawlUrlResult result, CrawledUrl previous) {
+        try {
+            GenAiEmbedClient.EmbedOutcome outcome = embedClient.embed(result.getUrl(), previous != null ? previous.getContentHash() : null);
+            Integer chunks = outcome.unchanged() && previous != null ? previous.getChunksEmbedded() : Integer.valueOf(outcome.chunksEmbedded());
+            crawledUrlRepository.save(CrawledUrl.builder()
+                    .url(result.getUrl())
+                    .host(result.getHost())
+                    .contentHash(outcome.contentHash())
+                    .chunksEmbedded(chunks)
+                    .lastCrawledAt(Instant.now())
+                    .build());
+            progress.finish(result, outcome.unchanged() ? CrawlUrlStatus.UNCHANGED : CrawlUrlStatus.EMBEDDED,
+                    chunks, outcome.message(), null);
+        } catch (Exception e) {
+            log.warn("Crawling {} failed: {}", result.getUrl(), e.getMessage());
+            progress.finish(result, CrawlUrlStatus.FAILED, null, null, e.getMessage());
+        }
+    }
+
+    private boolean crawledRecently(CrawledUrl previous) {
+        return previous != null && previous.getLastCrawledAt() != null
+                && previous.getLastCrawledAt().isAfter(Instant.now().minus(recrawlAfter));
+    }
+
+    /**
+     * Marks running jobs as completed that stopped making progress, e.g. because the instance running them was
+     * restarted. Their pending URLs are reported as failed.
+     */
+    private CrawlJob expireIfStale(CrawlJob job) {
+        if (job.getStatus() != CrawlJobStatus.RUNNING || job.getUpdatedAt() == null
+                || job.getUpdatedAt().isAfter(Instant.now().minus(staleAfter))) {
+            return job;
+        }
+        log.warn("Crawl job {} made no progress for {}, marking it as completed", job.getId(), staleAfter);
+        job.getResults().stream()
+                .filter(result -> result.getStatus() == CrawlUrlStatus.PENDING)
+                .forEach(result -> {
+                    result.setStatus(CrawlUrlStatus.FAILED);
+                    result.setError("Crawl did not finish, please submit the URL again");
+                });
+        job.setStatus(CrawlJobStatus.COMPLETED);
+        job.setUpdatedAt(Instant.now());
+        return jobRepository.save(job);
+    }
+
+    /**
+     * Validates the URLs and normalizes scheme and host to lower case without fragment, keeping the first
+     * occurrence of each URL.
+     *
+     * @return host of every distinct URL, in request order
+     */
+    static Map<String, String> normalize(List<String> urls) {
+        Map<String, String> hostsByUrl = new LinkedHashMap<>();
+        for (String raw : urls) {
+            if (raw == null || raw.isBlank()) {
+                throw new IllegalArgumentException("URLs must not be blank");
+            }
+            URI uri;
+            try {
+                uri = new URI(raw.trim());
+            } catch (URISyntaxException e) {
+                throw new IllegalArgumentException("Invalid URL: " + raw);
+            }
+            String scheme = uri.getScheme() == null ? null : uri.getScheme().toLowerCase(Locale.ROOT);
+            if (!"http".equals(scheme) && !"https".equals(scheme) || uri.getHost() == null) {
+                throw new IllegalArgumentException("Only absolute http(s) URLs can be crawled: " + raw);
+            }
+            String url = scheme + "://" + uri.getRawAuthority().toLowerCase(Locale.ROOT)
+                    + (uri.getRawPath() == null ? "" : uri.getRawPath())
+                    + (uri.getRawQuery() == null ? "" : "?" + uri.getRawQuery());
+            hostsByUrl.putIfAbsent(url, uri.getHost().toLowerCase(Locale.ROOT));
+        }
+        return hostsByUrl;
+    }
+
+    private record PendingUrl(CrawlUrlResult result, CrawledUrl previous) {
+    }
+
+    /**
+     * Results of one running job, updated by its URL workers and saved in batches.
+     */
+    private final class Progress {
+
+        private final CrawlJob job;
+        private long lastSavedNanos;
+
+        private Progress(CrawlJob job) {
+            this.job = job;
+        }
+
+        synchronized void start() {
+            job.setStatus(CrawlJobStatus.RUNNING);
+            save();
+        }
+
+        synchronized void finish(CrawlUrlResult result, CrawlUrlStatus status, Integer chunksEmbedded, String message, String error) {
+            result.setStatus(status);
+            result.setChunksEmbedded(chunksEmbedded);
+            result.setMessage(message);
+            result.setError(error);
+            result.setFinishedAt(Instant.now());
+            if (System.nanoTime() - lastSavedNanos >= progressInterval.toNanos()) {
+                save();
+            }
+        }
+
+        synchronized void complete() {
+            job.getResults().stream()
+                    .filter(result -> result.getStatus() == CrawlUrlStatus.PENDING)
+                    .forEach(result -> {
+                        result.setStatus(CrawlUrlStatus.FAILED);
+                        result.setError("Crawl was aborted");
+                    });
+            job.setStatus(CrawlJobStatus.COMPLETED);
+            save();
+            log.info("✅ Crawl job {} completed: {}", job.getId(), CrawlJobMapper.toCrawlJobResponse(job).getCounts());
+        }
+
+        private void save() {
+            job.setUpdatedAt(Instant.now());
+            try {
+                jobRepository.save(job);
+                lastSavedNanos = System.nanoTime();
+            } catch (Exception e) {
+                // The next result or the completion saves again
+                log.warn("Could not save progress of crawl job {}: {}", job.getId(), e.getMessage());
+            }
+        }
+    }
+}
@@ -0,0 +1,81 @@
+package com.gitittogether.skillForge.server.course.service.crawl;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpEntity;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.http.client.SimpleClientHttpRequestFactory;
+import org.springframework.stereotype.Component;
+import org.springframework.web.client.HttpStatusCodeException;
+import org.springframework.web.client.RestTemplate;
+
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Calls the GenAI service to crawl, chunk and embed a single URL. Unlike the synchronous
+ * {@code /crawl/url} endpoint it passes the content hash of the last crawl, so unchanged pages are not embedded
+ * again, and it bounds every call with a read timeout so a hanging page cannot hold a crawl worker forever.
+ */
+@Component
+public class GenAiEmbedClient {
+
+    public record EmbedOutcome(int chunksEmbedded, String contentHash, boolean unchanged, String message) {
+    }
+
+    private final RestTemplate restTemplate;
+    private final ObjectMapper mapper = new ObjectMapper();
+
+    @Value("${genai.service.uri:http://localhost:8888}")
+    private String genaiServiceUri;
+
+    public GenAiEmbedClient(@Value("${genai.crawl.request-timeout:120s}") Duration requestTimeout) {
+        SimpleClientHttpRequestFactory requestFactory = new SimpleClientHttpRequestFactory();
+        requestFactory.setConnectTimeout(Duration.ofSeconds(5));
+        requestFactory.setReadTimeout(requestTimeout);
+        this.restTemplate = new RestTemplate(requestFactory);
+    }
+
+    /**
+     * @param knownHash content hash of the last successful crawl, or null
+     * @throws IllegalStateException if the GenAI service could not crawl or embed the URL
+     */
+    public EmbedOutcome embed(String url, String knownHash) {
+        Map<String, Object> payload = new HashMap<>();
+        payload.put("url", url);
+        if (knownHash != null) {
+            payload.put("known_hash", knownHash);
+        }
+        HttpHeaders headers = new HttpHeaders();
+        headers.setContentType(MediaType.APPLICATION_JSON);
+
+        ResponseEntity<JsonNode> response;
+        try {
+            response = restTemplate.postForEntity(genaiServiceUri + "/api/v1/embed", new HttpEntity<>(payload, headers), JsonNode.class);
+        } catch (HttpStatusCodeException e) {
+            throw new IllegalStateException("GenAI responded with " + e.getStatusCode().value() + ": " + detail(e), e);
+        }
+        JsonNode body = response.getBody();
+        if (body == null) {
+            throw new IllegalStateException("GenAI service returned no embed result");
+        }
+        return new EmbedOutcome(
+                body.path("chunks_embedded").asInt(0),
+                body.path("content_hash").asText(null),
+                body.path("unchanged").asBoolean(false),
+                body.path("message").asText(null));
+    }
+
+    private String detail(HttpStatusCodeException e) {
+        try {
+            JsonNode json = mapper.readTree(e.getResponseBodyAsString());
+            return json.has("detail") ? json.get("detail").asText() : e.getStatusText();
+        } catch (Exception ignored) {
+            return e.getStatusText();
+        }
+    }
+}
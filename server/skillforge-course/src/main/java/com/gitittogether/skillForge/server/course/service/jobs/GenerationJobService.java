@@ -0,0 +1,43 @@
+package com.gitittogether.skillForge.server.course.service.jobs;
+
+import com.gitittogether.skillForge.server.course.dto.request.course.LearningPathRequest;
+import com.gitittogether.skillForge.server.course.dto.response.job.GenerationJobResponse;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+public interface GenerationJobService {
+
+    /**
+     * Queues the generation of a course from a Learning Path request and returns immediately.
+     * <p>
+     * The job runs on the bounded generation executor; once it succeeded the preview can be confirmed like a
+     * synchronously generated one.
+     *
+     * @param request    The Learning Path request containing the necessary information to generate a course.
+     * @param userId     The ID of the user the course is generated for.
+     * @param authHeader The caller's Authorization header, used to fetch the user's skills.
+     * @return The queued job.
+     * @throws com.gitittogether.skillForge.server.course.exception.GenerationQueueFullException if the job queue is full.
+     */
+    GenerationJobResponse submitJob(LearningPathRequest request, String userId, String authHeader);
+
+    /**
+     * Retrieves the current state of a generation job.
+     *
+     * @param jobId       The ID of the job.
+     * @param requesterId The ID of the authenticated user, only the owner of a job can read it.
+     * @return The job, including the generated course once it succeeded.
+     */
+    GenerationJobResponse getJob(String jobId, String requesterId);
+
+    /**
+     * Subscribes to the progress of a generation job over Server-Sent Events.
+     * <p>
+     * The current state is sent right away, followed by a "status" event on every change. The stream completes
+     * after the job succeeded or failed.
+     *
+     * @param jobId       The ID of the job.
+     * @param requesterId The ID of the authenticated user, only the owner of a job can subscribe to it.
+     * @return The emitter streaming the job's state.
+     */
+    SseEmitter subscribe(String jobId, String requesterId);
+}
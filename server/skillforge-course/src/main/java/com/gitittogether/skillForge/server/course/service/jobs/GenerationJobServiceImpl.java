@@ -0,0 +1,246 @@
+package com.gitittogether.skillForge.server.course.service.jobs;
+
+import com.gitittogether.skillForge.server.course.dto.request.course.CourseRequest;
+import com.gitittogether.skillForge.server.course.dto.request.course.LearningPathRequest;
+import com.gitittogether.skillForge.server.course.dto.response.job.GenerationJobResponse;
+import com.gitittogether.skillForge.server.course.exception.GenerationQueueFullException;
+import com.gitittogether.skillForge.server.course.exception.ResourceNotFoundException;
+import com.gitittogether.skillForge.server.course.mapper.job.GenerationJobMapper;
+import com.gitittogether.skillForge.server.course.model.job.GenerationJob;
+import com.gitittogether.skillForge.server.course.model.utils.GenerationJobStatus;
+import com.gitittogether.skillForge.server.course.repository.job.GenerationJobRepository;
+import com.gitittogether.skillForge.server.course.service.courses.CourseService;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.task.TaskExecutor;
+import org.springframework.core.task.TaskRejectedException;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Runs GenAI course generations in the background so no request thread waits for the LLM round trip.
+ * <p>
+ * Job state lives in Mongo, so polling works against any instance. SSE subscribers are pushed every change made
+ * by this instance right away and are refreshed from Mongo periodically, which also covers jobs running on
+ * another instance.
+ */
+@Slf4j
+@Service
+public class GenerationJobServiceImpl implements GenerationJobService {
+
+    static final String STATUS_EVENT = "status";
+
+    private final GenerationJobRepository jobRepository;
+    private final CourseService courseService;
+    private final TaskExecutor generationJobExecutor;
+    // SSE subscribers connected to this instance, by job id
+    private final Map<String, Set<Subscription>> subscriptions = new ConcurrentHashMap<>();
+
+    @Value("${genai.jobs.stale-after:15m}")
+    private Duration staleAfter;
+    @Value("${genai.jobs.sse.timeout:10m}")
+    private Duration sseTimeout;
+    @Value("${genai.jobs.sse.heartbeat:15s}")
+    private Duration sseHeartbeat;
+
+    public GenerationJobServiceImpl(GenerationJobRepository jobRepository,
+                                    CourseService courseService,
+                                    @Qualifier("generationJobExecutor") TaskExecutor generationJobExecutor) {
+        this.jobRepository = jobRepository;
+        this.courseService = courseService;
+        this.generationJobExecutor = generationJobExecutor;
+    }
+
+    @Override
+    public GenerationJobResponse submitJob(LearningPathRequest request, String userId, String authHeader) {
+        Instant now = Instant.now();
+        GenerationJob job = jobRepository.save(GenerationJob.builder()
+                .id(UUID.randomUUID().toString())
+                .userId(userId)
+                .prompt(request.prompt())
+                .existingSkills(request.existingSkills() == null ? new ArrayList<>() : request.existingSkills())
+                .status(GenerationJobStatus.QUEUED)
+                .progress("Waiting for a free generation worker")
+                .createdAt(now)
+                .updatedAt(now)
+                .build());
+        try {
+            generationJobExecutor.execute(() -> runJob(job.getId(), request, userId, authHeader));
+        } catch (TaskRejectedException e) {
+            jobRepository.deleteById(job.getId());
+            throw new GenerationQueueFullException("Too many course generations in progress, please retry later", e);
+        }
+        log.info("Queued course generation job {} for user {}", job.getId(), userId);
+        return GenerationJobMapper.toGenerationJobResponse(job);
+    }
+
+    @Override
+    public GenerationJobResponse getJob(String jobId, String requesterId) {
+        return GenerationJobMapper.toGenerationJobResponse(findJob(jobId, requesterId));
+    }
+
+    @Override
+    public SseEmitter subscribe(String jobId, String requesterId) {
+        GenerationJob job = findJob(jobId, requesterId);
+        Subscription subscription = new Subscription(new SseEmitter(sseTimeout.toMillis()));
+        subscription.push(job);
+        if (job.getStatus().isTerminal()) {
+            subscription.emitter.complete();
+            return subscription.emitter;
+        }
+        subscriptions.computeIfAbsent(jobId, id -> ConcurrentHashMap.newKeySet()).add(subscription);
+        Runnable unsubscribe = () -> unsubscribe(jobId, subscription);
+        subscription.emitter.onCompletion(unsubscribe);
+        subscription.emitter.onError(error -> unsubscribe.run());
+        subscription.emitter.onTimeout(() -> {
+            unsubscribe.run();
+            subscription.emitter.complete();
+        });
+        return subscription.emitter;
+    }
+
+    /**
+     * Re-reads the jobs with SSE subscribers on this instance, pushes changes made elsewhere (another instance,
+     * stale detection) and keeps idle streams open with a heartbeat comment.
+     */
+    @Scheduled(fixedDelayString = "${genai.jobs.sse.refresh-interval:2s}")
+    public void refreshSubscribers() {
+        if (subscriptions.isEmpty()) {
+            return;
+        }
+        try {
+            Map<String, GenerationJob> jobs = new HashMap<>();
+            jobRepository.findAllById(new ArrayList<>(subscriptions.keySet()))
+                    .forEach(job -> jobs.put(job.getId(), expireIfStale(job)));
+            subscriptions.forEach((jobId, subscribers) -> {
+                GenerationJob job = jobs.get(jobId);
+                if (job == null) {
+                    // Expired or deleted meanwhile, nothing left to report
+                    subscribers.forEach(subscription -> subscription.emitter.complete());
+                    subscriptions.remove(jobId);
+                    return;
+                }
+                publish(job);
+                subscribers.forEach(Subscription::heartbeatIfIdle);
+            });
+        } catch (Exception e) {
+            log.warn("Could not refresh generation job subscribers: {}", e.getMessage());
+        }
+    }
+
+    void runJob(String jobId, LearningPathRequest request, String userId, String authHeader) {
+        update(jobId, GenerationJobStatus.RUNNING, "Generating course with GenAI", null, null);
+        try {
+            CourseRequest generated = courseService.generateCourseFromGenAi(request, userId, authHeader);
+            update(jobId, GenerationJobStatus.SUCCEEDED, "Course preview ready, confirm it to save the course", generated, null);
+            log.info("✅ Course generation job {} succeeded: {}", jobId, generated.getTitle());
+        } catch (Exception e) {
+            log.error("❌ Course generation job {} failed: {}", jobId, e.getMessage(), e);
+            Throwable cause = e.getCause() != null ? e.getCause() : e;
+            update(jobId, GenerationJobStatus.FAILED, "Course generation failed", null, cause.getMessage());
+        }
+    }
+
+    private void update(String jobId, GenerationJobStatus status, String progress, CourseRequest result, String error) {
+        GenerationJob job = jobRepository.findById(jobId)
+                .orElseThrow(() -> new ResourceNotFoundException("Generation job not found with ID: " + jobId));
+        job.setStatus(status);
+        job.setProgress(progress);
+        job.setResult(result);
+        job.setError(error);
+        job.setUpdatedAt(Instant.now());
+        publish(jobRepository.save(job));
+    }
+
+    private GenerationJob findJob(String jobId, String requesterId) {
+        return jobRepository.findById(jobId)
+                .filter(job -> requesterId == null || requesterId.equals(job.getUserId()))
+                .map(this::expireIfStale)
+                .orElseThrow(() -> new ResourceNotFoundException("Generation job not found with ID: " + jobId));
+    }
+
+    /**
+     * Marks jobs as failed that stopped making progress, e.g. because the instance running them was restarted.
+     */
+    private GenerationJob expireIfStale(GenerationJob job) {
+        if (job.getStatus().isTerminal() || job.getUpdatedAt() == null
+                || job.getUpdatedAt().isAfter(Instant.now().minus(staleAfter))) {
+            return job;
+        }
+        log.warn("Course generation job {} made no progress for {}, marking it as failed", job.getId(), staleAfter);
+        job.setStatus(GenerationJobStatus.FAILED);
+        job.setProgress("Course generation failed");
+        job.setError("Generation did not finish, please try again");
+        job.setUpdatedAt(Instant.now());
+        return jobRepository.save(job);
+    }
+
+    private void publish(GenerationJob job) {
+        Set<Subscription> subscribers = subscriptions.get(job.getId());
+        if (subscribers == null) {
+            return;
+        }
+        subscribers.forEach(subscription -> {
+            subscription.push(job);
+            if (job.getStatus().isTerminal()) {
+                subscription.emitter.complete();
+            }
+        });
+        if (job.getStatus().isTerminal()) {
+            subscriptions.remove(job.getId());
+        }
+    }
+
+    private void unsubscribe(String jobId, Subscription subscription) {
+        subscriptions.computeIfPresent(jobId, (id, subscribers) -> {
+            subscribers.remove(subscription);
+            return subscribers.isEmpty() ? null : subscribers;
+        });
+    }
+
+    private final class Subscription {
+
+        private final SseEmitter emitter;
+        private Instant lastPushedUpdate;
+        private long lastSentNanos = System.nanoTime();
+
+        private Subscription(SseEmitter emitter) {
+            this.emitter = emitter;
+        }
+
+        synchronized void push(GenerationJob job) {
+            if (Objects.equals(lastPushedUpdate, job.getUpdatedAt())) {
+                return;
+            }
+            lastPushedUpdate = job.getUpdatedAt();
+            send(SseEmitter.event()
+                    .id(job.getId() + ":" + job.getStatus())
+                    .name(STATUS_EVENT)
+                    .data(GenerationJobMapper.toGenerationJobResponse(job)));
+        }
+
+        synchronized void heartbeatIfIdle() {
+            if (System.nanoTime() - lastSentNanos >= sseHeartbeat.toNanos()) {
+                send(SseEmitter.event().comment("keep-alive"));
+            }
+        }
+
+        private void send(SseEmitter.SseEventBuilder event) {
+            try {
+                emitter.send(event);
+                lastSentNanos = System.nanoTime();
+            } catch (IOException | IllegalStateException e) {
+                // Client went away, the emitter callbacks remove the subscription
+                emitter.completeWithError(e);
+            }
+        }
+    }
+}
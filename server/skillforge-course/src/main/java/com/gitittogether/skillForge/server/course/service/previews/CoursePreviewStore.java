@@ -0,0 +1,37 @@
+package com.gitittogether.skillForge.server.course.service.previews;
+
+import com.gitittogether.skillForge.server.course.dto.request.course.CourseRequest;
+
+import java.util.Optional;
+
+/**
+ * Holds the last generated course of each user until it is confirmed or expires.
+ * <p>
+ * Selected with {@code genai.previews.store}: {@code mongo} (default) shares previews between all replicas,
+ * {@code memory} keeps them in a bounded local map for single-instance setups.
+ */
+public interface CoursePreviewStore {
+
+    /**
+     * Stores the preview of a user, replacing a previous one.
+     *
+     * @param userId  The ID of the user the course was generated for.
+     * @param preview The generated course.
+     */
+    void save(String userId, CourseRequest preview);
+
+    /**
+     * Retrieves the preview of a user.
+     *
+     * @param userId The ID of the user.
+     * @return The preview, or empty if there is none or it expired.
+     */
+    Optional<CourseRequest> find(String userId);
+
+    /**
+     * Removes the preview of a user, e.g. after it was confirmed.
+     *
+     * @param userId The ID of the user.
+     */
+    void remove(String userId);
+}
@@ -0,0 +1,71 @@
+package com.gitittogether.skillForge.server.course.service.previews;
+
+import com.gitittogether.skillForge.server.course.dto.request.course.CourseRequest;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Optional;
+
+/**
+ * Local preview store: entries expire after the TTL and the least recently used entry is evicted once
+ * {@code maxEntries} is reached, so abandoned previews cannot grow the heap. Previews are only visible on the
+ * replica that generated them.
+ */
+public class InMemoryCoursePreviewStore implements CoursePreviewStore {
+
+    private final Duration ttl;
+    private final int maxEntries;
+    private final Clock clock;
+    private final LinkedHashMap<String, Entry> previews = new LinkedHashMap<>(16, 0.75f, true);
+
+    public InMemoryCoursePreviewStore(Duration ttl, int maxEntries, Clock clock) {
+        this.ttl = ttl;
+        this.maxEntries = maxEntries;
+        this.clock = clock;
+    }
+
+    @Override
+    public synchronized void save(String userId, CourseRequest preview) {
+        Instant now = clock.instant();
+        evictExpired(now);
+        previews.put(userId, new Entry(preview, now.plus(ttl)));
+        if (previews.size() > maxEntries) {
+            Iterator<String> eldest = previews.keySet().iterator();
+            eldest.next();
+            eldest.remove();
+        }
+    }
+
+    @Override
+    public synchronized Optional<CourseRequest> find(String userId) {
+        Entry entry = previews.get(userId);
+        if (entry == null) {
+            return Optional.empty();
+        }
+        if (!entry.expiresAt().isAfter(clock.instant())) {
+            previews.remove(userId);
+            return Optional.empty();
+        }
+        return Optional.of(entry.preview());
+    }
+
+    @Override
+    public synchronized void remove(String userId) {
+        previews.remove(userId);
+    }
+
+    public synchronized int size() {
+        return previews.size();
+    }
+
+    private void evictExpired(Instant now) {
+        previews.values().removeIf(entry -> !entry.expiresAt().isAfter(now));
+    }
+
+    private record Entry(CourseRequest preview, Instant expiresAt) {
+    }
+}
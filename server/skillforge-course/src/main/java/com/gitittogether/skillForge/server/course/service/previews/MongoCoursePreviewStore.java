@@ -0,0 +1,53 @@
+package com.gitittogether.skillForge.server.course.service.previews;
+
+import com.gitittogether.skillForge.server.course.dto.request.course.CourseRequest;
+import com.gitittogether.skillForge.server.course.model.course.CoursePreview;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Optional;
+
+/**
+ * Shared preview store in the {@code course_previews} collection, so a preview generated on one replica can be
+ * confirmed on any other. Expired documents are removed by a TTL index on {@code expiresAt}, created by the index
+ * migrations; since the TTL monitor only runs about once a minute, reads filter out expired previews themselves.
+ */
+public class MongoCoursePreviewStore implements CoursePreviewStore {
+
+    private final MongoTemplate mongoTemplate;
+    private final Duration ttl;
+    private final Clock clock;
+
+    public MongoCoursePreviewStore(MongoTemplate mongoTemplate, Duration ttl, Clock clock) {
+        this.mongoTemplate = mongoTemplate;
+        this.ttl = ttl;
+        this.clock = clock;
+    }
+
+    @Override
+    public void save(String userId, CourseRequest preview) {
+        Instant now = clock.instant();
+        mongoTemplate.save(CoursePreview.builder()
+                .userId(userId)
+                .course(preview)
+                .createdAt(now)
+                .expiresAt(now.plus(ttl))
+                .build());
+    }
+
+    @Override
+    public Optional<CourseRequest> find(String userId) {
+        Query query = Query.query(Criteria.where("_id").is(userId).and("expiresAt").gt(clock.instant()));
+        return Optional.ofNullable(mongoTemplate.findOne(query, CoursePreview.class))
+                .map(CoursePreview::getCourse);
+    }
+
+    @Override
+    public void remove(String userId) {
+        mongoTemplate.remove(Query.query(Criteria.where("_id").is(userId)), CoursePreview.class);
+    }
+}
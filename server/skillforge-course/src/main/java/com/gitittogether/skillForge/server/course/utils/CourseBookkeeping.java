@@ -0,0 +1,48 @@
+package com.gitittogether.skillForge.server.course.utils;
+
+import com.gitittogether.skillForge.server.course.model.course.Course;
+import com.gitittogether.skillForge.server.course.model.course.Module;
+
+import java.util.List;
+
+/**
+ * In-memory bookkeeping on courses, run before a course is saved after it was created, updated or enrolled in.
+ */
+public final class CourseBookkeeping {
+
+    private CourseBookkeeping() {
+    }
+
+    /**
+     * Utility method to update progress for all enrolled users in a course
+     *
+     * @param course The course to update progress for
+     */
+    public static void updateProgressForAllEnrolledUsers(Course course) {
+        course.getEnrolledUsers().forEach(enrolledUser -> {
+            if (enrolledUser.getTotalNumberOfLessons() > 0) {
+                float progressPercentage = (float) enrolledUser.getCurrentLesson() / enrolledUser.getTotalNumberOfLessons() * 100.0f;
+                enrolledUser.setProgress(Math.min(progressPercentage, 100.0f)); // Cap at 100%
+            }
+        });
+    }
+
+    /**
+     * Utility method to order modules and lessons within a course
+     *
+     * @param modules List of modules to order
+     */
+    public static void orderModulesAndLessons(List<Module> modules) {
+        if (modules != null) {
+            for (int i = 0; i < modules.size(); i++) {
+                modules.get(i).setOrder(i);
+            }
+            // Ensure correct lesson order within each module (starting from 0)
+            int startingOrder = 0;
+            for (Module module : modules) {
+                module.setLessonOrder(startingOrder);
+                startingOrder += module.getNumberOfLessons();
+            }
+        }
+    }
+}
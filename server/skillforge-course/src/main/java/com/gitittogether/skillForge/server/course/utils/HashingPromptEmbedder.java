@@ -0,0 +1,48 @@
+package com.gitittogether.skillForge.server.course.utils;
+
+import java.util.function.Function;
+
+/**
+ * Cheap local embedding for comparing short prompts: word unigrams and bigrams are hashed into a fixed number of
+ * dimensions and the vector is scaled to unit length, so the dot product of two vectors is their cosine similarity.
+ * <p>
+ * It matches rephrasings that share most words ("learn python basics" / "python basics for beginners"), not
+ * synonyms; it needs no model and no network call, so it is fast enough to run on every cache miss.
+ */
+public class HashingPromptEmbedder implements Function<String, float[]> {
+
+    private final int dimensions;
+
+    public HashingPromptEmbedder(int dimensions) {
+        this.dimensions = dimensions;
+    }
+
+    @Override
+    public float[] apply(String normalizedPrompt) {
+        float[] vector = new float[dimensions];
+        String[] words = normalizedPrompt.split(" ");
+        for (int i = 0; i < words.length; i++) {
+            add(vector, words[i], 1.0f);
+            if (i + 1 < words.length) {
+                add(vector, words[i] + " " + words[i + 1], 0.5f);
+            }
+        }
+        double norm = 0;
+        for (float value : vector) {
+            norm += value * value;
+        }
+        if (norm > 0) {
+            float scale = (float) (1 / Math.sqrt(norm));
+            for (int i = 0; i < vector.length; i++) {
+                vector[i] *= scale;
+            }
+        }
+        return vector;
+    }
+
+    private void add(float[] vector, String feature, float weight) {
+        int hash = feature.hashCode();
+        // The sign bit spreads collisions around zero instead of piling them up
+        vector[Math.floorMod(hash, dimensions)] += (hash & 0x40000000) != 0 ? weight : -weight;
+    }
+}
@@ -0,0 +1,85 @@
+package com.gitittogether.skillForge.server.course.utils;
+
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Keeps crawls polite towards the crawled sites: at most one request per host at a time, and at least
+ * {@code delay} between the end of one request to a host and the start of the next.
+ * <p>
+ * Slots are taken without blocking, so a dispatcher can skip busy hosts and hand out URLs of other hosts
+ * meanwhile instead of parking a worker on one host. {@link #awaitRelease(long, long)} lets it sleep until a slot
+ * is released or the next delay ends.
+ */
+public class HostPoliteness {
+
+    /**
+     * Returned by {@link #tryAcquire(String)} while a request to the host is running.
+     */
+    public static final long BUSY = Long.MAX_VALUE;
+
+    private final long delayNanos;
+    private final Map<String, Long> nextAllowedNanos = new HashMap<>();
+    private final Set<String> busy = new HashSet<>();
+    private long releases;
+
+    public HostPoliteness(Duration delay) {
+        this.delayNanos = delay.toNanos();
+    }
+
+    /**
+     * Takes the slot of the host if it is free and its delay has passed. A taken slot must be handed back with
+     * {@link #release(String)}.
+     *
+     * @return 0 if the slot was taken, the nanoseconds until the delay of the host ends, or {@link #BUSY}
+     */
+    public synchronized long tryAcquire(String host) {
+        if (busy.contains(host)) {
+            return BUSY;
+        }
+        Long allowedAt = nextAllowedNanos.get(host);
+        long waitNanos = allowedAt == null ? 0 : allowedAt - System.nanoTime();
+        if (waitNanos > 0) {
+            return waitNanos;
+        }
+        nextAllowedNanos.remove(host);
+        busy.add(host);
+        return 0;
+    }
+
+    public synchronized void release(String host) {
+        if (busy.remove(host)) {
+            if (delayNanos > 0) {
+                nextAllowedNanos.put(host, System.nanoTime() + delayNanos);
+            }
+            // Hosts whose delay has passed are free again and need no entry
+            long now = System.nanoTime();
+            nextAllowedNanos.values().removeIf(allowedAt -> allowedAt - now <= 0);
+            releases++;
+            notifyAll();
+        }
+    }
+
+    /**
+     * @return counter of releases, to pass to {@link #awaitRelease(long, long)}
+     */
+    public synchronized long releases() {
+        return releases;
+    }
+
+    /**
+     * Waits until a slot was released after {@code seenReleases} was read, or at most {@code maxNanos}.
+     */
+    public synchronized void awaitRelease(long seenReleases, long maxNanos) throws InterruptedException {
+        long deadline = System.nanoTime() + maxNanos;
+        long remaining = maxNanos;
+        while (releases == seenReleases && remaining > 0) {
+            TimeUnit.NANOSECONDS.timedWait(this, remaining);
+            remaining = deadline - System.nanoTime();
+        }
+    }
+}
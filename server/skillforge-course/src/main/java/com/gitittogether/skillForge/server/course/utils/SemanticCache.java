@@ -0,0 +1,167 @@
+package com.gitittogether.skillForge.server.course.utils;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.*;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * Cache for results of prompts, keyed by the normalized prompt plus the sorted, normalized context (e.g. the
+ * user's existing skills), so "Learn  Python basics!" and "learn python basics" share one entry.
+ * <p>
+ * Exact matches are looked up first. With an embedder configured, a miss then compares the prompt with the
+ * {@code similarityWindow} most recently stored prompts of the same context and returns the result of the most
+ * similar one if its cosine similarity reaches {@code similarityThreshold}.
+ * <p>
+ * Entries expire after the TTL and the least recently used entry is evicted once {@code maxEntries} is reached.
+ * Lookups are counted in {@code genai.cache.requests} with result hit, similar or miss.
+ *
+ * @param <V> cached result type, should be immutable since hits share the stored instance
+ */
+public class SemanticCache<V> {
+
+    static final String REQUESTS_METRIC = "genai.cache.requests";
+    static final String ENTRIES_METRIC = "genai.cache.entries";
+
+    public record Settings(Duration ttl, int maxEntries, double similarityThreshold, int similarityWindow) {
+    }
+
+    private final Settings settings;
+    private final Function<String, float[]> embedder;
+    private final Clock clock;
+    private final LinkedHashMap<Key, Entry<V>> entries = new LinkedHashMap<>(16, 0.75f, true);
+    private final Counter hits;
+    private final Counter similarHits;
+    private final Counter misses;
+
+    /**
+     * @param name     cache name, used as metric tag
+     * @param embedder maps a normalized prompt to a unit-length vector, or null for exact matches only
+     */
+    public SemanticCache(String name, Settings settings, Function<String, float[]> embedder, MeterRegistry meterRegistry, Clock clock) {
+        this.settings = settings;
+        this.embedder = embedder;
+        this.clock = clock;
+        this.hits = requests(meterRegistry, name, "hit");
+        this.similarHits = requests(meterRegistry, name, "similar");
+        this.misses = requests(meterRegistry, name, "miss");
+        Gauge.builder(ENTRIES_METRIC, this, SemanticCache::size)
+                .description("Entries held in the GenAI result cache")
+                .tag("cache", name)
+                .register(meterRegistry);
+    }
+
+    public synchronized Optional<V> get(String prompt, Collection<String> context) {
+        Instant now = clock.instant();
+        Key key = key(prompt, context);
+        Entry<V> exact = entries.get(key);
+        if (exact != null && exact.isFresh(now)) {
+            hits.increment();
+            return Optional.of(exact.value());
+        }
+        if (exact != null) {
+            entries.remove(key);
+        }
+        Optional<V> similar = findSimilar(key, now);
+        if (similar.isPresent()) {
+            similarHits.increment();
+            return similar;
+        }
+        misses.increment();
+        return Optional.empty();
+    }
+
+    public synchronized void put(String prompt, Collection<String> context, V value) {
+        Instant now = clock.instant();
+        Key key = key(prompt, context);
+        float[] vector = embedder != null ? embedder.apply(key.prompt()) : null;
+        entries.put(key, new Entry<>(value, vector, now.plus(settings.ttl())));
+        if (entries.size() > settings.maxEntries()) {
+            Iterator<Key> eldest = entries.keySet().iterator();
+            eldest.next();
+            eldest.remove();
+        }
+    }
+
+    public synchronized int size() {
+        return entries.size();
+    }
+
+    private Optional<V> findSimilar(Key key, Instant now) {
+        if (embedder == null || key.prompt().isEmpty()) {
+            return Optional.empty();
+        }
+        float[] vector = embedder.apply(key.prompt());
+        V best = null;
+        double bestSimilarity = settings.similarityThreshold();
+        int seen = 0;
+        // Newest entries are at the tail of the access-ordered map
+        for (Map.Entry<Key, Entry<V>> candidate : entries.reversed().entrySet()) {
+            if (seen++ >= settings.similarityWindow()) {
+                break;
+            }
+            if (!candidate.getKey().context().equals(key.context()) || !candidate.getValue().isFresh(now)) {
+                continue;
+            }
+            double similarity = cosine(vector, candidate.getValue().vector());
+            if (similarity >= bestSimilarity) {
+                bestSimilarity = similarity;
+                best = candidate.getValue().value();
+            }
+        }
+        return Optional.ofNullable(best);
+    }
+
+    static String normalize(String text) {
+        if (text == null) {
+            return "";
+        }
+        return text.toLowerCase(Locale.ROOT)
+                .replaceAll("[^\\p{L}\\p{N}+#]+", " ")
+                .trim();
+    }
+
+    private static Key key(String prompt, Collection<String> context) {
+        String normalizedContext = context == null ? "" : context.stream()
+                .map(SemanticCache::normalize)
+                .filter(value -> !value.isEmpty())
+                .distinct()
+                .sorted()
+                .collect(Collectors.joining(","));
+        return new Key(normalize(prompt), normalizedContext);
+    }
+
+    private static double cosine(float[] a, float[] b) {
+        if (a == null || b == null || a.length != b.length) {
+            return 0;
+        }
+        double dot = 0;
+        for (int i = 0; i < a.length; i++) {
+            dot += a[i] * b[i];
+        }
+        return dot;
+    }
+
+    private static Counter requests(MeterRegistry meterRegistry, String name, String result) {
+        return Counter.builder(REQUESTS_METRIC)
+                .description("GenAI result cache lookups by result")
+                .tag("cache", name)
+                .tag("result", result)
+                .register(meterRegistry);
+    }
+
+    private record Key(String prompt, String context) {
+    }
+
+    private record Entry<V>(V value, float[] vector, Instant expiresAt) {
+        boolean isFresh(Instant now) {
+            return expiresAt.isAfter(now);
+        }
+    }
+}
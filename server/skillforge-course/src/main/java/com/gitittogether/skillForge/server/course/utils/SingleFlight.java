@@ -0,0 +1,71 @@
+package com.gitittogether.skillForge.server.course.utils;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Supplier;
+
+/**
+ * Deduplicates concurrent identical calls: while a call for a key is running, further calls for the same key
+ * wait for it and get its result (or exception) instead of running the loader again.
+ * <p>
+ * Nothing is cached: the key is released as soon as the call completes, so a later call always loads again and
+ * results are never older than the call that was already in flight. Waiters share the same result instance, so
+ * callers must not modify it.
+ *
+ * @param <K> key identifying identical calls, must implement equals and hashCode
+ * @param <V> result type
+ */
+public class SingleFlight<K, V> {
+
+    static final String COALESCED_METRIC = "course.reads.coalesced";
+
+    private final ConcurrentHashMap<K, CompletableFuture<V>> calls = new ConcurrentHashMap<>();
+    private final Counter coalesced;
+
+    /**
+     * @param operation name of the deduplicated operation, used as metric tag
+     */
+    public SingleFlight(String operation, MeterRegistry meterRegistry) {
+        this.coalesced = Counter.builder(COALESCED_METRIC)
+                .description("Reads served by joining an identical in-flight read")
+                .tag("operation", operation)
+                .register(meterRegistry);
+    }
+
+    public V execute(K key, Supplier<V> loader) {
+        CompletableFuture<V> call = new CompletableFuture<>();
+        CompletableFuture<V> inFlight = calls.putIfAbsent(key, call);
+        if (inFlight != null) {
+            coalesced.increment();
+            return join(inFlight);
+        }
+        try {
+            V result = loader.get();
+            call.complete(result);
+            return result;
+        } catch (RuntimeException | Error e) {
+            call.completeExceptionally(e);
+            throw e;
+        } finally {
+            calls.remove(key, call);
+        }
+    }
+
+    private static <V> V join(CompletableFuture<V> call) {
+        try {
+            return call.join();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof RuntimeException runtimeException) {
+                throw runtimeException;
+            }
+            if (e.getCause() instanceof Error error) {
+                throw error;
+            }
+            throw e;
+        }
+    }
+}
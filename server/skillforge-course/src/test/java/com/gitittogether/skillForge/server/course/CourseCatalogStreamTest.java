@@ -0,0 +1,152 @@
+package com.gitittogether.skillForge.server.course;
+
+import com.gitittogether.skillForge.server.course.controller.courses.CourseCatalogStreamController;
+import com.gitittogether.skillForge.server.course.dto.response.course.CourseResponse;
+import com.gitittogether.skillForge.server.course.dto.response.course.CourseSummaryResponse;
+import com.gitittogether.skillForge.server.course.model.course.Course;
+import com.gitittogether.skillForge.server.course.model.utils.Level;
+import com.gitittogether.skillForge.server.course.repository.course.ReactiveCourseRepository;
+import com.gitittogether.skillForge.server.course.service.courses.CourseCatalogStreamService;
+import com.gitittogether.skillForge.server.course.service.courses.CourseCatalogStreamServiceImpl;
+import com.gitittogether.skillForge.server.course.service.courses.CourseSearchCriteria;
+import com.mongodb.ReadPreference;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.springframework.data.mongodb.core.ReactiveMongoTemplate;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+import reactor.core.publisher.Flux;
+import reactor.test.StepVerifier;
+import reactor.test.publisher.TestPublisher;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.asyncDispatch;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+@DisplayName("Streamed course catalog Tests")
+class CourseCatalogStreamTest {
+
+    @Nested
+    @DisplayName("CourseCatalogStreamController")
+    class ControllerTests {
+
+        private CourseCatalogStreamService catalogStreamService;
+        private MockMvc mockMvc;
+
+        @BeforeEach
+        void setUp() {
+            catalogStreamService = mock(CourseCatalogStreamService.class);
+            mockMvc = MockMvcBuilders.standaloneSetup(new CourseCatalogStreamController(catalogStreamService)).build();
+        }
+
+        @Test
+        @DisplayName("GET /api/v1/courses/public/stream - one JSON document per line")
+        void shouldStreamPublicCoursesAsNdjson() throws Exception {
+            // Given
+            when(catalogStreamService.streamPublicCourses()).thenReturn(Flux.just(
+                    CourseSummaryResponse.builder().id("course1").title("Java Programming").build(),
+                    CourseSummaryResponse.builder().id("course2").title("Python Basics").build()));
+
+            // When
+            MvcResult result = mockMvc.perform(get("/api/v1/courses/public/stream"))
+                    .andExpect(request().asyncStarted())
+                    .andReturn();
+
+            // Then
+            mockMvc.perform(asyncDispatch(result))
+                    .andExpect(status().isOk())
+                    .andExpect(header().string("Content-Type", MediaType.APPLICATION_NDJSON_VALUE));
+            List<String> lines = result.getResponse().getContentAsString().lines().toList();
+            assertThat(lines).hasSize(2);
+            assertThat(lines.get(0)).contains("\"id\":\"course1\"", "\"title\":\"Java Programming\"");
+            assertThat(lines.get(1)).contains("\"id\":\"course2\"");
+        }
+
+        @Test
+        @DisplayName("GET /api/v1/courses/search/stream - normalizes the filters like the blocking search")
+        void shouldStreamSearchWithNormalizedCriteria() throws Exception {
+            // Given
+            when(catalogStreamService.streamSearch(any())).thenReturn(Flux.just(CourseResponse.builder().id("course1").build()));
+
+            // When
+            MvcResult result = mockMvc.perform(get("/api/v1/courses/search/stream")
+                            .param("level", "BEGINNER")
+                            .param("skill", "java")
+                            .param("title", " "))
+                    .andExpect(request().asyncStarted())
+                    .andReturn();
+            mockMvc.perform(asyncDispatch(result)).andExpect(status().isOk());
+
+            // Then
+            verify(catalogStreamService).streamSearch(
+                    new CourseSearchCriteria(null, Level.BEGINNER, null, "java", null, null, null, null));
+            assertThat(result.getResponse().getContentAsString()).contains("\"id\":\"course1\"");
+        }
+    }
+
+    @Nested
+    @DisplayName("CourseCatalogStreamServiceImpl")
+    class ServiceTests {
+
+        private ReactiveCourseRepository courseRepository;
+        private ReactiveMongoTemplate mongoTemplate;
+        private CourseCatalogStreamServiceImpl service;
+
+        @BeforeEach
+        void setUp() {
+            courseRepository = mock(ReactiveCourseRepository.class);
+            mongoTemplate = mock(ReactiveMongoTemplate.class);
+            service = new CourseCatalogStreamServiceImpl(courseRepository, mongoTemplate, 4);
+        }
+
+        @Test
+        @DisplayName("Should request no more courses than the batch size ahead of the subscriber")
+        void shouldLimitDemandToBatchSize() {
+            // Given
+            TestPublisher<Course> courses = TestPublisher.create();
+            when(courseRepository.findByIsPublicTrue()).thenReturn(courses.flux());
+
+            // When / Then
+            StepVerifier.create(service.streamPublicCourses(), 1)
+                    .then(() -> courses.assertMinRequested(4).assertMaxRequested(4))
+                    .then(() -> courses.next(course("course1")))
+                    .assertNext(summary -> assertThat(summary.getId()).isEqualTo("course1"))
+                    .thenCancel()
+                    .verify();
+            courses.assertCancelled();
+        }
+
+        @Test
+        @DisplayName("Should stream search results from secondaries in batches")
+        void shouldStreamSearchFromSecondaries() {
+            // Given
+            when(mongoTemplate.find(any(Query.class), eq(Course.class))).thenReturn(Flux.just(course("course1")));
+
+            // When / Then
+            StepVerifier.create(service.streamSearch(CourseSearchCriteria.of(null, null, null, "java", null, null, true, null)))
+                    .assertNext(response -> assertThat(response.getId()).isEqualTo("course1"))
+                    .verifyComplete();
+            ArgumentCaptor<Query> query = ArgumentCaptor.forClass(Query.class);
+            verify(mongoTemplate).find(query.capture(), eq(Course.class));
+            assertThat(query.getValue().getQueryObject().keySet()).containsExactlyInAnyOrder("skills", "published");
+            assertThat(query.getValue().getMeta().getCursorBatchSize()).isEqualTo(4);
+            assertThat(query.getValue().getReadPreference()).isEqualTo(ReadPreference.secondaryPreferred());
+        }
+
+        private static Course course(String id) {
+            return Course.builder().id(id).title("Title " + id).description("Description").build();
+        }
+    }
+}
@@ -1,6 +1,9 @@
 package com.gitittogether.skillForge.server.course;
 
+import com.fasterxml.jackson.databind.JsonNode;
 import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.dataformat.cbor.databind.CBORMapper;
+import com.gitittogether.skillForge.server.course.config.JacksonConfig;
 import com.gitittogether.skillForge.server.course.controller.courses.CourseController;
 import com.gitittogether.skillForge.server.course.dto.request.course.CourseRequest;
 import com.gitittogether.skillForge.server.course.dto.request.course.CourseUpdateRequest;
@@ -9,10 +12,13 @@ import com.gitittogether.skillForge.server.course.dto.request.course.LearningPat
 import com.gitittogether.skillForge.server.course.dto.response.course.CourseResponse;
 import com.gitittogether.skillForge.server.course.dto.response.course.CourseSummaryResponse;
 import com.gitittogether.skillForge.server.course.dto.response.course.EnrolledUserInfoResponse;
+import com.gitittogether.skillForge.server.course.dto.response.course.LessonResponse;
 import com.gitittogether.skillForge.server.course.dto.response.utils.EmbedResult;
 import com.gitittogether.skillForge.server.course.exception.GlobalExceptionHandler;
+import com.gitittogether.skillForge.server.course.model.course.LessonContent;
 import com.gitittogether.skillForge.server.course.model.utils.Language;
 import com.gitittogether.skillForge.server.course.model.utils.Level;
+import com.gitittogether.skillForge.server.course.model.utils.LessonContentType;
 import com.gitittogether.skillForge.server.course.service.courses.CourseService;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
@@ -23,14 +29,19 @@ import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
 import org.springframework.http.MediaType;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+import org.springframework.http.converter.json.MappingJackson2HttpMessageConverter;
 import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
 import org.springframework.test.web.servlet.setup.MockMvcBuilders;
 
 import java.util.Arrays;
 import java.util.Collections;
 import java.util.List;
 import java.util.Map;
+import java.util.function.Consumer;
 
+import static org.assertj.core.api.Assertions.assertThat;
 import static org.mockito.ArgumentMatchers.*;
 import static org.mockito.Mockito.*;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
@@ -138,6 +149,38 @@ class CourseControllerTest {
             verify(courseService).getCourse("course123");
         }
 
+        @Test
+        @DisplayName("GET /api/v1/courses/{courseId} - CBOR when accepted, JSON otherwise")
+        void shouldNegotiateCbor() throws Exception {
+            // Given
+            JacksonConfig jacksonConfig = new JacksonConfig();
+            MockMvc negotiating = MockMvcBuilders.standaloneSetup(courseController)
+                    .setMessageConverters(new MappingJackson2HttpMessageConverter(),
+                            jacksonConfig.cborHttpMessageConverter(new Jackson2ObjectMapperBuilder()),
+                            jacksonConfig.smileHttpMessageConverter(new Jackson2ObjectMapperBuilder()))
+                    .build();
+            CourseResponse response = CourseResponse.builder()
+                    .id("course123")
+                    .title("Java Programming")
+                    .build();
+
+            when(courseService.getCourse("course123")).thenReturn(response);
+
+            // When
+            MvcResult cbor = negotiating.perform(get("/api/v1/courses/course123")
+                            .accept(MediaType.APPLICATION_CBOR))
+                    .andExpect(status().isOk())
+                    .andExpect(content().contentType(MediaType.APPLICATION_CBOR))
+                    .andReturn();
+
+            // Then
+            JsonNode course = new CBORMapper().readTree(cbor.getResponse().getContentAsByteArray());
+            assertThat(course.get("title").asText()).isEqualTo("Java Programming");
+            negotiating.perform(get("/api/v1/courses/course123").accept(MediaType.ALL))
+                    .andExpect(content().contentType(MediaType.APPLICATION_JSON))
+                    .andExpect(jsonPath("$.id").value("course123"));
+        }
+
         @Test
         @DisplayName("GET /api/v1/courses/{courseId} - not found")
         void shouldReturnNotFoundForNonExistentCourse() throws Exception {
@@ -150,6 +193,32 @@ class CourseControllerTest {
         }
     }
 
+    @Nested
+    @DisplayName("GET /api/v1/courses/{courseId}/lessons/{order} - Get Lesson")
+    class GetLessonTests {
+
+        @Test
+        @DisplayName("GET /api/v1/courses/{courseId}/lessons/{order} - success")
+        void shouldGetLessonSuccessfully() throws Exception {
+            // Given
+            LessonResponse response = LessonResponse.builder()
+                    .title("Variables")
+                    .content(new LessonContent(LessonContentType.TEXT, "int x = 1;"))
+                    .order(2)
+                    .build();
+
+            when(courseService.getLesson("course123", 2)).thenReturn(response);
+
+            // When & Then
+            mockMvc.perform(get("/api/v1/courses/course123/lessons/2"))
+                    .andExpect(status().isOk())
+                    .andExpect(jsonPath("$.title").value("Variables"))
+                    .andExpect(jsonPath("$.content.content").value("int x = 1;"));
+
+            verify(courseService).getLesson("course123", 2);
+        }
+    }
+
     @Nested
     @DisplayName("GET /api/v1/courses - Get All Courses")
     class GetAllCoursesTests {
@@ -195,6 +264,7 @@ class CourseControllerTest {
             // When & Then
             mockMvc.perform(get("/api/v1/courses/public"))
                     .andExpect(status().isOk())
+                    .andExpect(header().string("Cache-Control", "max-age=30, public"))
                     .andExpect(jsonPath("$[0].isPublic").value(true))
                     .andExpect(jsonPath("$[1].isPublic").value(true));
 
@@ -783,6 +853,58 @@ class CourseControllerTest {
         }
     }
 
+    @Nested
+    @DisplayName("POST /api/v1/courses/generate/prompt/stream - Stream Response")
+    class StreamResponseTests {
+
+        @Test
+        @DisplayName("POST /api/v1/courses/generate/prompt/stream - token events then done")
+        void shouldStreamTokensAsEvents() throws Exception {
+            // Given
+            when(courseService.streamResponseFromGenAi(eq("Explain Java"), any())).thenAnswer(invocation -> {
+                Consumer<String> onToken = invocation.getArgument(1);
+                onToken.accept("Java");
+                onToken.accept(" is fun");
+                return "Java is fun";
+            });
+
+            // When
+            MvcResult result = mockMvc.perform(post("/api/v1/courses/generate/prompt/stream")
+                            .contentType(MediaType.TEXT_PLAIN)
+                            .content("Explain Java"))
+                    .andExpect(request().asyncStarted())
+                    .andReturn();
+
+            // Then
+            mockMvc.perform(asyncDispatch(result))
+                    .andExpect(status().isOk())
+                    .andExpect(header().string("Content-Type", MediaType.TEXT_EVENT_STREAM_VALUE))
+                    .andExpect(content().string("event: token\ndata: {\"token\":\"Java\"}\n\n"
+                            + "event: token\ndata: {\"token\":\" is fun\"}\n\n"
+                            + "event: done\ndata: {}\n\n"));
+        }
+
+        @Test
+        @DisplayName("POST /api/v1/courses/generate/prompt/stream - error event when GenAI fails")
+        void shouldEmitErrorEventWhenGenerationFails() throws Exception {
+            // Given
+            when(courseService.streamResponseFromGenAi(anyString(), any()))
+                    .thenThrow(new RuntimeException("Failed to generate response from GenAI"));
+
+            // When
+            MvcResult result = mockMvc.perform(post("/api/v1/courses/generate/prompt/stream")
+                            .contentType(MediaType.TEXT_PLAIN)
+                            .content("Explain Java"))
+                    .andExpect(request().asyncStarted())
+                    .andReturn();
+
+            // Then
+            mockMvc.perform(asyncDispatch(result))
+                    .andExpect(status().isOk())
+                    .andExpect(content().string("event: error\ndata: {\"message\":\"Failed to generate response from GenAI\"}\n\n"));
+        }
+    }
+
     @Nested
     @DisplayName("POST /api/v1/courses/crawl/url - Crawl URL")
     class CrawlUrlTests {
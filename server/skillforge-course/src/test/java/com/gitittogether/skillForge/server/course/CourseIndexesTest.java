@@ -0,0 +1,91 @@
+package com.gitittogether.skillForge.server.course;
+
+import com.gitittogether.skillForge.server.course.config.MongoIndexConfig;
+import com.gitittogether.skillForge.server.course.model.course.Course;
+import com.gitittogether.skillforge.server.shared.mongo.IndexMigration;
+import org.bson.Document;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.convert.MappingMongoConverter;
+import org.springframework.data.mongodb.core.convert.NoOpDbRefResolver;
+import org.springframework.data.mongodb.core.index.IndexDefinition;
+import org.springframework.data.mongodb.core.index.IndexField;
+import org.springframework.data.mongodb.core.index.IndexInfo;
+import org.springframework.data.mongodb.core.index.IndexOperations;
+import org.springframework.data.mongodb.core.mapping.MongoMappingContext;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.*;
+
+@DisplayName("Declared course indexes")
+class CourseIndexesTest {
+
+    @Test
+    @DisplayName("Should create the indexes declared on Course")
+    void shouldCreateDeclaredCourseIndexes() {
+        // Given
+        MongoTemplate mongoTemplate = mock(MongoTemplate.class);
+        when(mongoTemplate.getConverter()).thenReturn(new MappingMongoConverter(NoOpDbRefResolver.INSTANCE, new MongoMappingContext()));
+        IndexOperations indexOps = mock(IndexOperations.class);
+        when(mongoTemplate.indexOps(Course.class)).thenReturn(indexOps);
+
+        // When
+        IndexMigration.declaredIndexes(1, "course indexes", Course.class).action().accept(mongoTemplate);
+
+        // Then
+        ArgumentCaptor<IndexDefinition> indexes = ArgumentCaptor.forClass(IndexDefinition.class);
+        verify(indexOps, atLeastOnce()).createIndex(indexes.capture());
+        assertThat(indexes.getAllValues()).extracting(IndexDefinition::getIndexKeys).contains(
+                new Document("title", 1),
+                new Document("instructor", 1),
+                new Document("skills", 1),
+                new Document("published", 1).append("isPublic", 1),
+                new Document("enrolledUsers.userId", 1));
+    }
+
+    @Test
+    @DisplayName("Should replace a plain title index with a unique one")
+    void shouldMakeTitlesUnique() {
+        // Given
+        MongoTemplate mongoTemplate = mock(MongoTemplate.class);
+        IndexOperations indexOps = mock(IndexOperations.class);
+        when(mongoTemplate.indexOps(Course.class)).thenReturn(indexOps);
+        when(indexOps.getIndexInfo()).thenReturn(List.of(
+                new IndexInfo(List.of(IndexField.create("title", Sort.Direction.ASC)), "title", false, false, "")));
+
+        // When
+        MongoIndexConfig.makeTitlesUnique(mongoTemplate);
+
+        // Then
+        verify(indexOps).dropIndex("title");
+        ArgumentCaptor<IndexDefinition> index = ArgumentCaptor.forClass(IndexDefinition.class);
+        verify(indexOps).createIndex(index.capture());
+        assertThat(index.getValue().getIndexKeys()).isEqualTo(new Document("title", 1));
+        assertThat(index.getValue().getIndexOptions().getBoolean("unique")).isTrue();
+    }
+
+    @Test
+    @DisplayName("Should leave a unique title index as it is")
+    void shouldKeepUniqueTitleIndex() {
+        // Given
+        MongoTemplate mongoTemplate = mock(MongoTemplate.class);
+        IndexOperations indexOps = mock(IndexOperations.class);
+        when(mongoTemplate.indexOps(Course.class)).thenReturn(indexOps);
+        when(indexOps.getIndexInfo()).thenReturn(List.of(
+                new IndexInfo(List.of(IndexField.create("title", Sort.Direction.ASC)), "title", true, false, "")));
+
+        // When
+        MongoIndexConfig.makeTitlesUnique(mongoTemplate);
+
+        // Then
+        verify(indexOps, never()).dropIndex(anyString());
+        verify(indexOps, never()).createIndex(any());
+    }
+}
@@ -0,0 +1,27 @@
+package com.gitittogether.skillForge.server.course;
+
+import com.gitittogether.skillForge.server.course.repository.course.CourseRepository;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.mongodb.repository.ReadPreference;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@DisplayName("Course read preference Tests")
+class CourseReadPreferenceTest {
+
+    @Test
+    @DisplayName("Should read the catalog from secondaries but duplicate checks and enrollments from the primary")
+    void shouldRouteCatalogReadsToSecondaries() throws NoSuchMethodException {
+        // When & Then
+        assertThat(readPreference("findByIsPublicTrue")).isEqualTo("secondaryPreferred");
+        assertThat(readPreference("findByTitleContainingIgnoreCase", String.class)).isEqualTo("secondaryPreferred");
+        assertThat(readPreference("findByTitle", String.class)).isNull();
+        assertThat(readPreference("findByEnrolledUsersUserId", String.class)).isNull();
+    }
+
+    private static String readPreference(String method, Class<?>... parameterTypes) throws NoSuchMethodException {
+        ReadPreference annotation = CourseRepository.class.getMethod(method, parameterTypes).getAnnotation(ReadPreference.class);
+        return annotation != null ? annotation.value() : null;
+    }
+}
@@ -5,34 +5,56 @@ import com.gitittogether.skillForge.server.course.dto.request.course.CourseReque
 import com.gitittogether.skillForge.server.course.dto.request.course.CourseUpdateRequest;
 import com.gitittogether.skillForge.server.course.dto.request.course.EnrolledUserInfoRequest;
 import com.gitittogether.skillForge.server.course.dto.request.course.LearningPathRequest;
+import com.gitittogether.skillForge.server.course.dto.request.course.LessonRequest;
+import com.gitittogether.skillForge.server.course.dto.request.course.ModuleRequest;
 import com.gitittogether.skillForge.server.course.dto.response.course.CourseResponse;
 import com.gitittogether.skillForge.server.course.dto.response.course.CourseSummaryResponse;
+import com.gitittogether.skillForge.server.course.dto.response.course.LessonResponse;
 import com.gitittogether.skillForge.server.course.dto.response.utils.EmbedResult;
 import com.gitittogether.skillForge.server.course.dto.response.utils.PromptResponse;
 import com.gitittogether.skillForge.server.course.model.course.Course;
+import com.gitittogether.skillForge.server.course.exception.ResourceNotFoundException;
 import com.gitittogether.skillForge.server.course.model.course.EnrolledUserInfo;
+import com.gitittogether.skillForge.server.course.model.course.Lesson;
+import com.gitittogether.skillForge.server.course.model.course.LessonBody;
+import com.gitittogether.skillForge.server.course.model.course.LessonContent;
+import com.gitittogether.skillForge.server.course.model.course.Module;
+import com.gitittogether.skillForge.server.course.model.utils.LessonContentType;
 import com.gitittogether.skillForge.server.course.model.utils.Language;
 import com.gitittogether.skillForge.server.course.model.utils.Level;
 import com.gitittogether.skillForge.server.course.repository.course.CourseRepository;
+import com.gitittogether.skillForge.server.course.repository.course.LessonBodyRepository;
 import com.gitittogether.skillForge.server.course.service.courses.CourseServiceImpl;
+import com.gitittogether.skillForge.server.course.service.courses.GenAiResultCache;
+import com.gitittogether.skillForge.server.course.service.courses.UserSkillsCache;
+import com.gitittogether.skillForge.server.course.service.previews.CoursePreviewStore;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Nested;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.InOrder;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
+import org.mockito.Spy;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.dao.DuplicateKeyException;
 import org.springframework.data.mongodb.core.MongoTemplate;
 import org.springframework.data.mongodb.core.query.Query;
 import org.springframework.http.HttpEntity;
 import org.springframework.http.HttpMethod;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
+import org.springframework.mock.http.client.MockClientHttpResponse;
 import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.web.client.ResponseExtractor;
 import org.springframework.web.client.RestTemplate;
 
+import java.nio.charset.StandardCharsets;
 import java.util.*;
+import java.util.concurrent.atomic.AtomicReference;
 
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.assertj.core.api.Assertions.assertThatThrownBy;
@@ -46,12 +68,27 @@ class CourseServiceImplTest {
     @Mock
     private CourseRepository courseRepository;
 
+    @Mock
+    private LessonBodyRepository lessonBodyRepository;
+
     @Mock
     private MongoTemplate mongoTemplate;
 
     @Mock
     private RestTemplate restTemplate;
 
+    @Mock
+    private CoursePreviewStore previewStore;
+
+    @Mock
+    private GenAiResultCache genAiCache;
+
+    @Mock
+    private UserSkillsCache userSkillsCache;
+
+    @Spy
+    private SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+
     @InjectMocks
     private CourseServiceImpl courseService;
 
@@ -134,6 +171,125 @@ class CourseServiceImplTest {
         }
     }
 
+    @Nested
+    @DisplayName("Lesson bodies")
+    class LessonBodyTests {
+
+        @Test
+        @DisplayName("Should store lesson content as lesson bodies before saving the course")
+        void shouldStoreLessonBodiesBeforeCourse() {
+            // Given
+            sampleCourseRequest.setModules(List.of(ModuleRequest.builder()
+                    .title("Basics")
+                    .lessons(List.of(LessonRequest.builder()
+                            .title("Variables")
+                            .description("Declaring variables")
+                            .content(new LessonContent(LessonContentType.TEXT, "int x = 1;"))
+                            .build()))
+                    .build()));
+            when(courseRepository.findByTitle("Java Programming")).thenReturn(List.of());
+            when(courseRepository.save(any(Course.class))).thenAnswer(invocation -> invocation.getArgument(0));
+
+            // When
+            courseService.createCourse(sampleCourseRequest);
+
+            // Then
+            ArgumentCaptor<List<LessonBody>> bodies = ArgumentCaptor.captor();
+            ArgumentCaptor<Course> course = ArgumentCaptor.forClass(Course.class);
+            InOrder inOrder = inOrder(lessonBodyRepository, courseRepository);
+            inOrder.verify(lessonBodyRepository).insert(bodies.capture());
+            inOrder.verify(courseRepository).save(course.capture());
+            Lesson lesson = course.getValue().getModules().getFirst().getLessons().getFirst();
+            LessonBody body = bodies.getValue().getFirst();
+            assertThat(lesson.getContentId()).isEqualTo(body.getId()).isNotNull();
+            assertThat(body.getCourseId()).isEqualTo(course.getValue().getId()).isNotNull();
+            assertThat(body.getContent().getContent()).isEqualTo("int x = 1;");
+        }
+
+        @Test
+        @DisplayName("Should return a lesson with its content")
+        void shouldGetLessonWithContent() {
+            // Given
+            sampleCourse.setModules(new ArrayList<>(List.of(moduleWithLessons(
+                    Lesson.builder().title("Intro").description("Intro").contentId("body0").order(0).build(),
+                    Lesson.builder().title("Classes").description("Classes").contentId("body1").order(1).build()))));
+            when(courseRepository.findById("course123")).thenReturn(Optional.of(sampleCourse));
+            when(lessonBodyRepository.findByIdAndCourseId("body1", "course123")).thenReturn(Optional.of(
+                    new LessonBody("body1", "course123", new LessonContent(LessonContentType.HTML, "<p>class A {}</p>"))));
+
+            // When
+            LessonResponse result = courseService.getLesson("course123", 1);
+
+            // Then
+            assertThat(result.getTitle()).isEqualTo("Classes");
+            assertThat(result.getContent().getType()).isEqualTo(LessonContentType.HTML);
+            assertThat(result.getContent().getContent()).isEqualTo("<p>class A {}</p>");
+            verify(lessonBodyRepository, never()).findByIdAndCourseId(eq("body0"), any());
+        }
+
+        @Test
+        @DisplayName("Should serve content still inline in the course without writing")
+        void shouldGetInlineLessonContent() {
+            // Given
+            sampleCourse.setModules(new ArrayList<>(List.of(moduleWithLessons(Lesson.builder().title("Intro")
+                    .description("Intro").content(new LessonContent(LessonContentType.TEXT, "Inline lesson")).order(0).build()))));
+            when(courseRepository.findById("course123")).thenReturn(Optional.of(sampleCourse));
+
+            // When
+            LessonResponse result = courseService.getLesson("course123", 0);
+
+            // Then
+            assertThat(result.getContent().getContent()).isEqualTo("Inline lesson");
+            verifyNoInteractions(lessonBodyRepository, mongoTemplate);
+            verify(courseRepository, never()).save(any());
+        }
+
+        @Test
+        @DisplayName("Should move content still inline into a lesson body before saving an enrollment")
+        void shouldMoveInlineContentBeforeEnrolling() {
+            // Given
+            sampleCourse.setModules(new ArrayList<>(List.of(moduleWithLessons(Lesson.builder().title("Intro")
+                    .description("Intro").content(new LessonContent(LessonContentType.TEXT, "Inline lesson")).order(0).build()))));
+            when(courseRepository.findById("course123")).thenReturn(Optional.of(sampleCourse));
+            when(courseRepository.save(any(Course.class))).thenAnswer(invocation -> invocation.getArgument(0));
+
+            // When
+            courseService.enrollUserInCourse("course123", "user123");
+
+            // Then
+            ArgumentCaptor<List<LessonBody>> bodies = ArgumentCaptor.captor();
+            ArgumentCaptor<Course> course = ArgumentCaptor.forClass(Course.class);
+            InOrder inOrder = inOrder(lessonBodyRepository, courseRepository);
+            inOrder.verify(lessonBodyRepository).insert(bodies.capture());
+            inOrder.verify(courseRepository).save(course.capture());
+            Lesson lesson = course.getValue().getModules().getFirst().getLessons().getFirst();
+            assertThat(lesson.getContentId()).isEqualTo(bodies.getValue().getFirst().getId()).isNotNull();
+            assertThat(bodies.getValue().getFirst().getContent().getContent()).isEqualTo("Inline lesson");
+        }
+
+        @Test
+        @DisplayName("Should throw when the lesson or its content does not exist")
+        void shouldThrowWhenLessonMissing() {
+            // Given
+            sampleCourse.setModules(new ArrayList<>(List.of(moduleWithLessons(
+                    Lesson.builder().title("Intro").description("Intro").contentId("body0").order(0).build()))));
+            when(courseRepository.findById("course123")).thenReturn(Optional.of(sampleCourse));
+            when(lessonBodyRepository.findByIdAndCourseId("body0", "course123")).thenReturn(Optional.empty());
+
+            // When & Then
+            assertThatThrownBy(() -> courseService.getLesson("course123", 5))
+                    .isInstanceOf(ResourceNotFoundException.class)
+                    .hasMessageContaining("Lesson 5 not found");
+            assertThatThrownBy(() -> courseService.getLesson("course123", 0))
+                    .isInstanceOf(ResourceNotFoundException.class)
+                    .hasMessageContaining("Content of lesson 0 not found");
+        }
+
+        private Module moduleWithLessons(Lesson... lessons) {
+            return Module.builder().title("Basics").lessons(new ArrayList<>(List.of(lessons))).build();
+        }
+    }
+
     @Nested
     @DisplayName("getAllCourses")
     class GetAllCoursesTests {
@@ -236,6 +392,7 @@ class CourseServiceImplTest {
             // Then
             verify(courseRepository).existsById("course123");
             verify(courseRepository).deleteById("course123");
+            verify(lessonBodyRepository).deleteByCourseId("course123");
         }
 
         @Test
@@ -427,6 +584,7 @@ class CourseServiceImplTest {
             verify(courseRepository).findById("course123");
             verify(courseRepository).save(any(Course.class));
             verify(restTemplate).postForEntity(anyString(), any(HttpEntity.class), eq(Void.class));
+            verify(userSkillsCache).invalidate("user123");
         }
 
         @Test
@@ -718,6 +876,184 @@ class CourseServiceImplTest {
             assertThat(result.getInstructor()).isEqualTo("AI");
             verify(restTemplate).exchange(anyString(), eq(HttpMethod.GET), any(HttpEntity.class), eq(String.class));
             verify(restTemplate).postForEntity(anyString(), any(HttpEntity.class), eq(String.class));
+            verify(previewStore).save("user123", result);
+            verify(userSkillsCache).put(eq("user123"), eq(List.of("Java", "OOP")), anyLong());
+        }
+
+        @Test
+        @DisplayName("Should use cached profile skills without calling the user service")
+        void shouldUseCachedProfileSkills() throws Exception {
+            // Given
+            LearningPathRequest request = new LearningPathRequest("Learn Spring Boot", List.of("Programming"));
+            String courseJson = new ObjectMapper().writeValueAsString(CourseRequest.builder()
+                    .title("Spring Boot Basics")
+                    .description("Generated course")
+                    .instructor("AI")
+                    .build());
+            when(userSkillsCache.find("user123")).thenReturn(Optional.of(List.of("Java")));
+            when(restTemplate.postForEntity(anyString(), any(HttpEntity.class), eq(String.class)))
+                    .thenReturn(new ResponseEntity<>(courseJson, HttpStatus.OK));
+
+            // When
+            courseService.generateCourseFromGenAi(request, "user123", "Bearer token");
+
+            // Then
+            verify(restTemplate, never()).exchange(anyString(), eq(HttpMethod.GET), any(HttpEntity.class), eq(String.class));
+            ArgumentCaptor<HttpEntity<?>> genAiRequest = ArgumentCaptor.captor();
+            verify(restTemplate).postForEntity(anyString(), genAiRequest.capture(), eq(String.class));
+            assertThat(genAiRequest.getValue().getBody()).extracting("existing_skills").isEqualTo(List.of("Java"));
+        }
+
+        @Test
+        @DisplayName("Should reuse a cached course without calling GenAI")
+        void shouldReuseCachedCourse() throws Exception {
+            // Given
+            LearningPathRequest request = new LearningPathRequest("Learn Python basics", List.of("Programming"));
+            String cachedCourseJson = new ObjectMapper().writeValueAsString(CourseRequest.builder()
+                    .title("Python Basics")
+                    .description("Cached course")
+                    .instructor("AI")
+                    .build());
+            when(restTemplate.exchange(anyString(), eq(HttpMethod.GET), any(HttpEntity.class), eq(String.class)))
+                    .thenReturn(new ResponseEntity<>("{\"skills\":[]}", HttpStatus.OK));
+            when(genAiCache.findCourseJson("Learn Python basics", List.of("Programming"))).thenReturn(Optional.of(cachedCourseJson));
+
+            // When
+            CourseRequest result = courseService.generateCourseFromGenAi(request, "user123", "Bearer token");
+
+            // Then
+            assertThat(result.getTitle()).isEqualTo("Python Basics");
+            assertThat(result.getPublished()).isFalse();
+            verify(restTemplate, never()).postForEntity(anyString(), any(HttpEntity.class), eq(String.class));
+            verify(previewStore).save("user123", result);
+        }
+
+        @Test
+        @DisplayName("Should call GenAI and replace the cached course when the user regenerates")
+        void shouldBypassCachedCourseOnRegenerate() throws Exception {
+            // Given
+            LearningPathRequest request = new LearningPathRequest("Learn Python basics", List.of("Programming"), true);
+            String courseJson = new ObjectMapper().writeValueAsString(CourseRequest.builder()
+                    .title("Python Basics")
+                    .description("Generated course")
+                    .instructor("AI")
+                    .build());
+            when(userSkillsCache.find(anyString())).thenReturn(Optional.of(List.of("Programming")));
+            when(restTemplate.postForEntity(anyString(), any(HttpEntity.class), eq(String.class)))
+                    .thenReturn(new ResponseEntity<>(courseJson, HttpStatus.OK));
+
+            // When
+            courseService.generateCourseFromGenAi(request, "user123", "Bearer token");
+
+            // Then
+            verify(restTemplate).postForEntity(anyString(), any(HttpEntity.class), eq(String.class));
+            verify(genAiCache, never()).findCourseJson(anyString(), anyList());
+            verify(genAiCache).putCourseJson("Learn Python basics", List.of("Programming"), courseJson);
+        }
+
+        @Test
+        @DisplayName("Should return a cached prompt response without calling GenAI")
+        void shouldReuseCachedPromptResponse() {
+            // Given
+            when(genAiCache.findResponse("Explain Java programming")).thenReturn(Optional.of("Java is a programming language..."));
+
+            // When
+            String result = courseService.generateResponseFromGenAi("Explain Java programming");
+
+            // Then
+            assertThat(result).isEqualTo("Java is a programming language...");
+            verifyNoInteractions(restTemplate);
+        }
+
+        @Test
+        @DisplayName("Should pass streamed GenAI tokens on in order and cache the full response")
+        void shouldStreamResponseFromGenAi() {
+            // Given
+            String stream = "event: token\ndata: {\"token\": \"Java\"}\n\n"
+                    + "event: token\ndata: {\"token\": \" is fun\"}\n\n"
+                    + "event: done\ndata: {}\n\n";
+            stubGenAiStream(stream);
+            List<String> tokens = new ArrayList<>();
+
+            // When
+            String result = courseService.streamResponseFromGenAi("Explain Java", tokens::add);
+
+            // Then
+            assertThat(tokens).containsExactly("Java", " is fun");
+            assertThat(result).isEqualTo("Java is fun");
+            verify(genAiCache).putResponse("Explain Java", "Java is fun");
+        }
+
+        @Test
+        @DisplayName("Should fail and not cache when the GenAI stream reports an error")
+        void shouldFailOnGenAiStreamError() {
+            // Given
+            stubGenAiStream("event: token\ndata: {\"token\": \"Java\"}\n\n"
+                    + "event: error\ndata: {\"message\": \"model crashed\"}\n\n");
+
+            // When & Then
+            assertThatThrownBy(() -> courseService.streamResponseFromGenAi("Explain Java", token -> {
+            })).isInstanceOf(RuntimeException.class)
+                    .hasRootCauseMessage("GenAI stream failed: model crashed");
+            verify(genAiCache, never()).putResponse(anyString(), anyString());
+        }
+
+        @Test
+        @DisplayName("Should return null when confirming without a stored preview")
+        void shouldReturnNullWhenNoPreviewToConfirm() {
+            // Given
+            when(previewStore.find("user123")).thenReturn(Optional.empty());
+
+            // When
+            CourseResponse result = courseService.confirmCourseGeneration("user123");
+
+            // Then
+            assertThat(result).isNull();
+            verify(courseRepository, never()).save(any(Course.class));
+            verify(previewStore, never()).remove(anyString());
+        }
+
+        @Test
+        @DisplayName("Should number the title of a confirmed course when the unique title index rejects it")
+        void shouldConfirmCourseWithTakenTitle() {
+            // Given
+            CourseRequest preview = CourseRequest.builder()
+                    .title("Java Programming")
+                    .description("Generated course")
+                    .instructor("AI")
+                    .build();
+            AtomicReference<Course> saved = new AtomicReference<>();
+            when(previewStore.find("user123")).thenReturn(Optional.of(preview));
+            when(courseRepository.save(any(Course.class))).thenAnswer(invocation -> {
+                Course course = invocation.getArgument(0);
+                if (!course.getTitle().endsWith("(3)")) {
+                    throw new DuplicateKeyException("E11000 duplicate key error index: title");
+                }
+                saved.set(course);
+                return course;
+            });
+            when(courseRepository.findById(anyString())).thenAnswer(invocation -> Optional.of(saved.get()));
+
+            // When
+            CourseResponse result = courseService.confirmCourseGeneration("user123");
+
+            // Then
+            assertThat(result.getTitle()).isEqualTo("Java Programming (3)");
+            verify(courseRepository, never()).findByTitle(anyString());
+            verify(previewStore).remove("user123");
+        }
+
+        @Test
+        @DisplayName("Should reject a manually created course whose title was taken concurrently")
+        void shouldRejectConcurrentlyTakenTitle() {
+            // Given
+            when(courseRepository.findByTitle(sampleCourseRequest.getTitle())).thenReturn(List.of());
+            when(courseRepository.save(any(Course.class))).thenThrow(new DuplicateKeyException("E11000 duplicate key error index: title"));
+
+            // When & Then
+            assertThatThrownBy(() -> courseService.createCourse(sampleCourseRequest))
+                    .isInstanceOf(IllegalArgumentException.class)
+                    .hasMessage("Course with this title already exists");
         }
 
         @Test
@@ -970,4 +1306,13 @@ class CourseServiceImplTest {
             verify(courseRepository).save(any(Course.class));
         }
     }
+
+    @SuppressWarnings("unchecked")
+    private void stubGenAiStream(String events) {
+        when(genAiCache.findResponse(anyString())).thenReturn(Optional.empty());
+        when(restTemplate.execute(anyString(), eq(HttpMethod.POST), any(), any(ResponseExtractor.class))).thenAnswer(invocation -> {
+            MockClientHttpResponse response = new MockClientHttpResponse(events.getBytes(StandardCharsets.UTF_8), HttpStatus.OK);
+            return invocation.<ResponseExtractor<String>>getArgument(3).extractData(response);
+        });
+    }
 }
@@ -0,0 +1,213 @@
+package com.gitittogether.skillForge.server.course;
+
+import com.gitittogether.skillForge.server.course.dto.request.crawl.CrawlBatchRequest;
+import com.gitittogether.skillForge.server.course.dto.response.crawl.CrawlJobResponse;
+import com.gitittogether.skillForge.server.course.dto.response.crawl.CrawlUrlResponse;
+import com.gitittogether.skillForge.server.course.exception.CrawlQueueFullException;
+import com.gitittogether.skillForge.server.course.exception.ResourceNotFoundException;
+import com.gitittogether.skillForge.server.course.model.crawl.CrawlJob;
+import com.gitittogether.skillForge.server.course.model.crawl.CrawledUrl;
+import com.gitittogether.skillForge.server.course.model.utils.CrawlJobStatus;
+import com.gitittogether.skillForge.server.course.model.utils.CrawlUrlStatus;
+import com.gitittogether.skillForge.server.course.repository.crawl.CrawlJobRepository;
+import com.gitittogether.skillForge.server.course.repository.crawl.CrawledUrlRepository;
+import com.gitittogether.skillForge.server.course.service.crawl.CrawlJobServiceImpl;
+import com.gitittogether.skillForge.server.course.service.crawl.GenAiEmbedClient;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.core.task.SimpleAsyncTaskExecutor;
+import org.springframework.core.task.TaskExecutor;
+import org.springframework.core.task.TaskRejectedException;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("CrawlJobService Implementation Tests")
+class CrawlJobServiceImplTest {
+
+    private static final String USER_ID = "user123";
+
+    @Mock
+    private CrawlJobRepository jobRepository;
+
+    @Mock
+    private CrawledUrlRepository crawledUrlRepository;
+
+    @Mock
+    private GenAiEmbedClient embedClient;
+
+    private final Map<String, CrawlJob> storedJobs = new ConcurrentHashMap<>();
+    private final List<Runnable> queuedJobs = new ArrayList<>();
+    private CrawlJobServiceImpl crawlJobService;
+
+    @BeforeEach
+    void setUp() {
+        crawlJobService = newService(queuedJobs::add);
+
+        lenient().when(jobRepository.save(any(CrawlJob.class))).thenAnswer(invocation -> {
+            CrawlJob job = invocation.getArgument(0);
+            storedJobs.put(job.getId(), job);
+            return job;
+        });
+        lenient().when(jobRepository.findById(anyString()))
+                .thenAnswer(invocation -> Optional.ofNullable(storedJobs.get(invocation.<String>getArgument(0))));
+        lenient().when(crawledUrlRepository.findById(anyString())).thenReturn(Optional.empty());
+    }
+
+    @Test
+    @DisplayName("Should queue one pending result per distinct normalized URL")
+    void shouldQueueDistinctUrls() {
+        // Given
+        CrawlBatchRequest request = new CrawlBatchRequest(List.of(
+                "https://Docs.Example.com/java#intro", "https://docs.example.com/java", " https://blog.example.org/spring "), false);
+
+        // When
+        CrawlJobResponse response = crawlJobService.submitJob(request, USER_ID);
+
+        // Then
+        assertThat(response.getStatus()).isEqualTo(CrawlJobStatus.QUEUED);
+        assertThat(response.getResults()).extracting(CrawlUrlResponse::getUrl)
+                .containsExactly("https://docs.example.com/java", "https://blog.example.org/spring");
+        assertThat(queuedJobs).hasSize(1);
+        verifyNoInteractions(embedClient);
+    }
+
+    @Test
+    @DisplayName("Should reject URLs that are not absolute http(s) URLs")
+    void shouldRejectInvalidUrls() {
+        // When & Then
+        assertThatThrownBy(() -> crawlJobService.submitJob(new CrawlBatchRequest(List.of("ftp://example.com/file"), false), USER_ID))
+                .isInstanceOf(IllegalArgumentException.class);
+        verify(jobRepository, never()).save(any());
+    }
+
+    @Test
+    @DisplayName("Should embed new URLs, skip recent ones and report failures per URL")
+    void shouldReportResultPerUrl() {
+        // Given
+        when(crawledUrlRepository.findById("https://example.com/recent")).thenReturn(Optional.of(CrawledUrl.builder()
+                .url("https://example.com/recent").host("example.com").contentHash("abc").chunksEmbedded(3)
+                .lastCrawledAt(Instant.now().minus(Duration.ofHours(1))).build()));
+        when(embedClient.embed("https://example.com/new", null))
+                .thenReturn(new GenAiEmbedClient.EmbedOutcome(5, "hash", false, "Content successfully crawled and embedded."));
+        when(embedClient.embed("https://example.org/broken", null))
+                .thenThrow(new IllegalStateException("GenAI responded with 404: Could not find any text content"));
+        CrawlJobResponse submitted = crawlJobService.submitJob(new CrawlBatchRequest(List.of(
+                "https://example.com/new", "https://example.com/recent", "https://example.org/broken"), false), USER_ID);
+
+        // When
+        queuedJobs.forEach(Runnable::run);
+
+        // Then
+        CrawlJobResponse job = crawlJobService.getJob(submitted.getJobId(), USER_ID);
+        assertThat(job.getStatus()).isEqualTo(CrawlJobStatus.COMPLETED);
+        assertThat(job.getResults()).extracting(CrawlUrlResponse::getStatus)
+                .containsExactly(CrawlUrlStatus.EMBEDDED, CrawlUrlStatus.SKIPPED, CrawlUrlStatus.FAILED);
+        assertThat(job.getResults().get(0).getResult().getChunksEmbedded()).isEqualTo(5);
+        assertThat(job.getResults().get(2).getResult().isSuccess()).isFalse();
+        assertThat(job.getCounts()).containsEntry(CrawlUrlStatus.EMBEDDED, 1L).containsEntry(CrawlUrlStatus.FAILED, 1L);
+        verify(embedClient, never()).embed(eq("https://example.com/recent"), any());
+        verify(crawledUrlRepository).save(argThat(crawled -> crawled.getUrl().equals("https://example.com/new")
+                && crawled.getContentHash().equals("hash")));
+    }
+
+    @Test
+    @DisplayName("Should pass the known content hash when forcing a re-crawl")
+    void shouldReportUnchangedContent() {
+        // Given
+        when(crawledUrlRepository.findById("https://example.com/recent")).thenReturn(Optional.of(CrawledUrl.builder()
+                .url("https://example.com/recent").host("example.com").contentHash("abc").chunksEmbedded(3)
+                .lastCrawledAt(Instant.now().minus(Duration.ofHours(1))).build()));
+        when(embedClient.embed("https://example.com/recent", "abc"))
+                .thenReturn(new GenAiEmbedClient.EmbedOutcome(0, "abc", true, "Content unchanged since the last crawl, nothing embedded."));
+        CrawlJobResponse submitted = crawlJobService.submitJob(new CrawlBatchRequest(List.of("https://example.com/recent"), true), USER_ID);
+
+        // When
+        queuedJobs.forEach(Runnable::run);
+
+        // Then
+        CrawlUrlResponse result = crawlJobService.getJob(submitted.getJobId(), USER_ID).getResults().get(0);
+        assertThat(result.getStatus()).isEqualTo(CrawlUrlStatus.UNCHANGED);
+        assertThat(result.getResult().getChunksEmbedded()).isEqualTo(3);
+    }
+
+    @Test
+    @DisplayName("Should reject the job when the queue is full")
+    void shouldRejectJobWhenQueueIsFull() {
+        // Given
+        crawlJobService = newService(task -> {
+            throw new TaskRejectedException("queue full");
+        });
+
+        // When & Then
+        assertThatThrownBy(() -> crawlJobService.submitJob(new CrawlBatchRequest(List.of("https://example.com"), false), USER_ID))
+                .isInstanceOf(CrawlQueueFullException.class);
+        verify(jobRepository).deleteById(anyString());
+    }
+
+    @Test
+    @DisplayName("Should not expose jobs of other users")
+    void shouldHideJobsOfOtherUsers() {
+        // Given
+        CrawlJobResponse submitted = crawlJobService.submitJob(new CrawlBatchRequest(List.of("https://example.com"), false), USER_ID);
+
+        // When & Then
+        assertThatThrownBy(() -> crawlJobService.getJob(submitted.getJobId(), "otherUser"))
+                .isInstanceOf(ResourceNotFoundException.class);
+    }
+
+    @Test
+    @DisplayName("Should keep crawling other hosts while a host waits for its delay")
+    void shouldNotStarveOtherHostsDuringDelay() throws InterruptedException {
+        // Given
+        crawlJobService = newService(new SimpleAsyncTaskExecutor(), new SimpleAsyncTaskExecutor(), Duration.ofSeconds(1));
+        CountDownLatch firstCrawled = new CountDownLatch(1);
+        CountDownLatch otherHostCrawled = new CountDownLatch(1);
+        when(embedClient.embed(startsWith("https://a.com/"), isNull())).thenAnswer(invocation -> {
+            firstCrawled.countDown();
+            return new GenAiEmbedClient.EmbedOutcome(1, "hash", false, "ok");
+        });
+        when(embedClient.embed(eq("https://b.com/page"), isNull())).thenAnswer(invocation -> {
+            otherHostCrawled.countDown();
+            return new GenAiEmbedClient.EmbedOutcome(1, "hash", false, "ok");
+        });
+        crawlJobService.submitJob(new CrawlBatchRequest(List.of(
+                "https://a.com/1", "https://a.com/2", "https://a.com/3"), false), USER_ID);
+        assertThat(firstCrawled.await(5, TimeUnit.SECONDS)).isTrue();
+
+        // When
+        crawlJobService.submitJob(new CrawlBatchRequest(List.of("https://b.com/page"), false), USER_ID);
+
+        // Then
+        assertThat(otherHostCrawled.await(500, TimeUnit.MILLISECONDS)).isTrue();
+    }
+
+    private CrawlJobServiceImpl newService(TaskExecutor jobExecutor) {
+        return newService(jobExecutor, Runnable::run, Duration.ZERO);
+    }
+
+    private CrawlJobServiceImpl newService(TaskExecutor jobExecutor, TaskExecutor crawlUrlExecutor, Duration perHostDelay) {
+        CrawlJobServiceImpl service = new CrawlJobServiceImpl(jobRepository, crawledUrlRepository, embedClient,
+                jobExecutor, crawlUrlExecutor, 2, perHostDelay);
+        ReflectionTestUtils.setField(service, "maxUrls", 500);
+        ReflectionTestUtils.setField(service, "recrawlAfter", Duration.ofDays(7));
+        ReflectionTestUtils.setField(service, "progressInterval", Duration.ofSeconds(2));
+        ReflectionTestUtils.setField(service, "staleAfter", Duration.ofMinutes(15));
+        return service;
+    }
+}
@@ -0,0 +1,164 @@
+package com.gitittogether.skillForge.server.course;
+
+import com.gitittogether.skillForge.server.course.dto.request.course.CourseRequest;
+import com.gitittogether.skillForge.server.course.dto.request.course.LearningPathRequest;
+import com.gitittogether.skillForge.server.course.dto.response.job.GenerationJobResponse;
+import com.gitittogether.skillForge.server.course.exception.GenerationQueueFullException;
+import com.gitittogether.skillForge.server.course.exception.ResourceNotFoundException;
+import com.gitittogether.skillForge.server.course.model.job.GenerationJob;
+import com.gitittogether.skillForge.server.course.model.utils.GenerationJobStatus;
+import com.gitittogether.skillForge.server.course.repository.job.GenerationJobRepository;
+import com.gitittogether.skillForge.server.course.service.courses.CourseService;
+import com.gitittogether.skillForge.server.course.service.jobs.GenerationJobServiceImpl;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.core.task.TaskRejectedException;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("GenerationJobService Implementation Tests")
+class GenerationJobServiceImplTest {
+
+    private static final String USER_ID = "user123";
+    private static final String AUTH_HEADER = "Bearer token";
+
+    @Mock
+    private GenerationJobRepository jobRepository;
+
+    @Mock
+    private CourseService courseService;
+
+    private final Map<String, GenerationJob> storedJobs = new ConcurrentHashMap<>();
+    private final List<Runnable> queuedTasks = new ArrayList<>();
+    private GenerationJobServiceImpl generationJobService;
+    private LearningPathRequest request;
+
+    @BeforeEach
+    void setUp() {
+        generationJobService = new GenerationJobServiceImpl(jobRepository, courseService, queuedTasks::add);
+        ReflectionTestUtils.setField(generationJobService, "staleAfter", Duration.ofMinutes(15));
+        ReflectionTestUtils.setField(generationJobService, "sseTimeout", Duration.ofMinutes(10));
+        ReflectionTestUtils.setField(generationJobService, "sseHeartbeat", Duration.ofSeconds(15));
+
+        lenient().when(jobRepository.save(any(GenerationJob.class))).thenAnswer(invocation -> {
+            GenerationJob job = invocation.getArgument(0);
+            storedJobs.put(job.getId(), job);
+            return job;
+        });
+        lenient().when(jobRepository.findById(anyString()))
+                .thenAnswer(invocation -> Optional.ofNullable(storedJobs.get(invocation.<String>getArgument(0))));
+
+        request = new LearningPathRequest("Learn Spring Boot", List.of("Java"));
+    }
+
+    @Test
+    @DisplayName("Should queue the job and return before the generation ran")
+    void shouldQueueJobWithoutRunningGeneration() {
+        // When
+        GenerationJobResponse response = generationJobService.submitJob(request, USER_ID, AUTH_HEADER);
+
+        // Then
+        assertThat(response.getJobId()).isNotBlank();
+        assertThat(response.getStatus()).isEqualTo(GenerationJobStatus.QUEUED);
+        assertThat(queuedTasks).hasSize(1);
+        verifyNoInteractions(courseService);
+    }
+
+    @Test
+    @DisplayName("Should store the generated course once the job ran")
+    void shouldStoreGeneratedCourse() {
+        // Given
+        CourseRequest generated = CourseRequest.builder().title("Spring Boot Basics").description("Intro").instructor("AI").build();
+        when(courseService.generateCourseFromGenAi(request, USER_ID, AUTH_HEADER)).thenReturn(generated);
+        GenerationJobResponse submitted = generationJobService.submitJob(request, USER_ID, AUTH_HEADER);
+
+        // When
+        queuedTasks.forEach(Runnable::run);
+
+        // Then
+        GenerationJobResponse job = generationJobService.getJob(submitted.getJobId(), USER_ID);
+        assertThat(job.getStatus()).isEqualTo(GenerationJobStatus.SUCCEEDED);
+        assertThat(job.getResult().getTitle()).isEqualTo("Spring Boot Basics");
+    }
+
+    @Test
+    @DisplayName("Should mark the job as failed when the generation fails")
+    void shouldMarkJobFailedOnGenerationError() {
+        // Given
+        when(courseService.generateCourseFromGenAi(any(), anyString(), anyString()))
+                .thenThrow(new RuntimeException("Failed to generate course via GenAI", new IllegalStateException("GenAI service failed")));
+        GenerationJobResponse submitted = generationJobService.submitJob(request, USER_ID, AUTH_HEADER);
+
+        // When
+        queuedTasks.forEach(Runnable::run);
+
+        // Then
+        GenerationJobResponse job = generationJobService.getJob(submitted.getJobId(), USER_ID);
+        assertThat(job.getStatus()).isEqualTo(GenerationJobStatus.FAILED);
+        assertThat(job.getError()).isEqualTo("GenAI service failed");
+    }
+
+    @Test
+    @DisplayName("Should reject the job when the queue is full")
+    void shouldRejectJobWhenQueueIsFull() {
+        // Given
+        generationJobService = new GenerationJobServiceImpl(jobRepository, courseService, task -> {
+            throw new TaskRejectedException("queue full");
+        });
+
+        // When & Then
+        assertThatThrownBy(() -> generationJobService.submitJob(request, USER_ID, AUTH_HEADER))
+                .isInstanceOf(GenerationQueueFullException.class);
+        verify(jobRepository).deleteById(anyString());
+    }
+
+    @Test
+    @DisplayName("Should not expose jobs of other users")
+    void shouldHideJobsOfOtherUsers() {
+        // Given
+        GenerationJobResponse submitted = generationJobService.submitJob(request, USER_ID, AUTH_HEADER);
+
+        // When & Then
+        assertThatThrownBy(() -> generationJobService.getJob(submitted.getJobId(), "otherUser"))
+                .isInstanceOf(ResourceNotFoundException.class);
+    }
+
+    @Test
+    @DisplayName("Should fail jobs that stopped making progress")
+    void shouldFailStaleJobs() {
+        // Given
+        Instant longAgo = Instant.now().minus(Duration.ofHours(1));
+        storedJobs.put("job1", GenerationJob.builder()
+                .id("job1")
+                .userId(USER_ID)
+                .prompt("Learn Spring Boot")
+                .status(GenerationJobStatus.RUNNING)
+                .createdAt(longAgo)
+                .updatedAt(longAgo)
+                .build());
+
+        // When
+        GenerationJobResponse job = generationJobService.getJob("job1", USER_ID);
+
+        // Then
+        assertThat(job.getStatus()).isEqualTo(GenerationJobStatus.FAILED);
+        assertThat(storedJobs.get("job1").getStatus()).isEqualTo(GenerationJobStatus.FAILED);
+    }
+}
@@ -0,0 +1,78 @@
+package com.gitittogether.skillForge.server.course;
+
+import com.gitittogether.skillForge.server.course.utils.HostPoliteness;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@DisplayName("HostPoliteness Tests")
+class HostPolitenessTest {
+
+    @Test
+    @DisplayName("Should not hand out the slot of a host while a request to it is running")
+    void shouldNotHandOutBusyHost() {
+        // Given
+        HostPoliteness politeness = new HostPoliteness(Duration.ZERO);
+        politeness.tryAcquire("example.com");
+
+        // When / Then
+        assertThat(politeness.tryAcquire("example.com")).isEqualTo(HostPoliteness.BUSY);
+        politeness.release("example.com");
+        assertThat(politeness.tryAcquire("example.com")).isZero();
+    }
+
+    @Test
+    @DisplayName("Should wait the delay between two requests to the same host")
+    void shouldDelayRequestsToSameHost() {
+        // Given
+        HostPoliteness politeness = new HostPoliteness(Duration.ofMillis(200));
+        politeness.tryAcquire("example.com");
+        politeness.release("example.com");
+
+        // When
+        long waitNanos = politeness.tryAcquire("example.com");
+
+        // Then
+        assertThat(waitNanos).isPositive().isLessThanOrEqualTo(TimeUnit.MILLISECONDS.toNanos(200));
+    }
+
+    @Test
+    @DisplayName("Should not delay requests to other hosts")
+    void shouldNotDelayOtherHosts() {
+        // Given
+        HostPoliteness politeness = new HostPoliteness(Duration.ofSeconds(5));
+        politeness.tryAcquire("example.com");
+        politeness.release("example.com");
+
+        // When / Then
+        assertThat(politeness.tryAcquire("example.org")).isZero();
+    }
+
+    @Test
+    @DisplayName("Should wake up a waiting dispatcher when a slot is released")
+    void shouldWakeUpOnRelease() throws Exception {
+        // Given
+        HostPoliteness politeness = new HostPoliteness(Duration.ZERO);
+        politeness.tryAcquire("example.com");
+        long seenReleases = politeness.releases();
+        CompletableFuture<Void> waiting = CompletableFuture.runAsync(() -> {
+            try {
+                politeness.awaitRelease(seenReleases, TimeUnit.SECONDS.toNanos(30));
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        });
+
+        // When
+        politeness.release("example.com");
+
+        // Then
+        waiting.get(5, TimeUnit.SECONDS);
+        assertThat(politeness.releases()).isEqualTo(seenReleases + 1);
+    }
+}
@@ -0,0 +1,113 @@
+package com.gitittogether.skillForge.server.course;
+
+import com.gitittogether.skillForge.server.course.dto.request.course.CourseRequest;
+import com.gitittogether.skillForge.server.course.service.previews.InMemoryCoursePreviewStore;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@DisplayName("InMemoryCoursePreviewStore Tests")
+class InMemoryCoursePreviewStoreTest {
+
+    private MutableClock clock;
+    private InMemoryCoursePreviewStore store;
+
+    @BeforeEach
+    void setUp() {
+        clock = new MutableClock();
+        store = new InMemoryCoursePreviewStore(Duration.ofHours(1), 2, clock);
+    }
+
+    @Test
+    @DisplayName("Should return the last saved preview of a user")
+    void shouldReturnLastSavedPreview() {
+        // Given
+        store.save("user1", preview("Java Basics"));
+        store.save("user1", preview("Advanced Java"));
+
+        // When & Then
+        assertThat(store.find("user1")).hasValueSatisfying(course -> assertThat(course.getTitle()).isEqualTo("Advanced Java"));
+        assertThat(store.size()).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("Should not return expired previews")
+    void shouldExpirePreviews() {
+        // Given
+        store.save("user1", preview("Java Basics"));
+
+        // When
+        clock.advance(Duration.ofMinutes(61));
+
+        // Then
+        assertThat(store.find("user1")).isEmpty();
+        assertThat(store.size()).isZero();
+    }
+
+    @Test
+    @DisplayName("Should evict the least recently used preview when full")
+    void shouldEvictLeastRecentlyUsedPreview() {
+        // Given
+        store.save("user1", preview("Java Basics"));
+        store.save("user2", preview("Python Basics"));
+        store.find("user1");
+
+        // When
+        store.save("user3", preview("Go Basics"));
+
+        // Then
+        assertThat(store.size()).isEqualTo(2);
+        assertThat(store.find("user2")).isEmpty();
+        assertThat(store.find("user1")).isPresent();
+        assertThat(store.find("user3")).isPresent();
+    }
+
+    @Test
+    @DisplayName("Should remove confirmed previews")
+    void shouldRemovePreview() {
+        // Given
+        store.save("user1", preview("Java Basics"));
+
+        // When
+        store.remove("user1");
+
+        // Then
+        assertThat(store.find("user1")).isEmpty();
+    }
+
+    private static CourseRequest preview(String title) {
+        return CourseRequest.builder().title(title).description("Generated").instructor("AI").build();
+    }
+
+    private static final class MutableClock extends Clock {
+
+        private Instant now = Instant.parse("2025-01-01T00:00:00Z");
+
+        void advance(Duration duration) {
+            now = now.plus(duration);
+        }
+
+        @Override
+        public ZoneId getZone() {
+            return ZoneOffset.UTC;
+        }
+
+        @Override
+        public Clock withZone(ZoneId zone) {
+            return this;
+        }
+
+        @Override
+        public Instant instant() {
+            return now;
+        }
+    }
+}
@@ -0,0 +1,97 @@
+package com.gitittogether.skillForge.server.course;
+
+import com.gitittogether.skillForge.server.course.model.course.Course;
+import com.gitittogether.skillForge.server.course.model.course.LessonBody;
+import com.gitittogether.skillForge.server.course.mongo.LessonBodyMigration;
+import com.mongodb.MongoClientSettings;
+import com.mongodb.client.FindIterable;
+import com.mongodb.client.MongoCollection;
+import com.mongodb.client.MongoCursor;
+import com.mongodb.client.result.UpdateResult;
+import org.bson.BsonDocument;
+import org.bson.Document;
+import org.bson.conversions.Bson;
+import org.bson.types.ObjectId;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.springframework.data.mongodb.core.MongoTemplate;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.Mockito.*;
+
+@DisplayName("LessonBodyMigration Tests")
+class LessonBodyMigrationTest {
+
+    private static final ObjectId COURSE_ID = new ObjectId();
+
+    private MongoTemplate mongoTemplate;
+    private MongoCollection<Document> courses;
+    private MongoCollection<Document> bodies;
+
+    @BeforeEach
+    @SuppressWarnings("unchecked")
+    void setUp() {
+        mongoTemplate = mock(MongoTemplate.class);
+        courses = mock(MongoCollection.class);
+        bodies = mock(MongoCollection.class);
+        when(mongoTemplate.getCollectionName(Course.class)).thenReturn("courses");
+        when(mongoTemplate.getCollectionName(LessonBody.class)).thenReturn("lesson_bodies");
+        when(mongoTemplate.getCollection("courses")).thenReturn(courses);
+        when(mongoTemplate.getCollection("lesson_bodies")).thenReturn(bodies);
+        FindIterable<Document> found = mock(FindIterable.class);
+        MongoCursor<Document> cursor = mock(MongoCursor.class);
+        when(courses.find(any(Bson.class))).thenReturn(found);
+        when(found.iterator()).thenReturn(cursor);
+        when(cursor.hasNext()).thenReturn(true, false);
+        when(cursor.next()).thenReturn(new Document("_id", COURSE_ID).append("modules", List.of(new Document("title", "Basics")
+                .append("lessons", List.of(new Document("title", "Intro").append("content", new Document("type", "TEXT")
+                        .append("content", "Inline lesson")))))));
+    }
+
+    @Test
+    @DisplayName("Should move inline content only if the modules are unchanged since they were read")
+    void shouldMoveInlineContentGuardedByModules() {
+        // Given
+        when(courses.updateOne(any(Bson.class), any(Bson.class))).thenReturn(UpdateResult.acknowledged(1, 1L, null));
+
+        // When
+        int moved = LessonBodyMigration.moveInlineContent(mongoTemplate);
+
+        // Then
+        assertThat(moved).isEqualTo(1);
+        verify(bodies).bulkWrite(anyList());
+        ArgumentCaptor<Bson> filter = ArgumentCaptor.forClass(Bson.class);
+        ArgumentCaptor<Bson> update = ArgumentCaptor.forClass(Bson.class);
+        verify(courses).updateOne(filter.capture(), update.capture());
+        BsonDocument unchanged = render(filter.getValue()).getArray("$and").get(1).asDocument();
+        assertThat(unchanged.getArray("modules").get(0).asDocument().getArray("lessons").get(0).asDocument()
+                .getDocument("content").getString("content").getValue()).isEqualTo("Inline lesson");
+        BsonDocument lesson = render(update.getValue()).getDocument("$set").getArray("modules").get(0).asDocument()
+                .getArray("lessons").get(0).asDocument();
+        assertThat(lesson.containsKey("content")).isFalse();
+        assertThat(lesson.getString("contentId").getValue()).isNotBlank();
+    }
+
+    @Test
+    @DisplayName("Should leave a course whose modules changed meanwhile as it is")
+    void shouldLeaveChangedCourse() {
+        // Given
+        when(courses.updateOne(any(Bson.class), any(Bson.class))).thenReturn(UpdateResult.acknowledged(0, 0L, null));
+
+        // When
+        int moved = LessonBodyMigration.moveInlineContent(mongoTemplate);
+
+        // Then
+        assertThat(moved).isZero();
+    }
+
+    private static BsonDocument render(Bson bson) {
+        return bson.toBsonDocument(BsonDocument.class, MongoClientSettings.getDefaultCodecRegistry());
+    }
+}
@@ -0,0 +1,170 @@
+package com.gitittogether.skillForge.server.course;
+
+import com.gitittogether.skillForge.server.course.model.course.LessonBody;
+import com.gitittogether.skillForge.server.course.model.course.LessonContent;
+import com.gitittogether.skillForge.server.course.model.utils.LessonContentType;
+import com.gitittogether.skillForge.server.course.mongo.LessonBodyMigration;
+import com.gitittogether.skillForge.server.course.mongo.LessonContentCodec;
+import org.bson.BsonBinarySubType;
+import org.bson.Document;
+import org.bson.types.Binary;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.springframework.data.mongodb.core.BulkOperations;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.convert.MappingMongoConverter;
+import org.springframework.data.mongodb.core.convert.MongoCustomConversions;
+import org.springframework.data.mongodb.core.convert.NoOpDbRefResolver;
+import org.springframework.data.mongodb.core.mapping.MongoMappingContext;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+
+import java.util.List;
+import java.util.stream.Stream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+@DisplayName("LessonContentCodec Tests")
+class LessonContentCodecTest {
+
+    private static final String LESSON = "## Working with Docker\n\nThis step explains how Docker relates to Kubernetes. ".repeat(60);
+
+    private final LessonContentCodec codec = new LessonContentCodec(true, 1024, 6);
+
+    @Test
+    @DisplayName("Should keep text below the threshold as a string")
+    void shouldKeepShortTextAsString() {
+        // When
+        Object stored = codec.encode("Short lesson");
+
+        // Then
+        assertThat(stored).isEqualTo("Short lesson");
+        assertThat(codec.decode(stored)).isEqualTo("Short lesson");
+    }
+
+    @Test
+    @DisplayName("Should store large text as marked binary and restore it")
+    void shouldCompressLargeText() {
+        // When
+        Object stored = codec.encode(LESSON + "Ünïcode ✓");
+
+        // Then
+        assertThat(stored).isInstanceOf(Binary.class);
+        Binary binary = (Binary) stored;
+        assertThat(binary.getType()).isEqualTo(BsonBinarySubType.USER_DEFINED.getValue());
+        assertThat(binary.getData()[0]).isEqualTo((byte) 1);
+        assertThat(binary.getData().length).isLessThan(LESSON.length() / 4);
+        assertThat(codec.decode(stored)).isEqualTo(LESSON + "Ünïcode ✓");
+    }
+
+    @Test
+    @DisplayName("Should store text as is when disabled but still read compressed text")
+    void shouldOnlyDecodeWhenDisabled() {
+        // Given
+        LessonContentCodec disabled = new LessonContentCodec(false, 1024, 6);
+
+        // When
+        Object stored = disabled.encode(LESSON);
+
+        // Then
+        assertThat(stored).isEqualTo(LESSON);
+        assertThat(disabled.decode(codec.encode(LESSON))).isEqualTo(LESSON);
+    }
+
+    @Test
+    @DisplayName("Should reject binary of an unknown codec")
+    void shouldRejectUnknownCodec() {
+        // Given
+        Binary unknown = new Binary(BsonBinarySubType.USER_DEFINED.getValue(), new byte[]{9, 1, 2});
+
+        // When & Then
+        assertThatThrownBy(() -> codec.decode(unknown))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessageContaining("Unknown lesson content codec 9");
+    }
+
+    @Nested
+    @DisplayName("Mapping")
+    class Mapping {
+
+        @Test
+        @DisplayName("Should write lesson bodies compressed and read them back")
+        void shouldRoundTripLessonBody() {
+            // Given
+            MappingMongoConverter converter = converter(codec);
+            LessonBody body = new LessonBody("body1", "course1", new LessonContent(LessonContentType.HTML, LESSON));
+
+            // When
+            Document document = new Document();
+            converter.write(body, document);
+            LessonBody read = converter.read(LessonBody.class, document);
+
+            // Then
+            Document content = document.get("content", Document.class);
+            assertThat(content.getString("type")).isEqualTo("HTML");
+            assertThat(content.get("content")).isInstanceOf(Binary.class);
+            assertThat(read.getContent().getType()).isEqualTo(LessonContentType.HTML);
+            assertThat(read.getContent().getContent()).isEqualTo(LESSON);
+        }
+
+        @Test
+        @DisplayName("Should read lesson bodies stored as plain text")
+        void shouldReadPlainText() {
+            // Given
+            Document document = new Document("_id", "body1").append("courseId", "course1")
+                    .append("content", new Document("type", "TEXT").append("content", "Plain lesson"));
+
+            // When
+            LessonBody read = converter(codec).read(LessonBody.class, document);
+
+            // Then
+            assertThat(read.getContent().getContent()).isEqualTo("Plain lesson");
+        }
+    }
+
+    @Nested
+    @DisplayName("Migration")
+    class Migration {
+
+        @Test
+        @DisplayName("Should rewrite only bodies that compress")
+        void shouldCompressStoredBodies() {
+            // Given
+            MongoTemplate mongoTemplate = mock(MongoTemplate.class);
+            BulkOperations bulk = mock(BulkOperations.class);
+            when(mongoTemplate.getConverter()).thenReturn(converter(codec));
+            when(mongoTemplate.bulkOps(BulkOperations.BulkMode.UNORDERED, LessonBody.class)).thenReturn(bulk);
+            when(mongoTemplate.stream(any(Query.class), eq(LessonBody.class))).thenReturn(Stream.of(
+                    new LessonBody("large", "course1", new LessonContent(LessonContentType.TEXT, LESSON)),
+                    new LessonBody("small", "course1", new LessonContent(LessonContentType.TEXT, "Short lesson"))));
+
+            // When
+            LessonBodyMigration.compressContent(mongoTemplate);
+
+            // Then
+            ArgumentCaptor<Query> query = ArgumentCaptor.forClass(Query.class);
+            ArgumentCaptor<Update> update = ArgumentCaptor.forClass(Update.class);
+            verify(bulk).updateOne(query.capture(), update.capture());
+            verify(bulk).execute();
+            assertThat(query.getValue().getQueryObject().get("_id")).isEqualTo("large");
+            Document content = (Document) update.getValue().getUpdateObject().get("$set", Document.class).get("content");
+            assertThat(content.get("content")).isInstanceOf(Binary.class);
+        }
+    }
+
+    private static MappingMongoConverter converter(LessonContentCodec codec) {
+        MongoCustomConversions conversions = new MongoCustomConversions(List.of(codec.writer(), codec.reader()));
+        MongoMappingContext mappingContext = new MongoMappingContext();
+        mappingContext.setSimpleTypeHolder(conversions.getSimpleTypeHolder());
+        MappingMongoConverter converter = new MappingMongoConverter(NoOpDbRefResolver.INSTANCE, mappingContext);
+        converter.setCustomConversions(conversions);
+        converter.afterPropertiesSet();
+        return converter;
+    }
+}
@@ -0,0 +1,136 @@
+package com.gitittogether.skillForge.server.course;
+
+import com.gitittogether.skillForge.server.course.utils.HashingPromptEmbedder;
+import com.gitittogether.skillForge.server.course.utils.SemanticCache;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@DisplayName("SemanticCache Tests")
+class SemanticCacheTest {
+
+    private MutableClock clock;
+    private SimpleMeterRegistry meterRegistry;
+
+    @BeforeEach
+    void setUp() {
+        clock = new MutableClock();
+        meterRegistry = new SimpleMeterRegistry();
+    }
+
+    @Test
+    @DisplayName("Should match prompts that only differ in case, whitespace and punctuation")
+    void shouldMatchNormalizedPrompt() {
+        // Given
+        SemanticCache<String> cache = exactCache(10);
+        cache.put("Learn Python basics", List.of("Programming", "OOP"), "python-course");
+
+        // When & Then
+        assertThat(cache.get("  learn   python BASICS! ", List.of("oop", "programming"))).hasValue("python-course");
+        assertThat(requests("hit")).isEqualTo(1.0);
+    }
+
+    @Test
+    @DisplayName("Should keep prompts with different skills apart")
+    void shouldKeepDifferentSkillsApart() {
+        // Given
+        SemanticCache<String> cache = exactCache(10);
+        cache.put("Learn Python basics", List.of("Programming"), "python-course");
+
+        // When & Then
+        assertThat(cache.get("Learn Python basics", List.of("Java"))).isEmpty();
+        assertThat(requests("miss")).isEqualTo(1.0);
+    }
+
+    @Test
+    @DisplayName("Should expire entries after the TTL")
+    void shouldExpireEntries() {
+        // Given
+        SemanticCache<String> cache = exactCache(10);
+        cache.put("Learn Python basics", List.of(), "python-course");
+
+        // When
+        clock.advance(Duration.ofHours(2));
+
+        // Then
+        assertThat(cache.get("Learn Python basics", List.of())).isEmpty();
+        assertThat(cache.size()).isZero();
+    }
+
+    @Test
+    @DisplayName("Should evict the least recently used entry when full")
+    void shouldEvictLeastRecentlyUsedEntry() {
+        // Given
+        SemanticCache<String> cache = exactCache(2);
+        cache.put("Learn Python", List.of(), "python");
+        cache.put("Learn Java", List.of(), "java");
+        cache.get("Learn Python", List.of());
+
+        // When
+        cache.put("Learn Go", List.of(), "go");
+
+        // Then
+        assertThat(cache.size()).isEqualTo(2);
+        assertThat(cache.get("Learn Java", List.of())).isEmpty();
+        assertThat(cache.get("Learn Python", List.of())).hasValue("python");
+    }
+
+    @Test
+    @DisplayName("Should return the result of a similar recent prompt")
+    void shouldMatchSimilarPrompt() {
+        // Given
+        SemanticCache<String> cache = new SemanticCache<>("test",
+                new SemanticCache.Settings(Duration.ofHours(1), 10, 0.7, 10),
+                new HashingPromptEmbedder(512), meterRegistry, clock);
+        cache.put("I want to learn python basics", List.of(), "python-course");
+        cache.put("I want to learn rust", List.of(), "rust-course");
+
+        // When & Then
+        assertThat(cache.get("I want to learn the python basics", List.of())).hasValue("python-course");
+        assertThat(cache.get("Cooking for beginners", List.of())).isEmpty();
+        assertThat(requests("similar")).isEqualTo(1.0);
+    }
+
+    private SemanticCache<String> exactCache(int maxEntries) {
+        return new SemanticCache<>("test", new SemanticCache.Settings(Duration.ofHours(1), maxEntries, 0.9, 10),
+                null, meterRegistry, clock);
+    }
+
+    private double requests(String result) {
+        return meterRegistry.get("genai.cache.requests").tag("result", result).counter().count();
+    }
+
+    private static final class MutableClock extends Clock {
+
+        private Instant now = Instant.parse("2025-01-01T00:00:00Z");
+
+        void advance(Duration duration) {
+            now = now.plus(duration);
+        }
+
+        @Override
+        public ZoneId getZone() {
+            return ZoneOffset.UTC;
+        }
+
+        @Override
+        public Clock withZone(ZoneId zone) {
+            return this;
+        }
+
+        @Override
+        public Instant instant() {
+            return now;
+        }
+    }
+}
@@ -0,0 +1,112 @@
+package com.gitittogether.skillForge.server.course;
+
+import com.gitittogether.skillForge.server.course.exception.ResourceNotFoundException;
+import com.gitittogether.skillForge.server.course.utils.SingleFlight;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+@DisplayName("SingleFlight Tests")
+class SingleFlightTest {
+
+    private static final int CALLERS = 8;
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+    @Test
+    @DisplayName("Should run one load for concurrent identical calls")
+    void shouldShareOneLoadBetweenConcurrentCalls() throws Exception {
+        // Given
+        SingleFlight<String, String> singleFlight = new SingleFlight<>("test", meterRegistry);
+        AtomicInteger loads = new AtomicInteger();
+        CountDownLatch release = new CountDownLatch(1);
+        ExecutorService executor = Executors.newFixedThreadPool(CALLERS);
+
+        try {
+            // When
+            List<Future<String>> results = new ArrayList<>();
+            for (int i = 0; i < CALLERS; i++) {
+                results.add(executor.submit(() -> singleFlight.execute("course1", () -> {
+                    loads.incrementAndGet();
+                    await(release);
+                    return "Java Programming";
+                })));
+            }
+            // Let all callers reach the in-flight load before it completes
+            Thread.sleep(200);
+            release.countDown();
+
+            // Then
+            for (Future<String> result : results) {
+                assertThat(result.get(5, TimeUnit.SECONDS)).isEqualTo("Java Programming");
+            }
+            assertThat(loads).hasValue(1);
+            assertThat(meterRegistry.get("course.reads.coalesced").tag("operation", "test").counter().count())
+                    .isEqualTo(CALLERS - 1);
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    @Test
+    @DisplayName("Should load again once the previous call completed")
+    void shouldNotCacheCompletedCalls() {
+        // Given
+        SingleFlight<String, Integer> singleFlight = new SingleFlight<>("test", meterRegistry);
+        AtomicInteger loads = new AtomicInteger();
+
+        // When
+        singleFlight.execute("course1", loads::incrementAndGet);
+        Integer second = singleFlight.execute("course1", loads::incrementAndGet);
+
+        // Then
+        assertThat(second).isEqualTo(2);
+    }
+
+    @Test
+    @DisplayName("Should propagate the loader exception to every waiter")
+    void shouldPropagateExceptionToWaiters() throws Exception {
+        // Given
+        SingleFlight<String, String> singleFlight = new SingleFlight<>("test", meterRegistry);
+        CountDownLatch release = new CountDownLatch(1);
+        ExecutorService executor = Executors.newFixedThreadPool(2);
+
+        try {
+            // When
+            Future<String> leader = executor.submit(() -> singleFlight.execute("missing", () -> {
+                await(release);
+                throw new ResourceNotFoundException("Course not found with ID: missing");
+            }));
+            Thread.sleep(100);
+            Future<String> waiter = executor.submit(() -> singleFlight.execute("missing", () -> "unexpected"));
+            Thread.sleep(100);
+            release.countDown();
+
+            // Then
+            assertThatThrownBy(() -> leader.get(5, TimeUnit.SECONDS)).hasCauseInstanceOf(ResourceNotFoundException.class);
+            assertThatThrownBy(() -> waiter.get(5, TimeUnit.SECONDS)).hasCauseInstanceOf(ResourceNotFoundException.class);
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    private static void await(CountDownLatch latch) {
+        try {
+            latch.await(5, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
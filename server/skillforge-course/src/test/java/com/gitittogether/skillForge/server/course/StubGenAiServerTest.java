@@ -0,0 +1,213 @@
+package com.gitittogether.skillForge.server.course;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.gitittogether.skillForge.server.course.dto.request.course.CourseRequest;
+import com.gitittogether.skillForge.server.course.dto.request.course.LearningPathRequest;
+import com.gitittogether.skillForge.server.course.repository.course.CourseRepository;
+import com.gitittogether.skillForge.server.course.repository.course.LessonBodyRepository;
+import com.gitittogether.skillForge.server.course.service.courses.CourseServiceImpl;
+import com.gitittogether.skillForge.server.course.service.courses.GenAiResultCache;
+import com.gitittogether.skillForge.server.course.service.courses.UserSkillsCache;
+import com.gitittogether.skillForge.server.course.service.previews.CoursePreviewStore;
+import com.gitittogether.skillForge.server.course.stub.LatencyDistribution;
+import com.gitittogether.skillForge.server.course.stub.StubGenAiServer;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Optional;
+import java.util.SplittableRandom;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.assertj.core.api.Assertions.within;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+@DisplayName("StubGenAiServer Tests")
+class StubGenAiServerTest {
+
+    private final HttpClient httpClient = HttpClient.newHttpClient();
+    private StubGenAiServer server;
+
+    @AfterEach
+    void tearDown() {
+        if (server != null) {
+            server.close();
+        }
+    }
+
+    @Test
+    @DisplayName("Should return a course of the configured size")
+    void shouldReturnCourseOfConfiguredSize() throws Exception {
+        // Given
+        server = StubGenAiServer.builder().courseSize(5, 2, 300).start();
+
+        // When
+        HttpResponse<String> response = post(StubGenAiServer.GENERATE_COURSE, "{\"prompt\":\"learn docker\",\"existing_skills\":[]}");
+
+        // Then
+        assertThat(response.statusCode()).isEqualTo(200);
+        CourseRequest course = new ObjectMapper().readValue(response.body(), CourseRequest.class);
+        assertThat(course.getTitle()).contains("learn docker");
+        assertThat(course.getModules()).hasSize(5);
+        assertThat(course.getModules().getFirst().getLessons()).hasSize(2);
+        assertThat(course.getModules().getFirst().getLessons().getFirst().getContent().getContent()).hasSize(300);
+    }
+
+    @Test
+    @DisplayName("Should report unchanged content when the known hash matches")
+    void shouldReportUnchangedContent() throws Exception {
+        // Given
+        server = StubGenAiServer.builder().start();
+        JsonNode first = new ObjectMapper().readTree(post(StubGenAiServer.EMBED, "{\"url\":\"https://example.com\"}").body());
+        String knownHash = first.path("content_hash").asText();
+
+        // When
+        JsonNode second = new ObjectMapper().readTree(post(StubGenAiServer.EMBED,
+                "{\"url\":\"https://example.com\",\"known_hash\":\"" + knownHash + "\"}").body());
+
+        // Then
+        assertThat(first.path("unchanged").asBoolean()).isFalse();
+        assertThat(first.path("chunks_embedded").asInt()).isPositive();
+        assertThat(second.path("unchanged").asBoolean()).isTrue();
+        assertThat(second.path("chunks_embedded").asInt()).isZero();
+        assertThat(second.path("content_hash").asText()).isEqualTo(knownHash);
+    }
+
+    @Test
+    @DisplayName("Should fail requests with 503 at the configured error rate")
+    void shouldFailAtErrorRate() throws Exception {
+        // Given
+        server = StubGenAiServer.builder().errorRate(1.0).start();
+
+        // When
+        HttpResponse<String> response = post(StubGenAiServer.GENERATE, "{\"prompt\":\"hi\"}");
+
+        // Then
+        assertThat(response.statusCode()).isEqualTo(503);
+        assertThat(server.requests(StubGenAiServer.GENERATE)).isEqualTo(1);
+        assertThat(server.failures(StubGenAiServer.GENERATE)).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("Should delay responses by the configured latency")
+    void shouldDelayResponses() throws Exception {
+        // Given
+        server = StubGenAiServer.builder().latency(LatencyDistribution.fixed(Duration.ofMillis(300))).start();
+
+        // When
+        long started = System.nanoTime();
+        HttpResponse<String> response = post(StubGenAiServer.GENERATE, "{\"prompt\":\"hi\"}");
+
+        // Then
+        assertThat(response.statusCode()).isEqualTo(200);
+        assertThat(Duration.ofNanos(System.nanoTime() - started)).isGreaterThanOrEqualTo(Duration.ofMillis(300));
+    }
+
+    @Test
+    @DisplayName("Should sample log-normal latencies around the configured median and p99")
+    void shouldSampleLogNormalLatencies() {
+        // Given
+        LatencyDistribution distribution = LatencyDistribution.parse("lognormal:2s:10s");
+        SplittableRandom random = new SplittableRandom(1);
+
+        // When
+        long[] samples = new long[20_000];
+        for (int i = 0; i < samples.length; i++) {
+            samples[i] = distribution.sample(random).toMillis();
+        }
+        Arrays.sort(samples);
+
+        // Then
+        assertThat((double) samples[samples.length / 2]).isCloseTo(2000, within(150.0));
+        assertThat((double) samples[samples.length * 99 / 100]).isCloseTo(10_000, within(1500.0));
+    }
+
+    @Test
+    @DisplayName("Should reject unknown latency distributions")
+    void shouldRejectUnknownDistribution() {
+        assertThatThrownBy(() -> LatencyDistribution.parse("pareto:1s"))
+                .isInstanceOf(IllegalArgumentException.class);
+        assertThat(LatencyDistribution.parse("uniform:100ms:PT0.2S").sample(new SplittableRandom(1)))
+                .isBetween(Duration.ofMillis(100), Duration.ofMillis(200));
+    }
+
+    @Nested
+    @DisplayName("Course service against the stub")
+    class CourseServiceTests {
+
+        private CourseServiceImpl courseService(StubGenAiServer stub) {
+            UserSkillsCache userSkillsCache = mock(UserSkillsCache.class);
+            when(userSkillsCache.find(anyString())).thenReturn(Optional.of(List.of("Java")));
+            CourseServiceImpl service = new CourseServiceImpl(mock(CourseRepository.class), mock(LessonBodyRepository.class),
+                    mock(CoursePreviewStore.class),
+                    new GenAiResultCache(false, Duration.ofHours(1), 10, false, 0.9, 10, new SimpleMeterRegistry()),
+                    userSkillsCache, new SimpleMeterRegistry());
+            ReflectionTestUtils.setField(service, "genaiServiceUri", stub.url());
+            return service;
+        }
+
+        @Test
+        @DisplayName("Should generate a course from the stub response")
+        void shouldGenerateCourse() {
+            // Given
+            server = StubGenAiServer.builder().courseSize(3, 2, 200).start();
+
+            // When
+            CourseRequest course = courseService(server).generateCourseFromGenAi(new LearningPathRequest("learn sql", null), "user1", "Bearer token");
+
+            // Then
+            assertThat(course.getModules()).hasSize(3);
+            assertThat(server.requests(StubGenAiServer.GENERATE_COURSE)).isEqualTo(1);
+        }
+
+        @Test
+        @DisplayName("Should stream the stub tokens")
+        void shouldStreamTokens() {
+            // Given
+            server = StubGenAiServer.builder().responseLength(120).start();
+            List<String> tokens = new ArrayList<>();
+
+            // When
+            String response = courseService(server).streamResponseFromGenAi("explain joins", tokens::add);
+
+            // Then
+            assertThat(response).hasSize(120);
+            assertThat(tokens).hasSizeGreaterThan(1);
+            assertThat(String.join("", tokens)).isEqualTo(response);
+        }
+
+        @Test
+        @DisplayName("Should surface stub failures")
+        void shouldSurfaceFailures() {
+            // Given
+            server = StubGenAiServer.builder().errorRate(1.0).start();
+            CourseServiceImpl service = courseService(server);
+
+            // When & Then
+            assertThatThrownBy(() -> service.generateResponseFromGenAi("hello"))
+                    .isInstanceOf(RuntimeException.class);
+        }
+    }
+
+    private HttpResponse<String> post(String path, String json) throws Exception {
+        return httpClient.send(HttpRequest.newBuilder(URI.create(server.url() + path))
+                .header("Content-Type", "application/json")
+                .POST(HttpRequest.BodyPublishers.ofString(json))
+                .build(), HttpResponse.BodyHandlers.ofString());
+    }
+}
@@ -0,0 +1,114 @@
+package com.gitittogether.skillForge.server.course;
+
+import com.gitittogether.skillForge.server.course.service.courses.UserSkillsCache;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@DisplayName("UserSkillsCache Tests")
+class UserSkillsCacheTest {
+
+    private MutableClock clock;
+    private UserSkillsCache cache;
+
+    @BeforeEach
+    void setUp() {
+        clock = new MutableClock(Instant.parse("2024-01-15T10:00:00Z"));
+        cache = new UserSkillsCache(true, Duration.ofMinutes(5), 2, new SimpleMeterRegistry(), clock);
+    }
+
+    @Test
+    @DisplayName("Should return the snapshot until the TTL passed")
+    void shouldExpireSnapshotAfterTtl() {
+        // Given
+        cache.put("user1", List.of("Java"), cache.currentVersion());
+
+        // When & Then
+        assertThat(cache.find("user1")).contains(List.of("Java"));
+        clock.advance(Duration.ofMinutes(6));
+        assertThat(cache.find("user1")).isEmpty();
+    }
+
+    @Test
+    @DisplayName("Should drop the snapshot when invalidated")
+    void shouldDropSnapshotOnInvalidation() {
+        // Given
+        cache.put("user1", List.of("Java"), cache.currentVersion());
+
+        // When
+        cache.invalidate("user1");
+
+        // Then
+        assertThat(cache.find("user1")).isEmpty();
+    }
+
+    @Test
+    @DisplayName("Should not store skills fetched before an invalidation")
+    void shouldIgnoreFetchStartedBeforeInvalidation() {
+        // Given
+        long versionBeforeFetch = cache.currentVersion();
+        cache.invalidate("user1");
+
+        // When
+        cache.put("user1", List.of("Java"), versionBeforeFetch);
+
+        // Then
+        assertThat(cache.find("user1")).isEmpty();
+        cache.put("user1", List.of("Java", "Spring"), cache.currentVersion());
+        assertThat(cache.find("user1")).contains(List.of("Java", "Spring"));
+    }
+
+    @Test
+    @DisplayName("Should evict the least recently used snapshot beyond max entries")
+    void shouldEvictLeastRecentlyUsed() {
+        // Given
+        cache.put("user1", List.of("Java"), cache.currentVersion());
+        cache.put("user2", List.of("Python"), cache.currentVersion());
+        cache.find("user1");
+
+        // When
+        cache.put("user3", List.of("Go"), cache.currentVersion());
+
+        // Then
+        assertThat(cache.find("user2")).isEmpty();
+        assertThat(cache.find("user1")).isPresent();
+        assertThat(cache.size()).isEqualTo(2);
+    }
+
+    private static final class MutableClock extends Clock {
+        private Instant now;
+
+        private MutableClock(Instant now) {
+            this.now = now;
+        }
+
+        void advance(Duration duration) {
+            now = now.plus(duration);
+        }
+
+        @Override
+        public ZoneId getZone() {
+            return ZoneOffset.UTC;
+        }
+
+        @Override
+        public Clock withZone(ZoneId zone) {
+            return this;
+        }
+
+        @Override
+        public Instant instant() {
+            return now;
+        }
+    }
+}
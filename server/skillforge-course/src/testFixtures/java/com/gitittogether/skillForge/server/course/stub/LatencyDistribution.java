@@ -0,0 +1,80 @@
+package com.gitittogether.skillForge.server.course.stub;
+
+import java.time.Duration;
+import java.util.Locale;
+import java.util.SplittableRandom;
+
+/**
+ * Response latency of the {@link StubGenAiServer}. LLM calls are long tailed, so {@link #logNormal} with a
+ * median of a few seconds and a p99 several times higher is the closest match to the real GenAI service.
+ */
+@FunctionalInterface
+public interface LatencyDistribution {
+
+    Duration sample(SplittableRandom random);
+
+    static LatencyDistribution none() {
+        return random -> Duration.ZERO;
+    }
+
+    static LatencyDistribution fixed(Duration latency) {
+        return random -> latency;
+    }
+
+    static LatencyDistribution uniform(Duration min, Duration max) {
+        if (max.compareTo(min) < 0) {
+            throw new IllegalArgumentException("Maximum latency must not be below the minimum");
+        }
+        long spread = max.toNanos() - min.toNanos();
+        return random -> min.plusNanos(spread == 0 ? 0 : random.nextLong(spread + 1));
+    }
+
+    /**
+     * @param median half of the responses are faster
+     * @param p99    one in a hundred responses is slower
+     */
+    static LatencyDistribution logNormal(Duration median, Duration p99) {
+        if (median.isNegative() || median.isZero() || p99.compareTo(median) < 0) {
+            throw new IllegalArgumentException("Median must be positive and not above the p99");
+        }
+        double mu = Math.log(median.toNanos());
+        // 2.326 is the z-score of the 99th percentile
+        double sigma = (Math.log(p99.toNanos()) - mu) / 2.326;
+        return random -> Duration.ofNanos(Math.round(Math.exp(mu + sigma * random.nextGaussian())));
+    }
+
+    /**
+     * Parses {@code none}, {@code fixed:2s}, {@code uniform:1s:4s} or {@code lognormal:3s:15s} (median and p99),
+     * durations in the format of {@link Duration#parse} or with a {@code ms}/{@code s}/{@code m} suffix.
+     */
+    static LatencyDistribution parse(String spec) {
+        String[] parts = spec.trim().toLowerCase(Locale.ROOT).split(":");
+        return switch (parts[0]) {
+            case "none" -> none();
+            case "fixed" -> fixed(duration(parts, 1));
+            case "uniform" -> uniform(duration(parts, 1), duration(parts, 2));
+            case "lognormal" -> logNormal(duration(parts, 1), duration(parts, 2));
+            default -> throw new IllegalArgumentException("Unknown latency distribution: " + spec);
+        };
+    }
+
+    private static Duration duration(String[] parts, int index) {
+        if (parts.length <= index) {
+            throw new IllegalArgumentException("Missing duration in latency distribution: " + String.join(":", parts));
+        }
+        String value = parts[index].trim();
+        if (value.startsWith("p")) {
+            return Duration.parse(value.toUpperCase(Locale.ROOT));
+        }
+        if (value.endsWith("ms")) {
+            return Duration.ofMillis(Long.parseLong(value.substring(0, value.length() - 2)));
+        }
+        if (value.endsWith("s")) {
+            return Duration.ofMillis(Math.round(Double.parseDouble(value.substring(0, value.length() - 1)) * 1000));
+        }
+        if (value.endsWith("m")) {
+            return Duration.ofSeconds(Math.round(Double.parseDouble(value.substring(0, value.length() - 1)) * 60));
+        }
+        throw new IllegalArgumentException("Duration needs a unit (ms, s, m): " + value);
+    }
+}
@@ -0,0 +1,327 @@
+package com.gitittogether.skillForge.server.course.stub;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.gitittogether.skillForge.server.course.dto.request.course.CourseRequest;
+import com.gitittogether.skillForge.server.course.dto.request.course.LessonRequest;
+import com.gitittogether.skillForge.server.course.dto.request.course.ModuleRequest;
+import com.gitittogether.skillForge.server.course.model.course.LessonContent;
+import com.gitittogether.skillForge.server.course.model.utils.Level;
+import com.gitittogether.skillForge.server.course.model.utils.LessonContentType;
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpHandler;
+import com.sun.net.httpserver.HttpServer;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.HexFormat;
+import java.util.List;
+import java.util.Map;
+import java.util.SplittableRandom;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * In-JVM stand-in for the GenAI service, answering the endpoints the course service calls with valid payloads
+ * after a configurable latency, and failing a configurable share of the calls.
+ * <ul>
+ *     <li>{@code POST /api/v1/rag/generate-course}: a {@code CourseRequest} of the configured size</li>
+ *     <li>{@code POST /api/v1/generate}: a text of {@code responseLength} characters</li>
+ *     <li>{@code POST /api/v1/generate/stream}: the same text as token events, one per {@code tokenInterval}</li>
+ *     <li>{@code POST /api/v1/embed}: a successful embedding of the URL, or {@code unchanged} when {@code known_hash}
+ *     matches the hash the stub returns for the URL</li>
+ *     <li>{@code GET /health}</li>
+ * </ul>
+ * Failures answer 503 with a {@code detail} message like FastAPI does. Every request is handled on its own
+ * virtual thread, so slow responses never queue behind each other.
+ */
+public class StubGenAiServer implements AutoCloseable {
+
+    public static final String GENERATE_COURSE = "/api/v1/rag/generate-course";
+    public static final String GENERATE = "/api/v1/generate";
+    public static final String GENERATE_STREAM = "/api/v1/generate/stream";
+    public static final String EMBED = "/api/v1/embed";
+
+    private static final ObjectMapper MAPPER = new ObjectMapper();
+    private static final String WORDS = "learn build practice deploy test design debug refactor measure improve ";
+
+    private final Builder settings;
+    private final HttpServer server;
+    private final ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor();
+    private final Map<String, LongAdder> requests = new ConcurrentHashMap<>();
+    private final Map<String, LongAdder> failures = new ConcurrentHashMap<>();
+    private final SplittableRandom seeds;
+
+    private StubGenAiServer(Builder settings) {
+        this.settings = settings;
+        this.seeds = new SplittableRandom(settings.seed);
+        try {
+            server = HttpServer.create(new InetSocketAddress("127.0.0.1", settings.port), 512);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Could not start the stub GenAI server", e);
+        }
+        server.setExecutor(executor);
+        server.createContext("/health", exchange -> respond(exchange, 200, Map.of("status", "ok")));
+        server.createContext(GENERATE_COURSE, endpoint(GENERATE_COURSE, this::generateCourse));
+        server.createContext(GENERATE, endpoint(GENERATE, this::generate));
+        server.createContext(GENERATE_STREAM, endpoint(GENERATE_STREAM, this::generateStream));
+        server.createContext(EMBED, endpoint(EMBED, this::embed));
+        server.start();
+    }
+
+    public static Builder builder() {
+        return new Builder();
+    }
+
+    /**
+     * Base URL to configure as {@code genai.service.uri}.
+     */
+    public String url() {
+        return "http://" + server.getAddress().getHostString() + ":" + server.getAddress().getPort();
+    }
+
+    public int port() {
+        return server.getAddress().getPort();
+    }
+
+    /**
+     * Requests received on the endpoint, including failed ones.
+     */
+    public long requests(String path) {
+        LongAdder count = requests.get(path);
+        return count == null ? 0 : count.sum();
+    }
+
+    public long failures(String path) {
+        LongAdder count = failures.get(path);
+        return count == null ? 0 : count.sum();
+    }
+
+    @Override
+    public void close() {
+        server.stop(0);
+        executor.shutdownNow();
+    }
+
+    private HttpHandler endpoint(String path, Handler handler) {
+        return exchange -> {
+            // The context also matches longer paths, e.g. /api/v1/generate for /api/v1/generate/stream
+            if (!exchange.getRequestURI().getPath().equals(path)) {
+                respond(exchange, 404, Map.of("detail", "Not Found"));
+                return;
+            }
+            requests.computeIfAbsent(path, key -> new LongAdder()).increment();
+            SplittableRandom random;
+            synchronized (seeds) {
+                random = seeds.split();
+            }
+            JsonNode body = MAPPER.readTree(exchange.getRequestBody().readAllBytes());
+            sleep(settings.latency.sample(random));
+            if (random.nextDouble() < settings.errorRate) {
+                failures.computeIfAbsent(path, key -> new LongAdder()).increment();
+                respond(exchange, 503, Map.of("detail", "Stub GenAI failure"));
+                return;
+            }
+            handler.handle(exchange, body, random);
+        };
+    }
+
+    private void generateCourse(HttpExchange exchange, JsonNode body, SplittableRandom random) throws IOException {
+        String prompt = body.path("prompt").asText("a topic");
+        List<ModuleRequest> modules = new ArrayList<>(settings.modules);
+        for (int m = 0; m < settings.modules; m++) {
+            List<LessonRequest> lessons = new ArrayList<>(settings.lessonsPerModule);
+            for (int l = 0; l < settings.lessonsPerModule; l++) {
+                lessons.add(LessonRequest.builder()
+                        .title("Lesson " + (m + 1) + "." + (l + 1))
+                        .description("Step " + (l + 1) + " towards " + prompt)
+                        .content(new LessonContent(LessonContentType.TEXT, text(random, settings.lessonLength)))
+                        .order(m * settings.lessonsPerModule + l)
+                        .build());
+            }
+            modules.add(ModuleRequest.builder()
+                    .title("Module " + (m + 1))
+                    .description("Part " + (m + 1) + " of " + prompt)
+                    .lessons(lessons)
+                    .order(m)
+                    .build());
+        }
+        respond(exchange, 200, CourseRequest.builder()
+                .title("Course about " + prompt)
+                .description("Generated by the stub GenAI server for: " + prompt)
+                .instructor("AI")
+                .skills(new ArrayList<>(List.of("Stub Skill")))
+                .modules(modules)
+                .categories(new ArrayList<>(List.of("Programming")))
+                .level(Level.BEGINNER)
+                .build());
+    }
+
+    private void generate(HttpExchange exchange, JsonNode body, SplittableRandom random) throws IOException {
+        respond(exchange, 200, Map.of(
+                "prompt", body.path("prompt").asText(""),
+                "generated_text", text(random, settings.responseLength),
+                "provider", "stub"));
+    }
+
+    private void generateStream(HttpExchange exchange, JsonNode body, SplittableRandom random) throws IOException {
+        String text = text(random, settings.responseLength);
+        exchange.getResponseHeaders().set("Content-Type", "text/event-stream");
+        exchange.sendResponseHeaders(200, 0);
+        try (OutputStream out = exchange.getResponseBody()) {
+            for (String token : text.split("(?<= )")) {
+                sleep(settings.tokenInterval);
+                writeEvent(out, "token", Map.of("token", token));
+            }
+            writeEvent(out, "done", Map.of());
+        }
+    }
+
+    private void embed(HttpExchange exchange, JsonNode body, SplittableRandom random) throws IOException {
+        String url = body.path("url").asText("");
+        String contentHash = sha256(url);
+        if (contentHash.equals(body.path("known_hash").asText(null))) {
+            respond(exchange, 200, Map.of(
+                    "message", "Content unchanged since the last crawl, nothing embedded.",
+                    "chunks_embedded", 0,
+                    "content_hash", contentHash,
+                    "unchanged", true));
+            return;
+        }
+        respond(exchange, 200, Map.of(
+                "message", "Embedded " + url,
+                "chunks_embedded", 1 + random.nextInt(10),
+                "content_hash", contentHash,
+                "unchanged", false));
+    }
+
+    private static void writeEvent(OutputStream out, String event, Object data) throws IOException {
+        out.write(("event: " + event + "\ndata: " + MAPPER.writeValueAsString(data) + "\n\n").getBytes(StandardCharsets.UTF_8));
+        out.flush();
+    }
+
+    private static void respond(HttpExchange exchange, int status, Object body) throws IOException {
+        byte[] json = MAPPER.writeValueAsBytes(body);
+        exchange.getResponseHeaders().set("Content-Type", "application/json");
+        exchange.sendResponseHeaders(status, json.length);
+        try (OutputStream out = exchange.getResponseBody()) {
+            out.write(json);
+        }
+    }
+
+    private static String text(SplittableRandom random, int length) {
+        StringBuilder text = new StringBuilder(length + WORDS.length());
+        while (text.length() < length) {
+            int start = random.nextInt(WORDS.length());
+            text.append(WORDS, start, WORDS.length());
+        }
+        return text.substring(0, length);
+    }
+
+    private static String sha256(String value) {
+        try {
+            return HexFormat.of().formatHex(MessageDigest.getInstance("SHA-256").digest(value.getBytes(StandardCharsets.UTF_8)));
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    private static void sleep(Duration duration) {
+        if (duration.isPositive()) {
+            try {
+                Thread.sleep(duration);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }
+    }
+
+    @FunctionalInterface
+    private interface Handler {
+        void handle(HttpExchange exchange, JsonNode body, SplittableRandom random) throws IOException;
+    }
+
+    /**
+     * Defaults answer right away without failures, with a course of 4 modules of 3 lessons of 1500 characters.
+     */
+    public static final class Builder {
+
+        private int port;
+        private long seed = 42;
+        private LatencyDistribution latency = LatencyDistribution.none();
+        private Duration tokenInterval = Duration.ZERO;
+        private double errorRate;
+        private int modules = 4;
+        private int lessonsPerModule = 3;
+        private int lessonLength = 1500;
+        private int responseLength = 500;
+
+        private Builder() {
+        }
+
+        /**
+         * @param port fixed port, 0 (the default) picks a free one
+         */
+        public Builder port(int port) {
+            this.port = port;
+            return this;
+        }
+
+        public Builder seed(long seed) {
+            this.seed = seed;
+            return this;
+        }
+
+        /**
+         * Delay before every response, for the stream until the first token.
+         */
+        public Builder latency(LatencyDistribution latency) {
+            this.latency = latency;
+            return this;
+        }
+
+        public Builder tokenInterval(Duration tokenInterval) {
+            this.tokenInterval = tokenInterval;
+            return this;
+        }
+
+        /**
+         * @param errorRate share of requests answered with 503 after the latency, between 0 and 1
+         */
+        public Builder errorRate(double errorRate) {
+            if (errorRate < 0 || errorRate > 1) {
+                throw new IllegalArgumentException("Error rate must be between 0 and 1");
+            }
+            this.errorRate = errorRate;
+            return this;
+        }
+
+        public Builder courseSize(int modules, int lessonsPerModule, int lessonLength) {
+            this.modules = modules;
+            this.lessonsPerModule = lessonsPerModule;
+            this.lessonLength = lessonLength;
+            return this;
+        }
+
+        /**
+         * @param responseLength characters of generated prompt responses
+         */
+        public Builder responseLength(int responseLength) {
+            this.responseLength = responseLength;
+            return this;
+        }
+
+        public StubGenAiServer start() {
+            return new StubGenAiServer(this);
+        }
+    }
+}
@@ -1,33 +1,92 @@
 package com.gitittogether.skillforge.server.gateway;
 
-import lombok.extern.slf4j.Slf4j;
+import com.gitittogether.skillforge.server.gateway.cache.ResponseCacheGatewayFilter;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.cloud.gateway.filter.GatewayFilterChain;
 import org.springframework.cloud.gateway.filter.GlobalFilter;
+import org.springframework.cloud.gateway.route.Route;
+import org.springframework.cloud.gateway.support.ServerWebExchangeUtils;
 import org.springframework.core.Ordered;
+import org.springframework.http.HttpStatusCode;
+import org.springframework.http.server.reactive.ServerHttpRequest;
+import org.springframework.http.server.reactive.ServerHttpResponse;
 import org.springframework.stereotype.Component;
 import org.springframework.web.server.ServerWebExchange;
 import reactor.core.publisher.Mono;
+import reactor.core.publisher.SignalType;
 
-@Slf4j
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * Access log filter writing a single line per request once the exchange completes.
+ * <p>
+ * Nothing is formatted up front: method, route id, status, latency and response size are only
+ * read when the request is sampled. Headers are never logged, so tokens cannot leak into the logs.
+ * The access logger is bound to an async, bounded appender in {@code logback-spring.xml} which drops
+ * lines instead of blocking the event loop when the queue is full.
+ * <p>
+ * Runs ahead of the {@link ResponseCacheGatewayFilter}, so requests answered from the cache are logged as well,
+ * with their {@code X-Cache} status.
+ */
 @Component
 public class LoggingGlobalFilter implements GlobalFilter, Ordered {
 
-    @Override
-    public Mono<Void> filter(ServerWebExchange exchange, org.springframework.cloud.gateway.filter.GatewayFilterChain chain) {
-        String method = exchange.getRequest().getMethod().name();
-        String path = exchange.getRequest().getPath().toString();
-        String headers = exchange.getRequest().getHeaders().toString();
-        log.info("Incoming request: {} {} | Headers: {}", method, path, headers);
+    static final String ACCESS_LOGGER_NAME = "com.gitittogether.skillforge.server.gateway.access";
+
+    static final int ORDER = ResponseCacheGatewayFilter.ORDER - 1;
+
+    private static final Logger accessLog = LoggerFactory.getLogger(ACCESS_LOGGER_NAME);
 
+    /**
+     * Fraction of successful requests that are logged (0.0 - 1.0). Server errors and requests that failed
+     * downstream are always logged.
+     */
+    @Value("${gateway.access-log.sample-rate:1.0}")
+    private double sampleRate = 1.0;
+
+    @Override
+    public Mono<Void> filter(ServerWebExchange exchange, GatewayFilterChain chain) {
+        if (!accessLog.isInfoEnabled()) {
+            return chain.filter(exchange);
+        }
+        long start = System.nanoTime();
         return chain.filter(exchange)
-                .doOnSuccess((done) -> {
-                    int statusCode = exchange.getResponse().getStatusCode() != null ?
-                            exchange.getResponse().getStatusCode().value() : 0;
-                    log.info("Response for {} {} -> HTTP {}", method, path, statusCode);
-                });
+                .doFinally(signal -> logAccess(exchange, start, signal == SignalType.ON_ERROR));
+    }
+
+    private void logAccess(ServerWebExchange exchange, long start, boolean failed) {
+        ServerHttpResponse response = exchange.getResponse();
+        HttpStatusCode status = response.getStatusCode();
+        int statusCode = status != null ? status.value() : 0;
+        if (statusCode < 500 && !failed && !isSampled()) {
+            return;
+        }
+
+        ServerHttpRequest request = exchange.getRequest();
+        Route route = exchange.getAttribute(ServerWebExchangeUtils.GATEWAY_ROUTE_ATTR);
+        long contentLength = response.getHeaders().getContentLength();
+        long latencyMs = (System.nanoTime() - start) / 1_000_000;
+
+        String cacheStatus = response.getHeaders().getFirst(ResponseCacheGatewayFilter.CACHE_STATUS_HEADER);
+
+        accessLog.info("{} {} route={} status={} latency_ms={} bytes={} cache={}",
+                request.getMethod().name(),
+                request.getPath().value(),
+                route != null ? route.getId() : "-",
+                statusCode,
+                latencyMs,
+                contentLength >= 0 ? contentLength : "-",
+                cacheStatus != null ? cacheStatus : "-");
+    }
+
+    private boolean isSampled() {
+        return sampleRate >= 1.0 || (sampleRate > 0.0 && ThreadLocalRandom.current().nextDouble() < sampleRate);
     }
 
     @Override
     public int getOrder() {
-        return -1; // High precedence
+        return ORDER;
     }
 }
@@ -0,0 +1,110 @@
+package com.gitittogether.skillforge.server.gateway;
+
+import com.gitittogether.skillforge.server.gateway.config.GatewayConfig;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.RequiredArgsConstructor;
+import org.springframework.cloud.gateway.filter.GatewayFilterChain;
+import org.springframework.cloud.gateway.filter.GlobalFilter;
+import org.springframework.cloud.gateway.route.Route;
+import org.springframework.cloud.gateway.support.ServerWebExchangeUtils;
+import org.springframework.core.Ordered;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.HttpStatusCode;
+import org.springframework.http.server.reactive.ServerHttpResponse;
+import org.springframework.stereotype.Component;
+import org.springframework.web.server.ServerWebExchange;
+import reactor.core.publisher.Mono;
+
+/**
+ * Records per-route latency for every request passing through the gateway.
+ * <p>
+ * Tags are limited to values with a bounded set of outcomes: the route id declared in {@link GatewayConfig},
+ * the upstream service from the route metadata, the status class and the rate limit outcome. The raw
+ * request path is never used as a tag. Histogram buckets and SLO boundaries for {@value #LATENCY_METRIC}
+ * are configured under {@code management.metrics.distribution} in {@code application.yml}.
+ */
+@Component
+@RequiredArgsConstructor
+public class RouteMetricsGlobalFilter implements GlobalFilter, Ordered {
+
+    static final String LATENCY_METRIC = "gateway.route.latency";
+    static final String RATE_LIMIT_REJECTIONS_METRIC = "gateway.rate_limit.rejections";
+
+    private static final String RATE_LIMIT_REMAINING_HEADER = "X-RateLimit-Remaining";
+    private static final String UNMATCHED = "unmatched";
+
+    private final MeterRegistry meterRegistry;
+
+    @Override
+    public Mono<Void> filter(ServerWebExchange exchange, GatewayFilterChain chain) {
+        Timer.Sample sample = Timer.start(meterRegistry);
+        return chain.filter(exchange)
+                .doFinally(signal -> record(exchange, sample));
+    }
+
+    private void record(ServerWebExchange exchange, Timer.Sample sample) {
+        Route route = exchange.getAttribute(ServerWebExchangeUtils.GATEWAY_ROUTE_ATTR);
+        String routeId = route != null ? route.getId() : UNMATCHED;
+        String upstream = upstreamOf(route);
+
+        ServerHttpResponse response = exchange.getResponse();
+        HttpStatusCode status = response.getStatusCode();
+        String rateLimit = rateLimitOutcome(response, status);
+
+        sample.stop(Timer.builder(LATENCY_METRIC)
+                .description("Latency of requests routed through the gateway")
+                .tag("route", routeId)
+                .tag("upstream", upstream)
+                .tag("status", statusClass(status))
+                .tag("rate_limit", rateLimit)
+                .register(meterRegistry));
+
+        if ("limited".equals(rateLimit)) {
+            Counter.builder(RATE_LIMIT_REJECTIONS_METRIC)
+                    .description("Requests rejected by the gateway rate limiter")
+                    .tag("route", routeId)
+                    .tag("upstream", upstream)
+                    .register(meterRegistry)
+                    .increment();
+        }
+    }
+
+    private static String upstreamOf(Route route) {
+        if (route == null) {
+            return UNMATCHED;
+        }
+        Object upstream = route.getMetadata().get(GatewayConfig.UPSTREAM_METADATA_KEY);
+        if (upstream != null) {
+            return upstream.toString();
+        }
+        return route.getUri().getHost() != null ? route.getUri().getHost() : "unknown";
+    }
+
+    private static String rateLimitOutcome(ServerHttpResponse response, HttpStatusCode status) {
+        if (status != null && status.value() == HttpStatus.TOO_MANY_REQUESTS.value()) {
+            return "limited";
+        }
+        return response.getHeaders().containsKey(RATE_LIMIT_REMAINING_HEADER) ? "allowed" : "none";
+    }
+
+    private static String statusClass(HttpStatusCode status) {
+        if (status == null) {
+            return "UNKNOWN";
+        }
+        return switch (status.value() / 100) {
+            case 1 -> "1xx";
+            case 2 -> "2xx";
+            case 3 -> "3xx";
+            case 4 -> "4xx";
+            case 5 -> "5xx";
+            default -> "UNKNOWN";
+        };
+    }
+
+    @Override
+    public int getOrder() {
+        return LoggingGlobalFilter.ORDER - 1; // Wraps the access log filter so both observe the same request lifetime
+    }
+}
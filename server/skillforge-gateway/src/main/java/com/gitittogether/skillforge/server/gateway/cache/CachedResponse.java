@@ -0,0 +1,34 @@
+package com.gitittogether.skillforge.server.gateway.cache;
+
+import org.springframework.http.HttpHeaders;
+
+import java.time.Duration;
+import java.time.Instant;
+
+/**
+ * Complete upstream response held by the {@link ResponseCache}.
+ *
+ * @param headers  response headers without hop-by-hop and per-request headers
+ * @param body     full response body
+ * @param etag     entity tag sent by the upstream, or null
+ * @param storedAt time the response was received or last revalidated
+ * @param ttl      freshness lifetime, zero when every use must be revalidated
+ */
+record CachedResponse(HttpHeaders headers, byte[] body, String etag, Instant storedAt, Duration ttl) {
+
+    boolean isFresh(Instant now) {
+        return storedAt.plus(ttl).isAfter(now);
+    }
+
+    long ageSeconds(Instant now) {
+        return Math.max(0, Duration.between(storedAt, now).toSeconds());
+    }
+
+    CachedResponse revalidated(Instant now, Duration newTtl) {
+        return new CachedResponse(headers, body, etag, now, newTtl);
+    }
+
+    long size() {
+        return body.length;
+    }
+}
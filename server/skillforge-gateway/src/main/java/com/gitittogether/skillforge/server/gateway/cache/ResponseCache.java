@@ -0,0 +1,55 @@
+package com.gitittogether.skillforge.server.gateway.cache;
+
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Size-bounded LRU store of cached responses. Bounded both by entry count and by the total body size;
+ * the least recently used entries are evicted first. Stale entries stay until evicted so they can be revalidated.
+ */
+final class ResponseCache {
+
+    private final int maxEntries;
+    private final long maxBytes;
+    private final LinkedHashMap<String, CachedResponse> entries = new LinkedHashMap<>(16, 0.75f, true);
+    private long bytes;
+
+    ResponseCache(int maxEntries, long maxBytes) {
+        this.maxEntries = maxEntries;
+        this.maxBytes = maxBytes;
+    }
+
+    synchronized CachedResponse get(String key) {
+        return entries.get(key);
+    }
+
+    synchronized void put(String key, CachedResponse response) {
+        CachedResponse previous = entries.put(key, response);
+        if (previous != null) {
+            bytes -= previous.size();
+        }
+        bytes += response.size();
+
+        Iterator<Map.Entry<String, CachedResponse>> eldest = entries.entrySet().iterator();
+        while ((entries.size() > maxEntries || bytes > maxBytes) && eldest.hasNext()) {
+            bytes -= eldest.next().getValue().size();
+            eldest.remove();
+        }
+    }
+
+    synchronized void remove(String key) {
+        CachedResponse removed = entries.remove(key);
+        if (removed != null) {
+            bytes -= removed.size();
+        }
+    }
+
+    synchronized int size() {
+        return entries.size();
+    }
+
+    synchronized long bytes() {
+        return bytes;
+    }
+}
@@ -0,0 +1,386 @@
+package com.gitittogether.skillforge.server.gateway.cache;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.reactivestreams.Publisher;
+import org.springframework.cloud.gateway.filter.GatewayFilter;
+import org.springframework.cloud.gateway.filter.GatewayFilterChain;
+import org.springframework.cloud.gateway.filter.NettyWriteResponseFilter;
+import org.springframework.core.Ordered;
+import org.springframework.core.io.buffer.DataBuffer;
+import org.springframework.core.io.buffer.DataBufferUtils;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.HttpStatusCode;
+import org.springframework.http.server.reactive.ServerHttpRequest;
+import org.springframework.http.server.reactive.ServerHttpResponse;
+import org.springframework.http.server.reactive.ServerHttpResponseDecorator;
+import org.springframework.web.server.ServerWebExchange;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.core.publisher.Sinks;
+
+import java.io.ByteArrayOutputStream;
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Shared response cache for anonymous, read-only routes.
+ * <p>
+ * Complete {@code 200} responses to {@code GET} requests are kept in a bounded in-memory {@link ResponseCache},
+ * keyed by path, query and {@code Accept}. Bodies are stored uncompressed, as the services send them, and the gateway
+ * compresses every response it writes, hits included, for the client's {@code Accept-Encoding}. Freshness follows
+ * the upstream {@code Cache-Control} ({@code s-maxage}, then {@code max-age}; {@code no-store} and {@code private}
+ * are never stored), falling back to {@link Settings#defaultTtl()} when the upstream sends none. Stale entries with
+ * an {@code ETag} are revalidated with {@code If-None-Match}, and conditional client requests are answered with
+ * {@code 304} from the cache.
+ * <p>
+ * Concurrent misses on the same key are coalesced: the first request goes upstream and the others wait up to
+ * {@link Settings#coalesceTimeout()} for its response, so a cold key costs one upstream call. If that response
+ * cannot be shared, the waiting requests go upstream themselves.
+ * <p>
+ * CORS and rate limit headers are per request and never stored; the gateway adds them to every response.
+ * <p>
+ * Runs just before {@link NettyWriteResponseFilter} so it sees the upstream body, which also places it ahead of the
+ * route's rate limiter. The route metrics and the access log run before it, so hits are measured and logged like
+ * any other request.
+ */
+public class ResponseCacheGatewayFilter implements GatewayFilter, Ordered {
+
+    public static final String CACHE_STATUS_HEADER = "X-Cache";
+
+    public static final int ORDER = NettyWriteResponseFilter.WRITE_RESPONSE_FILTER_ORDER - 1;
+
+    static final String REQUESTS_METRIC = "gateway.response_cache.requests";
+    static final String ENTRIES_METRIC = "gateway.response_cache.entries";
+    static final String BYTES_METRIC = "gateway.response_cache.bytes";
+
+    static final String HIT = "HIT";
+    static final String MISS = "MISS";
+    static final String COALESCED = "COALESCED";
+    static final String REVALIDATED = "REVALIDATED";
+    static final String BYPASS = "BYPASS";
+
+    /**
+     * Response headers that belong to a single exchange and must not be replayed from the cache.
+     */
+    private static final Set<String> UNCACHEABLE_HEADERS = Set.of(
+            "connection", "keep-alive", "transfer-encoding", "date", "set-cookie", "age",
+            CACHE_STATUS_HEADER.toLowerCase(Locale.ROOT));
+    private static final List<String> UNCACHEABLE_HEADER_PREFIXES = List.of("access-control-", "x-ratelimit-");
+
+    /**
+     * Vary values the cache can ignore: the media type is part of the key, the encoding is negotiated by the gateway
+     * after the cache, CORS is handled by the gateway.
+     */
+    private static final Set<String> SUPPORTED_VARY = Set.of(
+            "accept", "accept-encoding", "origin", "access-control-request-method", "access-control-request-headers");
+
+    private final Settings settings;
+    private final Clock clock;
+    private final ResponseCache cache;
+    private final Map<String, Sinks.One<CachedResponse>> inFlight = new ConcurrentHashMap<>();
+    private final Map<String, Counter> requests = new HashMap<>();
+
+    /**
+     * Cache tuning.
+     *
+     * @param enabled         when false every request goes upstream
+     * @param maxEntries      maximum number of cached responses
+     * @param maxBytes        maximum total size of the cached bodies
+     * @param maxEntryBytes   responses with larger bodies are not stored
+     * @param defaultTtl      freshness of responses without Cache-Control; zero stores only responses with an ETag
+     * @param coalesceTimeout maximum time a request waits for a concurrent miss on the same key
+     */
+    public record Settings(boolean enabled, int maxEntries, long maxBytes, long maxEntryBytes, Duration defaultTtl,
+                           Duration coalesceTimeout) {
+    }
+
+    public ResponseCacheGatewayFilter(Settings settings, MeterRegistry meterRegistry) {
+        this(settings, meterRegistry, Clock.systemUTC());
+    }
+
+    ResponseCacheGatewayFilter(Settings settings, MeterRegistry meterRegistry, Clock clock) {
+        this.settings = settings;
+        this.clock = clock;
+        this.cache = new ResponseCache(settings.maxEntries(), settings.maxBytes());
+        for (String result : List.of(HIT, MISS, COALESCED, REVALIDATED, BYPASS)) {
+            requests.put(result, Counter.builder(REQUESTS_METRIC)
+                    .description("Requests on cached routes by cache result")
+                    .tag("result", result.toLowerCase(Locale.ROOT))
+                    .register(meterRegistry));
+        }
+        Gauge.builder(ENTRIES_METRIC, cache, ResponseCache::size)
+                .description("Responses held in the gateway response cache")
+                .register(meterRegistry);
+        Gauge.builder(BYTES_METRIC, cache, ResponseCache::bytes)
+                .description("Body bytes held in the gateway response cache")
+                .baseUnit("bytes")
+                .register(meterRegistry);
+    }
+
+    @Override
+    public Mono<Void> filter(ServerWebExchange exchange, GatewayFilterChain chain) {
+        ServerHttpRequest request = exchange.getRequest();
+        Map<String, String> requestDirectives = directives(request.getHeaders().getCacheControl());
+        if (!settings.enabled()
+                || request.getMethod() != HttpMethod.GET
+                || request.getHeaders().containsKey(HttpHeaders.AUTHORIZATION)
+                || requestDirectives.containsKey("no-store")) {
+            requests.get(BYPASS).increment();
+            return chain.filter(exchange);
+        }
+
+        String key = cacheKey(request);
+        CachedResponse cached = cache.get(key);
+        boolean clientNoCache = requestDirectives.containsKey("no-cache")
+                || "no-cache".equalsIgnoreCase(request.getHeaders().getFirst(HttpHeaders.PRAGMA));
+        if (cached != null && !clientNoCache && cached.isFresh(clock.instant())) {
+            requests.get(HIT).increment();
+            return writeCached(request, exchange.getResponse(), cached, HIT);
+        }
+        return fetch(exchange, chain, key, cached);
+    }
+
+    @Override
+    public int getOrder() {
+        return ORDER;
+    }
+
+    private Mono<Void> fetch(ServerWebExchange exchange, GatewayFilterChain chain, String key, CachedResponse stale) {
+        Sinks.One<CachedResponse> flight = Sinks.one();
+        Sinks.One<CachedResponse> leader = inFlight.putIfAbsent(key, flight);
+        if (leader != null) {
+            return leader.asMono()
+                    .timeout(settings.coalesceTimeout(), Mono.empty())
+                    .flatMap(shared -> {
+                        requests.get(COALESCED).increment();
+                        return writeCached(exchange.getRequest(), exchange.getResponse(), shared, COALESCED)
+                                .thenReturn(Boolean.TRUE);
+                    })
+                    .switchIfEmpty(Mono.defer(() -> {
+                        requests.get(MISS).increment();
+                        return chain.filter(exchange).thenReturn(Boolean.FALSE);
+                    }))
+                    .then();
+        }
+
+        CachedResponse revalidating = stale != null && stale.etag() != null ? stale : null;
+        CachingResponse response = new CachingResponse(exchange, key, revalidating, flight);
+        ServerWebExchange.Builder upstream = exchange.mutate().response(response);
+        if (revalidating != null) {
+            upstream.request(r -> r.headers(headers -> {
+                headers.remove(HttpHeaders.IF_MODIFIED_SINCE);
+                headers.setIfNoneMatch(revalidating.etag());
+            }));
+        } else {
+            requests.get(MISS).increment();
+        }
+        return chain.filter(upstream.build())
+                .doFinally(signal -> response.finish(null));
+    }
+
+    private Mono<Void> writeCached(ServerHttpRequest request, ServerHttpResponse response, CachedResponse cached,
+                                   String cacheStatus) {
+        HttpHeaders headers = response.getHeaders();
+        cached.headers().forEach(headers::put);
+        headers.set(HttpHeaders.AGE, Long.toString(cached.ageSeconds(clock.instant())));
+        headers.set(CACHE_STATUS_HEADER, cacheStatus);
+
+        if (cached.etag() != null && matches(request.getHeaders().getIfNoneMatch(), cached.etag())) {
+            response.setStatusCode(HttpStatus.NOT_MODIFIED);
+            headers.remove(HttpHeaders.CONTENT_LENGTH);
+            return response.setComplete();
+        }
+        response.setStatusCode(HttpStatus.OK);
+        return response.writeWith(Mono.just(response.bufferFactory().wrap(cached.body())));
+    }
+
+    /**
+     * Freshness lifetime of an upstream response, or null if it must not be stored.
+     */
+    private Duration storableTtl(HttpStatusCode status, HttpHeaders headers) {
+        if (status == null || status.value() != HttpStatus.OK.value() || headers.containsKey(HttpHeaders.SET_COOKIE)) {
+            return null;
+        }
+        for (String vary : headers.getVary()) {
+            if (!SUPPORTED_VARY.contains(vary.trim().toLowerCase(Locale.ROOT))) {
+                return null;
+            }
+        }
+        Map<String, String> directives = directives(headers.getCacheControl());
+        if (directives.containsKey("no-store") || directives.containsKey("private")) {
+            return null;
+        }
+        Duration ttl = directives.containsKey("no-cache") ? Duration.ZERO : freshness(directives);
+        if (ttl == null) {
+            ttl = settings.defaultTtl();
+        }
+        return ttl.isZero() && headers.getETag() == null ? null : ttl;
+    }
+
+    private static Duration freshness(Map<String, String> directives) {
+        String maxAge = directives.getOrDefault("s-maxage", directives.get("max-age"));
+        if (maxAge == null) {
+            return null;
+        }
+        try {
+            return Duration.ofSeconds(Math.max(0, Long.parseLong(maxAge.trim())));
+        } catch (NumberFormatException e) {
+            return Duration.ZERO;
+        }
+    }
+
+    private static Map<String, String> directives(String cacheControl) {
+        if (cacheControl == null || cacheControl.isBlank()) {
+            return Map.of();
+        }
+        Map<String, String> directives = new HashMap<>();
+        for (String directive : cacheControl.split(",")) {
+            String[] parts = directive.trim().split("=", 2);
+            directives.put(parts[0].trim().toLowerCase(Locale.ROOT), parts.length > 1 ? parts[1].replace("\"", "") : "");
+        }
+        return directives;
+    }
+
+    private static HttpHeaders cacheableHeaders(HttpHeaders headers) {
+        HttpHeaders stored = new HttpHeaders();
+        headers.forEach((name, values) -> {
+            String lowerName = name.toLowerCase(Locale.ROOT);
+            if (!UNCACHEABLE_HEADERS.contains(lowerName)
+                    && UNCACHEABLE_HEADER_PREFIXES.stream().noneMatch(lowerName::startsWith)) {
+                stored.put(name, List.copyOf(values));
+            }
+        });
+        return HttpHeaders.readOnlyHttpHeaders(stored);
+    }
+
+    private static boolean matches(List<String> ifNoneMatch, String etag) {
+        String opaque = weakless(etag);
+        return ifNoneMatch.stream().anyMatch(candidate -> "*".equals(candidate) || weakless(candidate).equals(opaque));
+    }
+
+    private static String weakless(String etag) {
+        return etag.startsWith("W/") ? etag.substring(2) : etag;
+    }
+
+    static String cacheKey(ServerHttpRequest request) {
+        String query = request.getURI().getRawQuery();
+        String accept = request.getHeaders().getFirst(HttpHeaders.ACCEPT);
+        return request.getURI().getRawPath()
+                + '?' + (query != null ? query : "")
+                + '|' + (accept != null ? accept.replace(" ", "").toLowerCase(Locale.ROOT) : "");
+    }
+
+    /**
+     * Response of the request that went upstream for a key. Stores the body while it streams to the client
+     * and hands the result to the coalesced requests.
+     */
+    private final class CachingResponse extends ServerHttpResponseDecorator {
+
+        private final ServerHttpRequest clientRequest;
+        private final String key;
+        private final CachedResponse revalidating;
+        private final Sinks.One<CachedResponse> flight;
+        private final AtomicBoolean finished = new AtomicBoolean();
+
+        CachingResponse(ServerWebExchange exchange, String key, CachedResponse revalidating,
+                        Sinks.One<CachedResponse> flight) {
+            super(exchange.getResponse());
+            this.clientRequest = exchange.getRequest();
+            this.key = key;
+            this.revalidating = revalidating;
+            this.flight = flight;
+        }
+
+        @Override
+        public Mono<Void> writeWith(Publisher<? extends DataBuffer> body) {
+            HttpStatusCode status = getStatusCode();
+            if (revalidating != null && status != null && status.value() == HttpStatus.NOT_MODIFIED.value()) {
+                Duration ttl = freshness(directives(getHeaders().getCacheControl()));
+                CachedResponse refreshed = revalidating.revalidated(clock.instant(), ttl != null ? ttl : revalidating.ttl());
+                cache.put(key, refreshed);
+                finish(refreshed);
+                requests.get(REVALIDATED).increment();
+                return Flux.from(body)
+                        .doOnNext(DataBufferUtils::release)
+                        .then(Mono.defer(() -> writeCached(clientRequest, getDelegate(), refreshed, REVALIDATED)));
+            }
+            if (revalidating != null) {
+                requests.get(MISS).increment();
+            }
+
+            Duration ttl = storableTtl(status, getHeaders());
+            long contentLength = getHeaders().getContentLength();
+            getHeaders().set(CACHE_STATUS_HEADER, MISS);
+            if (ttl == null || contentLength > settings.maxEntryBytes()) {
+                if (revalidating != null) {
+                    cache.remove(key);
+                }
+                finish(null);
+                return super.writeWith(body);
+            }
+
+            HttpHeaders headers = cacheableHeaders(getHeaders());
+            String etag = getHeaders().getETag();
+            ByteArrayOutputStream captured = new ByteArrayOutputStream(contentLength > 0 ? (int) contentLength : 1024);
+            AtomicBoolean overflow = new AtomicBoolean();
+            Flux<DataBuffer> tee = Flux.from(body)
+                    .map(buffer -> (DataBuffer) buffer)
+                    .doOnNext(buffer -> {
+                        if (overflow.get()) {
+                            return;
+                        }
+                        if (captured.size() + buffer.readableByteCount() > settings.maxEntryBytes()) {
+                            overflow.set(true);
+                            return;
+                        }
+                        try (DataBuffer.ByteBufferIterator chunks = buffer.readableByteBuffers()) {
+                            chunks.forEachRemaining(chunk -> {
+                                byte[] bytes = new byte[chunk.remaining()];
+                                chunk.get(bytes);
+                                captured.write(bytes, 0, bytes.length);
+                            });
+                        }
+                    })
+                    .doOnComplete(() -> {
+                        if (overflow.get()) {
+                            finish(null);
+                            return;
+                        }
+                        CachedResponse stored = new CachedResponse(headers, captured.toByteArray(), etag, clock.instant(), ttl);
+                        cache.put(key, stored);
+                        finish(stored);
+                    });
+            return super.writeWith(tee);
+        }
+
+        @Override
+        public Mono<Void> writeAndFlushWith(Publisher<? extends Publisher<? extends DataBuffer>> body) {
+            // Streaming responses are passed through and never stored
+            finish(null);
+            return super.writeAndFlushWith(body);
+        }
+
+        void finish(CachedResponse response) {
+            if (finished.compareAndSet(false, true)) {
+                inFlight.remove(key, flight);
+                if (response != null) {
+                    flight.tryEmitValue(response);
+                } else {
+                    flight.tryEmitEmpty();
+                }
+            }
+        }
+    }
+}
@@ -1,27 +1,53 @@
 package com.gitittogether.skillforge.server.gateway.config;
 
+import com.gitittogether.skillforge.server.gateway.cache.ResponseCacheGatewayFilter;
+import com.gitittogether.skillforge.server.gateway.ratelimit.TwoTierRateLimiter;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Qualifier;
 import org.springframework.beans.factory.annotation.Value;
+import org.springframework.cloud.gateway.filter.factory.RetryGatewayFilterFactory;
+import org.springframework.cloud.gateway.filter.factory.SpringCloudCircuitBreakerFilterFactory;
 import org.springframework.cloud.gateway.filter.ratelimit.KeyResolver;
-import org.springframework.cloud.gateway.filter.ratelimit.RedisRateLimiter;
 import org.springframework.cloud.gateway.route.RouteLocator;
 import org.springframework.cloud.gateway.route.builder.RouteLocatorBuilder;
+import org.springframework.cloud.gateway.support.RouteMetadataUtils;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.context.annotation.Profile;
+import org.springframework.http.HttpMethod;
 import org.springframework.http.HttpStatus;
 
+import java.util.Set;
+
 @Slf4j
 @Configuration
 @Profile("!test")
 public class GatewayConfig {
 
+    /**
+     * Route metadata key naming the backend a route forwards to. Used as a bounded metric tag.
+     */
+    public static final String UPSTREAM_METADATA_KEY = "upstream";
+
+    static final String UPSTREAM_GATEWAY = "gateway";
+    static final String UPSTREAM_USER_SERVICE = "user-service";
+    static final String UPSTREAM_COURSE_SERVICE = "course-service";
+
+    /**
+     * Circuit breaker and bulkhead for the GenAI-backed course routes, kept apart from the regular course calls.
+     */
+    static final String COURSE_SERVICE_GENAI_BREAKER = "course-service-genai";
+
     @Bean
     public RouteLocator routes(
             RouteLocatorBuilder builder,
             JwtAuthenticationFilter jwtFilter,
-            RedisRateLimiter redisRateLimiter,
+            ResponseCacheGatewayFilter responseCacheFilter,
+            TwoTierRateLimiter rateLimiter,
             KeyResolver userKeyResolver,
+            @Qualifier("authenticatedUserKeyResolver") KeyResolver authenticatedUserKeyResolver,
+            ResilienceProperties resilienceProperties,
+            UpstreamHttpClientProperties httpClientProperties,
             @Value("${user.service.uri}") String userServiceUri,
             @Value("${course.service.uri}") String courseServiceUri,
             @Value("${gateway.health.uri}") String gatewayHealthUri
@@ -29,10 +55,13 @@ public class GatewayConfig {
         RouteLocator routeLocator = builder.routes()
                 // Health check routes (no rate limiting, no auth) - must come first
                 .route("gateway-health", r -> r.path("/actuator/health")
+                        .metadata(UPSTREAM_METADATA_KEY, UPSTREAM_GATEWAY)
                         .uri(gatewayHealthUri))
                 .route("user-health", r -> r.path("/api/v1/users/health")
+                        .metadata(UPSTREAM_METADATA_KEY, UPSTREAM_USER_SERVICE)
                         .uri(userServiceUri))
                 .route("course-health", r -> r.path("/api/v1/courses/health")
+                        .metadata(UPSTREAM_METADATA_KEY, UPSTREAM_COURSE_SERVICE)
                         .uri(courseServiceUri))
                 // Documentation routes (no rate limiting, no auth)
                 // User service documentation routes
@@ -41,11 +70,14 @@ public class GatewayConfig {
                                 .rewritePath("/api/v1/users/docs/swagger-ui/(?<segment>.*)", "/swagger-ui/${segment}")
                                 .rewritePath("/api/v1/users/docs/(?<segment>.*)", "/swagger-ui/${segment}")
                                 .rewritePath("/api/v1/users/docs", "/swagger-ui/index.html"))
+                        .metadata(UPSTREAM_METADATA_KEY, UPSTREAM_USER_SERVICE)
                         .uri(userServiceUri))
                 .route("user-service-swagger-ui", r -> r.path("/api/v1/users/swagger-ui/**")
+                        .metadata(UPSTREAM_METADATA_KEY, UPSTREAM_USER_SERVICE)
                         .uri(userServiceUri))
                 .route("user-service-openapi", r -> r.path("/api/v1/users/user-openapi.yaml")
                         .filters(f -> f.rewritePath("/api/v1/users/user-openapi.yaml", "/user-openapi.yaml"))
+                        .metadata(UPSTREAM_METADATA_KEY, UPSTREAM_USER_SERVICE)
                         .uri(userServiceUri))
                 // Course service documentation routes
                 .route("course-service-docs", r -> r.path("/api/v1/courses/docs", "/api/v1/courses/docs/**")
@@ -53,31 +85,44 @@ public class GatewayConfig {
                                 .rewritePath("/api/v1/courses/docs/swagger-ui/(?<segment>.*)", "/swagger-ui/${segment}")
                                 .rewritePath("/api/v1/courses/docs/(?<segment>.*)", "/swagger-ui/${segment}")
                                 .rewritePath("/api/v1/courses/docs", "/swagger-ui/index.html"))
+                        .metadata(UPSTREAM_METADATA_KEY, UPSTREAM_COURSE_SERVICE)
                         .uri(courseServiceUri))
                 .route("course-service-swagger-ui", r -> r.path("/api/v1/courses/swagger-ui/**")
+                        .metadata(UPSTREAM_METADATA_KEY, UPSTREAM_COURSE_SERVICE)
                         .uri(courseServiceUri))
                 .route("course-service-openapi", r -> r.path("/api/v1/courses/course-openapi.yaml")
                         .filters(f -> f.rewritePath("/api/v1/courses/course-openapi.yaml", "/course-openapi.yaml"))
+                        .metadata(UPSTREAM_METADATA_KEY, UPSTREAM_COURSE_SERVICE)
                         .uri(courseServiceUri))
                 // User service routes that are public (no auth) but rate-limited
                 .route("user-service-auth", r -> r.path("/api/v1/users/login", "/api/v1/users/register")
                         .filters(f -> f
                                 .requestRateLimiter(config -> config
-                                        .setRateLimiter(redisRateLimiter)
+                                        .setRateLimiter(rateLimiter)
                                         .setKeyResolver(userKeyResolver)
                                         .setStatusCode(HttpStatus.TOO_MANY_REQUESTS)
                                         .setDenyEmptyKey(false)
-                                        .setEmptyKeyStatus("TOO_MANY_REQUESTS")))
+                                        .setEmptyKeyStatus("TOO_MANY_REQUESTS"))
+                                .circuitBreaker(config -> circuitBreaker(config, UPSTREAM_USER_SERVICE))
+                                .retry(config -> idempotentRetry(config, resilienceProperties.getRetry())))
+                        .metadata(UPSTREAM_METADATA_KEY, UPSTREAM_USER_SERVICE)
+                        .metadata(RouteMetadataUtils.RESPONSE_TIMEOUT_ATTR, responseTimeoutMillis(httpClientProperties, UPSTREAM_USER_SERVICE))
                         .uri(userServiceUri))
-                // The Public course service routes (no JWT required)
+                // The Public course service routes (no JWT required) - identical for every visitor, so cache hits
+                // are answered before rate limiting and without calling the course service
                 .route("course-service-public", r -> r.path("/api/v1/courses/public/**")
                         .filters(f -> f
+                                .filter(responseCacheFilter)
                                 .requestRateLimiter(config -> config
-                                        .setRateLimiter(redisRateLimiter)
+                                        .setRateLimiter(rateLimiter)
                                         .setKeyResolver(userKeyResolver)
                                         .setStatusCode(HttpStatus.TOO_MANY_REQUESTS)
                                         .setDenyEmptyKey(false)
-                                        .setEmptyKeyStatus("TOO_MANY_REQUESTS")))
+                                        .setEmptyKeyStatus("TOO_MANY_REQUESTS"))
+                                .circuitBreaker(config -> circuitBreaker(config, UPSTREAM_COURSE_SERVICE))
+                                .retry(config -> idempotentRetry(config, resilienceProperties.getRetry())))
+                        .metadata(UPSTREAM_METADATA_KEY, UPSTREAM_COURSE_SERVICE)
+                        .metadata(RouteMetadataUtils.RESPONSE_TIMEOUT_ATTR, responseTimeoutMillis(httpClientProperties, UPSTREAM_COURSE_SERVICE))
                         .uri(courseServiceUri))
                 // Protected user service routes (requires JWT)
                 .route("user-service-protected", r -> r.path("/api/v1/users/**")
@@ -86,12 +131,63 @@ public class GatewayConfig {
                         .filters(f -> f
                                 .filter(jwtFilter)
                                 .requestRateLimiter(config -> config
-                                        .setRateLimiter(redisRateLimiter)
-                                        .setKeyResolver(userKeyResolver)
+                                        .setRateLimiter(rateLimiter)
+                                        .setKeyResolver(authenticatedUserKeyResolver)
                                         .setStatusCode(HttpStatus.TOO_MANY_REQUESTS)
                                         .setDenyEmptyKey(false)
-                                        .setEmptyKeyStatus("TOO_MANY_REQUESTS")))
+                                        .setEmptyKeyStatus("TOO_MANY_REQUESTS"))
+                                .circuitBreaker(config -> circuitBreaker(config, UPSTREAM_USER_SERVICE))
+                                .retry(config -> idempotentRetry(config, resilienceProperties.getRetry())))
+                        .metadata(UPSTREAM_METADATA_KEY, UPSTREAM_USER_SERVICE)
+                        .metadata(RouteMetadataUtils.RESPONSE_TIMEOUT_ATTR, responseTimeoutMillis(httpClientProperties, UPSTREAM_USER_SERVICE))
                         .uri(userServiceUri))
+                // Course generation and crawl job status and SSE progress streams (requires JWT) - long-lived, so
+                // neither circuit breaker nor time limiter, only the GenAI response timeout between two events
+                .route("course-service-generation-jobs", r -> r.path("/api/v1/courses/generate/jobs/**", "/api/v1/courses/crawl/jobs/**")
+                        .and()
+                        .method(HttpMethod.GET)
+                        .filters(f -> f
+                                .filter(jwtFilter)
+                                .requestRateLimiter(config -> config
+                                        .setRateLimiter(rateLimiter)
+                                        .setKeyResolver(authenticatedUserKeyResolver)
+                                        .setStatusCode(HttpStatus.TOO_MANY_REQUESTS)
+                                        .setDenyEmptyKey(false)
+                                        .setEmptyKeyStatus("TOO_MANY_REQUESTS")))
+                        .metadata(UPSTREAM_METADATA_KEY, UPSTREAM_COURSE_SERVICE)
+                        .metadata(RouteMetadataUtils.RESPONSE_TIMEOUT_ATTR, responseTimeoutMillis(httpClientProperties, COURSE_SERVICE_GENAI_BREAKER))
+                        .uri(courseServiceUri))
+                // Streamed prompt responses (requires JWT) - GenAI rate limit policy, but like the job streams without
+                // circuit breaker and time limiter, which would cut off long generations
+                .route("course-service-genai-stream", r -> r.path("/api/v1/courses/generate/prompt/stream")
+                        .and()
+                        .method(HttpMethod.POST)
+                        .filters(f -> f
+                                .filter(jwtFilter)
+                                .requestRateLimiter(config -> config
+                                        .setRateLimiter(rateLimiter)
+                                        .setKeyResolver(authenticatedUserKeyResolver)
+                                        .setStatusCode(HttpStatus.TOO_MANY_REQUESTS)
+                                        .setDenyEmptyKey(false)
+                                        .setEmptyKeyStatus("TOO_MANY_REQUESTS")))
+                        .metadata(UPSTREAM_METADATA_KEY, UPSTREAM_COURSE_SERVICE)
+                        .metadata(RouteMetadataUtils.RESPONSE_TIMEOUT_ATTR, responseTimeoutMillis(httpClientProperties, COURSE_SERVICE_GENAI_BREAKER))
+                        .uri(courseServiceUri))
+                // GenAI-backed course service routes (requires JWT) - own rate limit policy with a higher token cost,
+                // own breaker and bulkhead, no retries since generation is not idempotent
+                .route("course-service-genai", r -> r.path("/api/v1/courses/generate/**", "/api/v1/courses/crawl/**")
+                        .filters(f -> f
+                                .filter(jwtFilter)
+                                .requestRateLimiter(config -> config
+                                        .setRateLimiter(rateLimiter)
+                                        .setKeyResolver(authenticatedUserKeyResolver)
+                                        .setStatusCode(HttpStatus.TOO_MANY_REQUESTS)
+                                        .setDenyEmptyKey(false)
+                                        .setEmptyKeyStatus("TOO_MANY_REQUESTS"))
+                                .circuitBreaker(config -> circuitBreaker(config, COURSE_SERVICE_GENAI_BREAKER)))
+                        .metadata(UPSTREAM_METADATA_KEY, UPSTREAM_COURSE_SERVICE)
+                        .metadata(RouteMetadataUtils.RESPONSE_TIMEOUT_ATTR, responseTimeoutMillis(httpClientProperties, COURSE_SERVICE_GENAI_BREAKER))
+                        .uri(courseServiceUri))
                 // Protected course service routes (requires JWT) - exclude documentation paths
                 .route("course-service-protected", r -> r.path("/api/v1/courses/**")
                         .and()
@@ -99,15 +195,51 @@ public class GatewayConfig {
                         .filters(f -> f
                                 .filter(jwtFilter)
                                 .requestRateLimiter(config -> config
-                                        .setRateLimiter(redisRateLimiter)
-                                        .setKeyResolver(userKeyResolver)
+                                        .setRateLimiter(rateLimiter)
+                                        .setKeyResolver(authenticatedUserKeyResolver)
                                         .setStatusCode(HttpStatus.TOO_MANY_REQUESTS)
                                         .setDenyEmptyKey(false)
-                                        .setEmptyKeyStatus("TOO_MANY_REQUESTS")))
+                                        .setEmptyKeyStatus("TOO_MANY_REQUESTS"))
+                                .circuitBreaker(config -> circuitBreaker(config, UPSTREAM_COURSE_SERVICE))
+                                .retry(config -> idempotentRetry(config, resilienceProperties.getRetry())))
+                        .metadata(UPSTREAM_METADATA_KEY, UPSTREAM_COURSE_SERVICE)
+                        .metadata(RouteMetadataUtils.RESPONSE_TIMEOUT_ATTR, responseTimeoutMillis(httpClientProperties, UPSTREAM_COURSE_SERVICE))
                         .uri(courseServiceUri))
                 .build();
 
-        log.info("GatewayConfig: Routes configured successfully with Redis-based rate limiting and JWT authentication");
+        log.info("GatewayConfig: Routes configured successfully with Redis-based rate limiting, circuit breakers and JWT authentication");
         return routeLocator;
     }
+
+    /**
+     * Per-upstream circuit breaker and bulkhead (see ResilienceConfig). Rejected calls, timeouts and gateway-level
+     * upstream errors are answered by FallbackController instead of holding the connection.
+     */
+    private static void circuitBreaker(SpringCloudCircuitBreakerFilterFactory.Config config, String name) {
+        config.setName(name)
+                .setFallbackUri("forward:/fallback/" + name)
+                .setStatusCodes(Set.of("502", "503", "504"));
+    }
+
+    /**
+     * Response timeout of the routes to an upstream; upstreams without an entry use the property default.
+     */
+    private static long responseTimeoutMillis(UpstreamHttpClientProperties properties, String upstream) {
+        return properties.getUpstreams()
+                .getOrDefault(upstream, new UpstreamHttpClientProperties.Upstream())
+                .getResponseTimeout()
+                .toMillis();
+    }
+
+    /**
+     * Retries idempotent requests only, on connection errors and 502/503/504, with jittered exponential backoff.
+     */
+    private static void idempotentRetry(RetryGatewayFilterFactory.RetryConfig config, ResilienceProperties.Retry retry) {
+        config.setRetries(retry.getRetries())
+                .setMethods(HttpMethod.GET, HttpMethod.HEAD, HttpMethod.OPTIONS)
+                .setSeries()
+                .setStatuses(HttpStatus.BAD_GATEWAY, HttpStatus.SERVICE_UNAVAILABLE, HttpStatus.GATEWAY_TIMEOUT)
+                .setBackoff(retry.getFirstBackoff(), retry.getMaxBackoff(), 2, true)
+                .setJitter(retry.getJitter());
+    }
 }
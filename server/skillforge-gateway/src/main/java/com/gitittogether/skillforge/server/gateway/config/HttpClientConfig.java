@@ -0,0 +1,44 @@
+package com.gitittogether.skillforge.server.gateway.config;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.autoconfigure.web.ServerProperties;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.cloud.gateway.config.HttpClientCustomizer;
+import org.springframework.cloud.gateway.config.HttpClientFactory;
+import org.springframework.cloud.gateway.config.HttpClientProperties;
+import org.springframework.cloud.gateway.config.HttpClientSslConfigurer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import reactor.netty.http.HttpProtocol;
+
+import java.util.List;
+
+/**
+ * HTTP client used by the gateway to call the upstream services.
+ * Replaces the auto-configured factory so every upstream gets its own bounded connection pool.
+ */
+@Slf4j
+@Configuration
+@EnableConfigurationProperties(UpstreamHttpClientProperties.class)
+public class HttpClientConfig {
+
+    @Bean
+    public HttpClientFactory gatewayHttpClientFactory(HttpClientProperties properties,
+                                                      ServerProperties serverProperties,
+                                                      HttpClientSslConfigurer sslConfigurer,
+                                                      List<HttpClientCustomizer> customizers,
+                                                      UpstreamHttpClientProperties upstreamProperties) {
+        return new UpstreamHttpClientFactory(properties, serverProperties, sslConfigurer, customizers, upstreamProperties);
+    }
+
+    @Bean
+    public HttpClientCustomizer h2cHttpClientCustomizer(UpstreamHttpClientProperties upstreamProperties) {
+        return httpClient -> {
+            if (!upstreamProperties.isH2c()) {
+                return httpClient;
+            }
+            log.info("Gateway HTTP client offers h2c to upstreams");
+            return httpClient.protocol(HttpProtocol.H2C, HttpProtocol.HTTP11);
+        };
+    }
+}
@@ -2,10 +2,14 @@ package com.gitittogether.skillforge.server.gateway.config;
 
 import com.fasterxml.jackson.databind.ObjectMapper;
 import io.jsonwebtoken.Claims;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.cloud.gateway.filter.GatewayFilter;
 import org.springframework.cloud.gateway.filter.GatewayFilterChain;
+import org.springframework.cloud.gateway.route.Route;
+import org.springframework.cloud.gateway.support.ServerWebExchangeUtils;
 import org.springframework.core.io.buffer.DataBuffer;
 import org.springframework.core.io.buffer.DataBufferFactory;
 import org.springframework.http.HttpStatus;
@@ -24,7 +28,16 @@ import java.util.Map;
 @RequiredArgsConstructor
 public class JwtAuthenticationFilter implements GatewayFilter {
 
+    static final String JWT_REJECTIONS_METRIC = "gateway.jwt.rejections";
+
+    /**
+     * Exchange attribute holding the user id from a validated token. Unlike the {@code X-User-Id}
+     * header it cannot be supplied by the client.
+     */
+    public static final String AUTHENTICATED_USER_ATTR = "skillforge.authenticatedUserId";
+
     private final JwtUtil jwtUtil;
+    private final MeterRegistry meterRegistry;
 
     @Override
     public Mono<Void> filter(ServerWebExchange exchange, GatewayFilterChain chain) {
@@ -32,40 +45,45 @@ public class JwtAuthenticationFilter implements GatewayFilter {
         String path = request.getURI().getPath();
         String method = request.getMethod().name();
 
-        log.info("JWT Filter: Processing request {} {} from {}", method, path, request.getRemoteAddress());
+        log.debug("JWT Filter: Processing request {} {} from {}", method, path, request.getRemoteAddress());
 
         if (isSecured(request)) {
-            log.info("JWT Filter: Request {} {} is secured, checking authentication", method, path);
+            log.debug("JWT Filter: Request {} {} is secured, checking authentication", method, path);
 
             final String token = getAuthHeader(request);
             if (token == null) {
                 log.warn("JWT Filter: No Authorization header found for secured request {} {}", method, path);
+                recordRejection(exchange, "missing_token");
                 return writeJsonError(exchange, 401, "Unauthorized", "Missing or invalid Authorization header", path);
             }
 
             log.debug("JWT Filter: Token found, validating...");
             if (!jwtUtil.isTokenValid(token)) {
                 log.warn("JWT Filter: Invalid token for request {} {}", method, path);
+                recordRejection(exchange, "invalid_token");
                 return writeJsonError(exchange, 401, "Unauthorized", "Invalid JWT token", path);
             }
 
             try {
                 Claims claims = jwtUtil.extractAllClaims(token);
                 String userId = claims.getSubject();
-                log.info("JWT Filter: Valid token for user {} on request {} {}", userId, method, path);
+                log.debug("JWT Filter: Valid token for user {} on request {} {}", userId, method, path);
 
-                exchange.getRequest().mutate()
-                        .header("X-User-Id", userId)
+                ServerHttpRequest authenticated = exchange.getRequest().mutate()
+                        .headers(headers -> headers.set("X-User-Id", userId))
                         .build();
+                exchange = exchange.mutate().request(authenticated).build();
+                exchange.getAttributes().put(AUTHENTICATED_USER_ATTR, userId);
 
                 log.debug("JWT Filter: Added X-User-Id header: {}", userId);
             } catch (Exception e) {
                 log.error("JWT Filter: Error extracting claims from token for request {} {}: {}",
                         method, path, e.getMessage(), e);
+                recordRejection(exchange, "claims_error");
                 return writeJsonError(exchange, 401, "Unauthorized", "Invalid JWT token: " + e.getMessage(), path);
             }
         } else {
-            log.info("JWT Filter: Request {} {} is not secured, allowing through", method, path);
+            log.debug("JWT Filter: Request {} {} is not secured, allowing through", method, path);
         }
 
         return chain.filter(exchange)
@@ -89,10 +107,20 @@ public class JwtAuthenticationFilter implements GatewayFilter {
                 !path.contains("/metrics") &&
                 !path.contains("/prometheus");
 
-        log.info("JWT Filter: Path {} is secured: {}", path, secured);
+        log.debug("JWT Filter: Path {} is secured: {}", path, secured);
         return secured;
     }
 
+    private void recordRejection(ServerWebExchange exchange, String reason) {
+        Route route = exchange.getAttribute(ServerWebExchangeUtils.GATEWAY_ROUTE_ATTR);
+        Counter.builder(JWT_REJECTIONS_METRIC)
+                .description("Requests rejected by the gateway JWT filter")
+                .tag("route", route != null ? route.getId() : "unmatched")
+                .tag("reason", reason)
+                .register(meterRegistry)
+                .increment();
+    }
+
     private String getAuthHeader(ServerHttpRequest request) {
         String authHeader = request.getHeaders().getFirst("Authorization");
         if (authHeader != null && authHeader.startsWith("Bearer ")) {
@@ -0,0 +1,40 @@
+package com.gitittogether.skillforge.server.gateway.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Rate limit policies per route, bound from {@code rate.limit.policies.<route-id>}.
+ * <p>
+ * A route with a policy gets its own token bucket per client, so heavy routes cannot drain the budget of
+ * cheap ones. Each request on the route consumes {@code cost} tokens. Routes without a policy share the
+ * default bucket configured by {@code rate.limit.requests-per-second} and {@code rate.limit.burst}.
+ */
+@Data
+@ConfigurationProperties(prefix = "rate.limit")
+public class RateLimitPolicyProperties {
+
+    private Map<String, Policy> policies = new LinkedHashMap<>();
+
+    @Data
+    public static class Policy {
+
+        /**
+         * Tokens added to the bucket per second.
+         */
+        private int replenishRate = 10;
+
+        /**
+         * Maximum tokens the bucket holds, i.e. the largest burst allowed.
+         */
+        private int burstCapacity = 20;
+
+        /**
+         * Tokens consumed by a single request.
+         */
+        private int cost = 1;
+    }
+}
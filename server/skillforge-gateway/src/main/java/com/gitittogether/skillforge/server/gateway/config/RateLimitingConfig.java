@@ -1,17 +1,23 @@
 package com.gitittogether.skillforge.server.gateway.config;
 
+import com.gitittogether.skillforge.server.gateway.ratelimit.TwoTierRateLimiter;
+import io.micrometer.core.instrument.MeterRegistry;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
 import org.springframework.cloud.gateway.filter.ratelimit.KeyResolver;
-import org.springframework.cloud.gateway.filter.ratelimit.RedisRateLimiter;
+import org.springframework.cloud.gateway.support.ConfigurationService;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.context.annotation.Primary;
-import org.springframework.data.redis.connection.ReactiveRedisConnectionFactory;
+import org.springframework.data.redis.core.ReactiveRedisTemplate;
 import reactor.core.publisher.Mono;
 
+import java.time.Duration;
+
 @Slf4j
 @Configuration
+@EnableConfigurationProperties(RateLimitPolicyProperties.class)
 public class RateLimitingConfig {
 
     @Value("${rate.limit.requests-per-minute:60}")
@@ -23,29 +29,64 @@ public class RateLimitingConfig {
     @Value("${rate.limit.burst:20}")
     private int burstCapacity;
 
+    @Value("${rate.limit.local.sync-interval:1s}")
+    private Duration syncInterval;
+
+    @Value("${rate.limit.local.sync-batch:5}")
+    private long syncBatch;
+
+    @Value("${rate.limit.local.low-watermark:0.25}")
+    private double lowWatermark;
+
+    @Value("${rate.limit.local.sync-timeout:250ms}")
+    private Duration syncTimeout;
+
+    @Value("${rate.limit.local.idle-timeout:5m}")
+    private Duration idleTimeout;
+
     /**
-     * Redis-based rate limiter using Spring Cloud Gateway's built-in RedisRateLimiter
-     * Note: The ReactiveRedisConnectionFactory is injected but not used in the constructor
-     * as Spring Cloud Gateway's RedisRateLimiter uses its own Redis connection management
+     * Two-tier rate limiter: in-process token buckets per key, reconciled with a shared bucket in Redis
+     * periodically and whenever a key gets close to its limit.
+     * Marked as @Primary so the RequestRateLimiter filter factory picks it over the auto-configured RedisRateLimiter
      */
     @Bean
-    public RedisRateLimiter redisRateLimiter(ReactiveRedisConnectionFactory connectionFactory) {
-        log.info("Creating Redis rate limiter with {} requests per minute, {} per second, burst: {}",
+    @Primary
+    public TwoTierRateLimiter twoTierRateLimiter(ReactiveRedisTemplate<String, String> reactiveRedisTemplate,
+                                                 ConfigurationService configurationService,
+                                                 MeterRegistry meterRegistry,
+                                                 RateLimitPolicyProperties policyProperties) {
+        log.info("Creating two-tier rate limiter with {} requests per minute, {} per second, burst: {}",
                 requestsPerMinute, requestsPerSecond, burstCapacity);
 
-        // Use the requests per second directly as replenish rate
         // Ensure we use integer values to avoid Lua script errors
         int replenishRate = Math.max(1, requestsPerSecond); // Minimum 1 token per second
         int burst = Math.max(1, burstCapacity); // Minimum burst of 1
 
-        log.info("Redis rate limiter configured with replenishRate: {}, burstCapacity: {}", replenishRate, burst);
-
-        // Spring Cloud Gateway's RedisRateLimiter uses the two-parameter constructor
-        // The ReactiveRedisConnectionFactory is used internally by Spring Cloud Gateway
-        return new RedisRateLimiter(
-                replenishRate,  // replenishRate (tokens per second) - must be integer
-                burst          // burstCapacity - must be integer
-        );
+        log.info("Rate limiter configured with replenishRate: {}, burstCapacity: {}, sync interval: {}, sync batch: {}",
+                replenishRate, burst, syncInterval, syncBatch);
+
+        TwoTierRateLimiter.Config defaults = new TwoTierRateLimiter.Config()
+                .setReplenishRate(replenishRate)
+                .setBurstCapacity(burst);
+        TwoTierRateLimiter.SyncSettings sync = new TwoTierRateLimiter.SyncSettings(
+                syncInterval, Math.max(1, syncBatch), lowWatermark, syncTimeout, idleTimeout);
+        TwoTierRateLimiter rateLimiter =
+                new TwoTierRateLimiter(reactiveRedisTemplate, configurationService, meterRegistry, defaults, sync);
+
+        // Route policies: each gets its own bucket per client and a token cost per request
+        policyProperties.getPolicies().forEach((routeId, policy) -> {
+            if (policy.getReplenishRate() < 1 || policy.getCost() < 1 || policy.getCost() > policy.getBurstCapacity()) {
+                throw new IllegalArgumentException("Invalid rate limit policy for route " + routeId
+                        + ": replenish-rate and cost must be at least 1 and cost must not exceed burst-capacity");
+            }
+            log.info("Rate limit policy for route {}: replenishRate: {}, burstCapacity: {}, cost: {}",
+                    routeId, policy.getReplenishRate(), policy.getBurstCapacity(), policy.getCost());
+            rateLimiter.getConfig().put(routeId, new TwoTierRateLimiter.Config()
+                    .setReplenishRate(policy.getReplenishRate())
+                    .setBurstCapacity(policy.getBurstCapacity())
+                    .setRequestedTokens(policy.getCost()));
+        });
+        return rateLimiter;
     }
 
     /**
@@ -74,14 +115,14 @@ public class RateLimitingConfig {
     }
 
     /**
-     * Alternative key resolver for authenticated users
-     * Can be used with @Qualifier("authenticatedUserKeyResolver") when needed
+     * Key resolver for authenticated users - uses the user id from the validated JWT
+     * Requires JwtAuthenticationFilter to run before the rate limiter on the route, falls back to the IP address
      */
     @Bean
     public KeyResolver authenticatedUserKeyResolver() {
         return exchange -> {
-            // Try to get user ID from JWT token
-            String userId = exchange.getRequest().getHeaders().getFirst("X-User-Id");
+            // User ID set by JwtAuthenticationFilter; the X-User-Id request header is client-controlled on public routes
+            String userId = exchange.getAttribute(JwtAuthenticationFilter.AUTHENTICATED_USER_ATTR);
 
             if (userId != null && !userId.isEmpty()) {
                 log.debug("Rate limiting by user ID: {}", userId);
@@ -0,0 +1,65 @@
+package com.gitittogether.skillforge.server.gateway.config;
+
+import io.github.resilience4j.bulkhead.BulkheadConfig;
+import io.github.resilience4j.circuitbreaker.CircuitBreakerConfig;
+import io.github.resilience4j.timelimiter.TimeLimiterConfig;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.cloud.circuitbreaker.resilience4j.ReactiveResilience4JCircuitBreakerFactory;
+import org.springframework.cloud.circuitbreaker.resilience4j.ReactiveResilience4jBulkheadProvider;
+import org.springframework.cloud.client.circuitbreaker.Customizer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import java.time.Duration;
+
+/**
+ * Per-upstream circuit breakers, time limiters and bulkheads for the gateway routes.
+ * <p>
+ * Breaker state, calls and bulkhead usage are exported through Micrometer by the Spring Cloud
+ * CircuitBreaker auto-configuration ({@code resilience4j_circuitbreaker_*}, {@code resilience4j_bulkhead_*}).
+ */
+@Slf4j
+@Configuration
+@EnableConfigurationProperties(ResilienceProperties.class)
+public class ResilienceConfig {
+
+    @Bean
+    public Customizer<ReactiveResilience4JCircuitBreakerFactory> upstreamCircuitBreakerCustomizer(ResilienceProperties properties) {
+        ResilienceProperties.CircuitBreaker breaker = properties.getCircuitBreaker();
+        CircuitBreakerConfig circuitBreakerConfig = CircuitBreakerConfig.custom()
+                .failureRateThreshold(breaker.getFailureRateThreshold())
+                .slowCallRateThreshold(breaker.getSlowCallRateThreshold())
+                .slowCallDurationThreshold(breaker.getSlowCallDurationThreshold())
+                .slidingWindowType(CircuitBreakerConfig.SlidingWindowType.COUNT_BASED)
+                .slidingWindowSize(breaker.getSlidingWindowSize())
+                .minimumNumberOfCalls(breaker.getMinimumNumberOfCalls())
+                .waitDurationInOpenState(breaker.getWaitDurationInOpenState())
+                .permittedNumberOfCallsInHalfOpenState(breaker.getPermittedCallsInHalfOpenState())
+                .automaticTransitionFromOpenToHalfOpenEnabled(true)
+                .build();
+
+        return factory -> properties.getUpstreams().forEach((name, upstream) -> {
+            log.info("Circuit breaker {} configured with timeout: {}, failure rate threshold: {}%",
+                    name, upstream.getTimeout(), breaker.getFailureRateThreshold());
+            factory.configure(builder -> builder
+                    .circuitBreakerConfig(circuitBreakerConfig)
+                    .timeLimiterConfig(TimeLimiterConfig.custom()
+                            .timeoutDuration(upstream.getTimeout())
+                            .build()), name);
+        });
+    }
+
+    @Bean
+    public Customizer<ReactiveResilience4jBulkheadProvider> upstreamBulkheadCustomizer(ResilienceProperties properties) {
+        return provider -> properties.getUpstreams().forEach((name, upstream) -> {
+            log.info("Bulkhead {} configured with max concurrent calls: {}", name, upstream.getMaxConcurrentCalls());
+            // Reject immediately when full: queueing at the gateway is what lets connections pile up
+            provider.configure(builder -> builder
+                    .bulkheadConfig(BulkheadConfig.custom()
+                            .maxConcurrentCalls(upstream.getMaxConcurrentCalls())
+                            .maxWaitDuration(Duration.ZERO)
+                            .build()), name);
+        });
+    }
+}
@@ -0,0 +1,96 @@
+package com.gitittogether.skillforge.server.gateway.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Circuit breaker, bulkhead and retry settings for the gateway routes, bound from {@code gateway.resilience}.
+ * <p>
+ * Breaker thresholds and retries are shared; timeouts and concurrency limits are set per upstream, keyed by
+ * the circuit breaker name used in {@link GatewayConfig}.
+ */
+@Data
+@ConfigurationProperties(prefix = "gateway.resilience")
+public class ResilienceProperties {
+
+    private CircuitBreaker circuitBreaker = new CircuitBreaker();
+
+    private Retry retry = new Retry();
+
+    private Map<String, Upstream> upstreams = new LinkedHashMap<>();
+
+    @Data
+    public static class CircuitBreaker {
+
+        /**
+         * Failure rate in percent above which the breaker opens.
+         */
+        private float failureRateThreshold = 50;
+
+        /**
+         * Slow call rate in percent above which the breaker opens.
+         */
+        private float slowCallRateThreshold = 80;
+
+        /**
+         * Calls slower than this count as slow.
+         */
+        private Duration slowCallDurationThreshold = Duration.ofSeconds(3);
+
+        /**
+         * Number of calls in the sliding window used to compute the rates.
+         */
+        private int slidingWindowSize = 50;
+
+        /**
+         * Calls required before the rates are evaluated.
+         */
+        private int minimumNumberOfCalls = 20;
+
+        /**
+         * Time the breaker stays open before letting trial calls through.
+         */
+        private Duration waitDurationInOpenState = Duration.ofSeconds(10);
+
+        /**
+         * Trial calls allowed while half open.
+         */
+        private int permittedCallsInHalfOpenState = 5;
+    }
+
+    @Data
+    public static class Retry {
+
+        /**
+         * Retries after the first attempt. Only idempotent methods are retried.
+         */
+        private int retries = 2;
+
+        private Duration firstBackoff = Duration.ofMillis(50);
+
+        private Duration maxBackoff = Duration.ofMillis(500);
+
+        /**
+         * Random spread applied to each backoff, between 0 and 1.
+         */
+        private double jitter = 0.5;
+    }
+
+    @Data
+    public static class Upstream {
+
+        /**
+         * Upper bound for a single call, retries included.
+         */
+        private Duration timeout = Duration.ofSeconds(10);
+
+        /**
+         * Concurrent calls allowed before the bulkhead rejects new ones.
+         */
+        private int maxConcurrentCalls = 100;
+    }
+}
@@ -0,0 +1,46 @@
+package com.gitittogether.skillforge.server.gateway.config;
+
+import com.gitittogether.skillforge.server.gateway.cache.ResponseCacheGatewayFilter;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.util.unit.DataSize;
+
+import java.time.Duration;
+
+@Slf4j
+@Configuration
+public class ResponseCacheConfig {
+
+    @Value("${gateway.response-cache.enabled:true}")
+    private boolean enabled;
+
+    @Value("${gateway.response-cache.max-entries:10000}")
+    private int maxEntries;
+
+    @Value("${gateway.response-cache.max-size:64MB}")
+    private DataSize maxSize;
+
+    @Value("${gateway.response-cache.max-entry-size:1MB}")
+    private DataSize maxEntrySize;
+
+    @Value("${gateway.response-cache.default-ttl:0s}")
+    private Duration defaultTtl;
+
+    @Value("${gateway.response-cache.coalesce-timeout:5s}")
+    private Duration coalesceTimeout;
+
+    /**
+     * Response cache for the anonymous catalog routes, see GatewayConfig for the routes it is applied to.
+     */
+    @Bean
+    public ResponseCacheGatewayFilter responseCacheFilter(MeterRegistry meterRegistry) {
+        log.info("Response cache enabled: {}, max entries: {}, max size: {}, default TTL: {}",
+                enabled, maxEntries, maxSize, defaultTtl);
+        return new ResponseCacheGatewayFilter(new ResponseCacheGatewayFilter.Settings(
+                enabled, maxEntries, maxSize.toBytes(), maxEntrySize.toBytes(), defaultTtl, coalesceTimeout),
+                meterRegistry);
+    }
+}
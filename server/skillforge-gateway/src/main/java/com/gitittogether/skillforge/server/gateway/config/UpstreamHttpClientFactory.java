@@ -0,0 +1,73 @@
+package com.gitittogether.skillforge.server.gateway.config;
+
+import io.netty.util.NetUtil;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.autoconfigure.web.ServerProperties;
+import org.springframework.cloud.gateway.config.HttpClientCustomizer;
+import org.springframework.cloud.gateway.config.HttpClientFactory;
+import org.springframework.cloud.gateway.config.HttpClientProperties;
+import org.springframework.cloud.gateway.config.HttpClientSslConfigurer;
+import reactor.netty.resources.ConnectionProvider;
+
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.net.URI;
+import java.util.List;
+
+/**
+ * Gateway HTTP client factory with a separate connection pool per upstream host.
+ * <p>
+ * All pools export their gauges ({@code reactor_netty_connection_provider_*}), tagged with the remote address.
+ */
+@Slf4j
+public class UpstreamHttpClientFactory extends HttpClientFactory {
+
+    static final String CONNECTION_PROVIDER_NAME = "gateway-upstreams";
+
+    private final UpstreamHttpClientProperties upstreamProperties;
+
+    public UpstreamHttpClientFactory(HttpClientProperties properties,
+                                     ServerProperties serverProperties,
+                                     HttpClientSslConfigurer sslConfigurer,
+                                     List<HttpClientCustomizer> customizers,
+                                     UpstreamHttpClientProperties upstreamProperties) {
+        super(properties, serverProperties, sslConfigurer, customizers);
+        this.upstreamProperties = upstreamProperties;
+    }
+
+    @Override
+    protected ConnectionProvider buildConnectionProvider(HttpClientProperties properties) {
+        ConnectionProvider.Builder builder = ConnectionProvider.builder(CONNECTION_PROVIDER_NAME);
+        apply(builder, upstreamProperties.getPool());
+
+        upstreamProperties.getUpstreams().forEach((name, upstream) -> {
+            // Upstreams without a host only carry a response timeout and share the matching or default pool
+            if (upstream.getUri() == null || upstream.getUri().getHost() == null) {
+                return;
+            }
+            log.info("Connection pool for {} ({}): max connections: {}, max pending: {}, pending timeout: {}",
+                    name, upstream.getUri(), upstream.getMaxConnections(), upstream.getPendingAcquireMaxCount(),
+                    upstream.getPendingAcquireTimeout());
+            builder.forRemoteHost(remoteAddress(upstream.getUri()), spec -> apply(spec, upstream));
+        });
+        return builder.build();
+    }
+
+    private static <S extends ConnectionProvider.ConnectionPoolSpec<S>> void apply(S spec, UpstreamHttpClientProperties.Pool pool) {
+        spec.maxConnections(pool.getMaxConnections())
+                .pendingAcquireMaxCount(pool.getPendingAcquireMaxCount())
+                .pendingAcquireTimeout(pool.getPendingAcquireTimeout())
+                .maxIdleTime(pool.getMaxIdleTime())
+                .maxLifeTime(pool.getMaxLifeTime())
+                .evictInBackground(pool.getEvictionInterval())
+                .metrics(true);
+    }
+
+    static InetSocketAddress remoteAddress(URI uri) {
+        int port = uri.getPort() != -1 ? uri.getPort() : ("https".equalsIgnoreCase(uri.getScheme()) ? 443 : 80);
+        // Must equal the address the HTTP client keys its pools by: resolved for IP literals, unresolved for host names
+        String host = uri.getHost().startsWith("[") ? uri.getHost().substring(1, uri.getHost().length() - 1) : uri.getHost();
+        InetAddress ipAddress = NetUtil.createInetAddressFromIpAddressString(host);
+        return ipAddress != null ? new InetSocketAddress(ipAddress, port) : InetSocketAddress.createUnresolved(host, port);
+    }
+}
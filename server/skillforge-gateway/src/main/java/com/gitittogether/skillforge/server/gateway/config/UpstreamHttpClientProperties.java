@@ -0,0 +1,83 @@
+package com.gitittogether.skillforge.server.gateway.config;
+
+import lombok.Data;
+import lombok.EqualsAndHashCode;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.net.URI;
+import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Connection pools and timeouts of the HTTP client used to proxy requests, bound from {@code gateway.http-client}.
+ * <p>
+ * Every upstream gets its own pool, matched by the host and port of its {@code uri}. Other hosts share a pool
+ * with the default settings. Once a pool is exhausted, requests wait in a bounded queue and fail after
+ * {@code pending-acquire-timeout}, so overload does not turn into unbounded connection growth.
+ */
+@Data
+@ConfigurationProperties(prefix = "gateway.http-client")
+public class UpstreamHttpClientProperties {
+
+    /**
+     * Offer HTTP/2 over cleartext to the upstreams, falling back to HTTP/1.1 when they do not upgrade.
+     */
+    private boolean h2c = false;
+
+    /**
+     * Pool settings for hosts without an upstream entry.
+     */
+    private Pool pool = new Pool();
+
+    private Map<String, Upstream> upstreams = new LinkedHashMap<>();
+
+    @Data
+    public static class Pool {
+
+        /**
+         * Maximum open connections.
+         */
+        private int maxConnections = 500;
+
+        /**
+         * Maximum requests waiting for a connection once all are in use.
+         */
+        private int pendingAcquireMaxCount = 1000;
+
+        /**
+         * Time a request may wait for a connection before failing.
+         */
+        private Duration pendingAcquireTimeout = Duration.ofSeconds(2);
+
+        /**
+         * Idle connections are closed after this time.
+         */
+        private Duration maxIdleTime = Duration.ofSeconds(30);
+
+        /**
+         * Connections are closed after this time regardless of activity.
+         */
+        private Duration maxLifeTime = Duration.ofMinutes(10);
+
+        /**
+         * Interval of the background eviction of idle and expired connections.
+         */
+        private Duration evictionInterval = Duration.ofSeconds(30);
+    }
+
+    @Data
+    @EqualsAndHashCode(callSuper = true)
+    public static class Upstream extends Pool {
+
+        /**
+         * Base URI of the upstream, used to match its pool.
+         */
+        private URI uri;
+
+        /**
+         * Time to wait for the response headers on the routes to this upstream.
+         */
+        private Duration responseTimeout = Duration.ofSeconds(10);
+    }
+}
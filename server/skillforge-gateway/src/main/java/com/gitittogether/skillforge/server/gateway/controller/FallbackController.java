@@ -0,0 +1,63 @@
+package com.gitittogether.skillforge.server.gateway.controller;
+
+import io.github.resilience4j.bulkhead.BulkheadFullException;
+import io.github.resilience4j.circuitbreaker.CallNotPermittedException;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.cloud.gateway.route.Route;
+import org.springframework.cloud.gateway.support.ServerWebExchangeUtils;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.server.ServerWebExchange;
+
+import java.time.Instant;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.TimeoutException;
+
+/**
+ * Fast-fail responses for routes whose circuit breaker, bulkhead or time limiter rejected the call.
+ * Routes forward here via {@code forward:/fallback/{upstream}} instead of waiting on a struggling upstream.
+ */
+@Slf4j
+@RestController
+@RequestMapping("/fallback")
+public class FallbackController {
+
+    static final String RETRY_AFTER_SECONDS = "5";
+
+    @RequestMapping("/{upstream}")
+    public ResponseEntity<Map<String, Object>> fallback(@PathVariable String upstream, ServerWebExchange exchange) {
+        Throwable cause = exchange.getAttribute(ServerWebExchangeUtils.CIRCUITBREAKER_EXECUTION_EXCEPTION_ATTR);
+
+        HttpStatus status = HttpStatus.SERVICE_UNAVAILABLE;
+        String message;
+        if (cause instanceof CallNotPermittedException) {
+            message = upstream + " is unavailable, circuit breaker is open";
+        } else if (cause instanceof BulkheadFullException) {
+            message = upstream + " is at its concurrency limit";
+        } else if (cause instanceof TimeoutException) {
+            status = HttpStatus.GATEWAY_TIMEOUT;
+            message = upstream + " did not respond in time";
+        } else {
+            message = upstream + " is unavailable";
+        }
+        log.debug("Fallback for {}: {} ({})", upstream, message, cause != null ? cause.getClass().getSimpleName() : "none");
+
+        Map<String, Object> body = new LinkedHashMap<>();
+        body.put("timestamp", Instant.now().toString());
+        body.put("status", status.value());
+        body.put("error", status.getReasonPhrase());
+        body.put("message", message);
+        // The forward to this controller replaces the request path, so report the route instead
+        Route route = exchange.getAttribute(ServerWebExchangeUtils.GATEWAY_ROUTE_ATTR);
+        body.put("route", route != null ? route.getId() : upstream);
+
+        return ResponseEntity.status(status)
+                .header(HttpHeaders.RETRY_AFTER, RETRY_AFTER_SECONDS)
+                .body(body);
+    }
+}
@@ -0,0 +1,194 @@
+package com.gitittogether.skillforge.server.gateway.ratelimit;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * In-process token buckets, one per rate limit key.
+ * <p>
+ * Buckets are guarded by a fixed array of lock stripes rather than by the bucket itself, so that
+ * eviction of idle buckets and concurrent acquisitions on the same key can never observe a bucket
+ * that has already been removed from the map. Each bucket tracks the tokens consumed since it was
+ * last reconciled with the global bucket in Redis ({@code pending}).
+ */
+class LocalTokenBuckets {
+
+    private static final int STRIPES = 64;
+
+    private final Map<String, Bucket> buckets = new ConcurrentHashMap<>();
+    private final Object[] locks = new Object[STRIPES];
+
+    LocalTokenBuckets() {
+        for (int i = 0; i < STRIPES; i++) {
+            locks[i] = new Object();
+        }
+    }
+
+    /**
+     * Outcome of a local acquisition.
+     *
+     * @param allowed        whether the requested tokens were available locally
+     * @param remaining      whole tokens left in the local bucket
+     * @param pending        tokens consumed locally since the last reconciliation
+     * @param nanosSinceSync time elapsed since the last reconciliation attempt
+     */
+    record Decision(boolean allowed, long remaining, long pending, long nanosSinceSync) {
+    }
+
+    /**
+     * Tokens charged to the global bucket by a reconciliation, and the bucket shape to charge them with.
+     */
+    record SyncSnapshot(long consumed, double replenishRate, int burstCapacity) {
+    }
+
+    Decision tryAcquire(String key, int requested, double replenishRate, int burstCapacity, long now) {
+        synchronized (lockFor(key)) {
+            Bucket bucket = buckets.computeIfAbsent(key, k -> new Bucket(burstCapacity, now));
+            bucket.refill(replenishRate, burstCapacity, now);
+            bucket.lastAccess = now;
+            boolean allowed = bucket.tokens >= requested;
+            if (allowed) {
+                bucket.tokens -= requested;
+                bucket.pending += requested;
+            }
+            return new Decision(allowed, bucket.remaining(), bucket.pending, now - bucket.lastSync);
+        }
+    }
+
+    /**
+     * Tokens currently available for the key, without consuming any. Unknown keys are full.
+     */
+    double available(String key, double replenishRate, int burstCapacity, long now) {
+        synchronized (lockFor(key)) {
+            Bucket bucket = buckets.get(key);
+            if (bucket == null) {
+                return burstCapacity;
+            }
+            bucket.refill(replenishRate, burstCapacity, now);
+            return bucket.tokens;
+        }
+    }
+
+    /**
+     * Starts a reconciliation for the key, moving its pending tokens into the returned snapshot.
+     *
+     * @return the snapshot to charge to the global bucket, or {@code null} if the key is unknown, a
+     * reconciliation is already in flight, or the previous attempt failed less than {@code retryBackoffNanos} ago
+     */
+    SyncSnapshot beginSync(String key, long now, long retryBackoffNanos) {
+        synchronized (lockFor(key)) {
+            Bucket bucket = buckets.get(key);
+            if (bucket == null || bucket.syncing
+                    || (bucket.lastSyncFailed && now - bucket.lastSync < retryBackoffNanos)) {
+                return null;
+            }
+            bucket.syncing = true;
+            long consumed = bucket.pending;
+            bucket.pending = 0;
+            return new SyncSnapshot(consumed, bucket.replenishRate, bucket.burstCapacity);
+        }
+    }
+
+    /**
+     * Applies the global token count returned by Redis. Tokens consumed locally while the
+     * reconciliation was in flight have not been charged globally yet and are subtracted again.
+     */
+    void completeSync(String key, long globalTokens, long now) {
+        synchronized (lockFor(key)) {
+            Bucket bucket = buckets.get(key);
+            if (bucket == null) {
+                return;
+            }
+            bucket.refill(bucket.replenishRate, bucket.burstCapacity, now);
+            bucket.tokens = Math.min(bucket.tokens, globalTokens - bucket.pending);
+            bucket.syncing = false;
+            bucket.lastSyncFailed = false;
+            bucket.lastSync = now;
+        }
+    }
+
+    /**
+     * Returns the snapshot's tokens to the pending count so they are charged by the next reconciliation.
+     */
+    void abortSync(String key, SyncSnapshot snapshot, long now) {
+        synchronized (lockFor(key)) {
+            Bucket bucket = buckets.get(key);
+            if (bucket == null) {
+                return;
+            }
+            bucket.pending += snapshot.consumed();
+            bucket.syncing = false;
+            bucket.lastSyncFailed = true;
+            bucket.lastSync = now;
+        }
+    }
+
+    /**
+     * Drops buckets that have been idle for {@code idleNanos} and have nothing left to reconcile.
+     *
+     * @return keys with tokens that have not been reconciled for at least {@code syncIntervalNanos}
+     */
+    List<String> sweep(long now, long idleNanos, long syncIntervalNanos) {
+        List<String> stale = new ArrayList<>();
+        for (String key : buckets.keySet()) {
+            synchronized (lockFor(key)) {
+                Bucket bucket = buckets.get(key);
+                if (bucket == null || bucket.syncing) {
+                    continue;
+                }
+                if (bucket.pending > 0) {
+                    if (now - bucket.lastSync >= syncIntervalNanos) {
+                        stale.add(key);
+                    }
+                } else if (now - bucket.lastAccess >= idleNanos) {
+                    buckets.remove(key);
+                }
+            }
+        }
+        return stale;
+    }
+
+    int size() {
+        return buckets.size();
+    }
+
+    private Object lockFor(String key) {
+        return locks[(key.hashCode() & 0x7fffffff) % STRIPES];
+    }
+
+    private static final class Bucket {
+        private double tokens;
+        private double replenishRate;
+        private int burstCapacity;
+        private long lastRefill;
+        private long lastAccess;
+        private long lastSync;
+        private long pending;
+        private boolean syncing;
+        private boolean lastSyncFailed;
+
+        private Bucket(int burstCapacity, long now) {
+            this.tokens = burstCapacity;
+            this.burstCapacity = burstCapacity;
+            this.lastRefill = now;
+            this.lastAccess = now;
+            this.lastSync = now;
+        }
+
+        private void refill(double replenishRate, int burstCapacity, long now) {
+            this.replenishRate = replenishRate;
+            this.burstCapacity = burstCapacity;
+            long elapsed = now - lastRefill;
+            if (elapsed > 0) {
+                tokens = Math.min(burstCapacity, tokens + elapsed * replenishRate / 1_000_000_000d);
+                lastRefill = now;
+            }
+        }
+
+        private long remaining() {
+            return Math.max(0, (long) Math.floor(tokens));
+        }
+    }
+}
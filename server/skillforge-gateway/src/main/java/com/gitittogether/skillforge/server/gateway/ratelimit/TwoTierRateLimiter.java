@@ -0,0 +1,226 @@
+package com.gitittogether.skillforge.server.gateway.ratelimit;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.InitializingBean;
+import org.springframework.cloud.gateway.filter.ratelimit.AbstractRateLimiter;
+import org.springframework.cloud.gateway.filter.ratelimit.RedisRateLimiter;
+import org.springframework.cloud.gateway.support.ConfigurationService;
+import org.springframework.core.io.ClassPathResource;
+import org.springframework.data.redis.core.ReactiveRedisTemplate;
+import org.springframework.data.redis.core.script.RedisScript;
+import reactor.core.Disposable;
+import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Schedulers;
+
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Rate limiter deciding locally per key and reconciling with a global bucket in Redis.
+ * <p>
+ * Every gateway replica keeps an in-process token bucket per key ({@link LocalTokenBuckets}), so the
+ * common case costs no network round trip. Tokens admitted locally are charged to the shared Redis bucket
+ * in the background once {@link SyncSettings#batchSize()} tokens are pending or {@link SyncSettings#interval()}
+ * has elapsed, and synchronously before deciding when the local bucket drops below the low watermark.
+ * After each reconciliation the local bucket is clamped to the global one, which keeps the limit across
+ * replicas approximately correct: the overshoot is bounded by the tokens admitted between two reconciliations.
+ * If Redis is unavailable the local decision stands, so each replica still enforces the configured limit on its own.
+ * <p>
+ * Routes registered in {@link #getConfig()} get a separate bucket per key, and every request on them consumes
+ * {@link Config#getRequestedTokens()} tokens.
+ */
+@Slf4j
+public class TwoTierRateLimiter extends AbstractRateLimiter<TwoTierRateLimiter.Config>
+        implements InitializingBean, DisposableBean {
+
+    public static final String CONFIGURATION_PROPERTY_NAME = "two-tier-rate-limiter";
+
+    static final String SYNC_METRIC = "gateway.rate_limit.sync";
+    static final String LOCAL_KEYS_METRIC = "gateway.rate_limit.local.keys";
+
+    private static final String SCRIPT_LOCATION = "scripts/two_tier_rate_limiter.lua";
+
+    private final ReactiveRedisTemplate<String, String> redisTemplate;
+    private final RedisScript<Long> script;
+    private final Config defaultConfig;
+    private final SyncSettings sync;
+    private final LocalTokenBuckets buckets = new LocalTokenBuckets();
+    private final Counter syncSuccesses;
+    private final Counter syncFailures;
+
+    private Disposable sweeper;
+
+    /**
+     * Tuning of the reconciliation with Redis.
+     *
+     * @param interval     maximum time tokens stay pending before they are charged globally
+     * @param batchSize    pending tokens that trigger a background reconciliation
+     * @param lowWatermark fraction of the burst capacity below which reconciliation happens before deciding
+     * @param timeout      upper bound for a single Redis round trip
+     * @param idleTimeout  time after which an unused local bucket is dropped
+     */
+    public record SyncSettings(Duration interval, long batchSize, double lowWatermark, Duration timeout,
+                               Duration idleTimeout) {
+    }
+
+    public TwoTierRateLimiter(ReactiveRedisTemplate<String, String> redisTemplate,
+                              ConfigurationService configurationService,
+                              MeterRegistry meterRegistry,
+                              Config defaultConfig,
+                              SyncSettings sync) {
+        super(Config.class, CONFIGURATION_PROPERTY_NAME, configurationService);
+        this.redisTemplate = redisTemplate;
+        this.script = RedisScript.of(new ClassPathResource(SCRIPT_LOCATION), Long.class);
+        this.defaultConfig = defaultConfig;
+        this.sync = sync;
+        this.syncSuccesses = Counter.builder(SYNC_METRIC)
+                .description("Reconciliations of local rate limit buckets with Redis")
+                .tag("outcome", "success")
+                .register(meterRegistry);
+        this.syncFailures = Counter.builder(SYNC_METRIC)
+                .description("Reconciliations of local rate limit buckets with Redis")
+                .tag("outcome", "failure")
+                .register(meterRegistry);
+        Gauge.builder(LOCAL_KEYS_METRIC, buckets, LocalTokenBuckets::size)
+                .description("Rate limit keys tracked in the local buckets of this gateway instance")
+                .register(meterRegistry);
+    }
+
+    @Override
+    public Mono<Response> isAllowed(String routeId, String key) {
+        Config config = loadConfiguration(routeId);
+        // Routes with their own config get their own bucket per key, the others share the default bucket
+        String id = getConfig().containsKey(routeId) ? routeId + ":" + key : key;
+        double available = buckets.available(id, config.getReplenishRate(), config.getBurstCapacity(), System.nanoTime());
+        double afterRequest = available - config.getRequestedTokens();
+        if (afterRequest >= 0 && afterRequest < config.getBurstCapacity() * sync.lowWatermark()) {
+            // Close to the limit: the other replicas may already have used up the global bucket.
+            // A local denial needs no round trip, syncing can only lower the local tokens further.
+            return reconcile(id).then(Mono.fromSupplier(() -> decide(id, config)));
+        }
+        return Mono.just(decide(id, config));
+    }
+
+    private Response decide(String id, Config config) {
+        LocalTokenBuckets.Decision decision = buckets.tryAcquire(id, config.getRequestedTokens(),
+                config.getReplenishRate(), config.getBurstCapacity(), System.nanoTime());
+        if (decision.pending() >= sync.batchSize() || decision.nanosSinceSync() >= sync.interval().toNanos()) {
+            reconcile(id).subscribe();
+        }
+        return new Response(decision.allowed(), headers(config, decision.remaining()));
+    }
+
+    /**
+     * Charges the tokens pending for the key to the global bucket and clamps the local bucket to the result.
+     * Completes empty when another reconciliation for the key is in flight, and never errors.
+     */
+    Mono<Void> reconcile(String id) {
+        long started = System.nanoTime();
+        LocalTokenBuckets.SyncSnapshot snapshot = buckets.beginSync(id, started, sync.interval().toNanos());
+        if (snapshot == null) {
+            return Mono.empty();
+        }
+        List<String> keys = List.of(
+                "skillforge_rate_limiter.{" + id + "}.tokens",
+                "skillforge_rate_limiter.{" + id + "}.timestamp");
+        List<String> args = List.of(
+                Double.toString(snapshot.replenishRate()),
+                Integer.toString(snapshot.burstCapacity()),
+                Long.toString(snapshot.consumed()));
+
+        return redisTemplate.execute(script, keys, args)
+                .next()
+                .timeout(sync.timeout())
+                .switchIfEmpty(Mono.error(new IllegalStateException("Rate limiter script returned no result")))
+                .doOnNext(globalTokens -> {
+                    buckets.completeSync(id, globalTokens, System.nanoTime());
+                    syncSuccesses.increment();
+                })
+                .doOnCancel(() -> buckets.abortSync(id, snapshot, System.nanoTime()))
+                .then()
+                .onErrorResume(e -> {
+                    buckets.abortSync(id, snapshot, System.nanoTime());
+                    syncFailures.increment();
+                    log.debug("Rate limit sync for key {} failed, keeping local decision: {}", id, e.getMessage());
+                    return Mono.empty();
+                });
+    }
+
+    /**
+     * Reconciles keys whose pending tokens are overdue and drops idle buckets.
+     */
+    void sweep() {
+        List<String> stale = buckets.sweep(System.nanoTime(), sync.idleTimeout().toNanos(), sync.interval().toNanos());
+        stale.forEach(key -> reconcile(key).subscribe());
+    }
+
+    @Override
+    public void afterPropertiesSet() {
+        long periodMs = sync.interval().toMillis();
+        sweeper = Schedulers.parallel().schedulePeriodically(this::sweep, periodMs, periodMs, TimeUnit.MILLISECONDS);
+    }
+
+    @Override
+    public void destroy() {
+        if (sweeper != null) {
+            sweeper.dispose();
+        }
+    }
+
+    private Config loadConfiguration(String routeId) {
+        return getConfig().getOrDefault(routeId, defaultConfig);
+    }
+
+    private static Map<String, String> headers(Config config, long remaining) {
+        Map<String, String> headers = new HashMap<>();
+        headers.put(RedisRateLimiter.REMAINING_HEADER, Long.toString(remaining));
+        headers.put(RedisRateLimiter.REPLENISH_RATE_HEADER, Integer.toString(config.getReplenishRate()));
+        headers.put(RedisRateLimiter.BURST_CAPACITY_HEADER, Integer.toString(config.getBurstCapacity()));
+        headers.put(RedisRateLimiter.REQUESTED_TOKENS_HEADER, Integer.toString(config.getRequestedTokens()));
+        return headers;
+    }
+
+    /**
+     * Bucket shape for a route, mirroring {@link RedisRateLimiter.Config}.
+     */
+    public static class Config {
+
+        private int replenishRate;
+        private int burstCapacity = 1;
+        private int requestedTokens = 1;
+
+        public int getReplenishRate() {
+            return replenishRate;
+        }
+
+        public Config setReplenishRate(int replenishRate) {
+            this.replenishRate = replenishRate;
+            return this;
+        }
+
+        public int getBurstCapacity() {
+            return burstCapacity;
+        }
+
+        public Config setBurstCapacity(int burstCapacity) {
+            this.burstCapacity = burstCapacity;
+            return this;
+        }
+
+        public int getRequestedTokens() {
+            return requestedTokens;
+        }
+
+        public Config setRequestedTokens(int requestedTokens) {
+            this.requestedTokens = requestedTokens;
+            return this;
+        }
+    }
+}
@@ -0,0 +1,37 @@
+-- Global token bucket shared by all gateway replicas.
+-- Unlike Spring Cloud Gateway's request_rate_limiter.lua, each call charges the tokens a replica has
+-- already admitted locally since its last sync. The bucket may therefore go into debt (bounded by its
+-- capacity); replicas clamp their local buckets to the returned value and back off until it refills.
+redis.replicate_commands()
+
+local tokens_key = KEYS[1]
+local timestamp_key = KEYS[2]
+
+local rate = tonumber(ARGV[1])
+local capacity = tonumber(ARGV[2])
+local consumed = tonumber(ARGV[3])
+
+local time = redis.call('TIME')
+local now = tonumber(time[1]) + tonumber(time[2]) / 1000000
+
+local fill_time = capacity / rate
+local ttl = math.max(1, math.ceil(fill_time * 2))
+
+local last_tokens = tonumber(redis.call('get', tokens_key))
+if last_tokens == nil then
+  last_tokens = capacity
+end
+
+local last_refreshed = tonumber(redis.call('get', timestamp_key))
+if last_refreshed == nil then
+  last_refreshed = now
+end
+
+local delta = math.max(0, now - last_refreshed)
+local filled_tokens = math.min(capacity, last_tokens + (delta * rate))
+local new_tokens = math.max(-capacity, filled_tokens - consumed)
+
+redis.call('setex', tokens_key, ttl, new_tokens)
+redis.call('setex', timestamp_key, ttl, now)
+
+return math.floor(new_tokens)
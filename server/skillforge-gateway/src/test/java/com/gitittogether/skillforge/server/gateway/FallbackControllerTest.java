@@ -0,0 +1,56 @@
+package com.gitittogether.skillforge.server.gateway;
+
+import com.gitittogether.skillforge.server.gateway.controller.FallbackController;
+import io.github.resilience4j.circuitbreaker.CallNotPermittedException;
+import io.github.resilience4j.circuitbreaker.CircuitBreaker;
+import org.junit.jupiter.api.Test;
+import org.springframework.cloud.gateway.support.ServerWebExchangeUtils;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.test.web.reactive.server.WebTestClient;
+import org.springframework.web.server.WebFilter;
+
+import java.util.concurrent.TimeoutException;
+
+class FallbackControllerTest {
+
+    @Test
+    void shouldFailFastWhenCircuitIsOpen() {
+        // Given
+        CircuitBreaker breaker = CircuitBreaker.ofDefaults("course-service");
+        breaker.transitionToOpenState();
+        WebTestClient client = clientFailingWith(CallNotPermittedException.createCallNotPermittedException(breaker));
+
+        // When / Then
+        client.get().uri("/fallback/course-service")
+                .exchange()
+                .expectStatus().isEqualTo(HttpStatus.SERVICE_UNAVAILABLE)
+                .expectHeader().exists(HttpHeaders.RETRY_AFTER)
+                .expectBody()
+                .jsonPath("$.status").isEqualTo(503)
+                .jsonPath("$.message").isEqualTo("course-service is unavailable, circuit breaker is open");
+    }
+
+    @Test
+    void shouldReturnGatewayTimeoutWhenUpstreamIsTooSlow() {
+        // Given
+        WebTestClient client = clientFailingWith(new TimeoutException("Did not observe any item or terminal signal"));
+
+        // When / Then
+        client.post().uri("/fallback/course-service-genai")
+                .exchange()
+                .expectStatus().isEqualTo(HttpStatus.GATEWAY_TIMEOUT)
+                .expectBody()
+                .jsonPath("$.message").isEqualTo("course-service-genai did not respond in time");
+    }
+
+    private static WebTestClient clientFailingWith(Throwable cause) {
+        WebFilter circuitBreakerFailure = (exchange, chain) -> {
+            exchange.getAttributes().put(ServerWebExchangeUtils.CIRCUITBREAKER_EXECUTION_EXCEPTION_ATTR, cause);
+            return chain.filter(exchange);
+        };
+        return WebTestClient.bindToController(new FallbackController())
+                .webFilter(circuitBreakerFailure)
+                .build();
+    }
+}
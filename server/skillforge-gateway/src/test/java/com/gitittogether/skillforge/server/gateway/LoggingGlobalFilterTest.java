@@ -1,11 +1,22 @@
 package com.gitittogether.skillforge.server.gateway;
 
+import ch.qos.logback.classic.Logger;
+import ch.qos.logback.classic.spi.ILoggingEvent;
+import ch.qos.logback.core.read.ListAppender;
+import com.gitittogether.skillforge.server.gateway.cache.ResponseCacheGatewayFilter;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.slf4j.LoggerFactory;
 import org.springframework.cloud.gateway.filter.GatewayFilterChain;
+import org.springframework.cloud.gateway.filter.NettyWriteResponseFilter;
+import org.springframework.http.HttpStatus;
 import org.springframework.mock.http.server.reactive.MockServerHttpRequest;
 import org.springframework.mock.web.server.MockServerWebExchange;
+import org.springframework.test.util.ReflectionTestUtils;
 import org.springframework.web.server.ServerWebExchange;
 import reactor.core.publisher.Mono;
 import reactor.test.StepVerifier;
@@ -19,6 +30,21 @@ import static org.assertj.core.api.Assertions.assertThat;
 @ExtendWith(MockitoExtension.class)
 class LoggingGlobalFilterTest {
 
+    private final Logger accessLogger = (Logger) LoggerFactory.getLogger(LoggingGlobalFilter.ACCESS_LOGGER_NAME);
+    private final ListAppender<ILoggingEvent> accessLines = new ListAppender<>();
+
+    @BeforeEach
+    void captureAccessLog() {
+        accessLines.start();
+        accessLogger.addAppender(accessLines);
+    }
+
+    @AfterEach
+    void releaseAccessLog() {
+        accessLogger.detachAppender(accessLines);
+        accessLines.stop();
+    }
+
     @Test
     void shouldProcessRequestAndContinueChain() {
         // Given
@@ -39,6 +65,8 @@ class LoggingGlobalFilterTest {
         StepVerifier.create(result)
                 .verifyComplete();
         verify(filterChain).filter(exchange);
+        assertThat(accessLines.list).hasSize(1);
+        assertThat(accessLines.list.get(0).getFormattedMessage()).startsWith("GET /api/v1/courses route=- ");
     }
 
     @Test
@@ -64,14 +92,120 @@ class LoggingGlobalFilterTest {
     }
 
     @Test
-    void shouldReturnCorrectOrder() {
+    void shouldNotLogRequestThatIsNotSampled() {
+        // Given
+        LoggingGlobalFilter filter = new LoggingGlobalFilter();
+        ReflectionTestUtils.setField(filter, "sampleRate", 0.0);
+        GatewayFilterChain filterChain = mock(GatewayFilterChain.class);
+
+        MockServerHttpRequest request = MockServerHttpRequest
+                .get("/api/v1/courses/public")
+                .build();
+        ServerWebExchange exchange = MockServerWebExchange.from(request);
+        when(filterChain.filter(any())).thenAnswer(invocation -> {
+            exchange.getResponse().setStatusCode(HttpStatus.OK);
+            return Mono.empty();
+        });
+
+        // When
+        Mono<Void> result = filter.filter(exchange, filterChain);
+
+        // Then
+        StepVerifier.create(result)
+                .verifyComplete();
+        verify(filterChain).filter(exchange);
+        assertThat(accessLines.list).isEmpty();
+    }
+
+    @Test
+    void shouldLogServerErrorWhenRequestIsNotSampled() {
+        // Given
+        LoggingGlobalFilter filter = new LoggingGlobalFilter();
+        ReflectionTestUtils.setField(filter, "sampleRate", 0.0);
+        GatewayFilterChain filterChain = mock(GatewayFilterChain.class);
+
+        MockServerHttpRequest request = MockServerHttpRequest
+                .get("/api/v1/courses/public")
+                .build();
+        ServerWebExchange exchange = MockServerWebExchange.from(request);
+        when(filterChain.filter(any())).thenAnswer(invocation -> {
+            exchange.getResponse().setStatusCode(HttpStatus.SERVICE_UNAVAILABLE);
+            return Mono.empty();
+        });
+
+        // When
+        StepVerifier.create(filter.filter(exchange, filterChain))
+                .verifyComplete();
+
+        // Then
+        assertThat(accessLines.list).singleElement()
+                .extracting(ILoggingEvent::getFormattedMessage)
+                .asString()
+                .contains("GET /api/v1/courses/public", "status=503");
+    }
+
+    @Test
+    void shouldPropagateDownstreamErrorAndLogIt() {
+        // Given
+        LoggingGlobalFilter filter = new LoggingGlobalFilter();
+        ReflectionTestUtils.setField(filter, "sampleRate", 0.0);
+        GatewayFilterChain filterChain = mock(GatewayFilterChain.class);
+        when(filterChain.filter(any())).thenReturn(Mono.error(new IllegalStateException("upstream down")));
+
+        MockServerHttpRequest request = MockServerHttpRequest
+                .get("/api/v1/courses")
+                .build();
+        ServerWebExchange exchange = MockServerWebExchange.from(request);
+
+        // When
+        Mono<Void> result = filter.filter(exchange, filterChain);
+
+        // Then
+        StepVerifier.create(result)
+                .verifyError(IllegalStateException.class);
+        assertThat(accessLines.list).hasSize(1);
+    }
+
+    @Test
+    void shouldLogResponseAnsweredFromCache() {
+        // Given
+        LoggingGlobalFilter filter = new LoggingGlobalFilter();
+        GatewayFilterChain filterChain = mock(GatewayFilterChain.class);
+
+        MockServerHttpRequest request = MockServerHttpRequest
+                .get("/api/v1/courses/public")
+                .build();
+        ServerWebExchange exchange = MockServerWebExchange.from(request);
+        when(filterChain.filter(any())).thenAnswer(invocation -> {
+            exchange.getResponse().setStatusCode(HttpStatus.OK);
+            exchange.getResponse().getHeaders().set(ResponseCacheGatewayFilter.CACHE_STATUS_HEADER, "HIT");
+            return Mono.empty();
+        });
+
+        // When
+        StepVerifier.create(filter.filter(exchange, filterChain))
+                .verifyComplete();
+
+        // Then
+        assertThat(accessLines.list).singleElement()
+                .extracting(ILoggingEvent::getFormattedMessage)
+                .asString()
+                .contains("GET /api/v1/courses/public", "status=200", "cache=HIT");
+    }
+
+    @Test
+    void shouldRunBetweenRouteMetricsAndResponseCache() {
         // Given
         LoggingGlobalFilter filter = new LoggingGlobalFilter();
+        RouteMetricsGlobalFilter routeMetrics = new RouteMetricsGlobalFilter(new SimpleMeterRegistry());
 
         // When
         int order = filter.getOrder();
 
         // Then
-        assertThat(order).isEqualTo(-1);
+        assertThat(order).isEqualTo(-3);
+        assertThat(routeMetrics.getOrder()).isLessThan(order);
+        assertThat(ResponseCacheGatewayFilter.ORDER).isGreaterThan(order)
+                .isLessThan(NettyWriteResponseFilter.WRITE_RESPONSE_FILTER_ORDER);
     }
-} 
\ No newline at end of file
+}
@@ -0,0 +1,107 @@
+package com.gitittogether.skillforge.server.gateway;
+
+import com.gitittogether.skillforge.server.gateway.config.GatewayConfig;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.cloud.gateway.filter.GatewayFilterChain;
+import org.springframework.cloud.gateway.route.Route;
+import org.springframework.cloud.gateway.support.ServerWebExchangeUtils;
+import org.springframework.http.HttpStatus;
+import org.springframework.mock.http.server.reactive.MockServerHttpRequest;
+import org.springframework.mock.web.server.MockServerWebExchange;
+import org.springframework.web.server.ServerWebExchange;
+import reactor.core.publisher.Mono;
+import reactor.test.StepVerifier;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class RouteMetricsGlobalFilterTest {
+
+    private SimpleMeterRegistry meterRegistry;
+    private RouteMetricsGlobalFilter filter;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        filter = new RouteMetricsGlobalFilter(meterRegistry);
+    }
+
+    @Test
+    void shouldRecordLatencyTaggedByRouteAndUpstream() {
+        // Given
+        ServerWebExchange exchange = exchangeFor("/api/v1/courses/public/123", "course-service-public");
+        GatewayFilterChain chain = respondingWith(HttpStatus.OK);
+
+        // When
+        StepVerifier.create(filter.filter(exchange, chain)).verifyComplete();
+
+        // Then
+        Timer timer = meterRegistry.find(RouteMetricsGlobalFilter.LATENCY_METRIC)
+                .tag("route", "course-service-public")
+                .tag("upstream", "course-service")
+                .tag("status", "2xx")
+                .tag("rate_limit", "none")
+                .timer();
+        assertThat(timer).isNotNull();
+        assertThat(timer.count()).isEqualTo(1);
+    }
+
+    @Test
+    void shouldCountRateLimitedRequests() {
+        // Given
+        ServerWebExchange exchange = exchangeFor("/api/v1/users/login", "user-service-auth");
+        GatewayFilterChain chain = respondingWith(HttpStatus.TOO_MANY_REQUESTS);
+
+        // When
+        StepVerifier.create(filter.filter(exchange, chain)).verifyComplete();
+
+        // Then
+        Counter counter = meterRegistry.find(RouteMetricsGlobalFilter.RATE_LIMIT_REJECTIONS_METRIC)
+                .tag("route", "user-service-auth")
+                .counter();
+        assertThat(counter).isNotNull();
+        assertThat(counter.count()).isEqualTo(1.0);
+        assertThat(meterRegistry.find(RouteMetricsGlobalFilter.LATENCY_METRIC)
+                .tag("status", "4xx")
+                .tag("rate_limit", "limited")
+                .timer()).isNotNull();
+    }
+
+    @Test
+    void shouldTagUnmatchedRequestsWithoutUsingThePath() {
+        // Given
+        ServerWebExchange exchange = MockServerWebExchange.from(MockServerHttpRequest.get("/random/123").build());
+        GatewayFilterChain chain = respondingWith(HttpStatus.NOT_FOUND);
+
+        // When
+        StepVerifier.create(filter.filter(exchange, chain)).verifyComplete();
+
+        // Then
+        Timer timer = meterRegistry.find(RouteMetricsGlobalFilter.LATENCY_METRIC).timer();
+        assertThat(timer).isNotNull();
+        assertThat(timer.getId().getTag("route")).isEqualTo("unmatched");
+        assertThat(timer.getId().getTag("upstream")).isEqualTo("unmatched");
+    }
+
+    private ServerWebExchange exchangeFor(String path, String routeId) {
+        ServerWebExchange exchange = MockServerWebExchange.from(MockServerHttpRequest.get(path).build());
+        Route route = Route.async()
+                .id(routeId)
+                .uri("http://localhost:8083")
+                .predicate(swe -> true)
+                .metadata(GatewayConfig.UPSTREAM_METADATA_KEY, routeId.startsWith("course") ? "course-service" : "user-service")
+                .build();
+        exchange.getAttributes().put(ServerWebExchangeUtils.GATEWAY_ROUTE_ATTR, route);
+        return exchange;
+    }
+
+    private GatewayFilterChain respondingWith(HttpStatus status) {
+        return exchange -> {
+            exchange.getResponse().setStatusCode(status);
+            return Mono.empty();
+        };
+    }
+}
@@ -1,11 +1,19 @@
 package com.gitittogether.skillforge.server.gateway;
 
+import io.github.resilience4j.circuitbreaker.CircuitBreaker;
+import io.micrometer.core.instrument.MeterRegistry;
 import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.context.SpringBootTest;
 import org.springframework.boot.test.web.server.LocalServerPort;
+import org.springframework.cloud.circuitbreaker.resilience4j.ReactiveResilience4JCircuitBreakerFactory;
+import org.springframework.cloud.circuitbreaker.resilience4j.ReactiveResilience4jBulkheadProvider;
 import org.springframework.test.context.ActiveProfiles;
 import org.springframework.web.client.HttpServerErrorException;
 import org.springframework.web.client.RestTemplate;
+import reactor.core.publisher.Mono;
+import reactor.netty.http.client.HttpClient;
+import reactor.test.StepVerifier;
 
 import static org.assertj.core.api.Assertions.assertThat;
 
@@ -15,6 +23,18 @@ class SkillForgeApiGatewayApplicationTests {
     @LocalServerPort
     private int port;
 
+    @Autowired
+    private ReactiveResilience4JCircuitBreakerFactory circuitBreakerFactory;
+
+    @Autowired
+    private ReactiveResilience4jBulkheadProvider bulkheadProvider;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Autowired
+    private HttpClient gatewayHttpClient;
+
     @Test
     void contextLoads() {
         // Context load test
@@ -33,4 +53,30 @@ class SkillForgeApiGatewayApplicationTests {
             assertThat(response).containsAnyOf("UP", "DOWN");
         }
     }
+
+    @Test
+    void upstreamCircuitBreakersAndBulkheadsAreConfiguredAndExported() {
+        // When
+        StepVerifier.create(circuitBreakerFactory.create("course-service-genai").run(Mono.just("ok")))
+                .expectNext("ok")
+                .verifyComplete();
+
+        // Then
+        CircuitBreaker breaker = circuitBreakerFactory.getCircuitBreakerRegistry().circuitBreaker("course-service-genai");
+        assertThat(breaker.getCircuitBreakerConfig().getFailureRateThreshold()).isEqualTo(50f);
+        assertThat(bulkheadProvider.getBulkheadRegistry().bulkhead("course-service-genai")
+                .getBulkheadConfig().getMaxConcurrentCalls()).isEqualTo(20);
+        assertThat(meterRegistry.find("resilience4j.circuitbreaker.state").tag("name", "course-service-genai").gauges())
+                .isNotEmpty();
+    }
+
+    @Test
+    void gatewayHttpClientUsesBoundedUpstreamPools() {
+        // When
+        var connectionProvider = gatewayHttpClient.configuration().connectionProvider();
+
+        // Then
+        assertThat(connectionProvider.name()).isEqualTo("gateway-upstreams");
+        assertThat(connectionProvider.maxConnections()).isEqualTo(500);
+    }
 }
@@ -0,0 +1,228 @@
+package com.gitittogether.skillforge.server.gateway.cache;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.cloud.gateway.filter.GatewayFilterChain;
+import org.springframework.core.io.buffer.DefaultDataBufferFactory;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.server.reactive.ServerHttpResponse;
+import org.springframework.mock.http.server.reactive.MockServerHttpRequest;
+import org.springframework.mock.web.server.MockServerWebExchange;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class ResponseCacheGatewayFilterTest {
+
+    private static final String PATH = "/api/v1/courses/public";
+    private static final String BODY = "[{\"id\":\"c1\"}]";
+
+    private MutableClock clock;
+    private SimpleMeterRegistry meterRegistry;
+    private ResponseCacheGatewayFilter filter;
+    private AtomicInteger upstreamCalls;
+
+    @BeforeEach
+    void setUp() {
+        clock = new MutableClock();
+        meterRegistry = new SimpleMeterRegistry();
+        filter = new ResponseCacheGatewayFilter(new ResponseCacheGatewayFilter.Settings(
+                true, 100, 1024 * 1024, 64 * 1024, Duration.ZERO, Duration.ofSeconds(5)), meterRegistry, clock);
+        upstreamCalls = new AtomicInteger();
+    }
+
+    @Test
+    void shouldServeRepeatedRequestsFromCache() {
+        // Given
+        GatewayFilterChain upstream = respond("public, max-age=60", null, Duration.ZERO);
+        MockServerWebExchange first = get(PATH);
+        MockServerWebExchange second = get(PATH);
+
+        // When
+        filter.filter(first, upstream).block();
+        filter.filter(second, upstream).block();
+
+        // Then
+        assertThat(upstreamCalls).hasValue(1);
+        assertThat(second.getResponse().getStatusCode()).isEqualTo(HttpStatus.OK);
+        assertThat(second.getResponse().getHeaders().getFirst(ResponseCacheGatewayFilter.CACHE_STATUS_HEADER)).isEqualTo("HIT");
+        assertThat(second.getResponse().getBodyAsString().block()).isEqualTo(BODY);
+        assertThat(meterRegistry.get(ResponseCacheGatewayFilter.REQUESTS_METRIC).tag("result", "hit").counter().count())
+                .isEqualTo(1.0);
+    }
+
+    @Test
+    void shouldCoalesceConcurrentMissesIntoOneUpstreamCall() {
+        // Given
+        GatewayFilterChain slowUpstream = respond("public, max-age=60", null, Duration.ofMillis(200));
+        List<MockServerWebExchange> exchanges = List.of(get(PATH), get(PATH), get(PATH), get(PATH), get(PATH));
+
+        // When
+        Flux.fromIterable(exchanges)
+                .flatMap(exchange -> filter.filter(exchange, slowUpstream))
+                .blockLast();
+
+        // Then
+        assertThat(upstreamCalls).hasValue(1);
+        assertThat(exchanges).allSatisfy(exchange ->
+                assertThat(exchange.getResponse().getBodyAsString().block()).isEqualTo(BODY));
+        assertThat(meterRegistry.get(ResponseCacheGatewayFilter.REQUESTS_METRIC).tag("result", "coalesced").counter().count())
+                .isEqualTo(4.0);
+    }
+
+    @Test
+    void shouldNotStoreResponsesMarkedNoStore() {
+        // Given
+        GatewayFilterChain upstream = respond("no-cache, no-store, max-age=0, must-revalidate", "\"v1\"", Duration.ZERO);
+
+        // When
+        filter.filter(get(PATH), upstream).block();
+        filter.filter(get(PATH), upstream).block();
+
+        // Then
+        assertThat(upstreamCalls).hasValue(2);
+    }
+
+    @Test
+    void shouldKeepQueryAndMediaTypeVariantsApart() {
+        // Given
+        GatewayFilterChain upstream = respond("public, max-age=60", null, Duration.ZERO);
+
+        // When
+        filter.filter(get(PATH + "?page=1"), upstream).block();
+        filter.filter(get(PATH + "?page=2"), upstream).block();
+        filter.filter(MockServerWebExchange.from(MockServerHttpRequest.get(PATH + "?page=1")
+                .header(HttpHeaders.ACCEPT, "application/cbor")), upstream).block();
+
+        // Then
+        assertThat(upstreamCalls).hasValue(3);
+    }
+
+    @Test
+    void shouldShareEntryAcrossEncodings() {
+        // Given
+        GatewayFilterChain upstream = respond("public, max-age=60", null, Duration.ZERO);
+
+        // When
+        filter.filter(MockServerWebExchange.from(MockServerHttpRequest.get(PATH)
+                .header(HttpHeaders.ACCEPT_ENCODING, "gzip")), upstream).block();
+        MockServerWebExchange brotli = MockServerWebExchange.from(MockServerHttpRequest.get(PATH)
+                .header(HttpHeaders.ACCEPT_ENCODING, "br, gzip"));
+        filter.filter(brotli, upstream).block();
+
+        // Then
+        assertThat(upstreamCalls).hasValue(1);
+        assertThat(brotli.getResponse().getHeaders().getFirst(ResponseCacheGatewayFilter.CACHE_STATUS_HEADER))
+                .isEqualTo("HIT");
+    }
+
+    @Test
+    void shouldRevalidateStaleEntryWithEtag() {
+        // Given
+        AtomicReference<String> ifNoneMatch = new AtomicReference<>();
+        GatewayFilterChain upstream = exchange -> {
+            upstreamCalls.incrementAndGet();
+            ifNoneMatch.set(exchange.getRequest().getHeaders().getFirst(HttpHeaders.IF_NONE_MATCH));
+            ServerHttpResponse response = exchange.getResponse();
+            response.getHeaders().setCacheControl("public, max-age=10");
+            response.getHeaders().setETag("\"v1\"");
+            if ("\"v1\"".equals(ifNoneMatch.get())) {
+                response.setStatusCode(HttpStatus.NOT_MODIFIED);
+                return response.writeWith(Flux.empty());
+            }
+            response.setStatusCode(HttpStatus.OK);
+            return write(response);
+        };
+        filter.filter(get(PATH), upstream).block();
+        clock.advance(Duration.ofSeconds(11));
+        MockServerWebExchange stale = get(PATH);
+
+        // When
+        filter.filter(stale, upstream).block();
+
+        // Then
+        assertThat(upstreamCalls).hasValue(2);
+        assertThat(ifNoneMatch).hasValue("\"v1\"");
+        assertThat(stale.getResponse().getStatusCode()).isEqualTo(HttpStatus.OK);
+        assertThat(stale.getResponse().getHeaders().getFirst(ResponseCacheGatewayFilter.CACHE_STATUS_HEADER))
+                .isEqualTo("REVALIDATED");
+        assertThat(stale.getResponse().getBodyAsString().block()).isEqualTo(BODY);
+    }
+
+    @Test
+    void shouldAnswerConditionalRequestFromCache() {
+        // Given
+        GatewayFilterChain upstream = respond("public, max-age=60", "\"v1\"", Duration.ZERO);
+        filter.filter(get(PATH), upstream).block();
+        MockServerWebExchange conditional = MockServerWebExchange.from(MockServerHttpRequest.get(PATH)
+                .header(HttpHeaders.IF_NONE_MATCH, "\"v1\""));
+
+        // When
+        filter.filter(conditional, upstream).block();
+
+        // Then
+        assertThat(upstreamCalls).hasValue(1);
+        assertThat(conditional.getResponse().getStatusCode()).isEqualTo(HttpStatus.NOT_MODIFIED);
+    }
+
+    private GatewayFilterChain respond(String cacheControl, String etag, Duration latency) {
+        return exchange -> Mono.delay(latency).then(Mono.defer(() -> {
+            upstreamCalls.incrementAndGet();
+            ServerHttpResponse response = exchange.getResponse();
+            response.setStatusCode(HttpStatus.OK);
+            response.getHeaders().setCacheControl(cacheControl);
+            response.getHeaders().add("X-RateLimit-Remaining", "9");
+            if (etag != null) {
+                response.getHeaders().setETag(etag);
+            }
+            return write(response);
+        }));
+    }
+
+    private static Mono<Void> write(ServerHttpResponse response) {
+        byte[] bytes = BODY.getBytes(StandardCharsets.UTF_8);
+        response.getHeaders().setContentLength(bytes.length);
+        return response.writeWith(Mono.just(DefaultDataBufferFactory.sharedInstance.wrap(bytes)));
+    }
+
+    private static MockServerWebExchange get(String uri) {
+        return MockServerWebExchange.from(MockServerHttpRequest.get(uri));
+    }
+
+    private static final class MutableClock extends Clock {
+
+        private Instant now = Instant.parse("2025-01-01T00:00:00Z");
+
+        void advance(Duration duration) {
+            now = now.plus(duration);
+        }
+
+        @Override
+        public ZoneId getZone() {
+            return ZoneOffset.UTC;
+        }
+
+        @Override
+        public Clock withZone(ZoneId zone) {
+            return this;
+        }
+
+        @Override
+        public Instant instant() {
+            return now;
+        }
+    }
+}
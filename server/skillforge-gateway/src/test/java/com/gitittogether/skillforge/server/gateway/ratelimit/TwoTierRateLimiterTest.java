@@ -0,0 +1,146 @@
+package com.gitittogether.skillforge.server.gateway.ratelimit;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.springframework.cloud.gateway.filter.ratelimit.RateLimiter;
+import org.springframework.cloud.gateway.support.ConfigurationService;
+import org.springframework.data.redis.core.ReactiveRedisTemplate;
+import org.springframework.data.redis.core.script.RedisScript;
+import reactor.core.publisher.Flux;
+
+import java.time.Duration;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class TwoTierRateLimiterTest {
+
+    private static final String ROUTE = "course-service-public";
+    private static final String KEY = "ip:127.0.0.1";
+
+    private ReactiveRedisTemplate<String, String> redisTemplate;
+    private SimpleMeterRegistry meterRegistry;
+
+    @BeforeEach
+    @SuppressWarnings("unchecked")
+    void setUp() {
+        redisTemplate = mock(ReactiveRedisTemplate.class);
+        meterRegistry = new SimpleMeterRegistry();
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void shouldAdmitBurstLocallyWithoutCallingRedis() {
+        // Given
+        TwoTierRateLimiter limiter = limiter(10, 0.0, 100);
+
+        // When
+        List<Boolean> outcomes = acquire(limiter, 11);
+
+        // Then
+        assertThat(outcomes.subList(0, 10)).containsOnly(true);
+        assertThat(outcomes.get(10)).isFalse();
+        verify(redisTemplate, never()).execute(any(RedisScript.class), anyList(), anyList());
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void shouldSyncBeforeDecidingWhenCloseToTheLimit() {
+        // Given
+        TwoTierRateLimiter limiter = limiter(10, 0.5, 100);
+        when(redisTemplate.execute(any(RedisScript.class), anyList(), anyList())).thenReturn(Flux.just(0L));
+
+        // When
+        List<Boolean> outcomes = acquire(limiter, 6);
+
+        // Then
+        assertThat(outcomes.subList(0, 5)).containsOnly(true);
+        assertThat(outcomes.get(5)).as("global bucket is exhausted by other replicas").isFalse();
+        ArgumentCaptor<List<String>> args = ArgumentCaptor.forClass(List.class);
+        verify(redisTemplate).execute(any(RedisScript.class), anyList(), args.capture());
+        assertThat(args.getValue()).containsExactly("1.0", "10", "5");
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void shouldChargePendingTokensInBatches() {
+        // Given
+        TwoTierRateLimiter limiter = limiter(10, 0.0, 3);
+        when(redisTemplate.execute(any(RedisScript.class), anyList(), anyList())).thenReturn(Flux.just(7L));
+
+        // When
+        List<Boolean> outcomes = acquire(limiter, 3);
+
+        // Then
+        assertThat(outcomes).containsOnly(true);
+        ArgumentCaptor<List<String>> args = ArgumentCaptor.forClass(List.class);
+        verify(redisTemplate).execute(any(RedisScript.class), anyList(), args.capture());
+        assertThat(args.getValue()).containsExactly("1.0", "10", "3");
+        assertThat(meterRegistry.find(TwoTierRateLimiter.SYNC_METRIC).tag("outcome", "success").counter().count())
+                .isEqualTo(1.0);
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void shouldKeepLocalDecisionWhenRedisIsUnavailable() {
+        // Given
+        TwoTierRateLimiter limiter = limiter(10, 0.5, 100);
+        when(redisTemplate.execute(any(RedisScript.class), anyList(), anyList()))
+                .thenReturn(Flux.error(new IllegalStateException("Connection refused")));
+
+        // When
+        List<Boolean> outcomes = acquire(limiter, 10);
+
+        // Then
+        assertThat(outcomes).containsOnly(true);
+        assertThat(meterRegistry.find(TwoTierRateLimiter.SYNC_METRIC).tag("outcome", "failure").counter().count())
+                .isEqualTo(1.0);
+    }
+
+    @Test
+    void shouldChargeRoutePolicyCostFromSeparateBucket() {
+        // Given
+        TwoTierRateLimiter limiter = limiter(10, 0.0, 100);
+        limiter.getConfig().put("course-service-genai", new TwoTierRateLimiter.Config()
+                .setReplenishRate(1)
+                .setBurstCapacity(10)
+                .setRequestedTokens(5));
+
+        // When
+        List<Boolean> genai = Flux.range(0, 3)
+                .concatMap(i -> limiter.isAllowed("course-service-genai", KEY))
+                .map(RateLimiter.Response::isAllowed)
+                .collectList()
+                .block();
+        List<Boolean> catalog = acquire(limiter, 10);
+
+        // Then
+        assertThat(genai).containsExactly(true, true, false);
+        assertThat(catalog).as("default bucket is not drained by the GenAI route").containsOnly(true);
+    }
+
+    private TwoTierRateLimiter limiter(int burstCapacity, double lowWatermark, long batchSize) {
+        TwoTierRateLimiter.Config config = new TwoTierRateLimiter.Config()
+                .setReplenishRate(1)
+                .setBurstCapacity(burstCapacity);
+        TwoTierRateLimiter.SyncSettings sync = new TwoTierRateLimiter.SyncSettings(
+                Duration.ofHours(1), batchSize, lowWatermark, Duration.ofSeconds(1), Duration.ofMinutes(5));
+        return new TwoTierRateLimiter(redisTemplate, mock(ConfigurationService.class), meterRegistry, config, sync);
+    }
+
+    private static List<Boolean> acquire(TwoTierRateLimiter limiter, int requests) {
+        return Flux.range(0, requests)
+                .concatMap(i -> limiter.isAllowed(ROUTE, KEY))
+                .map(RateLimiter.Response::isAllowed)
+                .collectList()
+                .block();
+    }
+}
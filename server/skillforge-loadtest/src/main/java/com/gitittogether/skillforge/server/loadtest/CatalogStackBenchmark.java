@@ -0,0 +1,124 @@
+package com.gitittogether.skillforge.server.loadtest;
+
+import com.gitittogether.skillforge.server.loadtest.catalog.CatalogLoader;
+import com.gitittogether.skillforge.server.loadtest.catalog.SyntheticCatalog;
+import com.gitittogether.skillforge.server.loadtest.driver.ConnectionDriver;
+import com.gitittogether.skillforge.server.loadtest.driver.EndpointStats;
+import com.gitittogether.skillforge.server.loadtest.driver.LoadResult;
+import com.gitittogether.skillforge.server.loadtest.standin.LatencyProxy;
+import com.gitittogether.skillforge.server.loadtest.standin.MongoStandIn;
+import com.mongodb.ConnectionString;
+import com.mongodb.client.MongoClient;
+import com.mongodb.client.MongoClients;
+import lombok.extern.slf4j.Slf4j;
+import org.HdrHistogram.Histogram;
+import org.springframework.boot.convert.DurationStyle;
+import org.springframework.data.mongodb.core.MongoTemplate;
+
+import java.net.URI;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+
+/**
+ * Compares how many concurrent connections the course service's public catalog takes on the servlet stack
+ * ({@code /public}, a Tomcat thread per request for the whole Mongo round trip) and on the reactive read path
+ * ({@code /public/stream}, reactive driver, thread released while waiting).
+ * <p>
+ * Only the course service runs, against MongoDB behind a {@link LatencyProxy} that adds {@code mongoLatency} to
+ * every command, so a request spends most of its time waiting as it would with a remote database. For each
+ * connection count in {@code stackConnections} both endpoints are driven in turn while a probe measures
+ * {@code /actuator/info}, which needs no database: once the Tomcat threads are all waiting for Mongo, the probe
+ * queues behind them.
+ */
+@Slf4j
+public class CatalogStackBenchmark {
+
+    private static final String DATABASE = "skillforge";
+    private static final String ROW = "%-10s %11s %9s %9s %9s %7s %14s%n";
+    private static final Map<String, String> STACKS = Map.of(
+            "servlet", "/api/v1/courses/public",
+            "reactive", "/api/v1/courses/public/stream");
+
+    public static void main(String[] args) throws Exception {
+        LoadTestSettings settings = LoadTestSettings.fromSystemProperties();
+        List<Integer> connectionCounts = Arrays.stream(LoadTestSettings.property("stackConnections", "50,200,800").split(","))
+                .map(String::trim)
+                .map(Integer::parseInt)
+                .toList();
+        Duration mongoLatency = DurationStyle.detectAndParse(LoadTestSettings.property("mongoLatency", "10ms"));
+        MongoStandIn mongoStandIn = settings.mongoUri() == null ? new MongoStandIn() : null;
+        ServiceProcesses services = new ServiceProcesses(settings.outputDir().resolve("logs"));
+        LatencyProxy proxy = null;
+        try {
+            ConnectionString connectionString = new ConnectionString(mongoStandIn != null ? mongoStandIn.uri(DATABASE) : settings.mongoUri());
+            String database = connectionString.getDatabase() != null ? connectionString.getDatabase() : DATABASE;
+            if (!settings.skipCatalog()) {
+                try (MongoClient client = MongoClients.create(connectionString)) {
+                    new CatalogLoader(new MongoTemplate(client, database), 4).load(new SyntheticCatalog(settings.catalog()));
+                }
+            }
+            String[] mongoHost = connectionString.getHosts().getFirst().split(":");
+            proxy = new LatencyProxy(mongoHost[0], mongoHost.length > 1 ? Integer.parseInt(mongoHost[1]) : 27017, mongoLatency);
+
+            int coursePort = ServiceProcesses.freePort();
+            Map<String, String> environment = new HashMap<>();
+            environment.put("SPRING_PROFILE_ACTIVES", "docker");
+            environment.put("JWT_SECRET", settings.jwtSecret());
+            // Direct connection, the proxy address is not the one the server reports
+            environment.put("MONGO_URL", "mongodb://" + proxy.host() + ":" + proxy.port() + "/" + database + "?directConnection=true");
+            environment.put("MONGODB_DATABASE", database);
+            environment.put("SERVER_PORT_COURSES", String.valueOf(coursePort));
+            environment.put("SERVER_TOMCAT_THREADS_MAX", LoadTestSettings.property("tomcatThreads", "200"));
+            environment.put("MONGO_POOL_MAX_SIZE", LoadTestSettings.property("mongoPoolSize", "100"));
+            services.start("course-service", settings.courseJar(), coursePort, "/api/v1/courses/health", environment);
+
+            String baseUrl = "http://localhost:" + coursePort;
+            StringBuilder comparison = new StringBuilder(String.format(Locale.ROOT,
+                    "Mongo latency %s per command, %ss measured per step%n", mongoLatency, settings.duration().toSeconds()));
+            comparison.append(String.format(Locale.ROOT, ROW, "stack", "connections", "req/s", "p50 ms", "p99 ms", "errors", "probe p99 ms"));
+            for (int connections : connectionCounts) {
+                for (String stack : List.of("servlet", "reactive")) {
+                    ConnectionDriver driver = new ConnectionDriver(URI.create(baseUrl + STACKS.get(stack)),
+                            URI.create(baseUrl + "/actuator/info"), connections);
+                    LoadResult result = driver.run(stack, settings.warmup(), settings.duration());
+                    result.write(settings.outputDir().resolve("stacks").resolve(stack + "-" + connections));
+                    comparison.append(row(stack, connections, result, settings.duration()));
+                }
+            }
+            Files.createDirectories(settings.outputDir());
+            Path report = settings.outputDir().resolve("stack-comparison.txt");
+            Files.writeString(report, comparison);
+            log.info("Stack benchmark finished, results in {}\n{}", report, comparison);
+        } finally {
+            services.close();
+            if (proxy != null) {
+                proxy.close();
+            }
+            if (mongoStandIn != null) {
+                mongoStandIn.close();
+            }
+        }
+    }
+
+    private static String row(String stack, int connections, LoadResult result, Duration measured) {
+        EndpointStats target = result.endpoints().get(0);
+        Histogram latencies = target.latencies();
+        Histogram probe = result.endpoints().get(1).latencies();
+        return String.format(Locale.ROOT, ROW, stack, connections,
+                String.format(Locale.ROOT, "%.1f", target.requests() / Math.max(measured.toMillis() / 1000.0, 0.001)),
+                millis(latencies.getValueAtPercentile(50)),
+                millis(latencies.getValueAtPercentile(99)),
+                target.errors(),
+                probe.getTotalCount() == 0 ? "-" : millis(probe.getValueAtPercentile(99)));
+    }
+
+    private static String millis(long micros) {
+        return String.format(Locale.ROOT, "%.1f", micros / 1000.0);
+    }
+}
@@ -0,0 +1,119 @@
+package com.gitittogether.skillforge.server.loadtest;
+
+import com.gitittogether.skillForge.server.course.stub.StubGenAiServer;
+import com.gitittogether.skillforge.server.loadtest.catalog.CatalogLoader;
+import com.gitittogether.skillforge.server.loadtest.catalog.SyntheticCatalog;
+import com.gitittogether.skillforge.server.loadtest.driver.LoadDriver;
+import com.gitittogether.skillforge.server.loadtest.driver.LoadResult;
+import com.gitittogether.skillforge.server.loadtest.driver.Scenario;
+import com.gitittogether.skillforge.server.loadtest.standin.MongoStandIn;
+import com.gitittogether.skillforge.server.loadtest.standin.RedisStandIn;
+import com.mongodb.ConnectionString;
+import com.mongodb.client.MongoClient;
+import com.mongodb.client.MongoClients;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.data.mongodb.core.MongoTemplate;
+
+import java.net.URI;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * End-to-end load test: starts the stand-ins that are not replaced by real instances, loads the synthetic
+ * catalog, starts user service, course service and gateway as child processes and drives the gateway.
+ * <p>
+ * Rate limits are raised far above the offered load so that the run measures the services, not the limiter.
+ */
+@Slf4j
+public class LoadTestApplication {
+
+    private static final String DATABASE = "skillforge";
+
+    public static void main(String[] args) throws Exception {
+        LoadTestSettings settings = LoadTestSettings.fromSystemProperties();
+        SyntheticCatalog catalog = new SyntheticCatalog(settings.catalog());
+        MongoStandIn mongoStandIn = settings.mongoUri() == null ? new MongoStandIn() : null;
+        RedisStandIn redisStandIn = settings.redisUrl() == null ? new RedisStandIn() : null;
+        StubGenAiServer genAiStandIn = settings.genaiUrl() == null ? StubGenAiServer.builder()
+                .latency(settings.genaiLatency())
+                .errorRate(settings.genaiErrorRate())
+                .courseSize(settings.catalog().modulesPerCourse(), settings.catalog().lessonsPerModule(), settings.catalog().lessonLength())
+                .start() : null;
+        ServiceProcesses services = new ServiceProcesses(settings.outputDir().resolve("logs"));
+        try {
+            String mongoUri = mongoStandIn != null ? mongoStandIn.uri(DATABASE) : settings.mongoUri();
+            URI redis = URI.create(redisStandIn != null ? "redis://" + redisStandIn.host() + ":" + redisStandIn.port() : settings.redisUrl());
+            URI genai = URI.create(genAiStandIn != null ? genAiStandIn.url() : settings.genaiUrl());
+
+            ConnectionString connectionString = new ConnectionString(mongoUri);
+            String database = connectionString.getDatabase() != null ? connectionString.getDatabase() : DATABASE;
+            if (!settings.skipCatalog()) {
+                try (MongoClient client = MongoClients.create(connectionString)) {
+                    new CatalogLoader(new MongoTemplate(client, database), 4).load(catalog);
+                }
+            }
+
+            int userPort = ServiceProcesses.freePort();
+            int coursePort = ServiceProcesses.freePort();
+            int gatewayPort = ServiceProcesses.freePort();
+            Map<String, String> environment = new HashMap<>();
+            environment.put("SPRING_PROFILE_ACTIVES", "docker");
+            environment.put("JWT_SECRET", settings.jwtSecret());
+            environment.put("MONGO_URL", mongoUri);
+            environment.put("MONGODB_DATABASE", database);
+            environment.put("SERVER_HOST_USER", "localhost");
+            environment.put("SERVER_PORT_USER", String.valueOf(userPort));
+            environment.put("SERVER_HOST_COURSE", "localhost");
+            environment.put("SERVER_PORT_COURSE", String.valueOf(coursePort));
+            environment.put("SERVER_PORT_COURSES", String.valueOf(coursePort));
+            environment.put("SERVER_HOST_GATEWAY", "localhost");
+            environment.put("SERVER_PORT_GATEWAY", String.valueOf(gatewayPort));
+            environment.put("SERVER_HOST_GENAI", genai.getHost());
+            environment.put("SERVER_PORT_GENAI", String.valueOf(genai.getPort()));
+            environment.put("REDIS_HOST", redis.getHost());
+            environment.put("REDIS_PORT", String.valueOf(redis.getPort()));
+            environment.putAll(unlimitedRateLimits());
+            if (redisStandIn != null) {
+                // The stand-in's INFO reply lacks redis_version, which the health indicator requires
+                environment.put("MANAGEMENT_HEALTH_REDIS_ENABLED", "false");
+            }
+
+            services.start("user-service", settings.userJar(), userPort, "/api/v1/users/health", environment);
+            services.start("course-service", settings.courseJar(), coursePort, "/api/v1/courses/health", environment);
+            services.start("gateway", settings.gatewayJar(), gatewayPort, "/actuator/health", environment);
+
+            LoadDriver driver = new LoadDriver("http://localhost:" + gatewayPort, settings.catalog(),
+                    Scenario.withWeights(Scenario.defaultMix(settings.catalog()), LoadTestSettings.property("weights", null)),
+                    settings.concurrency());
+            LoadResult result = driver.run(settings.warmup(), settings.duration());
+            result.write(settings.outputDir());
+            log.info("Load test finished, histograms in {}\n{}", settings.outputDir(), result.summary());
+        } finally {
+            services.close();
+            if (genAiStandIn != null) {
+                genAiStandIn.close();
+            }
+            if (redisStandIn != null) {
+                redisStandIn.close();
+            }
+            if (mongoStandIn != null) {
+                mongoStandIn.close();
+            }
+        }
+    }
+
+    private static Map<String, String> unlimitedRateLimits() {
+        String high = "1000000";
+        return Map.of(
+                "RATE_LIMIT_REQUESTS_PER_MINUTE", high,
+                "RATE_LIMIT_REQUESTS_PER_SECOND", high,
+                "RATE_LIMIT_BURST", high,
+                "RATE_LIMIT_AUTH_REPLENISH_RATE", high,
+                "RATE_LIMIT_AUTH_BURST", high,
+                "RATE_LIMIT_CATALOG_REPLENISH_RATE", high,
+                "RATE_LIMIT_CATALOG_BURST", high,
+                "RATE_LIMIT_GENAI_REPLENISH_RATE", high,
+                "RATE_LIMIT_GENAI_BURST", high,
+                "RATE_LIMIT_GENAI_COST", "1");
+    }
+}
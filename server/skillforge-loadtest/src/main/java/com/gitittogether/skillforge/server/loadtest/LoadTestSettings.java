@@ -0,0 +1,76 @@
+package com.gitittogether.skillforge.server.loadtest;
+
+import com.gitittogether.skillForge.server.course.stub.LatencyDistribution;
+import com.gitittogether.skillforge.server.loadtest.catalog.CatalogPlan;
+import org.springframework.boot.convert.DurationStyle;
+
+import java.nio.file.Path;
+import java.time.Duration;
+
+/**
+ * Settings of a load test run, read from {@code loadtest.*} system properties. The Gradle tasks fill them from
+ * {@code -PloadtestXyz=value} project properties, e.g. {@code -PloadtestCourses=100000}.
+ * <p>
+ * MongoDB, Redis and GenAI run as in-process stand-ins unless {@code mongoUri}, {@code redisUrl} or
+ * {@code genaiUrl} point to real instances. The in-memory MongoDB holds everything on the heap of this JVM, so
+ * catalogs beyond a few ten thousand courses should go to a real MongoDB. The GenAI stand-in answers after
+ * {@code genaiLatency}, see {@link LatencyDistribution#parse}, and fails {@code genaiErrorRate} of the calls.
+ */
+public record LoadTestSettings(
+        CatalogPlan catalog,
+        boolean skipCatalog,
+        int concurrency,
+        Duration warmup,
+        Duration duration,
+        String mongoUri,
+        String redisUrl,
+        String genaiUrl,
+        LatencyDistribution genaiLatency,
+        double genaiErrorRate,
+        String jwtSecret,
+        Path userJar,
+        Path courseJar,
+        Path gatewayJar,
+        Path outputDir) {
+
+    public static final String PASSWORD = "LoadTest-Password1";
+
+    public static LoadTestSettings fromSystemProperties() {
+        return new LoadTestSettings(
+                catalogFromSystemProperties(),
+                Boolean.parseBoolean(property("skipCatalog", "false")),
+                Integer.parseInt(property("concurrency", "32")),
+                DurationStyle.detectAndParse(property("warmup", "15s")),
+                DurationStyle.detectAndParse(property("duration", "60s")),
+                property("mongoUri", null),
+                property("redisUrl", null),
+                property("genaiUrl", null),
+                LatencyDistribution.parse(property("genaiLatency", "lognormal:2s:8s")),
+                Double.parseDouble(property("genaiErrorRate", "0")),
+                property("jwtSecret", "loadtest-secret-key-that-is-long-enough-for-hs256"),
+                path("userJar"),
+                path("courseJar"),
+                path("gatewayJar"),
+                Path.of(property("outputDir", "build/loadtest")));
+    }
+
+    public static CatalogPlan catalogFromSystemProperties() {
+        return new CatalogPlan(
+                Integer.parseInt(property("courses", "2000")),
+                Integer.parseInt(property("modules", "8")),
+                Integer.parseInt(property("lessons", "6")),
+                Integer.parseInt(property("lessonLength", "1500")),
+                Integer.parseInt(property("enrolled", "25")),
+                Integer.parseInt(property("users", "10000")));
+    }
+
+    public static String property(String name, String defaultValue) {
+        String value = System.getProperty("loadtest." + name);
+        return value == null || value.isBlank() ? defaultValue : value;
+    }
+
+    private static Path path(String name) {
+        String value = property(name, null);
+        return value == null ? null : Path.of(value);
+    }
+}
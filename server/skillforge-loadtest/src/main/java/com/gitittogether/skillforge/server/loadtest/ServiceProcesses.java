@@ -0,0 +1,119 @@
+package com.gitittogether.skillforge.server.loadtest;
+
+import lombok.extern.slf4j.Slf4j;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.net.ServerSocket;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Runs the service boot jars as child JVMs, the way they run in production, so the load driver measures real
+ * HTTP, serialization and connection pool behaviour. Output goes to one log file per service.
+ */
+@Slf4j
+public class ServiceProcesses implements AutoCloseable {
+
+    private static final Duration STARTUP_TIMEOUT = Duration.ofMinutes(3);
+
+    private final Path logDir;
+    private final List<Process> processes = new ArrayList<>();
+    private final HttpClient httpClient = HttpClient.newBuilder().connectTimeout(Duration.ofSeconds(2)).build();
+
+    public ServiceProcesses(Path logDir) {
+        this.logDir = logDir;
+    }
+
+    /**
+     * Starts the jar and waits until {@code healthPath} on {@code port} answers with 2xx.
+     */
+    public void start(String name, Path jar, int port, String healthPath, Map<String, String> environment) {
+        if (jar == null || !Files.isRegularFile(jar)) {
+            throw new IllegalArgumentException("Boot jar of " + name + " not found: " + jar + ", run the loadTest Gradle task");
+        }
+        Path logFile = logDir.resolve(name + ".log");
+        try {
+            Files.createDirectories(logDir);
+            ProcessBuilder builder = new ProcessBuilder(javaExecutable(), "-Xmx512m", "-jar", jar.toString())
+                    .redirectErrorStream(true)
+                    .redirectOutput(logFile.toFile());
+            builder.environment().putAll(environment);
+            processes.add(builder.start());
+        } catch (IOException e) {
+            throw new UncheckedIOException("Could not start " + name, e);
+        }
+        log.info("Starting {} on port {}, log in {}", name, port, logFile);
+        awaitHealthy(name, processes.getLast(), URI.create("http://localhost:" + port + healthPath), logFile);
+    }
+
+    private void awaitHealthy(String name, Process process, URI healthUri, Path logFile) {
+        long deadline = System.nanoTime() + STARTUP_TIMEOUT.toNanos();
+        while (System.nanoTime() < deadline) {
+            if (!process.isAlive()) {
+                throw new IllegalStateException(name + " exited with code " + process.exitValue() + ", see " + logFile);
+            }
+            try {
+                HttpResponse<Void> response = httpClient.send(HttpRequest.newBuilder(healthUri).timeout(Duration.ofSeconds(2)).build(),
+                        HttpResponse.BodyHandlers.discarding());
+                if (response.statusCode() / 100 == 2) {
+                    log.info("{} is up", name);
+                    return;
+                }
+            } catch (IOException e) {
+                // Not listening yet
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new IllegalStateException("Interrupted while waiting for " + name, e);
+            }
+            sleep(Duration.ofMillis(500));
+        }
+        throw new IllegalStateException(name + " did not become healthy within " + STARTUP_TIMEOUT + ", see " + logFile);
+    }
+
+    @Override
+    public void close() {
+        for (Process process : processes.reversed()) {
+            process.destroy();
+        }
+        for (Process process : processes) {
+            try {
+                if (!process.waitFor(15, TimeUnit.SECONDS)) {
+                    process.destroyForcibly();
+                }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                process.destroyForcibly();
+            }
+        }
+    }
+
+    public static int freePort() {
+        try (ServerSocket socket = new ServerSocket(0)) {
+            return socket.getLocalPort();
+        } catch (IOException e) {
+            throw new UncheckedIOException("No free port available", e);
+        }
+    }
+
+    private static String javaExecutable() {
+        return Path.of(System.getProperty("java.home"), "bin", "java").toString();
+    }
+
+    private static void sleep(Duration duration) {
+        try {
+            Thread.sleep(duration);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
@@ -0,0 +1,125 @@
+package com.gitittogether.skillforge.server.loadtest.catalog;
+
+import com.gitittogether.skillForge.server.course.model.course.Course;
+import com.gitittogether.skillForge.server.course.model.course.LessonBody;
+import com.gitittogether.skillForge.server.course.repository.course.CourseRepository;
+import com.gitittogether.skillForge.server.user.model.user.User;
+import com.gitittogether.skillForge.server.user.repository.user.UserRepository;
+import com.gitittogether.skillforge.server.loadtest.LoadTestSettings;
+import com.mongodb.ConnectionString;
+import com.mongodb.client.MongoClient;
+import com.mongodb.client.MongoClients;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.data.mongodb.core.BulkOperations;
+import org.springframework.data.mongodb.core.FindAndReplaceOptions;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.repository.support.MongoRepositoryFactory;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Function;
+import java.util.function.IntFunction;
+
+/**
+ * Writes a {@link SyntheticCatalog} straight into MongoDB, bypassing the services and their HTTP APIs.
+ * <p>
+ * Documents are mapped with the services' own Spring Data mapping and written with unordered bulk upserts by id,
+ * so loading again overwrites the previous synthetic catalog instead of duplicating it. Documents of other users
+ * and courses are left alone. Lesson bodies are written before the courses referencing them.
+ */
+@Slf4j
+public class CatalogLoader {
+
+    private static final int BATCH_SIZE = 500;
+
+    private final MongoTemplate mongoTemplate;
+    private final CourseRepository courseRepository;
+    private final UserRepository userRepository;
+    private final int writers;
+
+    public CatalogLoader(MongoTemplate mongoTemplate, int writers) {
+        this.mongoTemplate = mongoTemplate;
+        MongoRepositoryFactory repositoryFactory = new MongoRepositoryFactory(mongoTemplate);
+        this.courseRepository = repositoryFactory.getRepository(CourseRepository.class);
+        this.userRepository = repositoryFactory.getRepository(UserRepository.class);
+        this.writers = writers;
+    }
+
+    public void load(SyntheticCatalog catalog) {
+        CatalogPlan plan = catalog.plan();
+        String passwordHash = new BCryptPasswordEncoder().encode(LoadTestSettings.PASSWORD);
+        long started = System.nanoTime();
+        write("users", User.class, plan.users(), index -> List.of(catalog.user(index, passwordHash)), User::getId);
+        write("lesson bodies of courses", LessonBody.class, plan.courses(),
+                index -> catalog.lessonBodies(catalog.course(index)), LessonBody::getId);
+        write("courses", Course.class, plan.courses(), index -> List.of(catalog.course(index)), Course::getId);
+        log.info("Catalog loaded in {}s: {} users and {} courses in the database", (System.nanoTime() - started) / 1_000_000_000,
+                userRepository.count(), courseRepository.count());
+    }
+
+    /**
+     * @param generator documents derived from one index, e.g. all lesson bodies of a course
+     */
+    private <T> void write(String name, Class<T> type, int count, IntFunction<List<T>> generator, Function<T, String> idOf) {
+        long started = System.nanoTime();
+        AtomicLong written = new AtomicLong();
+        ExecutorService executor = Executors.newFixedThreadPool(writers);
+        try {
+            List<Future<?>> batches = new ArrayList<>();
+            for (int from = 0; from < count; from += BATCH_SIZE) {
+                int batchStart = from;
+                int batchEnd = Math.min(from + BATCH_SIZE, count);
+                batches.add(executor.submit(() -> {
+                    BulkOperations bulk = mongoTemplate.bulkOps(BulkOperations.BulkMode.UNORDERED, type);
+                    for (int index = batchStart; index < batchEnd; index++) {
+                        for (T document : generator.apply(index)) {
+                            bulk.replaceOne(Query.query(Criteria.where("_id").is(idOf.apply(document))), document,
+                                    FindAndReplaceOptions.options().upsert());
+                        }
+                    }
+                    bulk.execute();
+                    long total = written.addAndGet(batchEnd - batchStart);
+                    if (total % (BATCH_SIZE * 20L) == 0 || total == count) {
+                        log.info("Loaded {}/{} {}", total, count, name);
+                    }
+                }));
+            }
+            for (Future<?> batch : batches) {
+                batch.get();
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Loading " + name + " was interrupted", e);
+        } catch (Exception e) {
+            throw new IllegalStateException("Loading " + name + " failed", e);
+        } finally {
+            executor.shutdownNow();
+        }
+        double seconds = (System.nanoTime() - started) / 1e9;
+        log.info("Loaded {} {} in {}s ({} documents/s)", count, name, Math.round(seconds), Math.round(count / Math.max(seconds, 0.001)));
+    }
+
+    /**
+     * Loads the catalog into {@code -Dloadtest.mongoUri}, e.g. a local MongoDB used by the services in docker compose.
+     */
+    public static void main(String[] args) {
+        String mongoUri = LoadTestSettings.property("mongoUri", null);
+        if (mongoUri == null) {
+            throw new IllegalArgumentException("Set the target database with -PloadtestMongoUri=mongodb://host:27017/skillforge");
+        }
+        ConnectionString connectionString = new ConnectionString(mongoUri);
+        try (MongoClient client = MongoClients.create(connectionString)) {
+            String database = connectionString.getDatabase() != null ? connectionString.getDatabase() : "skillforge";
+            int writers = Integer.parseInt(LoadTestSettings.property("writers", "4"));
+            new CatalogLoader(new MongoTemplate(client, database), writers)
+                    .load(new SyntheticCatalog(LoadTestSettings.catalogFromSystemProperties()));
+        }
+    }
+}
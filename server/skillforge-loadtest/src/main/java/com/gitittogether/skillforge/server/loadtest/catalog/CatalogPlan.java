@@ -0,0 +1,59 @@
+package com.gitittogether.skillforge.server.loadtest.catalog;
+
+/**
+ * Shape of the synthetic catalog and the deterministic enrollment pattern that links courses and users, so both
+ * sides can be generated independently and in any batch order without keeping the catalog in memory.
+ * <p>
+ * The enrollments of all courses, laid out one after the other, are spread round robin over the users: course
+ * {@code c} has the users {@code (c * enrolledPerCourse + j) % users} for {@code j < enrolledPerCourse}.
+ */
+public record CatalogPlan(int courses, int modulesPerCourse, int lessonsPerModule, int lessonLength,
+                          int enrolledPerCourse, int users) {
+
+    public CatalogPlan {
+        if (courses < 1 || users < 1 || modulesPerCourse < 1 || lessonsPerModule < 1) {
+            throw new IllegalArgumentException("Catalog needs at least one course, user, module and lesson");
+        }
+        if (enrolledPerCourse < 0 || enrolledPerCourse > users) {
+            throw new IllegalArgumentException("Enrolled users per course must be between 0 and the number of users");
+        }
+    }
+
+    public int lessonsPerCourse() {
+        return modulesPerCourse * lessonsPerModule;
+    }
+
+    public String courseId(int course) {
+        return "loadtest-course-" + course;
+    }
+
+    public String userId(int user) {
+        return "loadtest-user-" + user;
+    }
+
+    public String username(int user) {
+        return "loaduser" + user;
+    }
+
+    public String email(int user) {
+        return "loaduser" + user + "@loadtest.local";
+    }
+
+    public int[] enrolledUsers(int course) {
+        int[] enrolled = new int[enrolledPerCourse];
+        for (int j = 0; j < enrolledPerCourse; j++) {
+            enrolled[j] = (int) (((long) course * enrolledPerCourse + j) % users);
+        }
+        return enrolled;
+    }
+
+    public int[] enrolledCourses(int user) {
+        long enrollments = (long) courses * enrolledPerCourse;
+        int count = user < enrollments ? (int) ((enrollments - 1 - user) / users + 1) : 0;
+        int[] enrolled = new int[count];
+        for (int i = 0; i < count; i++) {
+            enrolled[i] = (int) ((user + (long) i * users) / enrolledPerCourse);
+        }
+        return enrolled;
+    }
+}
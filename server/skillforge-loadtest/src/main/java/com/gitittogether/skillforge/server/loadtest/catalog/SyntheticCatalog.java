@@ -0,0 +1,145 @@
+package com.gitittogether.skillforge.server.loadtest.catalog;
+
+import com.gitittogether.skillForge.server.course.model.course.Course;
+import com.gitittogether.skillForge.server.course.model.course.EnrolledUserInfo;
+import com.gitittogether.skillForge.server.course.model.course.Lesson;
+import com.gitittogether.skillForge.server.course.model.course.LessonBody;
+import com.gitittogether.skillForge.server.course.model.course.LessonContent;
+import com.gitittogether.skillForge.server.course.model.course.Module;
+import com.gitittogether.skillForge.server.course.model.utils.Language;
+import com.gitittogether.skillForge.server.course.model.utils.LessonContentType;
+import com.gitittogether.skillForge.server.course.model.utils.Level;
+import com.gitittogether.skillForge.server.user.model.user.User;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+/**
+ * Builds the courses and users of a {@link CatalogPlan}. Every entity is derived from its index only, so a
+ * reload produces the same documents and the load driver can pick ids and search terms without a lookup.
+ */
+public class SyntheticCatalog {
+
+    public static final List<String> SKILLS = List.of("Python", "Java", "Docker", "Kubernetes", "SQL", "React",
+            "TypeScript", "Git", "Linux", "Machine Learning", "Statistics", "REST APIs", "Spring Boot", "MongoDB",
+            "Terraform", "Go", "Rust", "Data Visualization", "Cloud Security", "System Design");
+    public static final List<String> CATEGORIES = List.of("Programming", "Web Development", "Data Science",
+            "DevOps", "Cloud", "Security", "Databases");
+    private static final List<String> TITLE_PATTERNS = List.of("Introduction to %s", "Mastering %s",
+            "%s for Beginners", "Practical %s", "Advanced %s Techniques", "%s in Production");
+
+    private final CatalogPlan plan;
+
+    public SyntheticCatalog(CatalogPlan plan) {
+        this.plan = plan;
+    }
+
+    public CatalogPlan plan() {
+        return plan;
+    }
+
+    public Course course(int index) {
+        Random random = new Random(index);
+        String skill = SKILLS.get(index % SKILLS.size());
+        List<Module> modules = new ArrayList<>(plan.modulesPerCourse());
+        for (int m = 0; m < plan.modulesPerCourse(); m++) {
+            List<Lesson> lessons = new ArrayList<>(plan.lessonsPerModule());
+            for (int l = 0; l < plan.lessonsPerModule(); l++) {
+                lessons.add(Lesson.builder()
+                        .title(skill + " lesson " + (m + 1) + "." + (l + 1))
+                        .description("Hands-on walkthrough of " + skill + " topic " + (l + 1))
+                        .content(new LessonContent(LessonContentType.TEXT, markdown(random, skill)))
+                        .contentId(plan.courseId(index) + "-lesson-" + (m * plan.lessonsPerModule() + l))
+                        .order(m * plan.lessonsPerModule() + l)
+                        .build());
+            }
+            modules.add(Module.builder()
+                    .title(skill + " module " + (m + 1))
+                    .description("Building blocks of " + skill + ", part " + (m + 1))
+                    .lessons(lessons)
+                    .order(m)
+                    .build());
+        }
+        List<EnrolledUserInfo> enrolled = new ArrayList<>(plan.enrolledPerCourse());
+        for (int user : plan.enrolledUsers(index)) {
+            int currentLesson = random.nextInt(plan.lessonsPerCourse() + 1);
+            enrolled.add(EnrolledUserInfo.builder()
+                    .userId(plan.userId(user))
+                    .skills(new ArrayList<>(List.of(skill)))
+                    .currentLesson(currentLesson)
+                    .totalNumberOfLessons(plan.lessonsPerCourse())
+                    .progress((float) currentLesson / plan.lessonsPerCourse() * 100.0f)
+                    .build());
+        }
+        return Course.builder()
+                .id(plan.courseId(index))
+                .title(TITLE_PATTERNS.get(random.nextInt(TITLE_PATTERNS.size())).formatted(skill) + " #" + index)
+                .description("A synthetic " + skill + " course generated for load testing")
+                .instructor("AI")
+                .skills(new ArrayList<>(List.of(skill, SKILLS.get(random.nextInt(SKILLS.size())))))
+                .modules(modules)
+                .enrolledUsers(enrolled)
+                .numberOfEnrolledUsers(enrolled.size())
+                .categories(new ArrayList<>(List.of(CATEGORIES.get(index % CATEGORIES.size()))))
+                .level(Level.values()[index % Level.values().length])
+                .language(Language.EN)
+                .published(true)
+                .isPublic(index % 10 != 0)
+                .rating(3.0 + random.nextInt(21) / 10.0)
+                .build();
+    }
+
+    /**
+     * The lesson bodies of a course returned by {@link #course(int)}, which the course document only references.
+     */
+    public List<LessonBody> lessonBodies(Course course) {
+        List<LessonBody> bodies = new ArrayList<>(plan.lessonsPerCourse());
+        for (Module module : course.getModules()) {
+            for (Lesson lesson : module.getLessons()) {
+                bodies.add(new LessonBody(lesson.getContentId(), course.getId(), lesson.getContent()));
+            }
+        }
+        return bodies;
+    }
+
+    /**
+     * @param passwordHash shared by all users, hashing a password per user would dominate large loads
+     */
+    public User user(int index, String passwordHash) {
+        Random random = new Random(-index - 1L);
+        List<String> enrolledCourseIds = new ArrayList<>();
+        for (int course : plan.enrolledCourses(index)) {
+            enrolledCourseIds.add(plan.courseId(course));
+        }
+        List<String> bookmarked = new ArrayList<>();
+        for (int i = 0; i < 3; i++) {
+            bookmarked.add(plan.courseId(random.nextInt(plan.courses())));
+        }
+        return User.builder()
+                .id(plan.userId(index))
+                .firstName("Load")
+                .lastName("User " + index)
+                .username(plan.username(index))
+                .email(plan.email(index))
+                .passwordHash(passwordHash)
+                .bio("Synthetic user generated for load testing")
+                .skills(new ArrayList<>(List.of(SKILLS.get(random.nextInt(SKILLS.size())), SKILLS.get(random.nextInt(SKILLS.size())))))
+                .skillsInProgress(new ArrayList<>(List.of(SKILLS.get(random.nextInt(SKILLS.size())))))
+                .bookmarkedCourseIds(bookmarked)
+                .enrolledCourseIds(enrolledCourseIds)
+                .build();
+    }
+
+    private String markdown(Random random, String skill) {
+        StringBuilder text = new StringBuilder(plan.lessonLength() + 64);
+        while (text.length() < plan.lessonLength()) {
+            text.append(random.nextInt(8) == 0 ? "\n## Working with " : "This step explains how ")
+                    .append(SKILLS.get(random.nextInt(SKILLS.size())))
+                    .append(" relates to ")
+                    .append(skill)
+                    .append(". ");
+        }
+        return text.substring(0, plan.lessonLength());
+    }
+}
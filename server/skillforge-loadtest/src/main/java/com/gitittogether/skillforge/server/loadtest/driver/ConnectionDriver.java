@@ -0,0 +1,100 @@
+package com.gitittogether.skillforge.server.loadtest.driver;
+
+import lombok.extern.slf4j.Slf4j;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Holds a fixed number of concurrent connections busy with one endpoint, each sending the next request as soon as
+ * the previous response was read completely. Meanwhile a single probe worker measures how long a cheap endpoint
+ * of the same service takes, which shows whether the service still accepts work beyond the busy connections.
+ * <p>
+ * Workers are virtual threads with a client each, so thousands of connections cost the driver little.
+ */
+@Slf4j
+public class ConnectionDriver {
+
+    private static final Duration REQUEST_TIMEOUT = Duration.ofSeconds(30);
+    private static final Duration PROBE_INTERVAL = Duration.ofMillis(100);
+
+    private final URI target;
+    private final URI probe;
+    private final int connections;
+
+    public ConnectionDriver(URI target, URI probe, int connections) {
+        this.target = target;
+        this.probe = probe;
+        this.connections = connections;
+    }
+
+    public LoadResult run(String name, Duration warmup, Duration duration) {
+        EndpointStats targetStats = new EndpointStats(name);
+        EndpointStats probeStats = new EndpointStats("probe");
+        long measureFrom = System.nanoTime() + warmup.toNanos();
+        long end = measureFrom + duration.toNanos();
+        log.info("Holding {} connections on {} for {} after {} warmup", connections, target, duration, warmup);
+
+        try (ExecutorService workers = Executors.newVirtualThreadPerTaskExecutor()) {
+            for (int i = 0; i < connections; i++) {
+                workers.execute(() -> work(target, Duration.ZERO, targetStats, measureFrom, end));
+            }
+            workers.execute(() -> work(probe, PROBE_INTERVAL, probeStats, measureFrom, end));
+            workers.shutdown();
+            if (!workers.awaitTermination(duration.plus(warmup).plus(REQUEST_TIMEOUT).toSeconds() + 60, TimeUnit.SECONDS)) {
+                workers.shutdownNow();
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        return new LoadResult(List.of(targetStats, probeStats), duration, connections);
+    }
+
+    private static void work(URI uri, Duration pause, EndpointStats stats, long measureFrom, long end) {
+        // One client per worker keeps one connection per worker, as a browser tab would
+        try (HttpClient httpClient = HttpClient.newBuilder()
+                .version(HttpClient.Version.HTTP_1_1)
+                .connectTimeout(Duration.ofSeconds(5))
+                .build()) {
+            HttpRequest request = HttpRequest.newBuilder(uri).timeout(REQUEST_TIMEOUT).GET().build();
+            while (System.nanoTime() < end && !Thread.currentThread().isInterrupted()) {
+                long started = System.nanoTime();
+                int status = send(httpClient, request);
+                long finished = System.nanoTime();
+                if (started >= measureFrom && finished <= end) {
+                    stats.record(status, (finished - started) / 1_000);
+                }
+                if (!pause.isZero()) {
+                    sleep(pause);
+                }
+            }
+        }
+    }
+
+    private static int send(HttpClient httpClient, HttpRequest request) {
+        try {
+            return httpClient.send(request, HttpResponse.BodyHandlers.discarding()).statusCode();
+        } catch (IOException e) {
+            return 0;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return 0;
+        }
+    }
+
+    private static void sleep(Duration duration) {
+        try {
+            Thread.sleep(duration);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
@@ -0,0 +1,18 @@
+package com.gitittogether.skillforge.server.loadtest.driver;
+
+import java.net.http.HttpRequest;
+import java.util.function.Function;
+
+/**
+ * One request type of the load mix.
+ *
+ * @param name    short name used in the report and to override the weight
+ * @param weight  relative share of all requests, 0 disables the endpoint
+ * @param request builds the request for a virtual user, relative to the gateway URL
+ */
+public record Endpoint(String name, int weight, Function<VirtualUser, HttpRequest.Builder> request) {
+
+    public Endpoint withWeight(int weight) {
+        return new Endpoint(name, weight, request);
+    }
+}
@@ -0,0 +1,55 @@
+package com.gitittogether.skillforge.server.loadtest.driver;
+
+import org.HdrHistogram.ConcurrentHistogram;
+import org.HdrHistogram.Histogram;
+
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Latency histogram in microseconds and response status counts of one endpoint. Requests without a response
+ * (timeouts, refused connections) count as status 0.
+ */
+public class EndpointStats {
+
+    private final String name;
+    private final Histogram latencies = new ConcurrentHistogram(3);
+    private final Map<Integer, LongAdder> statuses = new ConcurrentHashMap<>();
+    private final LongAdder errors = new LongAdder();
+
+    EndpointStats(String name) {
+        this.name = name;
+    }
+
+    void record(int status, long latencyMicros) {
+        latencies.recordValue(Math.max(latencyMicros, 1));
+        statuses.computeIfAbsent(status, key -> new LongAdder()).increment();
+        if (status == 0 || status >= 400) {
+            errors.increment();
+        }
+    }
+
+    public String name() {
+        return name;
+    }
+
+    public Histogram latencies() {
+        return latencies;
+    }
+
+    public long requests() {
+        return latencies.getTotalCount();
+    }
+
+    public long errors() {
+        return errors.sum();
+    }
+
+    public Map<Integer, Long> statuses() {
+        Map<Integer, Long> counts = new TreeMap<>();
+        statuses.forEach((status, count) -> counts.put(status, count.sum()));
+        return counts;
+    }
+}
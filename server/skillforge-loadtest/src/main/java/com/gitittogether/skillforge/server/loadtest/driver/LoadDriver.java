@@ -0,0 +1,129 @@
+package com.gitittogether.skillforge.server.loadtest.driver;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.gitittogether.skillforge.server.loadtest.catalog.CatalogPlan;
+import lombok.extern.slf4j.Slf4j;
+
+import java.io.IOException;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Function;
+
+/**
+ * Closed-loop load against the gateway: every worker logs in as its own synthetic user and then sends the next
+ * request of the mix as soon as the previous one completed. Requests during the warmup are sent but not recorded.
+ */
+@Slf4j
+public class LoadDriver {
+
+    private static final ObjectMapper MAPPER = new ObjectMapper();
+    private static final Duration REQUEST_TIMEOUT = Duration.ofSeconds(30);
+
+    private final String gatewayUrl;
+    private final CatalogPlan plan;
+    private final List<Endpoint> mix;
+    private final int concurrency;
+    private final HttpClient httpClient = HttpClient.newBuilder()
+            .version(HttpClient.Version.HTTP_1_1)
+            .connectTimeout(Duration.ofSeconds(5))
+            .build();
+
+    public LoadDriver(String gatewayUrl, CatalogPlan plan, List<Endpoint> mix, int concurrency) {
+        this.gatewayUrl = gatewayUrl;
+        this.plan = plan;
+        this.mix = mix;
+        this.concurrency = concurrency;
+    }
+
+    public LoadResult run(Duration warmup, Duration duration) {
+        Map<String, EndpointStats> stats = new LinkedHashMap<>();
+        mix.forEach(endpoint -> stats.put(endpoint.name(), new EndpointStats(endpoint.name())));
+        Function<VirtualUser, Endpoint> picker = Scenario.picker(mix);
+        long measureFrom = System.nanoTime() + warmup.toNanos();
+        long end = measureFrom + duration.toNanos();
+        log.info("Driving {} workers for {} after {} warmup", concurrency, duration, warmup);
+
+        ExecutorService workers = Executors.newFixedThreadPool(concurrency);
+        for (int i = 0; i < concurrency; i++) {
+            int userIndex = (int) ((long) i * plan.users() / concurrency);
+            VirtualUser user = new VirtualUser(gatewayUrl, userIndex, plan.userId(userIndex), plan.username(userIndex), i);
+            workers.execute(() -> work(user, picker, stats, measureFrom, end));
+        }
+        workers.shutdown();
+        try {
+            if (!workers.awaitTermination(duration.plus(warmup).plus(REQUEST_TIMEOUT).toSeconds() + 60, TimeUnit.SECONDS)) {
+                workers.shutdownNow();
+            }
+        } catch (InterruptedException e) {
+            workers.shutdownNow();
+            Thread.currentThread().interrupt();
+        }
+        return new LoadResult(new ArrayList<>(stats.values()), duration, concurrency);
+    }
+
+    private void work(VirtualUser user, Function<VirtualUser, Endpoint> picker, Map<String, EndpointStats> stats,
+                      long measureFrom, long end) {
+        if (!login(user)) {
+            return;
+        }
+        while (System.nanoTime() < end && !Thread.currentThread().isInterrupted()) {
+            Endpoint endpoint = picker.apply(user);
+            long started = System.nanoTime();
+            int status = send(endpoint.request().apply(user).timeout(REQUEST_TIMEOUT).build());
+            long finished = System.nanoTime();
+            if (started >= measureFrom && finished <= end) {
+                stats.get(endpoint.name()).record(status, (finished - started) / 1_000);
+            }
+        }
+    }
+
+    private boolean login(VirtualUser user) {
+        HttpRequest request = Scenario.login(user).timeout(REQUEST_TIMEOUT).build();
+        for (int attempt = 1; attempt <= 5; attempt++) {
+            try {
+                HttpResponse<String> response = httpClient.send(request, HttpResponse.BodyHandlers.ofString());
+                if (response.statusCode() == 200) {
+                    user.token(MAPPER.readTree(response.body()).path("jwtToken").asText());
+                    return true;
+                }
+                log.warn("Login of {} failed with status {}: {}", user.username(), response.statusCode(), response.body());
+            } catch (IOException e) {
+                log.warn("Login of {} failed: {}", user.username(), e.getMessage());
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return false;
+            }
+            sleep(Duration.ofSeconds(attempt));
+        }
+        log.error("Worker for {} gives up, could not log in", user.username());
+        return false;
+    }
+
+    private int send(HttpRequest request) {
+        try {
+            return httpClient.send(request, HttpResponse.BodyHandlers.discarding()).statusCode();
+        } catch (IOException e) {
+            return 0;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return 0;
+        }
+    }
+
+    private static void sleep(Duration duration) {
+        try {
+            Thread.sleep(duration);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
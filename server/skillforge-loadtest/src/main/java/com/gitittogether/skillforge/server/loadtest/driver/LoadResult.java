@@ -0,0 +1,67 @@
+package com.gitittogether.skillforge.server.loadtest.driver;
+
+import org.HdrHistogram.Histogram;
+
+import java.io.IOException;
+import java.io.PrintStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.List;
+import java.util.Locale;
+
+/**
+ * Recorded requests of a load test run. {@link #summary()} is the per-endpoint throughput and latency table,
+ * {@link #write(Path)} additionally stores the full latency distribution of every endpoint as an HdrHistogram
+ * {@code .hgrm} file, which e.g. https://hdrhistogram.github.io/HdrHistogram/plotFiles.html can plot.
+ */
+public record LoadResult(List<EndpointStats> endpoints, Duration measured, int concurrency) {
+
+    private static final String ROW = "%-22s %9s %9s %7s %9s %9s %9s %9s %9s  %s%n";
+
+    public String summary() {
+        StringBuilder table = new StringBuilder();
+        double seconds = measured.toMillis() / 1000.0;
+        table.append(String.format(Locale.ROOT, "%d workers, %ss measured%n", concurrency, Math.round(seconds)));
+        table.append(String.format(Locale.ROOT, ROW, "endpoint", "requests", "req/s", "errors",
+                "p50 ms", "p90 ms", "p99 ms", "p99.9 ms", "max ms", "statuses"));
+        Histogram all = new Histogram(3);
+        long errors = 0;
+        for (EndpointStats endpoint : endpoints) {
+            Histogram latencies = endpoint.latencies().copy();
+            all.add(latencies);
+            errors += endpoint.errors();
+            table.append(row(endpoint.name(), latencies, endpoint.errors(), seconds, endpoint.statuses().toString()));
+        }
+        table.append(row("total", all, errors, seconds, ""));
+        return table.toString();
+    }
+
+    public void write(Path directory) throws IOException {
+        Files.createDirectories(directory);
+        Files.writeString(directory.resolve("summary.txt"), summary());
+        for (EndpointStats endpoint : endpoints) {
+            try (PrintStream out = new PrintStream(Files.newOutputStream(directory.resolve(endpoint.name() + ".hgrm")))) {
+                // Recorded in microseconds, written in milliseconds
+                endpoint.latencies().copy().outputPercentileDistribution(out, 1000.0);
+            }
+        }
+    }
+
+    private static String row(String name, Histogram latencies, long errors, double seconds, String statuses) {
+        return String.format(Locale.ROOT, ROW, name,
+                latencies.getTotalCount(),
+                String.format(Locale.ROOT, "%.1f", latencies.getTotalCount() / Math.max(seconds, 0.001)),
+                errors,
+                millis(latencies.getValueAtPercentile(50)),
+                millis(latencies.getValueAtPercentile(90)),
+                millis(latencies.getValueAtPercentile(99)),
+                millis(latencies.getValueAtPercentile(99.9)),
+                millis(latencies.getMaxValue()),
+                statuses);
+    }
+
+    private static String millis(long micros) {
+        return String.format(Locale.ROOT, "%.1f", micros / 1000.0);
+    }
+}
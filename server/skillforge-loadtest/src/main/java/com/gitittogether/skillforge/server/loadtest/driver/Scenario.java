@@ -0,0 +1,92 @@
+package com.gitittogether.skillforge.server.loadtest.driver;
+
+import com.gitittogether.skillforge.server.loadtest.LoadTestSettings;
+import com.gitittogether.skillforge.server.loadtest.catalog.CatalogPlan;
+import com.gitittogether.skillforge.server.loadtest.catalog.SyntheticCatalog;
+
+import java.net.http.HttpRequest;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * The request mix of a load test, read heavy like the client: course pages, lessons and profiles dominate, searches and
+ * logins are less frequent and GenAI prompts are rare.
+ */
+public final class Scenario {
+
+    private Scenario() {
+    }
+
+    public static List<Endpoint> defaultMix(CatalogPlan plan) {
+        return List.of(
+                new Endpoint("login", 2, Scenario::login),
+                new Endpoint("userProfile", 15, user -> user.get("/api/v1/users/" + user.userId() + "/profile")),
+                new Endpoint("userEnrolledCourses", 10, user -> user.get("/api/v1/users/" + user.userId() + "/courses/enrolled")),
+                new Endpoint("courseById", 30, user -> user.get("/api/v1/courses/" + plan.courseId(anyCourse(user, plan)))),
+                new Endpoint("lessonContent", 10, user -> user.get("/api/v1/courses/" + plan.courseId(anyCourse(user, plan))
+                        + "/lessons/" + user.random().nextInt(plan.lessonsPerCourse()))),
+                new Endpoint("enrolledProgress", 10, user -> user.get("/api/v1/courses/user/" + user.userId() + "/enrolled")),
+                new Endpoint("publicCatalog", 5, user -> user.get("/api/v1/courses/public")),
+                new Endpoint("searchTitle", 10, user -> {
+                    int course = anyCourse(user, plan);
+                    String term = SyntheticCatalog.SKILLS.get(course % SyntheticCatalog.SKILLS.size()) + " #" + course;
+                    return user.get("/api/v1/courses/search/title/" + term.replace(" ", "%20").replace("#", "%23"));
+                }),
+                new Endpoint("searchSkill", 3, user -> user.get("/api/v1/courses/search/skill/"
+                        + SyntheticCatalog.SKILLS.get(user.random().nextInt(SyntheticCatalog.SKILLS.size())).replace(" ", "%20"))),
+                new Endpoint("genaiLearningPath", 1, user -> user.post("/api/v1/courses/generate/learning_path/" + user.userId(),
+                        "application/json", "{\"prompt\":\"Learn " + SyntheticCatalog.SKILLS.get(user.random().nextInt(SyntheticCatalog.SKILLS.size()))
+                                + " level " + user.random().nextInt(1_000) + "\",\"existingSkills\":[]}")),
+                new Endpoint("genaiPrompt", 2, user -> user.post("/api/v1/courses/generate/prompt", "text/plain",
+                        "Explain topic " + user.random().nextInt(1_000_000) + " of " + SyntheticCatalog.SKILLS.get(user.userIndex() % SyntheticCatalog.SKILLS.size()))));
+    }
+
+    /**
+     * @param weights comma separated overrides, e.g. {@code courseById=50,publicCatalog=0}
+     */
+    public static List<Endpoint> withWeights(List<Endpoint> mix, String weights) {
+        if (weights == null || weights.isBlank()) {
+            return mix;
+        }
+        Map<String, Integer> overrides = Arrays.stream(weights.split(","))
+                .map(entry -> entry.trim().split("="))
+                .collect(Collectors.toMap(entry -> entry[0].trim(), entry -> Integer.parseInt(entry[1].trim())));
+        List<String> unknown = new ArrayList<>(overrides.keySet());
+        unknown.removeAll(mix.stream().map(Endpoint::name).toList());
+        if (!unknown.isEmpty()) {
+            throw new IllegalArgumentException("Unknown endpoints " + unknown + ", known are "
+                    + mix.stream().map(Endpoint::name).toList());
+        }
+        return mix.stream()
+                .map(endpoint -> endpoint.withWeight(overrides.getOrDefault(endpoint.name(), endpoint.weight())))
+                .filter(endpoint -> endpoint.weight() > 0)
+                .toList();
+    }
+
+    static HttpRequest.Builder login(VirtualUser user) {
+        return user.post("/api/v1/users/login", "application/json",
+                "{\"username\":\"" + user.username() + "\",\"password\":\"" + LoadTestSettings.PASSWORD + "\"}");
+    }
+
+    private static int anyCourse(VirtualUser user, CatalogPlan plan) {
+        return user.random().nextInt(plan.courses());
+    }
+
+    static Function<VirtualUser, Endpoint> picker(List<Endpoint> mix) {
+        int total = mix.stream().mapToInt(Endpoint::weight).sum();
+        return user -> {
+            int ticket = user.random().nextInt(total);
+            for (Endpoint endpoint : mix) {
+                ticket -= endpoint.weight();
+                if (ticket < 0) {
+                    return endpoint;
+                }
+            }
+            throw new IllegalStateException("Weights changed while picking");
+        };
+    }
+}
@@ -0,0 +1,60 @@
+package com.gitittogether.skillforge.server.loadtest.driver;
+
+import java.net.URI;
+import java.net.http.HttpRequest;
+import java.util.SplittableRandom;
+
+/**
+ * State of one closed-loop worker: the synthetic user it is logged in as and its own random source.
+ */
+public final class VirtualUser {
+
+    private final String gatewayUrl;
+    private final int userIndex;
+    private final String userId;
+    private final String username;
+    private final SplittableRandom random;
+    private String token;
+
+    VirtualUser(String gatewayUrl, int userIndex, String userId, String username, long seed) {
+        this.gatewayUrl = gatewayUrl;
+        this.userIndex = userIndex;
+        this.userId = userId;
+        this.username = username;
+        this.random = new SplittableRandom(seed);
+    }
+
+    public HttpRequest.Builder get(String path) {
+        return authorized(HttpRequest.newBuilder(URI.create(gatewayUrl + path)).GET());
+    }
+
+    public HttpRequest.Builder post(String path, String contentType, String body) {
+        return authorized(HttpRequest.newBuilder(URI.create(gatewayUrl + path))
+                .header("Content-Type", contentType)
+                .POST(HttpRequest.BodyPublishers.ofString(body)));
+    }
+
+    private HttpRequest.Builder authorized(HttpRequest.Builder builder) {
+        return token == null ? builder : builder.header("Authorization", "Bearer " + token);
+    }
+
+    public int userIndex() {
+        return userIndex;
+    }
+
+    public String userId() {
+        return userId;
+    }
+
+    public String username() {
+        return username;
+    }
+
+    public SplittableRandom random() {
+        return random;
+    }
+
+    void token(String token) {
+        this.token = token;
+    }
+}
@@ -0,0 +1,111 @@
+package com.gitittogether.skillforge.server.loadtest.standin;
+
+import lombok.extern.slf4j.Slf4j;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.net.ServerSocket;
+import java.net.Socket;
+import java.time.Duration;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+/**
+ * TCP proxy that holds back everything the client sends by a fixed latency before forwarding it, e.g. to give the
+ * in-memory MongoDB the round trip time of a real one. Each command is delayed once, as the driver waits for the
+ * reply before sending the next command on the same connection.
+ */
+@Slf4j
+public class LatencyProxy implements AutoCloseable {
+
+    private final InetSocketAddress target;
+    private final Duration latency;
+    private final ServerSocket serverSocket;
+    private final ExecutorService pumps = Executors.newVirtualThreadPerTaskExecutor();
+    private final Set<Socket> sockets = ConcurrentHashMap.newKeySet();
+
+    public LatencyProxy(String targetHost, int targetPort, Duration latency) {
+        this.target = new InetSocketAddress(targetHost, targetPort);
+        this.latency = latency;
+        try {
+            this.serverSocket = new ServerSocket(0, 512, InetAddress.getLoopbackAddress());
+        } catch (IOException e) {
+            throw new UncheckedIOException("Could not start the latency proxy", e);
+        }
+        pumps.execute(this::accept);
+    }
+
+    public String host() {
+        return serverSocket.getInetAddress().getHostAddress();
+    }
+
+    public int port() {
+        return serverSocket.getLocalPort();
+    }
+
+    private void accept() {
+        while (!serverSocket.isClosed()) {
+            try {
+                Socket client = serverSocket.accept();
+                Socket upstream = new Socket(target.getAddress(), target.getPort());
+                client.setTcpNoDelay(true);
+                upstream.setTcpNoDelay(true);
+                sockets.add(client);
+                sockets.add(upstream);
+                pumps.execute(() -> pump(client, upstream, latency));
+                pumps.execute(() -> pump(upstream, client, Duration.ZERO));
+            } catch (IOException e) {
+                if (!serverSocket.isClosed()) {
+                    log.warn("Latency proxy could not accept a connection: {}", e.getMessage());
+                }
+            }
+        }
+    }
+
+    private void pump(Socket from, Socket to, Duration delay) {
+        byte[] buffer = new byte[64 * 1024];
+        try (InputStream in = from.getInputStream(); OutputStream out = to.getOutputStream()) {
+            int read;
+            while ((read = in.read(buffer)) != -1) {
+                if (!delay.isZero()) {
+                    Thread.sleep(delay);
+                }
+                out.write(buffer, 0, read);
+                out.flush();
+            }
+        } catch (IOException e) {
+            // Either side closed the connection
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } finally {
+            closeQuietly(from);
+            closeQuietly(to);
+        }
+    }
+
+    private void closeQuietly(Socket socket) {
+        sockets.remove(socket);
+        try {
+            socket.close();
+        } catch (IOException e) {
+            // Already closed
+        }
+    }
+
+    @Override
+    public void close() {
+        try {
+            serverSocket.close();
+        } catch (IOException e) {
+            // Already closed
+        }
+        sockets.forEach(this::closeQuietly);
+        pumps.shutdownNow();
+    }
+}
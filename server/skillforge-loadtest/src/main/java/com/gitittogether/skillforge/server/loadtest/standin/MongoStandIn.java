@@ -0,0 +1,29 @@
+package com.gitittogether.skillforge.server.loadtest.standin;
+
+import de.bwaldvogel.mongo.MongoServer;
+import de.bwaldvogel.mongo.backend.memory.MemoryBackend;
+
+import java.net.InetSocketAddress;
+
+/**
+ * In-memory server speaking the MongoDB wire protocol. Supports the CRUD, regex and index commands the services
+ * use, but no query planner, so query latencies say nothing about missing indexes.
+ */
+public class MongoStandIn implements AutoCloseable {
+
+    private final MongoServer server = new MongoServer(new MemoryBackend());
+    private final InetSocketAddress address;
+
+    public MongoStandIn() {
+        this.address = server.bind();
+    }
+
+    public String uri(String database) {
+        return "mongodb://" + address.getHostString() + ":" + address.getPort() + "/" + database;
+    }
+
+    @Override
+    public void close() {
+        server.shutdownNow();
+    }
+}
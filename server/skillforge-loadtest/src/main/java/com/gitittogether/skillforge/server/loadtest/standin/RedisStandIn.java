@@ -0,0 +1,39 @@
+package com.gitittogether.skillforge.server.loadtest.standin;
+
+import com.github.fppt.jedismock.RedisServer;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+
+/**
+ * In-memory Redis server with Lua scripting, enough for the gateway's rate limiter scripts.
+ */
+public class RedisStandIn implements AutoCloseable {
+
+    private final RedisServer server;
+
+    public RedisStandIn() {
+        try {
+            this.server = RedisServer.newRedisServer(0).start();
+        } catch (IOException e) {
+            throw new UncheckedIOException("Could not start the Redis stand-in", e);
+        }
+    }
+
+    public String host() {
+        return server.getHost();
+    }
+
+    public int port() {
+        return server.getBindPort();
+    }
+
+    @Override
+    public void close() {
+        try {
+            server.stop();
+        } catch (IOException e) {
+            throw new UncheckedIOException("Could not stop the Redis stand-in", e);
+        }
+    }
+}
@@ -0,0 +1,59 @@
+package com.gitittogether.skillforge.server.loadtest;
+
+import com.gitittogether.skillforge.server.loadtest.catalog.CatalogPlan;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class CatalogPlanTest {
+
+    @Test
+    @DisplayName("Enrollments seen from the users match the enrollments of the courses")
+    void enrollmentsAreConsistentFromBothSides() {
+        // Given
+        CatalogPlan plan = new CatalogPlan(37, 1, 1, 10, 7, 23);
+
+        // When
+        Set<String> fromCourses = new HashSet<>();
+        for (int course = 0; course < plan.courses(); course++) {
+            for (int user : plan.enrolledUsers(course)) {
+                fromCourses.add(course + ":" + user);
+            }
+        }
+        List<String> fromUsers = new ArrayList<>();
+        for (int user = 0; user < plan.users(); user++) {
+            for (int course : plan.enrolledCourses(user)) {
+                fromUsers.add(course + ":" + user);
+            }
+        }
+
+        // Then
+        assertThat(fromCourses).hasSize(37 * 7);
+        assertThat(fromUsers).hasSize(37 * 7).containsExactlyInAnyOrderElementsOf(fromCourses);
+    }
+
+    @Test
+    @DisplayName("Users beyond the enrollments of all courses are enrolled nowhere")
+    void usersWithoutEnrollments() {
+        // Given
+        CatalogPlan plan = new CatalogPlan(2, 1, 1, 10, 3, 10);
+
+        // When / Then
+        assertThat(plan.enrolledCourses(5)).containsExactly(1);
+        assertThat(plan.enrolledCourses(6)).isEmpty();
+    }
+
+    @Test
+    @DisplayName("More enrolled users per course than users is rejected")
+    void rejectsImpossibleEnrollment() {
+        assertThatThrownBy(() -> new CatalogPlan(1, 1, 1, 10, 5, 4))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+}
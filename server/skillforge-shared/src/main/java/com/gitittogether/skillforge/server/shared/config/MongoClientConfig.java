@@ -0,0 +1,103 @@
+package com.gitittogether.skillforge.server.shared.config;
+
+import com.mongodb.MongoClientSettings;
+import com.mongodb.reactivestreams.client.MongoClient;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.AutoConfiguration;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnClass;
+import org.springframework.boot.autoconfigure.mongo.MongoAutoConfiguration;
+import org.springframework.boot.autoconfigure.mongo.MongoClientSettingsBuilderCustomizer;
+import org.springframework.boot.autoconfigure.mongo.MongoReactiveAutoConfiguration;
+import org.springframework.boot.autoconfigure.mongo.ReactiveMongoClientFactory;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Connection pool and timeouts of the MongoDB client. Options given in the connection string take precedence, since
+ * Spring Boot applies it after this customizer. Auto-configured in every service depending on this module.
+ * <p>
+ * Reads go to the primary by default. Read-only queries are annotated with {@code @ReadPreference("secondaryPreferred")}
+ * in the repositories, so they move to secondaries once the replica set has some and may then return data a few
+ * moments old. Pool gauges ({@code mongodb.driver.pool.*}, tagged by {@code server.address}) show how the load spreads
+ * over the members.
+ * <p>
+ * Services with reactive repositories, such as the course service streaming its catalog, use a second client with
+ * its own pool. It gets the same settings, but at most {@code mongo.pool.reactive-max-size} connections, so an
+ * instance opens up to {@code max-size + reactive-max-size} connections per server.
+ */
+@AutoConfiguration(before = {MongoAutoConfiguration.class, MongoReactiveAutoConfiguration.class})
+public class MongoClientConfig {
+
+    @Value("${mongo.pool.min-size:5}")
+    private int minSize;
+
+    @Value("${mongo.pool.max-size:100}")
+    private int maxSize;
+
+    @Value("${mongo.pool.reactive-max-size:20}")
+    private int reactiveMaxSize;
+
+    @Value("${mongo.pool.max-connecting:2}")
+    private int maxConnecting;
+
+    @Value("${mongo.pool.max-wait-time:5s}")
+    private Duration maxWaitTime;
+
+    @Value("${mongo.pool.max-idle-time:5m}")
+    private Duration maxIdleTime;
+
+    @Value("${mongo.socket.connect-timeout:5s}")
+    private Duration connectTimeout;
+
+    @Value("${mongo.socket.read-timeout:0s}")
+    private Duration readTimeout;
+
+    @Bean
+    @Order(Ordered.HIGHEST_PRECEDENCE)
+    public MongoClientSettingsBuilderCustomizer mongoPoolCustomizer() {
+        return settings -> settings
+                .applyToConnectionPoolSettings(pool -> pool
+                        .minSize(minSize)
+                        .maxSize(maxSize)
+                        .maxConnecting(maxConnecting)
+                        .maxWaitTime(maxWaitTime.toMillis(), TimeUnit.MILLISECONDS)
+                        .maxConnectionIdleTime(maxIdleTime.toMillis(), TimeUnit.MILLISECONDS))
+                .applyToSocketSettings(socket -> socket
+                        .connectTimeout((int) connectTimeout.toMillis(), TimeUnit.MILLISECONDS)
+                        .readTimeout((int) readTimeout.toMillis(), TimeUnit.MILLISECONDS));
+    }
+
+    /**
+     * Applied last, so it also caps a {@code maxPoolSize} given in the connection string.
+     */
+    public MongoClientSettingsBuilderCustomizer reactivePoolCustomizer() {
+        return settings -> settings.applyToConnectionPoolSettings(pool -> pool
+                .minSize(Math.min(minSize, reactiveMaxSize))
+                .maxSize(reactiveMaxSize));
+    }
+
+    @Configuration(proxyBeanMethods = false)
+    @ConditionalOnClass(name = {"reactor.core.publisher.Flux", "com.mongodb.reactivestreams.client.MongoClient"})
+    static class ReactiveMongoClientConfig {
+
+        /**
+         * Replaces the client Spring Boot would create for the reactive repositories, which applies every
+         * customizer and would therefore get a second pool of {@code max-size} connections.
+         */
+        @Bean
+        public MongoClient reactiveStreamsMongoClient(ObjectProvider<MongoClientSettingsBuilderCustomizer> customizers,
+                                                      MongoClientSettings settings, MongoClientConfig mongoClientConfig) {
+            List<MongoClientSettingsBuilderCustomizer> reactiveCustomizers = new ArrayList<>(customizers.orderedStream().toList());
+            reactiveCustomizers.add(mongoClientConfig.reactivePoolCustomizer());
+            return new ReactiveMongoClientFactory(reactiveCustomizers).createMongoClient(settings);
+        }
+    }
+}
@@ -0,0 +1,95 @@
+package com.gitittogether.skillforge.server.shared.config;
+
+import com.gitittogether.skillforge.server.shared.mongo.MongoQueriesEndpoint;
+import com.gitittogether.skillforge.server.shared.mongo.MongoQueryMetrics;
+import com.gitittogether.skillforge.server.shared.mongo.QueryPlanSampler;
+import com.gitittogether.skillforge.server.shared.mongo.ReactiveRepositoryMethodContext;
+import com.gitittogether.skillforge.server.shared.mongo.RepositoryMethodContext;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.boot.autoconfigure.AutoConfiguration;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnClass;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.mongo.MongoClientSettingsBuilderCustomizer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.repository.core.support.RepositoryFactoryBeanSupport;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * MongoDB command timers per repository method and slow query plan samples, exposed as
+ * {@code /actuator/mongoqueries}, see {@link MongoQueryMetrics}. Auto-configured in every service depending on
+ * this module.
+ */
+@AutoConfiguration
+@ConditionalOnProperty(name = "mongo.query-metrics.enabled", havingValue = "true", matchIfMissing = true)
+public class MongoQueryMetricsConfig {
+
+    @Value("${mongo.query-metrics.slow-threshold:100ms}")
+    private Duration slowThreshold;
+
+    @Value("${mongo.query-metrics.sample-interval:10m}")
+    private Duration sampleInterval;
+
+    @Value("${mongo.query-metrics.scan-ratio-threshold:100}")
+    private double scanRatioThreshold;
+
+    @Value("${mongo.query-metrics.max-samples:50}")
+    private int maxSamples;
+
+    @Bean
+    public static BeanPostProcessor repositoryMethodContextRegistrar() {
+        return new BeanPostProcessor() {
+            @Override
+            public Object postProcessBeforeInitialization(Object bean, String beanName) {
+                if (bean instanceof RepositoryFactoryBeanSupport<?, ?, ?> factoryBean) {
+                    RepositoryMethodContext.register(factoryBean);
+                }
+                return bean;
+            }
+        };
+    }
+
+    @Bean
+    public QueryPlanSampler queryPlanSampler(ObjectProvider<MongoTemplate> mongoTemplate, MeterRegistry meterRegistry) {
+        // One explain at a time, slow queries arriving while the queue is full are sampled later
+        ThreadPoolExecutor executor = new ThreadPoolExecutor(1, 1, 0, TimeUnit.MILLISECONDS, new ArrayBlockingQueue<>(16),
+                Thread.ofPlatform().daemon().name("query-plan-sampler").factory());
+        // Resolved lazily, the template is built on top of the client the listener is registered with
+        return new QueryPlanSampler(database -> mongoTemplate.getObject().getMongoDatabaseFactory().getMongoDatabase(database),
+                executor, sampleInterval, scanRatioThreshold, maxSamples, meterRegistry, Clock.systemUTC());
+    }
+
+    @Bean
+    public MongoQueryMetrics mongoQueryMetrics(MeterRegistry meterRegistry, QueryPlanSampler queryPlanSampler) {
+        return new MongoQueryMetrics(meterRegistry, queryPlanSampler, slowThreshold);
+    }
+
+    @Bean
+    public MongoClientSettingsBuilderCustomizer mongoQueryMetricsCustomizer(MongoQueryMetrics mongoQueryMetrics) {
+        return settings -> settings.addCommandListener(mongoQueryMetrics);
+    }
+
+    @Bean
+    public MongoQueriesEndpoint mongoQueriesEndpoint(MeterRegistry meterRegistry, QueryPlanSampler queryPlanSampler) {
+        return new MongoQueriesEndpoint(meterRegistry, queryPlanSampler, slowThreshold);
+    }
+
+    @Configuration(proxyBeanMethods = false)
+    @ConditionalOnClass(name = {"reactor.core.publisher.Flux", "com.mongodb.reactivestreams.client.MongoClient"})
+    static class ReactiveRepositoryMethodContextConfig {
+
+        @Bean
+        public MongoClientSettingsBuilderCustomizer reactiveRepositoryMethodContextCustomizer() {
+            return settings -> settings.contextProvider(new ReactiveRepositoryMethodContext());
+        }
+    }
+}
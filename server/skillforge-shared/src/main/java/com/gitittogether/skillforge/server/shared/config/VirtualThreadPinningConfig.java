@@ -0,0 +1,29 @@
+package com.gitittogether.skillforge.server.shared.config;
+
+import com.gitittogether.skillforge.server.shared.diagnostics.VirtualThreadPinningMonitor;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.AutoConfiguration;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnThreading;
+import org.springframework.boot.autoconfigure.thread.Threading;
+import org.springframework.context.annotation.Bean;
+
+import java.time.Duration;
+
+/**
+ * Pinning diagnostics for services running on virtual threads, see {@link VirtualThreadPinningMonitor}.
+ * Auto-configured in every service depending on this module.
+ */
+@AutoConfiguration
+@ConditionalOnThreading(Threading.VIRTUAL)
+@ConditionalOnProperty(name = "diagnostics.virtual-threads.pinning.enabled", havingValue = "true", matchIfMissing = true)
+public class VirtualThreadPinningConfig {
+
+    @Bean
+    public VirtualThreadPinningMonitor virtualThreadPinningMonitor(
+            @Value("${diagnostics.virtual-threads.pinning.threshold:20ms}") Duration threshold,
+            MeterRegistry meterRegistry) {
+        return new VirtualThreadPinningMonitor(threshold, meterRegistry);
+    }
+}
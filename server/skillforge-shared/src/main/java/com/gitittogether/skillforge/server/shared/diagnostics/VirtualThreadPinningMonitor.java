@@ -0,0 +1,95 @@
+package com.gitittogether.skillforge.server.shared.diagnostics;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jdk.jfr.consumer.RecordedEvent;
+import jdk.jfr.consumer.RecordedFrame;
+import jdk.jfr.consumer.RecordingStream;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.SmartLifecycle;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.stream.Collectors;
+
+/**
+ * Reports virtual threads pinned to their carrier, e.g. while blocking inside a {@code synchronized} block of the
+ * Mongo driver or the HTTP client. Pinned virtual threads hold a carrier thread, so frequent pinning brings back
+ * the thread-pool limits virtual threads are meant to remove.
+ * <p>
+ * Listens to the JFR {@code jdk.VirtualThreadPinned} event in-process, counts every pin above the threshold and
+ * logs each distinct pinning site once with its stack.
+ */
+@Slf4j
+public class VirtualThreadPinningMonitor implements SmartLifecycle {
+
+    public static final String PINNED_METRIC = "jvm.threads.virtual.pinned";
+    public static final String PINNED_DURATION_METRIC = "jvm.threads.virtual.pinned.duration";
+
+    private static final String PINNED_EVENT = "jdk.VirtualThreadPinned";
+    private static final int LOGGED_FRAMES = 12;
+    private static final int MAX_REPORTED_SITES = 100;
+
+    private final Duration threshold;
+    private final Counter pinnedCount;
+    private final Timer pinnedTime;
+    private final Set<String> reportedSites = ConcurrentHashMap.newKeySet();
+
+    private RecordingStream stream;
+
+    /**
+     * @param threshold shorter pins are ignored
+     */
+    public VirtualThreadPinningMonitor(Duration threshold, MeterRegistry meterRegistry) {
+        this.threshold = threshold;
+        this.pinnedCount = Counter.builder(PINNED_METRIC)
+                .description("Virtual threads pinned to their carrier longer than the threshold")
+                .register(meterRegistry);
+        this.pinnedTime = Timer.builder(PINNED_DURATION_METRIC)
+                .description("Time virtual threads spent pinned to their carrier")
+                .register(meterRegistry);
+    }
+
+    @Override
+    public void start() {
+        stream = new RecordingStream();
+        stream.enable(PINNED_EVENT).withThreshold(threshold).withStackTrace();
+        stream.onEvent(PINNED_EVENT, this::onPinned);
+        stream.startAsync();
+        log.info("Monitoring virtual thread pinning above {}", threshold);
+    }
+
+    private void onPinned(RecordedEvent event) {
+        pinnedCount.increment();
+        pinnedTime.record(event.getDuration());
+        if (event.getStackTrace() == null) {
+            return;
+        }
+        List<RecordedFrame> frames = event.getStackTrace().getFrames();
+        String stack = frames.stream()
+                .limit(LOGGED_FRAMES)
+                .map(frame -> frame.getMethod().getType().getName() + "." + frame.getMethod().getName()
+                        + ":" + frame.getLineNumber())
+                .collect(Collectors.joining("\n\tat ", "\tat ", ""));
+        if (reportedSites.size() < MAX_REPORTED_SITES && reportedSites.add(stack)) {
+            log.warn("Virtual thread pinned for {} ms on thread {}:\n{}", event.getDuration().toMillis(),
+                    event.getThread("eventThread") != null ? event.getThread("eventThread").getJavaName() : "-", stack);
+        }
+    }
+
+    @Override
+    public void stop() {
+        if (stream != null) {
+            stream.close();
+            stream = null;
+        }
+    }
+
+    @Override
+    public boolean isRunning() {
+        return stream != null;
+    }
+}
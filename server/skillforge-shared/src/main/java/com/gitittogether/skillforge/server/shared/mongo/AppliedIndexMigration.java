@@ -0,0 +1,12 @@
+package com.gitittogether.skillforge.server.shared.mongo;
+
+import org.springframework.data.annotation.Id;
+
+import java.time.Instant;
+
+/**
+ * Record of an {@link IndexMigration} applied to the database, stored in the collection passed to
+ * {@link IndexMigrationRunner}.
+ */
+public record AppliedIndexMigration(@Id int version, String description, Instant appliedAt, long durationMs) {
+}
@@ -0,0 +1,64 @@
+package com.gitittogether.skillforge.server.shared.mongo;
+
+import com.mongodb.client.MongoDatabase;
+import com.mongodb.event.CommandListener;
+import com.mongodb.event.CommandStartedEvent;
+import lombok.extern.slf4j.Slf4j;
+
+import java.util.Set;
+import java.util.concurrent.*;
+import java.util.function.Function;
+
+/**
+ * Explains every new query shape sent to MongoDB (see {@link QueryPlans#shape}) and logs those whose winning plan
+ * scans the whole collection (COLLSCAN), i.e. queries that no index supports. Meant for development: each explain
+ * is an extra round trip, run on a background thread so the original query is not delayed.
+ */
+@Slf4j
+public class CollectionScanLogger implements CommandListener, AutoCloseable {
+
+    private static final int MAX_SHAPES = 1000;
+
+    private final Function<String, MongoDatabase> databases;
+    private final Set<String> explainedShapes = ConcurrentHashMap.newKeySet();
+    private final ExecutorService executor = new ThreadPoolExecutor(1, 1, 0, TimeUnit.MILLISECONDS,
+            new LinkedBlockingQueue<>(), Thread.ofPlatform().daemon().name("collscan-explain").factory());
+
+    /**
+     * @param databases looks up a database by name to run the explain in, called on the background thread only
+     */
+    public CollectionScanLogger(Function<String, MongoDatabase> databases) {
+        this.databases = databases;
+    }
+
+    @Override
+    public void commandStarted(CommandStartedEvent event) {
+        String commandName = event.getCommandName();
+        String collection = QueryPlans.isExplainable(commandName) ? QueryPlans.collection(commandName, event.getCommand()) : null;
+        if (collection == null) {
+            return;
+        }
+        String shape = QueryPlans.shape(commandName, collection, event.getCommand());
+        if (explainedShapes.size() >= MAX_SHAPES || !explainedShapes.add(shape)) {
+            return;
+        }
+        String command = QueryPlans.copy(event.getCommand());
+        String database = event.getDatabaseName();
+        executor.execute(() -> explain(database, command, shape));
+    }
+
+    @Override
+    public void close() {
+        executor.shutdownNow();
+    }
+
+    private void explain(String database, String command, String shape) {
+        try {
+            if (QueryPlans.usesCollectionScan(databases.apply(database).runCommand(QueryPlans.explainCommand(command, "queryPlanner")))) {
+                log.warn("Query without index support, the winning plan is a COLLSCAN: {}", shape);
+            }
+        } catch (Exception e) {
+            log.debug("Could not explain {}: {}", shape, e.getMessage());
+        }
+    }
+}
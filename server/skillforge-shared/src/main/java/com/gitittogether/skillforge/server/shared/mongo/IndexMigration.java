@@ -0,0 +1,32 @@
+package com.gitittogether.skillforge.server.shared.mongo;
+
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.index.IndexOperations;
+import org.springframework.data.mongodb.core.index.IndexResolver;
+
+import java.util.function.Consumer;
+
+/**
+ * One step of the index migrations applied at startup by {@link IndexMigrationRunner}. Each version is applied
+ * once per database in ascending order, so a released migration must not be changed afterwards; add a new version
+ * instead.
+ *
+ * @param action creates or drops indexes or migrates documents, must be idempotent since instances starting at the
+ *               same time may both run it
+ */
+public record IndexMigration(int version, String description, Consumer<MongoTemplate> action) {
+
+    /**
+     * Creates the indexes declared with {@code @Indexed} and {@code @CompoundIndex} on the given documents. Indexes
+     * that already exist with the same definition are left untouched.
+     */
+    public static IndexMigration declaredIndexes(int version, String description, Class<?>... documentTypes) {
+        return new IndexMigration(version, description, mongoTemplate -> {
+            IndexResolver resolver = IndexResolver.create(mongoTemplate.getConverter().getMappingContext());
+            for (Class<?> documentType : documentTypes) {
+                IndexOperations indexOps = mongoTemplate.indexOps(documentType);
+                resolver.resolveIndexFor(documentType).forEach(indexOps::createIndex);
+            }
+        });
+    }
+}
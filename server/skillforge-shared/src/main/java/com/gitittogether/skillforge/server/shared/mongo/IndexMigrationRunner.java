@@ -0,0 +1,107 @@
+package com.gitittogether.skillforge.server.shared.mongo;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.data.mongodb.core.MongoTemplate;
+
+import java.time.Instant;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+
+/**
+ * Applies the {@link IndexMigration}s that are not yet recorded in the database. Automatic index creation of
+ * Spring Data is off, so the indexes declared on the documents only exist once a migration created them.
+ * <p>
+ * Runs before the application reports itself ready. A failing migration is logged and retried on the next start
+ * together with all later versions, so the service still starts while MongoDB is unavailable or an index cannot
+ * be built yet, e.g. because of duplicates violating a unique index.
+ * <p>
+ * Services sharing a database keep their records in separate collections, e.g. {@code course_index_migrations}.
+ * <p>
+ * The expiry of {@link TtlIndex}es follows the configuration: once their migration has created them, a changed
+ * expiry is applied on every start.
+ */
+@Slf4j
+public class IndexMigrationRunner implements ApplicationRunner {
+
+    private final MongoTemplate mongoTemplate;
+    private final String collection;
+    private final List<IndexMigration> migrations;
+    private final List<TtlIndex> ttlIndexes;
+
+    /**
+     * @param collection collection recording the applied migrations of this service
+     */
+    public IndexMigrationRunner(MongoTemplate mongoTemplate, String collection, List<IndexMigration> migrations) {
+        this(mongoTemplate, collection, migrations, List.of());
+    }
+
+    /**
+     * @param ttlIndexes TTL indexes created by one of the migrations
+     */
+    public IndexMigrationRunner(MongoTemplate mongoTemplate, String collection, List<IndexMigration> migrations,
+                                List<TtlIndex> ttlIndexes) {
+        this.mongoTemplate = mongoTemplate;
+        this.collection = collection;
+        this.migrations = migrations.stream()
+                .sorted(Comparator.comparingInt(IndexMigration::version))
+                .toList();
+        this.ttlIndexes = ttlIndexes;
+    }
+
+    @Override
+    public void run(ApplicationArguments args) {
+        applyPending();
+    }
+
+    /**
+     * @return number of migrations applied
+     */
+    public int applyPending() {
+        Set<Integer> applied;
+        try {
+            applied = mongoTemplate.findAll(AppliedIndexMigration.class, collection).stream()
+                    .map(AppliedIndexMigration::version)
+                    .collect(Collectors.toSet());
+        } catch (Exception e) {
+            log.warn("Could not read applied index migrations, retrying on the next start: {}", e.getMessage());
+            return 0;
+        }
+        int count = 0;
+        for (IndexMigration migration : migrations) {
+            if (applied.contains(migration.version())) {
+                continue;
+            }
+            long started = System.nanoTime();
+            try {
+                migration.action().accept(mongoTemplate);
+                long durationMs = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - started);
+                mongoTemplate.save(new AppliedIndexMigration(migration.version(), migration.description(), Instant.now(), durationMs),
+                        collection);
+                log.info("Applied index migration {} ({}) in {} ms", migration.version(), migration.description(), durationMs);
+                count++;
+            } catch (Exception e) {
+                log.error("❌ Index migration {} ({}) failed, retrying it and later versions on the next start: {}",
+                        migration.version(), migration.description(), e.getMessage());
+                break;
+            }
+        }
+        updateTtlExpiries();
+        return count;
+    }
+
+    private void updateTtlExpiries() {
+        for (TtlIndex ttlIndex : ttlIndexes) {
+            try {
+                ttlIndex.updateExpiry(mongoTemplate);
+            } catch (Exception e) {
+                log.warn("Could not update the expiry of the TTL index on {}.{}, retrying on the next start: {}",
+                        ttlIndex.documentType().getSimpleName(), ttlIndex.field(), e.getMessage());
+            }
+        }
+    }
+}
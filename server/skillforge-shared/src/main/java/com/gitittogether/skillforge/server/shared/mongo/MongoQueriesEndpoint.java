@@ -0,0 +1,51 @@
+package com.gitittogether.skillforge.server.shared.mongo;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.springframework.boot.actuate.endpoint.annotation.Endpoint;
+import org.springframework.boot.actuate.endpoint.annotation.ReadOperation;
+
+import java.time.Duration;
+import java.util.Comparator;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * {@code /actuator/mongoqueries}: MongoDB command latency per repository method, slowest in total first, and the
+ * most recent slow query plan samples. Queries are only shown as shapes, without their values.
+ */
+@Endpoint(id = "mongoqueries")
+public class MongoQueriesEndpoint {
+
+    public record Report(long slowThresholdMs, List<MethodStats> methods, List<QueryPlanSampler.Sample> slowQueries) {
+    }
+
+    public record MethodStats(String repositoryMethod, String collection, String command, String outcome,
+                              long count, double totalMs, double meanMs, double maxMs) {
+    }
+
+    private final MeterRegistry meterRegistry;
+    private final QueryPlanSampler sampler;
+    private final Duration slowThreshold;
+
+    public MongoQueriesEndpoint(MeterRegistry meterRegistry, QueryPlanSampler sampler, Duration slowThreshold) {
+        this.meterRegistry = meterRegistry;
+        this.sampler = sampler;
+        this.slowThreshold = slowThreshold;
+    }
+
+    @ReadOperation
+    public Report report() {
+        List<MethodStats> methods = meterRegistry.find(MongoQueryMetrics.COMMANDS_METRIC).timers().stream()
+                .map(MongoQueriesEndpoint::toMethodStats)
+                .sorted(Comparator.comparingDouble(MethodStats::totalMs).reversed())
+                .toList();
+        return new Report(slowThreshold.toMillis(), methods, sampler.recentSamples());
+    }
+
+    private static MethodStats toMethodStats(Timer timer) {
+        return new MethodStats(timer.getId().getTag("method"), timer.getId().getTag("collection"),
+                timer.getId().getTag("command"), timer.getId().getTag("outcome"), timer.count(),
+                timer.totalTime(TimeUnit.MILLISECONDS), timer.mean(TimeUnit.MILLISECONDS), timer.max(TimeUnit.MILLISECONDS));
+    }
+}
@@ -0,0 +1,101 @@
+package com.gitittogether.skillforge.server.shared.mongo;
+
+import com.mongodb.event.CommandFailedEvent;
+import com.mongodb.event.CommandListener;
+import com.mongodb.event.CommandStartedEvent;
+import com.mongodb.event.CommandSucceededEvent;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.bson.BsonDocument;
+
+import java.time.Duration;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Times every command sent to MongoDB in {@code mongodb.repository.commands}, tagged by the repository method that
+ * sent it (see {@link RepositoryMethodContext}), the collection and the command name rather than the query itself.
+ * Queries slower than the threshold are handed to the {@link QueryPlanSampler}.
+ */
+public class MongoQueryMetrics implements CommandListener {
+
+    public static final String COMMANDS_METRIC = "mongodb.repository.commands";
+    private static final String NO_COLLECTION = "none";
+    // Handshakes, monitoring and the explains of the samplers, not caused by the application
+    private static final Set<String> IGNORED_COMMANDS = Set.of("hello", "isMaster", "ismaster", "ping", "buildInfo",
+            "saslStart", "saslContinue", "endSessions", "explain");
+
+    private final MeterRegistry meterRegistry;
+    private final QueryPlanSampler sampler;
+    private final long slowThresholdNanos;
+    private final Map<Integer, Pending> pending = new ConcurrentHashMap<>();
+
+    public MongoQueryMetrics(MeterRegistry meterRegistry, QueryPlanSampler sampler, Duration slowThreshold) {
+        this.meterRegistry = meterRegistry;
+        this.sampler = sampler;
+        this.slowThresholdNanos = slowThreshold.toNanos();
+    }
+
+    @Override
+    public void commandStarted(CommandStartedEvent event) {
+        String commandName = event.getCommandName();
+        if (IGNORED_COMMANDS.contains(commandName)) {
+            return;
+        }
+        BsonDocument command = event.getCommand();
+        String collection = QueryPlans.collection(commandName, command);
+        String shape = null;
+        String copy = null;
+        if (collection != null && QueryPlans.isExplainable(commandName)) {
+            shape = QueryPlans.shape(commandName, collection, command);
+            copy = sampler.isDue(shape) ? QueryPlans.copy(command) : null;
+        }
+        pending.put(event.getRequestId(), new Pending(RepositoryMethodContext.current(event.getRequestContext()),
+                collection != null ? collection : NO_COLLECTION, shape, copy));
+    }
+
+    @Override
+    public void commandSucceeded(CommandSucceededEvent event) {
+        Pending command = pending.remove(event.getRequestId());
+        if (command == null) {
+            return;
+        }
+        long nanos = event.getElapsedTime(TimeUnit.NANOSECONDS);
+        timer(command, event.getCommandName(), "success").record(nanos, TimeUnit.NANOSECONDS);
+        if (command.shape() == null || nanos < slowThresholdNanos) {
+            return;
+        }
+        if (command.copy() == null) {
+            sampler.markSlow(command.shape());
+        } else {
+            sampler.sample(event.getDatabaseName(), command.repositoryMethod(), command.collection(), command.shape(),
+                    command.copy(), TimeUnit.NANOSECONDS.toMillis(nanos));
+        }
+    }
+
+    @Override
+    public void commandFailed(CommandFailedEvent event) {
+        Pending command = pending.remove(event.getRequestId());
+        if (command != null) {
+            timer(command, event.getCommandName(), "failure").record(event.getElapsedTime(TimeUnit.NANOSECONDS), TimeUnit.NANOSECONDS);
+        }
+    }
+
+    private Timer timer(Pending command, String commandName, String outcome) {
+        return Timer.builder(COMMANDS_METRIC)
+                .description("MongoDB commands by repository method")
+                .tag("method", command.repositoryMethod())
+                .tag("collection", command.collection())
+                .tag("command", commandName)
+                .tag("outcome", outcome)
+                .register(meterRegistry);
+    }
+
+    /**
+     * @param copy the command for an explain, only copied for shapes the sampler is due to explain
+     */
+    private record Pending(String repositoryMethod, String collection, String shape, String copy) {
+    }
+}
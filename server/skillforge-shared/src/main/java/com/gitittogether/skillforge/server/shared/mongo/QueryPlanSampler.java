@@ -0,0 +1,173 @@
+package com.gitittogether.skillforge.server.shared.mongo;
+
+import com.mongodb.client.MongoDatabase;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.function.Function;
+
+/**
+ * Explains slow queries with {@code executionStats} verbosity and keeps the most recent results. Plans are flagged
+ * when the winning plan scans the whole collection (COLLSCAN) or examines many more documents than it returns.
+ * <p>
+ * The command document is only available while the driver sends it, before its duration is known. A shape is
+ * therefore marked slow first, and the next query of that shape is copied and explained if it is slow again. Each
+ * shape is explained at most once per {@code sampleInterval}, since {@code executionStats} runs the query again.
+ */
+@Slf4j
+public class QueryPlanSampler implements AutoCloseable {
+
+    public static final String HIGH_SCAN_RATIO = "HIGH_SCAN_RATIO";
+    static final String FLAGGED_METRIC = "mongodb.repository.flagged-plans";
+    private static final int MAX_SHAPES = 1000;
+
+    /**
+     * @param scanRatio documents examined per document returned, null if the explain reported no execution stats
+     * @param flags     {@link QueryPlans#COLLSCAN} and/or {@link #HIGH_SCAN_RATIO}
+     */
+    public record Sample(String repositoryMethod, String collection, String shape, long durationMs,
+                         List<String> winningStages, Long docsExamined, Long keysExamined, Long nReturned,
+                         Double scanRatio, List<String> flags, Instant sampledAt) {
+    }
+
+    private final Function<String, MongoDatabase> databases;
+    private final Executor executor;
+    private final Duration sampleInterval;
+    private final double scanRatioThreshold;
+    private final int maxSamples;
+    private final MeterRegistry meterRegistry;
+    private final Clock clock;
+    // Slow shapes by the time they were last explained, Instant.MIN if not yet
+    private final Map<String, Instant> slowShapes = new ConcurrentHashMap<>();
+    private final Deque<Sample> samples = new ArrayDeque<>();
+
+    /**
+     * @param databases looks up a database by name to run the explain in, called on the executor only
+     */
+    public QueryPlanSampler(Function<String, MongoDatabase> databases, Executor executor, Duration sampleInterval,
+                            double scanRatioThreshold, int maxSamples, MeterRegistry meterRegistry, Clock clock) {
+        this.databases = databases;
+        this.executor = executor;
+        this.sampleInterval = sampleInterval;
+        this.scanRatioThreshold = scanRatioThreshold;
+        this.maxSamples = maxSamples;
+        this.meterRegistry = meterRegistry;
+        this.clock = clock;
+    }
+
+    /**
+     * @return whether the next query of this shape should be copied for an explain
+     */
+    public boolean isDue(String shape) {
+        Instant lastSampled = slowShapes.get(shape);
+        return lastSampled != null && !lastSampled.plus(sampleInterval).isAfter(clock.instant());
+    }
+
+    /**
+     * Records a slow query whose command was not copied, so the next query of this shape is.
+     */
+    public void markSlow(String shape) {
+        if (slowShapes.size() < MAX_SHAPES) {
+            slowShapes.putIfAbsent(shape, Instant.MIN);
+        }
+    }
+
+    /**
+     * Explains a slow query in the background, unless its shape was explained within the sample interval.
+     *
+     * @param command the query, copied with {@link QueryPlans#copy}
+     */
+    public void sample(String database, String repositoryMethod, String collection, String shape, String command, long durationMs) {
+        Instant now = clock.instant();
+        Instant lastSampled = slowShapes.get(shape);
+        if (lastSampled != null && lastSampled.plus(sampleInterval).isAfter(now)) {
+            return;
+        }
+        // Claims the shape, so concurrent slow queries of one shape are explained once
+        boolean claimed = lastSampled == null
+                ? slowShapes.size() < MAX_SHAPES && slowShapes.putIfAbsent(shape, now) == null
+                : slowShapes.replace(shape, lastSampled, now);
+        if (!claimed) {
+            return;
+        }
+        try {
+            executor.execute(() -> explain(database, repositoryMethod, collection, shape, command, durationMs));
+        } catch (RejectedExecutionException e) {
+            slowShapes.put(shape, Instant.MIN);
+        }
+    }
+
+    /**
+     * @return the most recent samples, newest first
+     */
+    public synchronized List<Sample> recentSamples() {
+        return List.copyOf(samples);
+    }
+
+    @Override
+    public void close() {
+        if (executor instanceof ExecutorService executorService) {
+            executorService.shutdownNow();
+        }
+    }
+
+    private void explain(String database, String repositoryMethod, String collection, String shape, String command, long durationMs) {
+        Map<?, ?> explain;
+        try {
+            explain = databases.apply(database).runCommand(QueryPlans.explainCommand(command, "executionStats"));
+        } catch (Exception e) {
+            log.debug("Could not explain {}: {}", shape, e.getMessage());
+            return;
+        }
+        Map<?, ?> stats = QueryPlans.executionStats(explain);
+        Long docsExamined = number(stats, "totalDocsExamined");
+        Long nReturned = number(stats, "nReturned");
+        Double scanRatio = docsExamined == null || nReturned == null ? null : (double) docsExamined / Math.max(nReturned, 1);
+        List<String> winningStages = QueryPlans.winningStages(explain);
+        List<String> flags = new ArrayList<>();
+        if (winningStages.contains(QueryPlans.COLLSCAN)) {
+            flags.add(QueryPlans.COLLSCAN);
+        }
+        if (scanRatio != null && scanRatio >= scanRatioThreshold) {
+            flags.add(HIGH_SCAN_RATIO);
+        }
+        Sample sample = new Sample(repositoryMethod, collection, shape, durationMs, winningStages, docsExamined,
+                number(stats, "totalKeysExamined"), nReturned, scanRatio, List.copyOf(flags), clock.instant());
+        record(sample);
+    }
+
+    private void record(Sample sample) {
+        synchronized (this) {
+            samples.addFirst(sample);
+            if (samples.size() > maxSamples) {
+                samples.removeLast();
+            }
+        }
+        for (String flag : sample.flags()) {
+            Counter.builder(FLAGGED_METRIC)
+                    .description("Sampled slow query plans by flag")
+                    .tag("method", sample.repositoryMethod())
+                    .tag("collection", sample.collection())
+                    .tag("flag", flag)
+                    .register(meterRegistry)
+                    .increment();
+        }
+        if (!sample.flags().isEmpty()) {
+            log.warn("Slow query {} on {} took {} ms, plan {} flagged {}: {}", sample.repositoryMethod(),
+                    sample.collection(), sample.durationMs(), sample.winningStages(), sample.flags(), sample.shape());
+        }
+    }
+
+    private static Long number(Map<?, ?> stats, String field) {
+        return stats != null && stats.get(field) instanceof Number number ? number.longValue() : null;
+    }
+}
@@ -0,0 +1,147 @@
+package com.gitittogether.skillforge.server.shared.mongo;
+
+import org.bson.BsonDocument;
+import org.bson.BsonString;
+import org.bson.BsonValue;
+import org.bson.json.JsonMode;
+import org.bson.json.JsonWriterSettings;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+/**
+ * Helpers to derive query shapes from driver commands and to read the results of {@code explain}, which nest the
+ * plan stages differently per command and server version.
+ */
+public final class QueryPlans {
+
+    public static final String COLLSCAN = "COLLSCAN";
+
+    private static final Map<String, List<String>> QUERY_FIELDS = Map.of(
+            "find", List.of("filter", "sort"),
+            "count", List.of("query"),
+            "distinct", List.of("key", "query"),
+            "aggregate", List.of("pipeline"));
+    // Session and transaction fields the driver adds, which explain rejects
+    private static final Set<String> DRIVER_FIELDS = Set.of("lsid", "txnNumber", "autocommit", "startTransaction",
+            "readConcern", "writeConcern", "apiVersion", "apiStrict", "apiDeprecationErrors");
+    private static final JsonWriterSettings EXTENDED_JSON = JsonWriterSettings.builder().outputMode(JsonMode.EXTENDED).build();
+
+    private QueryPlans() {
+    }
+
+    public static boolean isExplainable(String commandName) {
+        return QUERY_FIELDS.containsKey(commandName);
+    }
+
+    /**
+     * @return the collection a command reads or writes, or null for database-wide commands like
+     * {@code {aggregate: 1}}
+     */
+    public static String collection(String commandName, BsonDocument command) {
+        BsonValue collection = command.get("getMore".equals(commandName) ? "collection" : commandName);
+        return collection != null && collection.isString() ? collection.asString().getValue() : null;
+    }
+
+    /**
+     * The command, the collection and the query of an explainable command with all values replaced by {@code ?},
+     * so {@code findByTitle("a")} and {@code findByTitle("b")} share a shape.
+     */
+    public static String shape(String commandName, String collection, BsonDocument command) {
+        return commandName + " " + collection + " " + QUERY_FIELDS.getOrDefault(commandName, List.of()).stream()
+                .filter(command::containsKey)
+                .map(field -> field + "=" + shapeOf(command.get(field)))
+                .collect(Collectors.joining(" "));
+    }
+
+    /**
+     * Copies a command, whose document is only valid during the listener callback, for a later explain.
+     */
+    public static String copy(BsonDocument command) {
+        return command.toJson(EXTENDED_JSON);
+    }
+
+    /**
+     * @param command   a command copied with {@link #copy(BsonDocument)}
+     * @param verbosity {@code queryPlanner} to plan only, {@code executionStats} to also run the winning plan
+     */
+    public static BsonDocument explainCommand(String command, String verbosity) {
+        BsonDocument explained = BsonDocument.parse(command);
+        explained.keySet().removeIf(key -> key.startsWith("$") || DRIVER_FIELDS.contains(key));
+        return new BsonDocument("explain", explained).append("verbosity", new BsonString(verbosity));
+    }
+
+    public static boolean usesCollectionScan(Map<?, ?> explain) {
+        return winningStages(explain).contains(COLLSCAN);
+    }
+
+    /**
+     * @return the stages of the winning plans from the root to the leaves, e.g. {@code [FETCH, IXSCAN]}
+     */
+    public static List<String> winningStages(Map<?, ?> explain) {
+        List<String> stages = new ArrayList<>();
+        collectStages(explain, false, stages);
+        return stages;
+    }
+
+    /**
+     * @return the first {@code executionStats} section, or null if the explain ran with {@code queryPlanner}
+     * verbosity
+     */
+    public static Map<?, ?> executionStats(Object explain) {
+        if (explain instanceof Map<?, ?> map) {
+            if (map.get("executionStats") instanceof Map<?, ?> stats) {
+                return stats;
+            }
+            for (Object value : map.values()) {
+                Map<?, ?> stats = executionStats(value);
+                if (stats != null) {
+                    return stats;
+                }
+            }
+        } else if (explain instanceof List<?> list) {
+            for (Object element : list) {
+                Map<?, ?> stats = executionStats(element);
+                if (stats != null) {
+                    return stats;
+                }
+            }
+        }
+        return null;
+    }
+
+    private static void collectStages(Object node, boolean inWinningPlan, List<String> stages) {
+        if (node instanceof Map<?, ?> map) {
+            if (inWinningPlan && map.get("stage") instanceof String stage) {
+                stages.add(stage);
+            }
+            for (Map.Entry<?, ?> entry : map.entrySet()) {
+                // executionStats repeats the winning plan as executionStages
+                if (!"rejectedPlans".equals(entry.getKey()) && !"executionStats".equals(entry.getKey())) {
+                    collectStages(entry.getValue(), inWinningPlan || "winningPlan".equals(entry.getKey()), stages);
+                }
+            }
+        } else if (node instanceof List<?> list) {
+            list.forEach(element -> collectStages(element, inWinningPlan, stages));
+        }
+    }
+
+    private static String shapeOf(BsonValue value) {
+        if (value.isDocument()) {
+            return value.asDocument().entrySet().stream()
+                    .map(entry -> entry.getKey() + ": " + shapeOf(entry.getValue()))
+                    .collect(Collectors.joining(", ", "{", "}"));
+        }
+        if (value.isArray()) {
+            // $in lists of any length share a shape, pipelines and $and/$or keep their stages
+            return value.asArray().stream()
+                    .map(QueryPlans::shapeOf)
+                    .distinct()
+                    .collect(Collectors.joining(", ", "[", "]"));
+        }
+        return "?";
+    }
+}
@@ -0,0 +1,53 @@
+package com.gitittogether.skillforge.server.shared.mongo;
+
+import com.mongodb.RequestContext;
+import com.mongodb.client.SynchronousContextProvider;
+import com.mongodb.reactivestreams.client.ReactiveContextProvider;
+import org.reactivestreams.Subscriber;
+import reactor.core.CoreSubscriber;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+/**
+ * Attributes the commands of reactive repository methods. A {@code Flux} or {@code Mono} only sends its commands
+ * once subscribed, usually on another thread and after {@link RepositoryMethodContext} was reset, so the method is
+ * written into the Reactor context of the returned publisher instead. As context provider of the MongoDB clients,
+ * this class hands it to the command listeners as the request context of each command.
+ * <p>
+ * Spring Boot applies the same settings to the blocking client, which only accepts synchronous providers. Its
+ * commands run on the calling thread and are attributed by {@link RepositoryMethodContext} alone.
+ */
+public class ReactiveRepositoryMethodContext implements ReactiveContextProvider, SynchronousContextProvider {
+
+    static final String CONTEXT_KEY = RepositoryMethodContext.class.getName();
+
+    /**
+     * @return the result of a repository method, with the method in its Reactor context if it is a publisher
+     */
+    static Object attribute(Object result, String method) {
+        // Default methods calling other repository methods keep the outermost name
+        if (result instanceof Flux<?> flux) {
+            return flux.contextWrite(context -> context.hasKey(CONTEXT_KEY) ? context : context.put(CONTEXT_KEY, method));
+        }
+        if (result instanceof Mono<?> mono) {
+            return mono.contextWrite(context -> context.hasKey(CONTEXT_KEY) ? context : context.put(CONTEXT_KEY, method));
+        }
+        return result;
+    }
+
+    @Override
+    public RequestContext getContext(Subscriber<?> subscriber) {
+        if (subscriber instanceof CoreSubscriber<?> coreSubscriber) {
+            String method = coreSubscriber.currentContext().getOrDefault(CONTEXT_KEY, null);
+            if (method != null) {
+                return new RepositoryMethodRequestContext(method);
+            }
+        }
+        return null;
+    }
+
+    @Override
+    public RequestContext getContext() {
+        return null;
+    }
+}
@@ -0,0 +1,68 @@
+package com.gitittogether.skillforge.server.shared.mongo;
+
+import com.mongodb.RequestContext;
+import org.aopalliance.intercept.MethodInterceptor;
+import org.aopalliance.intercept.MethodInvocation;
+import org.springframework.data.repository.core.support.RepositoryFactoryBeanSupport;
+import org.springframework.util.ClassUtils;
+
+/**
+ * Remembers which repository method the current thread is executing, e.g. {@code CourseRepository.findByInstructor},
+ * so the commands it sends to MongoDB can be attributed to it. The synchronous driver calls command listeners on the
+ * thread that runs the operation. Reactive repository methods carry the name in the Reactor context of the returned
+ * publisher instead, see {@link ReactiveRepositoryMethodContext}.
+ */
+public final class RepositoryMethodContext {
+
+    /**
+     * Commands sent outside of a repository method, e.g. through {@code MongoTemplate}.
+     */
+    public static final String NONE = "none";
+
+    private static final ThreadLocal<String> CURRENT = new ThreadLocal<>();
+    private static final boolean REACTIVE_PRESENT = ClassUtils.isPresent("reactor.core.publisher.Flux", null)
+            && ClassUtils.isPresent("com.mongodb.reactivestreams.client.ReactiveContextProvider", null);
+
+    private RepositoryMethodContext() {
+    }
+
+    public static String current() {
+        String method = CURRENT.get();
+        return method != null ? method : NONE;
+    }
+
+    /**
+     * @param requestContext of the command, set by the context provider of a reactive client
+     */
+    public static String current(RequestContext requestContext) {
+        return requestContext instanceof RepositoryMethodRequestContext context ? context.method() : current();
+    }
+
+    /**
+     * Tracks the methods of the repository created by the given factory bean. Must be called before the factory
+     * bean is initialized.
+     */
+    public static void register(RepositoryFactoryBeanSupport<?, ?, ?> factoryBean) {
+        factoryBean.addRepositoryFactoryCustomizer(factory -> factory.addRepositoryProxyPostProcessor(
+                (proxyFactory, repository) -> proxyFactory.addAdvice(interceptor(repository.getRepositoryInterface().getSimpleName()))));
+    }
+
+    /**
+     * @param repository name the methods are prefixed with
+     */
+    public static MethodInterceptor interceptor(String repository) {
+        return invocation -> CURRENT.get() != null ? invocation.proceed() : proceedAs(repository, invocation);
+    }
+
+    private static Object proceedAs(String repository, MethodInvocation invocation) throws Throwable {
+        // Default methods calling other repository methods keep the outermost name
+        String method = repository + "." + invocation.getMethod().getName();
+        CURRENT.set(method);
+        try {
+            Object result = invocation.proceed();
+            return REACTIVE_PRESENT ? ReactiveRepositoryMethodContext.attribute(result, method) : result;
+        } finally {
+            CURRENT.remove();
+        }
+    }
+}
@@ -0,0 +1,60 @@
+package com.gitittogether.skillforge.server.shared.mongo;
+
+import com.mongodb.RequestContext;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.stream.Stream;
+
+/**
+ * Request context handed to the driver for a command sent by a reactive repository method, see
+ * {@link ReactiveRepositoryMethodContext}.
+ */
+final class RepositoryMethodRequestContext implements RequestContext {
+
+    private final Map<Object, Object> values = new HashMap<>();
+
+    RepositoryMethodRequestContext(String method) {
+        values.put(ReactiveRepositoryMethodContext.CONTEXT_KEY, method);
+    }
+
+    String method() {
+        return (String) values.get(ReactiveRepositoryMethodContext.CONTEXT_KEY);
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public <T> T get(Object key) {
+        return (T) values.get(key);
+    }
+
+    @Override
+    public boolean hasKey(Object key) {
+        return values.containsKey(key);
+    }
+
+    @Override
+    public boolean isEmpty() {
+        return values.isEmpty();
+    }
+
+    @Override
+    public void put(Object key, Object value) {
+        values.put(key, value);
+    }
+
+    @Override
+    public void delete(Object key) {
+        values.remove(key);
+    }
+
+    @Override
+    public int size() {
+        return values.size();
+    }
+
+    @Override
+    public Stream<Map.Entry<Object, Object>> stream() {
+        return values.entrySet().stream();
+    }
+}
@@ -0,0 +1,57 @@
+package com.gitittogether.skillforge.server.shared.mongo;
+
+import lombok.extern.slf4j.Slf4j;
+import org.bson.Document;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.index.Index;
+import org.springframework.data.mongodb.core.index.IndexInfo;
+import org.springframework.data.mongodb.core.index.IndexOperations;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * TTL index on a date field whose expiry comes from the configuration, e.g. the retention of finished jobs. It is
+ * created by the migration returned by {@link #migration(int, String)}. Creating it again with another expiry
+ * fails, so the {@link IndexMigrationRunner} applies a changed expiry with {@code collMod} on every start instead.
+ *
+ * @param expireAfter time after the value of the field at which documents are removed, {@link Duration#ZERO} for
+ *                    fields holding the expiry itself
+ */
+@Slf4j
+public record TtlIndex(Class<?> documentType, String field, Duration expireAfter) {
+
+    public IndexMigration migration(int version, String description) {
+        return new IndexMigration(version, description, mongoTemplate -> {
+            // Indexes created before the migration existed may have another expiry already
+            if (!updateExpiry(mongoTemplate)) {
+                mongoTemplate.indexOps(documentType).createIndex(new Index().on(field, Sort.Direction.ASC).expire(expireAfter));
+            }
+        });
+    }
+
+    /**
+     * Changes the expiry of the existing index if it differs from {@link #expireAfter()}.
+     *
+     * @return false if there is no index on the field yet
+     */
+    public boolean updateExpiry(MongoTemplate mongoTemplate) {
+        IndexOperations indexOps = mongoTemplate.indexOps(documentType);
+        Optional<IndexInfo> existing = indexOps.getIndexInfo().stream()
+                .filter(index -> index.isIndexForFields(List.of(field)))
+                .findFirst();
+        if (existing.isEmpty()) {
+            return false;
+        }
+        IndexInfo index = existing.get();
+        if (index.getExpireAfter().filter(expireAfter::equals).isEmpty()) {
+            mongoTemplate.executeCommand(new Document("collMod", mongoTemplate.getCollectionName(documentType))
+                    .append("index", new Document("name", index.getName()).append("expireAfterSeconds", expireAfter.toSeconds())));
+            log.info("Changed the expiry of TTL index {} from {} to {}", index.getName(),
+                    index.getExpireAfter().map(Duration::toString).orElse("none"), expireAfter);
+        }
+        return true;
+    }
+}
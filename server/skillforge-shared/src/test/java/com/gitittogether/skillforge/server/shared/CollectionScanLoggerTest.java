@@ -0,0 +1,90 @@
+package com.gitittogether.skillforge.server.shared;
+
+import com.gitittogether.skillforge.server.shared.mongo.CollectionScanLogger;
+import com.gitittogether.skillforge.server.shared.mongo.QueryPlans;
+import com.mongodb.client.MongoDatabase;
+import com.mongodb.event.CommandStartedEvent;
+import org.bson.BsonDocument;
+import org.bson.Document;
+import org.bson.conversions.Bson;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+@DisplayName("CollectionScanLogger Tests")
+class CollectionScanLoggerTest {
+
+    private MongoDatabase database;
+    private CollectionScanLogger logger;
+
+    @BeforeEach
+    void setUp() {
+        database = mock(MongoDatabase.class);
+        when(database.runCommand(any(Bson.class))).thenReturn(new Document());
+        logger = new CollectionScanLogger(name -> database);
+    }
+
+    @AfterEach
+    void tearDown() {
+        logger.close();
+    }
+
+    @Test
+    @DisplayName("Should explain each query shape once, without driver session fields")
+    void shouldExplainEachShapeOnce() {
+        // When
+        logger.commandStarted(event("find", "{find: 'courses', filter: {instructor: 'a'}, lsid: {id: 1}, $db: 'skillforge'}"));
+        logger.commandStarted(event("find", "{find: 'courses', filter: {instructor: 'b'}, lsid: {id: 2}, $db: 'skillforge'}"));
+        logger.commandStarted(event("find", "{find: 'courses', filter: {title: 'a'}, $db: 'skillforge'}"));
+
+        // Then
+        ArgumentCaptor<Bson> explains = ArgumentCaptor.forClass(Bson.class);
+        verify(database, timeout(2000).times(2)).runCommand(explains.capture());
+        BsonDocument first = (BsonDocument) explains.getAllValues().getFirst();
+        assertThat(first.getString("verbosity").getValue()).isEqualTo("queryPlanner");
+        assertThat(first.getDocument("explain").keySet()).containsExactly("find", "filter");
+    }
+
+    @Test
+    @DisplayName("Should not explain commands that run no query")
+    void shouldIgnoreOtherCommands() {
+        // When
+        logger.commandStarted(event("insert", "{insert: 'courses', documents: [{title: 'a'}]}"));
+        logger.commandStarted(event("aggregate", "{aggregate: 1, pipeline: [{$currentOp: {}}]}"));
+
+        // Then
+        verify(database, after(200).never()).runCommand(any(Bson.class));
+    }
+
+    @Test
+    @DisplayName("Should detect a collection scan in the winning plan only")
+    void shouldDetectCollectionScanInWinningPlan() {
+        // Given
+        Document collectionScan = Document.parse("{queryPlanner: {winningPlan: {stage: 'SORT', inputStage: {stage: 'COLLSCAN'}}}}");
+        Document indexScan = Document.parse("{queryPlanner: {winningPlan: {stage: 'FETCH', inputStage: {stage: 'IXSCAN'}},"
+                + " rejectedPlans: [{stage: 'COLLSCAN'}]}}");
+        Document aggregation = Document.parse("{stages: [{$cursor: {queryPlanner: {winningPlan: {stage: 'COLLSCAN'}}}}]}");
+
+        // When & Then
+        assertThat(QueryPlans.usesCollectionScan(collectionScan)).isTrue();
+        assertThat(QueryPlans.usesCollectionScan(indexScan)).isFalse();
+        assertThat(QueryPlans.usesCollectionScan(aggregation)).isTrue();
+        assertThat(QueryPlans.usesCollectionScan(new Document("stages", List.of()))).isFalse();
+    }
+
+    private static CommandStartedEvent event(String commandName, String command) {
+        CommandStartedEvent event = mock(CommandStartedEvent.class);
+        when(event.getCommandName()).thenReturn(commandName);
+        when(event.getCommand()).thenReturn(BsonDocument.parse(command));
+        when(event.getDatabaseName()).thenReturn("skillforge");
+        return event;
+    }
+}
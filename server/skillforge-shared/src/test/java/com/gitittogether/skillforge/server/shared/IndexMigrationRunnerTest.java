@@ -0,0 +1,204 @@
+package com.gitittogether.skillforge.server.shared;
+
+import com.gitittogether.skillforge.server.shared.mongo.AppliedIndexMigration;
+import com.gitittogether.skillforge.server.shared.mongo.IndexMigration;
+import com.gitittogether.skillforge.server.shared.mongo.IndexMigrationRunner;
+import com.gitittogether.skillforge.server.shared.mongo.TtlIndex;
+import org.bson.Document;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.springframework.dao.DataAccessResourceFailureException;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.convert.MappingMongoConverter;
+import org.springframework.data.mongodb.core.convert.NoOpDbRefResolver;
+import org.springframework.data.mongodb.core.index.CompoundIndex;
+import org.springframework.data.mongodb.core.index.IndexDefinition;
+import org.springframework.data.mongodb.core.index.IndexInfo;
+import org.springframework.data.mongodb.core.index.IndexOperations;
+import org.springframework.data.mongodb.core.index.Indexed;
+import org.springframework.data.mongodb.core.mapping.MongoMappingContext;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+@DisplayName("IndexMigrationRunner Tests")
+class IndexMigrationRunnerTest {
+
+    private static final String COLLECTION = "test_index_migrations";
+
+    private MongoTemplate mongoTemplate;
+    private List<Integer> executed;
+
+    @BeforeEach
+    void setUp() {
+        mongoTemplate = mock(MongoTemplate.class);
+        executed = new ArrayList<>();
+    }
+
+    @Test
+    @DisplayName("Should apply pending migrations in version order and record them")
+    void shouldApplyPendingMigrationsInOrder() {
+        // Given
+        when(mongoTemplate.findAll(AppliedIndexMigration.class, COLLECTION)).thenReturn(List.of());
+        IndexMigrationRunner runner = new IndexMigrationRunner(mongoTemplate, COLLECTION, List.of(migration(2), migration(1)));
+
+        // When
+        int applied = runner.applyPending();
+
+        // Then
+        assertThat(applied).isEqualTo(2);
+        assertThat(executed).containsExactly(1, 2);
+        ArgumentCaptor<AppliedIndexMigration> records = ArgumentCaptor.forClass(AppliedIndexMigration.class);
+        verify(mongoTemplate, times(2)).save(records.capture(), eq(COLLECTION));
+        assertThat(records.getAllValues()).extracting(AppliedIndexMigration::version).containsExactly(1, 2);
+    }
+
+    @Test
+    @DisplayName("Should skip migrations already recorded in the database")
+    void shouldSkipAppliedMigrations() {
+        // Given
+        when(mongoTemplate.findAll(AppliedIndexMigration.class, COLLECTION))
+                .thenReturn(List.of(new AppliedIndexMigration(1, "migration 1", Instant.now(), 5)));
+        IndexMigrationRunner runner = new IndexMigrationRunner(mongoTemplate, COLLECTION, List.of(migration(1), migration(2)));
+
+        // When
+        int applied = runner.applyPending();
+
+        // Then
+        assertThat(applied).isEqualTo(1);
+        assertThat(executed).containsExactly(2);
+    }
+
+    @Test
+    @DisplayName("Should stop at a failing migration without recording it")
+    void shouldStopAtFailingMigration() {
+        // Given
+        when(mongoTemplate.findAll(AppliedIndexMigration.class, COLLECTION)).thenReturn(List.of());
+        IndexMigration failing = new IndexMigration(2, "duplicate titles", template -> {
+            throw new IllegalStateException("E11000 duplicate key error");
+        });
+        IndexMigrationRunner runner = new IndexMigrationRunner(mongoTemplate, COLLECTION, List.of(migration(1), failing, migration(3)));
+
+        // When
+        int applied = runner.applyPending();
+
+        // Then
+        assertThat(applied).isEqualTo(1);
+        assertThat(executed).containsExactly(1);
+        verify(mongoTemplate, times(1)).save(any(AppliedIndexMigration.class), eq(COLLECTION));
+    }
+
+    @Test
+    @DisplayName("Should not fail startup while MongoDB is unavailable")
+    void shouldTolerateUnavailableDatabase() {
+        // Given
+        when(mongoTemplate.findAll(AppliedIndexMigration.class, COLLECTION))
+                .thenThrow(new DataAccessResourceFailureException("Timed out waiting for a server"));
+        IndexMigrationRunner runner = new IndexMigrationRunner(mongoTemplate, COLLECTION, List.of(migration(1)));
+
+        // When
+        int applied = runner.applyPending();
+
+        // Then
+        assertThat(applied).isZero();
+        assertThat(executed).isEmpty();
+    }
+
+    @Test
+    @DisplayName("Should create the indexes declared on the documents")
+    void shouldCreateDeclaredIndexes() {
+        // Given
+        MongoMappingContext mappingContext = new MongoMappingContext();
+        when(mongoTemplate.getConverter()).thenReturn(new MappingMongoConverter(NoOpDbRefResolver.INSTANCE, mappingContext));
+        IndexOperations indexOps = mock(IndexOperations.class);
+        when(mongoTemplate.indexOps(IndexedDocument.class)).thenReturn(indexOps);
+
+        // When
+        IndexMigration.declaredIndexes(1, "test indexes", IndexedDocument.class).action().accept(mongoTemplate);
+
+        // Then
+        ArgumentCaptor<IndexDefinition> indexes = ArgumentCaptor.forClass(IndexDefinition.class);
+        verify(indexOps, times(2)).createIndex(indexes.capture());
+        assertThat(indexes.getAllValues()).extracting(IndexDefinition::getIndexKeys).containsExactlyInAnyOrder(
+                new Document("title", 1),
+                new Document("published", 1).append("isPublic", 1));
+    }
+
+    @Test
+    @DisplayName("Should create a missing TTL index with the configured expiry")
+    void shouldCreateTtlIndex() {
+        // Given
+        IndexOperations indexOps = mock(IndexOperations.class);
+        when(mongoTemplate.indexOps(IndexedDocument.class)).thenReturn(indexOps);
+        when(indexOps.getIndexInfo()).thenReturn(List.of());
+        TtlIndex ttlIndex = new TtlIndex(IndexedDocument.class, "createdAt", Duration.ofDays(7));
+
+        // When
+        ttlIndex.migration(1, "expire documents").action().accept(mongoTemplate);
+
+        // Then
+        ArgumentCaptor<IndexDefinition> index = ArgumentCaptor.forClass(IndexDefinition.class);
+        verify(indexOps).createIndex(index.capture());
+        assertThat(index.getValue().getIndexKeys()).isEqualTo(new Document("createdAt", 1));
+        assertThat(index.getValue().getIndexOptions().get("expireAfterSeconds")).isEqualTo(Duration.ofDays(7).toSeconds());
+    }
+
+    @Test
+    @DisplayName("Should apply a changed TTL expiry with collMod on every start")
+    void shouldUpdateChangedTtlExpiry() {
+        // Given
+        when(mongoTemplate.findAll(AppliedIndexMigration.class, COLLECTION))
+                .thenReturn(List.of(new AppliedIndexMigration(1, "expire documents", Instant.now(), 5)));
+        when(mongoTemplate.getCollectionName(IndexedDocument.class)).thenReturn("indexed");
+        IndexOperations indexOps = mock(IndexOperations.class);
+        when(mongoTemplate.indexOps(IndexedDocument.class)).thenReturn(indexOps);
+        when(indexOps.getIndexInfo()).thenReturn(List.of(IndexInfo.indexInfoOf(
+                Document.parse("{key: {createdAt: 1}, name: 'createdAt', expireAfterSeconds: 604800}"))));
+        TtlIndex ttlIndex = new TtlIndex(IndexedDocument.class, "createdAt", Duration.ofDays(3));
+        IndexMigrationRunner runner = new IndexMigrationRunner(mongoTemplate, COLLECTION,
+                List.of(ttlIndex.migration(1, "expire documents")), List.of(ttlIndex));
+
+        // When
+        runner.applyPending();
+
+        // Then
+        verify(indexOps, never()).createIndex(any());
+        verify(mongoTemplate).executeCommand(new Document("collMod", "indexed")
+                .append("index", new Document("name", "createdAt").append("expireAfterSeconds", Duration.ofDays(3).toSeconds())));
+    }
+
+    @Test
+    @DisplayName("Should leave a TTL index with the configured expiry as it is")
+    void shouldKeepUnchangedTtlExpiry() {
+        // Given
+        IndexOperations indexOps = mock(IndexOperations.class);
+        when(mongoTemplate.indexOps(IndexedDocument.class)).thenReturn(indexOps);
+        when(indexOps.getIndexInfo()).thenReturn(List.of(IndexInfo.indexInfoOf(
+                Document.parse("{key: {createdAt: 1}, name: 'createdAt', expireAfterSeconds: 604800}"))));
+
+        // When
+        boolean exists = new TtlIndex(IndexedDocument.class, "createdAt", Duration.ofDays(7)).updateExpiry(mongoTemplate);
+
+        // Then
+        assertThat(exists).isTrue();
+        verify(mongoTemplate, never()).executeCommand(any(Document.class));
+    }
+
+    private IndexMigration migration(int version) {
+        return new IndexMigration(version, "migration " + version, template -> executed.add(version));
+    }
+
+    @org.springframework.data.mongodb.core.mapping.Document("indexed")
+    @CompoundIndex(def = "{'published': 1, 'isPublic': 1}")
+    record IndexedDocument(String id, @Indexed String title, boolean published, boolean isPublic) {
+    }
+}
@@ -0,0 +1,113 @@
+package com.gitittogether.skillforge.server.shared;
+
+import com.gitittogether.skillforge.server.shared.config.MongoClientConfig;
+import com.mongodb.ConnectionString;
+import com.mongodb.MongoClientSettings;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.autoconfigure.AutoConfiguration;
+import org.springframework.boot.autoconfigure.AutoConfigurations;
+import org.springframework.boot.autoconfigure.mongo.MongoAutoConfiguration;
+import org.springframework.boot.autoconfigure.mongo.MongoReactiveAutoConfiguration;
+import org.springframework.boot.context.annotation.ImportCandidates;
+import org.springframework.boot.convert.ApplicationConversionService;
+import org.springframework.boot.test.context.runner.ApplicationContextRunner;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.time.Duration;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@DisplayName("MongoClientConfig Tests")
+class MongoClientConfigTest {
+
+    private MongoClientConfig config;
+
+    @BeforeEach
+    void setUp() {
+        config = new MongoClientConfig();
+        ReflectionTestUtils.setField(config, "minSize", 5);
+        ReflectionTestUtils.setField(config, "maxSize", 50);
+        ReflectionTestUtils.setField(config, "reactiveMaxSize", 3);
+        ReflectionTestUtils.setField(config, "maxConnecting", 4);
+        ReflectionTestUtils.setField(config, "maxWaitTime", Duration.ofSeconds(3));
+        ReflectionTestUtils.setField(config, "maxIdleTime", Duration.ofMinutes(5));
+        ReflectionTestUtils.setField(config, "connectTimeout", Duration.ofSeconds(2));
+        ReflectionTestUtils.setField(config, "readTimeout", Duration.ofSeconds(30));
+    }
+
+    @Test
+    @DisplayName("Should apply the pool and socket settings")
+    void shouldApplyPoolAndSocketSettings() {
+        // Given
+        MongoClientSettings.Builder builder = MongoClientSettings.builder();
+
+        // When
+        config.mongoPoolCustomizer().customize(builder);
+        MongoClientSettings settings = builder.build();
+
+        // Then
+        assertThat(settings.getConnectionPoolSettings().getMinSize()).isEqualTo(5);
+        assertThat(settings.getConnectionPoolSettings().getMaxSize()).isEqualTo(50);
+        assertThat(settings.getConnectionPoolSettings().getMaxConnecting()).isEqualTo(4);
+        assertThat(settings.getConnectionPoolSettings().getMaxWaitTime(TimeUnit.SECONDS)).isEqualTo(3);
+        assertThat(settings.getConnectionPoolSettings().getMaxConnectionIdleTime(TimeUnit.MINUTES)).isEqualTo(5);
+        assertThat(settings.getSocketSettings().getConnectTimeout(TimeUnit.SECONDS)).isEqualTo(2);
+        assertThat(settings.getSocketSettings().getReadTimeout(TimeUnit.SECONDS)).isEqualTo(30);
+        assertThat(settings.getReadPreference()).isEqualTo(com.mongodb.ReadPreference.primary());
+    }
+
+    @Test
+    @DisplayName("Should let options of the connection string, applied afterwards by Spring Boot, take precedence")
+    void shouldKeepConnectionStringOptions() {
+        // Given
+        MongoClientSettings.Builder builder = MongoClientSettings.builder();
+
+        // When
+        config.mongoPoolCustomizer().customize(builder);
+        builder.applyConnectionString(new ConnectionString("mongodb://localhost:27017/skillforge?maxPoolSize=7"));
+        MongoClientSettings settings = builder.build();
+
+        // Then
+        assertThat(settings.getConnectionPoolSettings().getMaxSize()).isEqualTo(7);
+        assertThat(settings.getConnectionPoolSettings().getMinSize()).isEqualTo(5);
+    }
+
+    @Test
+    @DisplayName("Should give the reactive client a separate, smaller pool")
+    void shouldCapReactivePool() {
+        // Given
+        MongoClientSettings.Builder builder = MongoClientSettings.builder();
+
+        // When
+        config.mongoPoolCustomizer().customize(builder);
+        builder.applyConnectionString(new ConnectionString("mongodb://localhost:27017/skillforge?maxPoolSize=7"));
+        config.reactivePoolCustomizer().customize(builder);
+        MongoClientSettings settings = builder.build();
+
+        // Then
+        assertThat(settings.getConnectionPoolSettings().getMaxSize()).isEqualTo(3);
+        assertThat(settings.getConnectionPoolSettings().getMinSize()).isEqualTo(3);
+        assertThat(settings.getConnectionPoolSettings().getMaxConnecting()).isEqualTo(4);
+    }
+
+    @Test
+    @DisplayName("Should be auto-configured and replace the reactive client of Spring Boot")
+    void shouldAutoConfigureMongoClients() {
+        assertThat(ImportCandidates.load(AutoConfiguration.class, getClass().getClassLoader()))
+                .contains(MongoClientConfig.class.getName());
+        new ApplicationContextRunner()
+                // Converts the duration properties like SpringApplication does
+                .withInitializer(context -> context.getBeanFactory().setConversionService(ApplicationConversionService.getSharedInstance()))
+                .withConfiguration(AutoConfigurations.of(MongoClientConfig.class, MongoAutoConfiguration.class,
+                        MongoReactiveAutoConfiguration.class))
+                .run(context -> {
+                    assertThat(context).hasSingleBean(com.mongodb.client.MongoClient.class)
+                            .hasSingleBean(com.mongodb.reactivestreams.client.MongoClient.class);
+                    assertThat(context.getBeanFactory().getBeanDefinition("reactiveStreamsMongoClient").getFactoryBeanName())
+                            .endsWith("ReactiveMongoClientConfig");
+                });
+    }
+}
@@ -0,0 +1,197 @@
+package com.gitittogether.skillforge.server.shared;
+
+import com.gitittogether.skillforge.server.shared.config.MongoQueryMetricsConfig;
+import com.gitittogether.skillforge.server.shared.mongo.*;
+import com.mongodb.RequestContext;
+import com.mongodb.client.MongoDatabase;
+import com.mongodb.event.CommandStartedEvent;
+import com.mongodb.event.CommandSucceededEvent;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.aopalliance.intercept.MethodInvocation;
+import org.bson.BsonDocument;
+import org.bson.Document;
+import org.bson.conversions.Bson;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.autoconfigure.AutoConfiguration;
+import org.springframework.boot.autoconfigure.AutoConfigurations;
+import org.springframework.boot.autoconfigure.mongo.MongoClientSettingsBuilderCustomizer;
+import org.springframework.boot.context.annotation.ImportCandidates;
+import org.springframework.boot.convert.ApplicationConversionService;
+import org.springframework.boot.test.context.runner.ApplicationContextRunner;
+import reactor.core.publisher.Flux;
+import reactor.core.scheduler.Schedulers;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+@DisplayName("MongoQueryMetrics Tests")
+class MongoQueryMetricsTest {
+
+    private static final String FIND_BY_INSTRUCTOR = "{find: 'courses', filter: {instructor: 'AI'}, lsid: {id: 1}, $db: 'skillforge'}";
+    private static final Document COLLSCAN_EXPLAIN = Document.parse("""
+            {queryPlanner: {winningPlan: {stage: 'COLLSCAN'}},
+             executionStats: {nReturned: 2, totalDocsExamined: 5000, totalKeysExamined: 0,
+                              executionStages: {stage: 'COLLSCAN'}}}""");
+
+    private final AtomicInteger requestIds = new AtomicInteger();
+    private SimpleMeterRegistry meterRegistry;
+    private MongoDatabase database;
+    private QueryPlanSampler sampler;
+    private MongoQueryMetrics metrics;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        database = mock(MongoDatabase.class);
+        when(database.runCommand(any(Bson.class))).thenReturn(COLLSCAN_EXPLAIN);
+        sampler = new QueryPlanSampler(name -> database, Runnable::run, Duration.ofMinutes(10), 100, 10,
+                meterRegistry, Clock.systemUTC());
+        metrics = new MongoQueryMetrics(meterRegistry, sampler, Duration.ofMillis(100));
+    }
+
+    @Test
+    @DisplayName("Should time commands by repository method and collection")
+    void shouldTimeCommandsByRepositoryMethod() throws Throwable {
+        // Given
+        MethodInvocation invocation = mock(MethodInvocation.class);
+        when(invocation.getMethod()).thenReturn(Object.class.getMethod("toString"));
+        when(invocation.proceed()).thenAnswer(call -> {
+            execute(FIND_BY_INSTRUCTOR, 5);
+            return null;
+        });
+
+        // When
+        RepositoryMethodContext.interceptor("CourseRepository").invoke(invocation);
+        execute("{find: 'users', filter: {}}", 5);
+
+        // Then
+        Timer repositoryTimer = meterRegistry.get(MongoQueryMetrics.COMMANDS_METRIC)
+                .tag("method", "CourseRepository.toString").tag("collection", "courses").tag("command", "find").timer();
+        assertThat(repositoryTimer.count()).isEqualTo(1);
+        assertThat(meterRegistry.get(MongoQueryMetrics.COMMANDS_METRIC)
+                .tag("method", RepositoryMethodContext.NONE).tag("collection", "users").timer().count()).isEqualTo(1);
+        assertThat(RepositoryMethodContext.current()).isEqualTo(RepositoryMethodContext.NONE);
+    }
+
+    @Test
+    @DisplayName("Should attribute commands of a reactive repository method sent after it returned")
+    void shouldTimeCommandsByReactiveRepositoryMethod() throws Throwable {
+        // Given
+        ReactiveRepositoryMethodContext contextProvider = new ReactiveRepositoryMethodContext();
+        MethodInvocation invocation = mock(MethodInvocation.class);
+        when(invocation.getMethod()).thenReturn(Object.class.getMethod("toString"));
+        // Like the driver, sends the command on subscription with the context of the subscriber
+        when(invocation.proceed()).thenReturn(Flux.from(subscriber -> {
+            execute(FIND_BY_INSTRUCTOR, 5, contextProvider.getContext(subscriber));
+            Flux.empty().subscribe(subscriber);
+        }));
+
+        // When
+        Flux<?> courses = (Flux<?>) RepositoryMethodContext.interceptor("ReactiveCourseRepository").invoke(invocation);
+        courses.subscribeOn(Schedulers.boundedElastic()).blockLast();
+
+        // Then
+        assertThat(meterRegistry.get(MongoQueryMetrics.COMMANDS_METRIC)
+                .tag("method", "ReactiveCourseRepository.toString").tag("collection", "courses").timer().count()).isEqualTo(1);
+        assertThat(contextProvider.getContext()).isNull();
+    }
+
+    @Test
+    @DisplayName("Should explain a query shape once it was slow twice and flag its plan")
+    void shouldSampleSlowQueryPlans() {
+        // When
+        execute(FIND_BY_INSTRUCTOR, 150);
+        verify(database, never()).runCommand(any(Bson.class));
+        execute(FIND_BY_INSTRUCTOR.replace("'AI'", "'someone'"), 150);
+        execute(FIND_BY_INSTRUCTOR, 150);
+
+        // Then
+        verify(database, times(1)).runCommand(any(Bson.class));
+        assertThat(sampler.recentSamples()).singleElement().satisfies(sample -> {
+            assertThat(sample.collection()).isEqualTo("courses");
+            assertThat(sample.shape()).isEqualTo("find courses filter={instructor: ?}");
+            assertThat(sample.winningStages()).containsExactly("COLLSCAN");
+            assertThat(sample.scanRatio()).isEqualTo(2500.0);
+            assertThat(sample.flags()).containsExactly(QueryPlans.COLLSCAN, QueryPlanSampler.HIGH_SCAN_RATIO);
+        });
+    }
+
+    @Test
+    @DisplayName("Should not explain fast queries")
+    void shouldNotSampleFastQueries() {
+        // When
+        execute(FIND_BY_INSTRUCTOR, 20);
+        execute(FIND_BY_INSTRUCTOR, 20);
+
+        // Then
+        verify(database, never()).runCommand(any(Bson.class));
+        assertThat(sampler.recentSamples()).isEmpty();
+    }
+
+    @Test
+    @DisplayName("Should report methods slowest in total first together with the samples")
+    void shouldReportMethodsAndSamples() {
+        // Given
+        execute("{find: 'users', filter: {}}", 10);
+        execute(FIND_BY_INSTRUCTOR, 150);
+        execute(FIND_BY_INSTRUCTOR, 150);
+
+        // When
+        MongoQueriesEndpoint.Report report = new MongoQueriesEndpoint(meterRegistry, sampler, Duration.ofMillis(100)).report();
+
+        // Then
+        assertThat(report.slowThresholdMs()).isEqualTo(100);
+        assertThat(report.methods()).extracting(MongoQueriesEndpoint.MethodStats::collection).containsExactly("courses", "users");
+        assertThat(report.methods().getFirst().count()).isEqualTo(2);
+        assertThat(report.slowQueries()).hasSize(1);
+    }
+
+    @Test
+    @DisplayName("Should be auto-configured in services depending on the shared module")
+    void shouldAutoConfigureQueryMetrics() {
+        assertThat(ImportCandidates.load(AutoConfiguration.class, getClass().getClassLoader()))
+                .contains(MongoQueryMetricsConfig.class.getName());
+        new ApplicationContextRunner()
+                // Converts the duration properties like SpringApplication does
+                .withInitializer(context -> context.getBeanFactory().setConversionService(ApplicationConversionService.getSharedInstance()))
+                .withConfiguration(AutoConfigurations.of(MongoQueryMetricsConfig.class))
+                .withBean(MeterRegistry.class, SimpleMeterRegistry::new)
+                .run(context -> assertThat(context)
+                        .hasSingleBean(MongoQueryMetrics.class)
+                        .hasSingleBean(MongoQueriesEndpoint.class)
+                        // Command listener and, with the reactive driver present, the context provider
+                        .getBeans(MongoClientSettingsBuilderCustomizer.class).hasSize(2));
+    }
+
+    private void execute(String command, long millis) {
+        execute(command, millis, null);
+    }
+
+    private void execute(String command, long millis, RequestContext requestContext) {
+        BsonDocument document = BsonDocument.parse(command);
+        String commandName = document.getFirstKey();
+        int requestId = requestIds.incrementAndGet();
+        CommandStartedEvent started = mock(CommandStartedEvent.class);
+        when(started.getRequestId()).thenReturn(requestId);
+        when(started.getCommandName()).thenReturn(commandName);
+        when(started.getCommand()).thenReturn(document);
+        when(started.getRequestContext()).thenReturn(requestContext);
+        CommandSucceededEvent succeeded = mock(CommandSucceededEvent.class);
+        when(succeeded.getRequestId()).thenReturn(requestId);
+        when(succeeded.getCommandName()).thenReturn(commandName);
+        when(succeeded.getDatabaseName()).thenReturn("skillforge");
+        when(succeeded.getElapsedTime(TimeUnit.NANOSECONDS)).thenReturn(TimeUnit.MILLISECONDS.toNanos(millis));
+        metrics.commandStarted(started);
+        metrics.commandSucceeded(succeeded);
+    }
+}
@@ -0,0 +1,113 @@
+package com.gitittogether.skillforge.server.shared;
+
+import ch.qos.logback.classic.Level;
+import ch.qos.logback.classic.Logger;
+import ch.qos.logback.classic.spi.ILoggingEvent;
+import ch.qos.logback.core.read.ListAppender;
+import com.gitittogether.skillforge.server.shared.config.VirtualThreadPinningConfig;
+import com.gitittogether.skillforge.server.shared.diagnostics.VirtualThreadPinningMonitor;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.autoconfigure.AutoConfigurations;
+import org.springframework.boot.convert.ApplicationConversionService;
+import org.springframework.boot.test.context.runner.ApplicationContextRunner;
+
+import java.time.Duration;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assumptions.assumeThat;
+
+@DisplayName("VirtualThreadPinningMonitor Tests")
+class VirtualThreadPinningMonitorTest {
+
+    private final Logger monitorLogger = (Logger) LoggerFactory.getLogger(VirtualThreadPinningMonitor.class);
+    private final ListAppender<ILoggingEvent> monitorLines = new ListAppender<>();
+    private final Object lock = new Object();
+
+    private SimpleMeterRegistry meterRegistry;
+    private VirtualThreadPinningMonitor monitor;
+
+    @BeforeEach
+    void setUp() {
+        monitorLines.start();
+        monitorLogger.addAppender(monitorLines);
+        meterRegistry = new SimpleMeterRegistry();
+        monitor = new VirtualThreadPinningMonitor(Duration.ofMillis(10), meterRegistry);
+    }
+
+    @AfterEach
+    void tearDown() {
+        monitor.stop();
+        monitorLogger.detachAppender(monitorLines);
+        monitorLines.stop();
+    }
+
+    @Test
+    @DisplayName("Should count and log a virtual thread blocking inside synchronized")
+    void shouldRecordPinnedVirtualThread() throws InterruptedException {
+        // Since JDK 24 a virtual thread blocking in synchronized unmounts instead of pinning its carrier
+        assumeThat(Runtime.version().feature()).isLessThan(24);
+
+        // Given
+        monitor.start();
+
+        // When
+        // JFR hands recorded events to the stream about once per second
+        long deadline = System.nanoTime() + Duration.ofSeconds(15).toNanos();
+        while (pinnedWarnings().isEmpty() && System.nanoTime() < deadline) {
+            Thread.ofVirtual().start(this::sleepHoldingLock).join();
+            Thread.sleep(200);
+        }
+
+        // Then
+        assertThat(pinnedCount()).isPositive();
+        assertThat(meterRegistry.get(VirtualThreadPinningMonitor.PINNED_DURATION_METRIC).timer().count()).isPositive();
+        assertThat(pinnedWarnings()).first()
+                .extracting(ILoggingEvent::getFormattedMessage)
+                .asString()
+                .contains("Virtual thread pinned", getClass().getName() + ".sleepHoldingLock");
+    }
+
+    @Test
+    @DisplayName("Should only be auto-configured when virtual threads are enabled")
+    void shouldAutoConfigureWithVirtualThreads() {
+        ApplicationContextRunner runner = new ApplicationContextRunner()
+                // Converts the duration properties like SpringApplication does
+                .withInitializer(context -> context.getBeanFactory().setConversionService(ApplicationConversionService.getSharedInstance()))
+                .withConfiguration(AutoConfigurations.of(VirtualThreadPinningConfig.class))
+                .withBean(MeterRegistry.class, SimpleMeterRegistry::new);
+
+        runner.withPropertyValues("spring.threads.virtual.enabled=true")
+                .run(context -> assertThat(context).hasSingleBean(VirtualThreadPinningMonitor.class));
+        runner.run(context -> assertThat(context).doesNotHaveBean(VirtualThreadPinningMonitor.class));
+        runner.withPropertyValues("spring.threads.virtual.enabled=true", "diagnostics.virtual-threads.pinning.enabled=false")
+                .run(context -> assertThat(context).doesNotHaveBean(VirtualThreadPinningMonitor.class));
+    }
+
+    private void sleepHoldingLock() {
+        synchronized (lock) {
+            try {
+                Thread.sleep(50);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }
+    }
+
+    private List<ILoggingEvent> pinnedWarnings() {
+        // The appender adds events on the JFR stream thread while holding its own lock
+        synchronized (monitorLines) {
+            return monitorLines.list.stream().filter(event -> event.getLevel() == Level.WARN).toList();
+        }
+    }
+
+    private double pinnedCount() {
+        return meterRegistry.get(VirtualThreadPinningMonitor.PINNED_METRIC).counter().count();
+    }
+}
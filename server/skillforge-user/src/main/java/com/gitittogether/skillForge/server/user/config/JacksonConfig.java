@@ -1,9 +1,13 @@
 package com.gitittogether.skillForge.server.user.config;
 
 import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.dataformat.cbor.databind.CBORMapper;
+import com.fasterxml.jackson.dataformat.smile.databind.SmileMapper;
 import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.http.converter.cbor.MappingJackson2CborHttpMessageConverter;
+import org.springframework.http.converter.smile.MappingJackson2SmileHttpMessageConverter;
 
 @Configuration
 public class JacksonConfig {
@@ -13,4 +17,20 @@ public class JacksonConfig {
         mapper.registerModule(new JavaTimeModule());
         return mapper;
     }
-} 
\ No newline at end of file
+
+    /**
+     * CBOR for service-to-service calls ({@code Accept: application/cbor}), mapped like the JSON above.
+     */
+    @Bean
+    public MappingJackson2CborHttpMessageConverter cborHttpMessageConverter() {
+        return new MappingJackson2CborHttpMessageConverter(new CBORMapper().registerModule(new JavaTimeModule()));
+    }
+
+    /**
+     * Smile for service-to-service calls ({@code Accept: application/x-jackson-smile}), mapped like the JSON above.
+     */
+    @Bean
+    public MappingJackson2SmileHttpMessageConverter smileHttpMessageConverter() {
+        return new MappingJackson2SmileHttpMessageConverter(new SmileMapper().registerModule(new JavaTimeModule()));
+    }
+}
@@ -0,0 +1,43 @@
+package com.gitittogether.skillForge.server.user.config;
+
+import com.gitittogether.skillForge.server.user.model.user.User;
+import com.gitittogether.skillforge.server.shared.mongo.CollectionScanLogger;
+import com.gitittogether.skillforge.server.shared.mongo.IndexMigration;
+import com.gitittogether.skillforge.server.shared.mongo.IndexMigrationRunner;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.mongo.MongoClientSettingsBuilderCustomizer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.data.mongodb.core.MongoTemplate;
+
+import java.util.List;
+
+/**
+ * Indexes of the user service collections, created by versioned migrations at startup.
+ */
+@Configuration
+public class MongoIndexConfig {
+
+    static final List<IndexMigration> MIGRATIONS = List.of(
+            IndexMigration.declaredIndexes(1, "Unique username and email, skills and enrolled courses", User.class));
+
+    @Bean
+    @ConditionalOnProperty(name = "mongo.index-migrations.enabled", havingValue = "true", matchIfMissing = true)
+    public IndexMigrationRunner indexMigrationRunner(MongoTemplate mongoTemplate) {
+        return new IndexMigrationRunner(mongoTemplate, "user_index_migrations", MIGRATIONS);
+    }
+
+    @Bean
+    @ConditionalOnProperty(name = "mongo.query-plans.log-collscans", havingValue = "true")
+    public CollectionScanLogger collectionScanLogger(ObjectProvider<MongoTemplate> mongoTemplate) {
+        // Resolved lazily, the template is built on top of the client this logger is registered with
+        return new CollectionScanLogger(database -> mongoTemplate.getObject().getMongoDatabaseFactory().getMongoDatabase(database));
+    }
+
+    @Bean
+    @ConditionalOnProperty(name = "mongo.query-plans.log-collscans", havingValue = "true")
+    public MongoClientSettingsBuilderCustomizer collectionScanLoggerCustomizer(CollectionScanLogger collectionScanLogger) {
+        return settings -> settings.addCommandListener(collectionScanLogger);
+    }
+}
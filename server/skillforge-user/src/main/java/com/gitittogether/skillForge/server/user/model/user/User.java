@@ -2,6 +2,7 @@ package com.gitittogether.skillForge.server.user.model.user;
 
 import lombok.*;
 import org.springframework.data.annotation.Id;
+import org.springframework.data.mongodb.core.index.Indexed;
 import org.springframework.data.mongodb.core.mapping.Document;
 
 import java.util.ArrayList;
@@ -24,9 +25,11 @@ public class User {
     private String lastName;
 
     @NonNull
+    @Indexed(unique = true)
     private String username;
 
     @NonNull
+    @Indexed(unique = true)
     private String email;
 
     @NonNull
@@ -38,6 +41,7 @@ public class User {
 
     // Skills
     @Builder.Default
+    @Indexed
     private List<String> skills = new ArrayList<>(); // List of skills the user has mastered
 
     @Builder.Default
@@ -49,6 +53,7 @@ public class User {
 
     // User's enrolled courses (for quick lookups)
     @Builder.Default
+    @Indexed
     private List<String> enrolledCourseIds = new ArrayList<>(); // List of course IDs the user is enrolled in
 
     // User's completed courses (for quick lookups)
@@ -3,6 +3,7 @@ package com.gitittogether.skillForge.server.user.repository.user;
 import com.gitittogether.skillForge.server.user.model.user.User;
 import jakarta.validation.constraints.NotBlank;
 import org.springframework.data.mongodb.repository.MongoRepository;
+import org.springframework.data.mongodb.repository.ReadPreference;
 
 import java.util.List;
 import java.util.Optional;
@@ -17,8 +18,10 @@ public interface UserRepository extends MongoRepository<User, String> {
 
     boolean existsByUsername(String username);
 
+    @ReadPreference("secondaryPreferred")
     List<User> findBySkills(String skill);
 
+    @ReadPreference("secondaryPreferred")
     List<User> findBySkillsInProgress(String skill);
 
     List<User> findByEnrolledCourseIdsContaining(String courseId);
@@ -27,8 +30,10 @@ public interface UserRepository extends MongoRepository<User, String> {
 
     List<User> findByBookmarkedCourseIdsContaining(String courseId);
 
+    @ReadPreference("secondaryPreferred")
     List<User> findUserByUsernameContainingIgnoreCase(String username);
 
+    @ReadPreference("secondaryPreferred")
     List<User> findUserByEmailContainingIgnoreCase(String email);
 
 }
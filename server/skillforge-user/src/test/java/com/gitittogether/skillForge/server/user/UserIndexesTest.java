@@ -0,0 +1,44 @@
+package com.gitittogether.skillForge.server.user;
+
+import com.gitittogether.skillForge.server.user.model.user.User;
+import com.gitittogether.skillforge.server.shared.mongo.IndexMigration;
+import org.bson.Document;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.convert.MappingMongoConverter;
+import org.springframework.data.mongodb.core.convert.NoOpDbRefResolver;
+import org.springframework.data.mongodb.core.index.IndexDefinition;
+import org.springframework.data.mongodb.core.index.IndexOperations;
+import org.springframework.data.mongodb.core.mapping.MongoMappingContext;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.*;
+
+@DisplayName("Declared user indexes")
+class UserIndexesTest {
+
+    @Test
+    @DisplayName("Should create unique username and email indexes next to the lookup indexes")
+    void shouldCreateDeclaredUserIndexes() {
+        // Given
+        MongoTemplate mongoTemplate = mock(MongoTemplate.class);
+        when(mongoTemplate.getConverter()).thenReturn(new MappingMongoConverter(NoOpDbRefResolver.INSTANCE, new MongoMappingContext()));
+        IndexOperations indexOps = mock(IndexOperations.class);
+        when(mongoTemplate.indexOps(User.class)).thenReturn(indexOps);
+
+        // When
+        IndexMigration.declaredIndexes(1, "user indexes", User.class).action().accept(mongoTemplate);
+
+        // Then
+        ArgumentCaptor<IndexDefinition> indexes = ArgumentCaptor.forClass(IndexDefinition.class);
+        verify(indexOps, atLeastOnce()).createIndex(indexes.capture());
+        assertThat(indexes.getAllValues())
+                .filteredOn(index -> Boolean.TRUE.equals(index.getIndexOptions().get("unique")))
+                .extracting(IndexDefinition::getIndexKeys)
+                .containsExactlyInAnyOrder(new Document("username", 1), new Document("email", 1));
+        assertThat(indexes.getAllValues()).extracting(IndexDefinition::getIndexKeys)
+                .contains(new Document("skills", 1), new Document("enrolledCourseIds", 1));
+    }
+}
@@ -0,0 +1,153 @@
+"""
+Virtual thread load comparison for the course service
+Uses only built-in Python libraries
+
+Starts a GenAI stand-in that answers after a fixed delay, holds N slow
+POST /api/v1/courses/generate/prompt requests open against the course service
+and meanwhile measures fast GET /actuator/info requests. With platform threads
+the slow requests occupy Tomcat's worker pool (server.tomcat.threads.max) and
+the fast requests queue behind them; with virtual threads they should not.
+
+Usage (run once per mode and compare the appended rows):
+  1. Start the course service with the genai URI pointing to the stand-in,
+     e.g. SERVER_PORT_GENAI=18888 VIRTUAL_THREADS_ENABLED=false ./gradlew bootRun
+  2. python3 virtual_threads_load_test.py --label platform --jwt-secret "$JWT_SECRET"
+  3. Restart with VIRTUAL_THREADS_ENABLED=true and run with --label virtual
+"""
+
+import argparse
+import base64
+import hashlib
+import hmac
+import json
+import os
+import statistics
+import threading
+import time
+import urllib.error
+import urllib.request
+from concurrent.futures import ThreadPoolExecutor
+from datetime import datetime
+from http.server import BaseHTTPRequestHandler, ThreadingHTTPServer
+
+
+class SlowGenAiHandler(BaseHTTPRequestHandler):
+    delay_seconds = 10.0
+
+    def do_POST(self):
+        length = int(self.headers.get("Content-Length", 0))
+        self.rfile.read(length)
+        time.sleep(self.delay_seconds)
+        body = json.dumps({"generated_text": "stub response"}).encode("utf-8")
+        self.send_response(200)
+        self.send_header("Content-Type", "application/json")
+        self.send_header("Content-Length", str(len(body)))
+        self.end_headers()
+        self.wfile.write(body)
+
+    def log_message(self, format, *args):
+        pass
+
+
+def b64url(data: bytes) -> str:
+    return base64.urlsafe_b64encode(data).rstrip(b"=").decode("ascii")
+
+
+def create_jwt(secret: str, subject: str, ttl_seconds: int = 3600) -> str:
+    """HS256 token accepted by the course service JwtAuthenticationFilter"""
+    now = int(time.time())
+    header = b64url(json.dumps({"alg": "HS256", "typ": "JWT"}).encode("utf-8"))
+    payload = b64url(json.dumps({"sub": subject, "iat": now, "exp": now + ttl_seconds}).encode("utf-8"))
+    signature = hmac.new(secret.encode("utf-8"), f"{header}.{payload}".encode("ascii"), hashlib.sha256).digest()
+    return f"{header}.{payload}.{b64url(signature)}"
+
+
+def timed_request(url: str, method: str = "GET", data: bytes = None, headers: dict = None, timeout: float = 30.0):
+    """Returns (status code, latency in ms); status 0 on connection errors and timeouts"""
+    req = urllib.request.Request(url, data=data, headers=headers or {}, method=method)
+    start = time.perf_counter()
+    try:
+        with urllib.request.urlopen(req, timeout=timeout) as response:
+            response.read()
+            status = response.status
+    except urllib.error.HTTPError as e:
+        status = e.code
+    except Exception:
+        status = 0
+    return status, (time.perf_counter() - start) * 1000
+
+
+def percentile(values, pct):
+    if not values:
+        return 0.0
+    ordered = sorted(values)
+    return ordered[min(len(ordered) - 1, int(round(pct / 100 * (len(ordered) - 1))))]
+
+
+def main():
+    parser = argparse.ArgumentParser(description=__doc__, formatter_class=argparse.RawDescriptionHelpFormatter)
+    parser.add_argument("--label", default="run", help="name of this run in the report, e.g. platform or virtual")
+    parser.add_argument("--course-url", default="http://localhost:8083")
+    parser.add_argument("--stub-port", type=int, default=18888)
+    parser.add_argument("--genai-delay", type=float, default=10.0, help="seconds the GenAI stand-in takes to answer")
+    parser.add_argument("--slow", type=int, default=250, help="concurrent slow GenAI requests")
+    parser.add_argument("--fast", type=int, default=200, help="fast requests sent while the slow ones are open")
+    parser.add_argument("--fast-timeout", type=float, default=5.0)
+    parser.add_argument("--jwt-secret", default=os.environ.get("JWT_SECRET", ""))
+    parser.add_argument("--report", default=os.path.join(os.path.dirname(os.path.abspath(__file__)),
+                                                         "VIRTUAL_THREADS_REPORT.md"))
+    args = parser.parse_args()
+    if not args.jwt_secret:
+        parser.error("--jwt-secret (or JWT_SECRET) is required for the protected GenAI endpoint")
+
+    SlowGenAiHandler.delay_seconds = args.genai_delay
+    ThreadingHTTPServer.request_queue_size = 1024
+    stub = ThreadingHTTPServer(("0.0.0.0", args.stub_port), SlowGenAiHandler)
+    threading.Thread(target=stub.serve_forever, daemon=True).start()
+    print(f"GenAI stand-in on port {args.stub_port}, answering after {args.genai_delay}s")
+
+    token = create_jwt(args.jwt_secret, "load-test-user")
+    slow_headers = {"Authorization": f"Bearer {token}", "Content-Type": "text/plain"}
+    slow_url = f"{args.course_url}/api/v1/courses/generate/prompt"
+    fast_url = f"{args.course_url}/actuator/info"
+
+    with ThreadPoolExecutor(max_workers=args.slow) as slow_pool, ThreadPoolExecutor(max_workers=50) as fast_pool:
+        slow_futures = [slow_pool.submit(timed_request, slow_url, "POST", b"Explain virtual threads", slow_headers,
+                                         args.genai_delay * 3) for _ in range(args.slow)]
+        # Give the slow requests time to occupy the request threads
+        time.sleep(min(2.0, args.genai_delay / 2))
+        fast_results = list(fast_pool.map(lambda _: timed_request(fast_url, timeout=args.fast_timeout),
+                                          range(args.fast)))
+        slow_results = [f.result() for f in slow_futures]
+
+    stub.shutdown()
+
+    fast_ok = [latency for status, latency in fast_results if status == 200]
+    slow_ok = [latency for status, latency in slow_results if status == 200]
+    row = {
+        "label": args.label,
+        "fast_success": f"{len(fast_ok)}/{args.fast}",
+        "fast_p50": percentile(fast_ok, 50),
+        "fast_p99": percentile(fast_ok, 99),
+        "slow_success": f"{len(slow_ok)}/{args.slow}",
+        "slow_mean": statistics.mean(slow_ok) if slow_ok else 0.0,
+    }
+
+    print(f"Fast requests: {row['fast_success']} ok, p50 {row['fast_p50']:.1f} ms, p99 {row['fast_p99']:.1f} ms")
+    print(f"Slow requests: {row['slow_success']} ok, mean {row['slow_mean']:.0f} ms")
+
+    new_report = not os.path.exists(args.report)
+    with open(args.report, "a", encoding="utf-8") as f:
+        if new_report:
+            f.write("# Virtual Thread Load Comparison\n\n")
+            f.write(f"Slow GenAI requests held open while fast requests are measured, see `{os.path.basename(__file__)}`.\n\n")
+            f.write("| Run | Time | Slow requests (GenAI delay) | Fast ok | Fast p50 | Fast p99 | Slow ok | Slow mean |\n")
+            f.write("|-----|------|-----------------------------|---------|----------|----------|---------|-----------|\n")
+        f.write(f"| {row['label']} | {datetime.now().strftime('%Y-%m-%d %H:%M')} | {args.slow} ({args.genai_delay:g}s) "
+                f"| {row['fast_success']} | {row['fast_p50']:.1f} ms | {row['fast_p99']:.1f} ms "
+                f"| {row['slow_success']} | {row['slow_mean']:.0f} ms |\n")
+    print(f"Appended results to {args.report}")
+
+
+if __name__ == "__main__":
+    main()